@@ -91,6 +91,8 @@ public class HColumnDescriptor implements WritableComparable<HColumnDescriptor>
   public static final String LENGTH = "LENGTH";
   public static final String TTL = "TTL";
   public static final String BLOOMFILTER = "BLOOMFILTER";
+  public static final String BLOOMFILTER_PREFIX_LENGTH = "BLOOMFILTER_PREFIX_LENGTH";
+  public static final String BLOB_THRESHOLD = "BLOB_THRESHOLD";
   public static final String FOREVER = "FOREVER";
   public static final String REPLICATION_SCOPE = "REPLICATION_SCOPE";
   public static final byte[] REPLICATION_SCOPE_BYTES = Bytes.toBytes(REPLICATION_SCOPE);
@@ -221,6 +223,8 @@ public class HColumnDescriptor implements WritableComparable<HColumnDescriptor>
       for (String s : DEFAULT_VALUES.keySet()) {
         RESERVED_KEYWORDS.add(new ImmutableBytesWritable(Bytes.toBytes(s)));
       }
+      RESERVED_KEYWORDS.add(new ImmutableBytesWritable(Bytes.toBytes(BLOOMFILTER_PREFIX_LENGTH)));
+      RESERVED_KEYWORDS.add(new ImmutableBytesWritable(Bytes.toBytes(BLOB_THRESHOLD)));
       RESERVED_KEYWORDS.add(new ImmutableBytesWritable(Bytes.toBytes(ENCRYPTION)));
       RESERVED_KEYWORDS.add(new ImmutableBytesWritable(Bytes.toBytes(ENCRYPTION_KEY)));
   }
@@ -825,6 +829,58 @@ public class HColumnDescriptor implements WritableComparable<HColumnDescriptor>
     return setValue(BLOOMFILTER, bt.toString());
   }
 
+  /**
+   * @return length of the row prefix used as Bloom key when the bloom filter
+   * type is {@link BloomType#ROWPREFIX_FIXED_LENGTH}, or 0 if not set
+   */
+  public int getBloomFilterPrefixLength() {
+    String value = getValue(BLOOMFILTER_PREFIX_LENGTH);
+    if (value != null) {
+      return Integer.valueOf(value).intValue();
+    }
+    return 0;
+  }
+
+  /**
+   * @param prefixLength length of the row prefix used as Bloom key when the
+   * bloom filter type is {@link BloomType#ROWPREFIX_FIXED_LENGTH}. Rows shorter
+   * than this are added to the Bloom filter as a whole.
+   * @return this (for chained invocation)
+   */
+  public HColumnDescriptor setBloomFilterPrefixLength(int prefixLength) {
+    if (prefixLength <= 0) {
+      throw new IllegalArgumentException("Bloom filter prefix length must be positive: "
+          + prefixLength);
+    }
+    return setValue(BLOOMFILTER_PREFIX_LENGTH, Integer.toString(prefixLength));
+  }
+
+  /**
+   * @return size in bytes from which values are written to blob files at
+   * flush time and only referenced from the store files, or 0 if values are
+   * kept in the store files
+   */
+  public long getBlobThreshold() {
+    String value = getValue(BLOB_THRESHOLD);
+    if (value != null) {
+      return Long.valueOf(value).longValue();
+    }
+    return 0;
+  }
+
+  /**
+   * @param threshold size in bytes from which values are written to blob
+   * files instead of the store files, so that compactions do not rewrite
+   * them. Requires HFile format version 3. 0 disables it.
+   * @return this (for chained invocation)
+   */
+  public HColumnDescriptor setBlobThreshold(long threshold) {
+    if (threshold < 0) {
+      throw new IllegalArgumentException("Blob threshold must not be negative: " + threshold);
+    }
+    return setValue(BLOB_THRESHOLD, Long.toString(threshold));
+  }
+
    /**
     * @return the scope tag
     */
@@ -26,15 +26,23 @@ import org.apache.hadoop.classification.InterfaceStability;
  * Thrown by a region server if it will block and wait to serve a request.
  * For example, the client wants to insert something to a region while the
  * region is compacting.
+ * <p>
+ * The server may suggest how long the client should wait before retrying. The hint
+ * is carried in the message, as only the message survives the trip to the client.
  */
 @InterfaceAudience.Public
 @InterfaceStability.Evolving
 public class RegionTooBusyException extends IOException {
   private static final long serialVersionUID = 1728345723728342L;
 
+  private static final String RETRY_AFTER_FIELD = "retryAfter=";
+
+  private final long retryAfter;
+
   /** default constructor */
   public RegionTooBusyException() {
     super();
+    this.retryAfter = -1;
   }
 
   /**
@@ -43,5 +51,43 @@ public class RegionTooBusyException extends IOException {
    */
   public RegionTooBusyException(final String msg) {
     super(msg);
+    this.retryAfter = parseRetryAfter(msg);
+  }
+
+  /**
+   * @param msg message
+   * @param retryAfter how long the client should wait before retrying, in milliseconds
+   */
+  public RegionTooBusyException(final String msg, final long retryAfter) {
+    super(msg + ", " + RETRY_AFTER_FIELD + retryAfter + "ms");
+    this.retryAfter = retryAfter;
+  }
+
+  /**
+   * @return how long the server asked the client to wait before retrying, in
+   * milliseconds, or -1 if the server did not say
+   */
+  public long getRetryAfter() {
+    return this.retryAfter;
+  }
+
+  private static long parseRetryAfter(final String msg) {
+    if (msg == null) {
+      return -1;
+    }
+    int pos = msg.lastIndexOf(RETRY_AFTER_FIELD);
+    if (pos < 0) {
+      return -1;
+    }
+    pos += RETRY_AFTER_FIELD.length();
+    int end = pos;
+    while (end < msg.length() && Character.isDigit(msg.charAt(end))) {
+      end++;
+    }
+    try {
+      return Long.parseLong(msg.substring(pos, end));
+    } catch (NumberFormatException e) {
+      return -1;
+    }
   }
 }
@@ -125,6 +125,13 @@ class AsyncProcess<CResult> {
   protected final int maxConcurrentTasksPerServer;
   protected final long pause;
   protected int numTries;
+
+  /**
+   * The load reported by the servers, null if the client does not back off from loaded
+   * servers. The tasks sent to a loaded server are fewer, and delayed.
+   */
+  protected final ServerStatisticTracker statisticTracker;
+  protected final ClientBackoffPolicy backoffPolicy;
   protected int serverTrackerTimeout;
   protected RpcRetryingCallerFactory rpcCallerFactory;
 
@@ -253,6 +260,8 @@ class AsyncProcess<CResult> {
 
 
     this.rpcCallerFactory = rpcCaller;
+    this.statisticTracker = hc.getStatisticTracker();
+    this.backoffPolicy = new ClientBackoffPolicy(conf);
   }
 
   /**
@@ -420,7 +429,8 @@ class AsyncProcess<CResult> {
       if (ok) {
         // If the total is fine, is it ok for this individual server?
         AtomicInteger serverCnt = taskCounterPerServer.get(loc.getServerName());
-        ok = (serverCnt == null || serverCnt.get() < maxConcurrentTasksPerServer);
+        ok = (serverCnt == null ||
+            serverCnt.get() < getMaxConcurrentTasksPerServer(loc.getServerName()));
       }
 
       if (!ok) {
@@ -523,6 +533,14 @@ class AsyncProcess<CResult> {
         public void run() {
           MultiResponse res;
           try {
+            long backoff = getBackoffTime(loc.getServerName());
+            if (backoff > 0) {
+              try {
+                Thread.sleep(backoff);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            }
             MultiServerCallable<Row> callable = createCallable(loc, multiAction);
             try {
               res = createCaller(callable).callWithoutRetries(callable);
@@ -565,6 +583,27 @@ class AsyncProcess<CResult> {
     }
   }
 
+  /**
+   * @return the number of tasks that can run simultaneously on the server, given its load
+   */
+  private int getMaxConcurrentTasksPerServer(ServerName server) {
+    if (statisticTracker == null) {
+      return maxConcurrentTasksPerServer;
+    }
+    return backoffPolicy.getMaxConcurrentTasks(statisticTracker.getServerStats(server),
+        maxConcurrentTasksPerServer);
+  }
+
+  /**
+   * @return how long to wait before sending a task to the server, given its load
+   */
+  protected long getBackoffTime(ServerName server) {
+    if (statisticTracker == null) {
+      return 0;
+    }
+    return backoffPolicy.getBackoffTime(statisticTracker.getServerStats(server));
+  }
+
   /**
    * Create a callable. Isolated to be easily overridden in the tests.
    */
@@ -680,7 +719,8 @@ class AsyncProcess<CResult> {
     //  2) We want to take into account the location when calculating the sleep time.
     // It should be possible to have some heuristics to take the right decision. Short term,
     //  we go for one.
-    long backOffTime = errorsByServer.calculateBackoffTime(oldLocation, pause);
+    long backOffTime = ConnectionUtils.getPauseTime(
+        errorsByServer.calculateBackoffTime(oldLocation, pause), throwable);
 
     if (numAttempt > startLogErrorsCnt) {
       // We use this value to have some logs when we have multiple failures, but not too many
@@ -716,6 +756,11 @@ class AsyncProcess<CResult> {
                                   HConnectionManager.ServerErrorTracker errorsByServer) {
      assert responses != null;
 
+    if (statisticTracker != null) {
+      statisticTracker.updateServerStats(location.getServerName(),
+          responses.getServerStatistics());
+    }
+
     // Success or partial success
     // Analyze detailed results. We can still have individual failures to be redo.
     // two specific throwables are managed:
@@ -0,0 +1,218 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.client;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.classification.InterfaceAudience;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.TableName;
+
+/**
+ * A {@link ClientScanner} that fetches the next batch of results in the background
+ * while the application consumes the current one, so that the region server and the
+ * application are not idle in turn.
+ * <p>
+ * A fetch starts as soon as fewer than half the scanner caching is left in the buffer.
+ * The buffer is bounded in bytes: by two batches when the scan has a max result size,
+ * otherwise by {@link #MAX_BUFFER_SIZE_KEY}. No fetch starts while more than half of
+ * the bound is buffered, and at most one fetch is in flight.
+ * <p>
+ * The fetches run in the pool of the table. The scanner itself is not thread safe, like
+ * the other scanners it belongs to a single application thread.
+ */
+@InterfaceAudience.Private
+public class ClientAsyncPrefetchScanner extends ClientScanner {
+  private static final Log LOG = LogFactory.getLog(ClientAsyncPrefetchScanner.class);
+
+  /** The most the scanner buffers ahead of the application, in bytes */
+  public static final String MAX_BUFFER_SIZE_KEY =
+      "hbase.client.scanner.async.prefetch.max.buffer";
+  public static final long DEFAULT_MAX_BUFFER_SIZE = 32 * 1024 * 1024;
+
+  private final ExecutorService pool;
+  private final long maxBufferSize;
+  private final int lowWatermark;
+
+  // Results fetched in the background, waiting for the application
+  private final LinkedBlockingQueue<Result> prefetched = new LinkedBlockingQueue<Result>();
+  private final AtomicLong prefetchedSize = new AtomicLong(0);
+
+  // The fetch in flight, if any. Only the application thread starts and collects them.
+  private FutureTask<Void> prefetch = null;
+  private volatile Thread prefetchThread = null;
+  private volatile IOException prefetchError = null;
+  // Set by the fetch that found nothing more to scan
+  private volatile boolean exhausted = false;
+
+  /**
+   * Create a new ClientAsyncPrefetchScanner for the specified table. Note that the passed
+   * {@link Scan}'s start row maybe changed.
+   * @param conf The {@link Configuration} to use.
+   * @param scan {@link Scan} to use in this scanner
+   * @param tableName The table that we wish to scan
+   * @param connection Connection identifying the cluster
+   * @param pool the pool to run the fetches in
+   * @throws IOException
+   */
+  public ClientAsyncPrefetchScanner(Configuration conf, Scan scan, TableName tableName,
+      HConnection connection, ExecutorService pool) throws IOException {
+    super(conf, scan, tableName, connection);
+    this.pool = pool;
+    long bufferSize = conf.getLong(MAX_BUFFER_SIZE_KEY, DEFAULT_MAX_BUFFER_SIZE);
+    if (this.maxScannerResultSize <= bufferSize / 2) {
+      // One batch being consumed, the next one being fetched
+      bufferSize = 2 * this.maxScannerResultSize;
+    }
+    this.maxBufferSize = bufferSize;
+    this.lowWatermark = Math.max(1, this.caching / 2);
+  }
+
+  @Override
+  public Result next() throws IOException {
+    while (true) {
+      Result result = prefetched.poll();
+      if (result != null) {
+        prefetchedSize.addAndGet(-calcEstimatedSize(result));
+        prefetchIfNeeded();
+        return result;
+      }
+      if (prefetch != null) {
+        waitForPrefetch();
+      } else if (exhausted || closed) {
+        // if we exhausted this scanner before calling close, write out the scan metrics
+        writeScanMetrics();
+        return null;
+      } else {
+        startPrefetch();
+      }
+    }
+  }
+
+  /**
+   * Starts a fetch if the buffer is below the watermark and there is room for a batch.
+   */
+  private void prefetchIfNeeded() throws IOException {
+    if (prefetch != null) {
+      if (!prefetch.isDone() || prefetchError != null) {
+        // Still running, or failed; the failure is thrown once the buffer is drained
+        return;
+      }
+      waitForPrefetch();
+    }
+    if (!exhausted && !closed && prefetched.size() < lowWatermark
+        && prefetchedSize.get() < maxBufferSize / 2) {
+      startPrefetch();
+    }
+  }
+
+  private void startPrefetch() {
+    FutureTask<Void> task = new FutureTask<Void>(new Runnable() {
+      @Override
+      public void run() {
+        prefetchThread = Thread.currentThread();
+        try {
+          fetch();
+        } catch (IOException e) {
+          prefetchError = e;
+        } finally {
+          prefetchThread = null;
+        }
+      }
+    }, null);
+    this.prefetch = task;
+    try {
+      pool.execute(task);
+    } catch (RejectedExecutionException e) {
+      // The pool is shut down or saturated, fetch in the application thread
+      LOG.debug("Fetching in the scanner thread, the pool rejected the fetch: " + e);
+      task.run();
+    }
+  }
+
+  /**
+   * Loads the next batch and hands it over to the application thread.
+   * Runs in the pool; the only one touching the state of the underlying scanner
+   * while it runs.
+   */
+  private void fetch() throws IOException {
+    if (closed) {
+      exhausted = true;
+      return;
+    }
+    loadCache();
+    if (cache.isEmpty()) {
+      exhausted = true;
+      return;
+    }
+    long size = 0;
+    for (Result rs : cache) {
+      size += calcEstimatedSize(rs);
+    }
+    prefetchedSize.addAndGet(size);
+    prefetched.addAll(cache);
+    cache.clear();
+  }
+
+  /**
+   * Waits for the fetch in flight and throws its failure, if any.
+   */
+  private void waitForPrefetch() throws IOException {
+    try {
+      prefetch.get();
+    } catch (InterruptedException e) {
+      throw (InterruptedIOException) new InterruptedIOException().initCause(e);
+    } catch (ExecutionException e) {
+      // The fetch catches the IOExceptions, anything else is unexpected
+      prefetch = null;
+      throw new IOException(e.getCause());
+    }
+    prefetch = null;
+    IOException e = prefetchError;
+    if (e != null) {
+      prefetchError = null;
+      throw e;
+    }
+  }
+
+  @Override
+  public void close() {
+    // The scanner closes itself from the fetch once it is done with the last region
+    if (prefetch != null && Thread.currentThread() != prefetchThread) {
+      try {
+        prefetch.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        // Closing anyway
+      }
+      prefetch = null;
+    }
+    super.close();
+  }
+}
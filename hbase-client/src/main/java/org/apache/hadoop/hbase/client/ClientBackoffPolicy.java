@@ -0,0 +1,78 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.client;
+
+import org.apache.hadoop.classification.InterfaceAudience;
+import org.apache.hadoop.conf.Configuration;
+
+/**
+ * Decides how hard a client pushes on a region server from the load the server
+ * reported. Below a threshold the server gets the configured concurrency and no
+ * delay. Above it, the client sends fewer requests at a time and waits before each
+ * one, both growing with the load up to the maximum backoff at full load. As the
+ * load goes down, the client speeds up again.
+ */
+@InterfaceAudience.Private
+public class ClientBackoffPolicy {
+  /** The load, in percent, above which the client starts backing off */
+  public static final String BACKOFF_THRESHOLD_KEY = "hbase.client.backpressure.threshold";
+  public static final int DEFAULT_BACKOFF_THRESHOLD = 50;
+  /** The delay, in ms, before sending a request to a fully loaded server */
+  public static final String MAX_BACKOFF_KEY = "hbase.client.backpressure.max.backoff";
+  public static final long DEFAULT_MAX_BACKOFF = 2000;
+
+  private final int threshold;
+  private final long maxBackoff;
+
+  public ClientBackoffPolicy(Configuration conf) {
+    this.threshold = Math.max(0, Math.min(99,
+        conf.getInt(BACKOFF_THRESHOLD_KEY, DEFAULT_BACKOFF_THRESHOLD)));
+    this.maxBackoff = conf.getLong(MAX_BACKOFF_KEY, DEFAULT_MAX_BACKOFF);
+  }
+
+  /**
+   * @return how far above the threshold the server is, from 0 to 1
+   */
+  private double getPressure(ServerStatistics stats) {
+    if (stats == null || stats.getLoad() <= threshold) {
+      return 0;
+    }
+    return Math.min(1.0, (double) (stats.getLoad() - threshold) / (100 - threshold));
+  }
+
+  /**
+   * @param stats the last load reported by the server, may be null
+   * @return how long to wait before sending the next request to the server, in ms
+   */
+  public long getBackoffTime(ServerStatistics stats) {
+    double pressure = getPressure(stats);
+    // Gentle at first, steep near full load
+    return (long) (maxBackoff * pressure * pressure);
+  }
+
+  /**
+   * @param stats the last load reported by the server, may be null
+   * @param maxConcurrentTasks the number of concurrent requests allowed to an idle server
+   * @return the number of concurrent requests allowed to the server, at least one
+   */
+  public int getMaxConcurrentTasks(ServerStatistics stats, int maxConcurrentTasks) {
+    double pressure = getPressure(stats);
+    return Math.max(1, (int) Math.round(maxConcurrentTasks * (1 - pressure)));
+  }
+}
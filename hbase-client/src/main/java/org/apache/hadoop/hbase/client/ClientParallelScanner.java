@@ -0,0 +1,252 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.client;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.classification.InterfaceAudience;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.util.Bytes;
+
+/**
+ * A scanner that scans several regions of a table at the same time.
+ * <p>
+ * The row range of the {@link Scan} is cut at the region boundaries known when the
+ * scanner is created. Up to <code>maxParallelism</code> of these ranges are scanned
+ * concurrently in the given pool, each one by a {@link ClientScanner} that follows the
+ * regions as they split or move, up to the end of its range. Each range buffers at most
+ * one scanner caching of rows ahead of the application.
+ * <p>
+ * Unordered, the rows are returned as soon as any range fetched them. Ordered, the
+ * ranges are disjoint and sorted, so the rows are returned range after range, while the
+ * next ranges are fetched ahead. Reversed and small scans are not supported.
+ */
+@InterfaceAudience.Private
+public class ClientParallelScanner extends AbstractClientScanner {
+  private static final Log LOG = LogFactory.getLog(ClientParallelScanner.class);
+
+  private final Configuration conf;
+  private final TableName tableName;
+  private final HConnection connection;
+  private final ExecutorService pool;
+  private final boolean ordered;
+  private final int queueCapacity;
+  // The ranges not started yet, in row order
+  private final LinkedList<RangeScan> pending = new LinkedList<RangeScan>();
+  // The ranges started and not entirely consumed yet, in row order
+  private final LinkedList<RangeScan> running = new LinkedList<RangeScan>();
+  // Where all the ranges put their rows when unordered
+  private final BlockingQueue<Object> sharedQueue;
+  private volatile boolean closed = false;
+
+  /**
+   * Create a new ClientParallelScanner for the specified table.
+   * @param conf The {@link Configuration} to use.
+   * @param scan {@link Scan} to use in this scanner
+   * @param tableName The table that we wish to scan
+   * @param connection Connection identifying the cluster
+   * @param pool the pool to scan the regions in
+   * @param maxParallelism the most regions scanned at the same time
+   * @param ordered whether the rows are returned in row order
+   * @throws IOException
+   */
+  public ClientParallelScanner(Configuration conf, Scan scan, TableName tableName,
+      HConnection connection, ExecutorService pool, int maxParallelism, boolean ordered)
+      throws IOException {
+    if (scan.isReversed() || scan.isSmall()) {
+      throw new IllegalArgumentException("Reversed and small scans cannot be parallelized");
+    }
+    this.conf = conf;
+    this.tableName = tableName;
+    this.connection = connection;
+    this.pool = pool;
+    this.ordered = ordered;
+    int caching = scan.getCaching() > 0 ? scan.getCaching() : conf.getInt(
+        HConstants.HBASE_CLIENT_SCANNER_CACHING, HConstants.DEFAULT_HBASE_CLIENT_SCANNER_CACHING);
+    this.queueCapacity = Math.max(1, caching);
+    this.sharedQueue = ordered ? null
+        : new LinkedBlockingQueue<Object>(queueCapacity * Math.max(1, maxParallelism));
+
+    this.pending.addAll(splitByRegion(scan));
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Scanning " + pending.size() + " ranges of " + tableName + ", "
+          + maxParallelism + " at a time");
+    }
+    for (int i = 0; i < maxParallelism && !pending.isEmpty(); i++) {
+      startNextRange();
+    }
+  }
+
+  /**
+   * @return the row ranges of the scan within each region of the table, in row order
+   */
+  private List<RangeScan> splitByRegion(Scan scan) throws IOException {
+    byte[] startRow = scan.getStartRow();
+    byte[] stopRow = scan.getStopRow();
+    List<RangeScan> ranges = new ArrayList<RangeScan>();
+    for (HRegionInfo region :
+        MetaScanner.allTableRegions(conf, connection, tableName, false).keySet()) {
+      byte[] regionStart = region.getStartKey();
+      byte[] regionEnd = region.getEndKey();
+      // Skip the regions out of the range of the scan
+      if (regionEnd.length > 0 && Bytes.compareTo(regionEnd, startRow) <= 0) {
+        continue;
+      }
+      if (stopRow.length > 0 && Bytes.compareTo(regionStart, stopRow) >= 0) {
+        continue;
+      }
+      byte[] rangeStart = Bytes.compareTo(regionStart, startRow) > 0 ? regionStart : startRow;
+      byte[] rangeStop = regionEnd;
+      if (stopRow.length > 0 &&
+          (regionEnd.length == 0 || Bytes.compareTo(stopRow, regionEnd) < 0)) {
+        rangeStop = stopRow;
+      }
+      Scan rangeScan = new Scan(scan);
+      rangeScan.setStartRow(rangeStart);
+      rangeScan.setStopRow(rangeStop);
+      ranges.add(new RangeScan(rangeScan,
+          ordered ? new LinkedBlockingQueue<Object>(queueCapacity) : sharedQueue));
+    }
+    return ranges;
+  }
+
+  private void startNextRange() throws IOException {
+    RangeScan range = pending.removeFirst();
+    running.add(range);
+    try {
+      pool.execute(range);
+    } catch (RejectedExecutionException e) {
+      close();
+      throw new IOException("Could not scan " + Bytes.toStringBinary(range.scan.getStartRow())
+          + " to " + Bytes.toStringBinary(range.scan.getStopRow()) + " of " + tableName, e);
+    }
+  }
+
+  @Override
+  public Result next() throws IOException {
+    while (!closed && !running.isEmpty()) {
+      BlockingQueue<Object> queue = ordered ? running.getFirst().queue : sharedQueue;
+      Object next;
+      try {
+        next = queue.take();
+      } catch (InterruptedException e) {
+        throw (InterruptedIOException) new InterruptedIOException().initCause(e);
+      }
+      if (next instanceof Result) {
+        return (Result) next;
+      }
+      // The range is done, it put itself after its last row
+      RangeScan range = (RangeScan) next;
+      running.remove(range);
+      if (range.error != null) {
+        close();
+        throw range.error;
+      }
+      if (!pending.isEmpty()) {
+        startNextRange();
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void close() {
+    // The ranges running stop at their next row
+    closed = true;
+  }
+
+  /**
+   * Scans a row range and puts the rows, then itself, in the queue.
+   */
+  private class RangeScan implements Runnable {
+    private final Scan scan;
+    private final BlockingQueue<Object> queue;
+    private volatile IOException error = null;
+
+    RangeScan(Scan scan, BlockingQueue<Object> queue) {
+      this.scan = scan;
+      this.queue = queue;
+    }
+
+    @Override
+    public void run() {
+      ClientScanner scanner = null;
+      try {
+        scanner = new ClientScanner(conf, scan, tableName, connection);
+        for (Result result = scanner.next(); result != null; result = scanner.next()) {
+          if (!put(result)) {
+            break;
+          }
+        }
+      } catch (IOException e) {
+        error = e;
+      } catch (RuntimeException e) {
+        // The application must not take a failed range for a complete one
+        error = new IOException(e);
+      } finally {
+        if (scanner != null) {
+          scanner.close();
+        }
+        put(this);
+      }
+    }
+
+    /**
+     * Waits for room in the queue, as long as the scanner is open. Once interrupted,
+     * the range still hands over the row, but stops scanning and fails.
+     * @return false if the scanner was closed or the thread interrupted
+     */
+    private boolean put(Object o) {
+      boolean interrupted = false;
+      try {
+        while (!closed) {
+          try {
+            if (queue.offer(o, 100, TimeUnit.MILLISECONDS)) {
+              return !interrupted;
+            }
+          } catch (InterruptedException e) {
+            interrupted = true;
+            if (error == null) {
+              error = (InterruptedIOException) new InterruptedIOException().initCause(e);
+            }
+          }
+        }
+        return false;
+      } finally {
+        if (interrupted) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+}
@@ -35,6 +35,7 @@ import org.apache.hadoop.hbase.NotServingRegionException;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.UnknownScannerException;
 import org.apache.hadoop.hbase.exceptions.OutOfOrderScannerNextException;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
 import org.apache.hadoop.hbase.protobuf.ProtobufUtil;
 import org.apache.hadoop.hbase.protobuf.generated.MapReduceProtos;
 import org.apache.hadoop.hbase.regionserver.RegionServerStoppedException;
@@ -60,6 +61,9 @@ public class ClientScanner extends AbstractClientScanner {
     protected long lastNext;
     // Keep lastResult returned successfully in case we have to reset scanner.
     protected Result lastResult = null;
+    // Last row the server skipped in the current region while sending heartbeats and no
+    // results. Rows up to it need not be scanned again if we have to reset the scanner.
+    private byte[] heartbeatCursorRow = null;
     protected final long maxScannerResultSize;
     private final HConnection connection;
     private final TableName tableName;
@@ -221,6 +225,7 @@ public class ClientScanner extends AbstractClientScanner {
      */
   protected boolean nextScanner(int nbRows, final boolean done)
     throws IOException {
+      this.heartbeatCursorRow = null;
       // Close the previous scanner if it's open
       if (this.callable != null) {
         this.callable.setClose();
@@ -252,6 +257,16 @@ public class ClientScanner extends AbstractClientScanner {
         localStartKey = this.scan.getStartRow();
       }
 
+      // Skip the regions that have none of the row ranges of the filter
+      if (this.scan.getFilter() instanceof MultiRowRangeFilter) {
+        localStartKey = ((MultiRowRangeFilter) this.scan.getFilter())
+          .getNextRowInRanges(localStartKey);
+        if (localStartKey == null || checkScanStopRow(localStartKey)) {
+          close();
+          return false;
+        }
+      }
+
       if (LOG.isDebugEnabled() && this.currentRegion != null) {
         // Only worth logging if NOT first region in scan.
         LOG.debug("Advancing internal scanner to startKey at '" +
@@ -310,116 +325,147 @@ public class ClientScanner extends AbstractClientScanner {
         return null;
       }
       if (cache.size() == 0) {
-        Result [] values = null;
-        long remainingResultSize = maxScannerResultSize;
-        int countdown = this.caching;
-        // We need to reset it if it's a new callable that was created
-        // with a countdown in nextScanner
-        callable.setCaching(this.caching);
-        // This flag is set when we want to skip the result returned.  We do
-        // this when we reset scanner because it split under us.
-        boolean skipFirst = false;
-        boolean retryAfterOutOfOrderException  = true;
-        do {
-          try {
-            if (skipFirst) {
-              // Skip only the first row (which was the last row of the last
-              // already-processed batch).
-              callable.setCaching(1);
-              values = this.caller.callWithRetries(callable);
-              callable.setCaching(this.caching);
-              skipFirst = false;
-            }
-            // Server returns a null values if scanning is to stop.  Else,
-            // returns an empty array if scanning is to go on and we've just
-            // exhausted current region.
+        loadCache();
+      }
+
+      if (cache.size() > 0) {
+        return cache.poll();
+      }
+
+      // if we exhausted this scanner before calling close, write out the scan metrics
+      writeScanMetrics();
+      return null;
+    }
+
+    /**
+     * Fetches the next batch of results from the region servers into the cache, moving
+     * on to the next regions as needed. Leaves the cache empty once the scan is done.
+     * @throws IOException
+     */
+    protected void loadCache() throws IOException {
+      Result [] values = null;
+      long remainingResultSize = maxScannerResultSize;
+      int countdown = this.caching;
+      // We need to reset it if it's a new callable that was created
+      // with a countdown in nextScanner
+      callable.setCaching(this.caching);
+      // This flag is set when we want to skip the result returned.  We do
+      // this when we reset scanner because it split under us.
+      boolean skipFirst = false;
+      boolean retryAfterOutOfOrderException  = true;
+      do {
+        try {
+          if (skipFirst) {
+            // Skip only the first row (which was the last row of the last
+            // already-processed batch).
+            callable.setCaching(1);
             values = this.caller.callWithRetries(callable);
-            if (skipFirst && values != null && values.length == 1) {
-              skipFirst = false; // Already skipped, unset it before scanning again
-              values = this.caller.callWithRetries(callable);
+            callable.setCaching(this.caching);
+            skipFirst = false;
+          }
+          // Server returns a null values if scanning is to stop.  Else,
+          // returns an empty array if scanning is to go on and we've just
+          // exhausted current region.
+          values = this.caller.callWithRetries(callable);
+          if (skipFirst && values != null && values.length == 1) {
+            skipFirst = false; // Already skipped, unset it before scanning again
+            values = this.caller.callWithRetries(callable);
+          }
+          retryAfterOutOfOrderException  = true;
+        } catch (DoNotRetryIOException e) {
+          // DNRIOEs are thrown to make us break out of retries.  Some types of DNRIOEs want us
+          // to reset the scanner and come back in again.
+          if (e instanceof UnknownScannerException) {
+            long timeout = lastNext + scannerTimeout;
+            // If we are over the timeout, throw this exception to the client wrapped in
+            // a ScannerTimeoutException. Else, it's because the region moved and we used the old
+            // id against the new region server; reset the scanner.
+            if (timeout < System.currentTimeMillis()) {
+              long elapsed = System.currentTimeMillis() - lastNext;
+              ScannerTimeoutException ex = new ScannerTimeoutException(
+                  elapsed + "ms passed since the last invocation, " +
+                      "timeout is currently set to " + scannerTimeout);
+              ex.initCause(e);
+              throw ex;
             }
-            retryAfterOutOfOrderException  = true;
-          } catch (DoNotRetryIOException e) {
-            // DNRIOEs are thrown to make us break out of retries.  Some types of DNRIOEs want us
-            // to reset the scanner and come back in again.
-            if (e instanceof UnknownScannerException) {
-              long timeout = lastNext + scannerTimeout;
-              // If we are over the timeout, throw this exception to the client wrapped in
-              // a ScannerTimeoutException. Else, it's because the region moved and we used the old
-              // id against the new region server; reset the scanner.
-              if (timeout < System.currentTimeMillis()) {
-                long elapsed = System.currentTimeMillis() - lastNext;
-                ScannerTimeoutException ex = new ScannerTimeoutException(
-                    elapsed + "ms passed since the last invocation, " +
-                        "timeout is currently set to " + scannerTimeout);
-                ex.initCause(e);
-                throw ex;
-              }
+          } else {
+            // If exception is any but the list below throw it back to the client; else setup
+            // the scanner and retry.
+            Throwable cause = e.getCause();
+            if ((cause != null && cause instanceof NotServingRegionException) ||
+              (cause != null && cause instanceof RegionServerStoppedException) ||
+              e instanceof OutOfOrderScannerNextException) {
+              // Pass
+              // It is easier writing the if loop test as list of what is allowed rather than
+              // as a list of what is not allowed... so if in here, it means we do not throw.
             } else {
-              // If exception is any but the list below throw it back to the client; else setup
-              // the scanner and retry.
-              Throwable cause = e.getCause();
-              if ((cause != null && cause instanceof NotServingRegionException) ||
-                (cause != null && cause instanceof RegionServerStoppedException) ||
-                e instanceof OutOfOrderScannerNextException) {
-                // Pass
-                // It is easier writing the if loop test as list of what is allowed rather than
-                // as a list of what is not allowed... so if in here, it means we do not throw.
-              } else {
-                throw e;
-              }
+              throw e;
             }
-            // Else, its signal from depths of ScannerCallable that we need to reset the scanner.
-            if (this.lastResult != null) {
-              this.scan.setStartRow(this.lastResult.getRow());
-              // Skip first row returned.  We already let it out on previous
-              // invocation.
-              skipFirst = true;
-            }
-            if (e instanceof OutOfOrderScannerNextException) {
-              if (retryAfterOutOfOrderException) {
-                retryAfterOutOfOrderException = false;
-              } else {
-                // TODO: Why wrap this in a DNRIOE when it already is a DNRIOE?
-                throw new DoNotRetryIOException("Failed after retry of " +
-                  "OutOfOrderScannerNextException: was there a rpc timeout?", e);
-              }
-            }
-            // Clear region.
-            this.currentRegion = null;
-            // Set this to zero so we don't try and do an rpc and close on remote server when
-            // the exception we got was UnknownScanner or the Server is going down.
-            callable = null;
-            // This continue will take us to while at end of loop where we will set up new scanner.
-            continue;
           }
-          long currentTime = System.currentTimeMillis();
-          if (this.scanMetrics != null ) {
-            this.scanMetrics.sumOfMillisSecBetweenNexts.addAndGet(currentTime-lastNext);
+          // Else, its signal from depths of ScannerCallable that we need to reset the scanner.
+          if (this.heartbeatCursorRow != null) {
+            // The server skipped past the last result before it failed; go on after the
+            // last row it told us about.
+            this.scan.setStartRow(Bytes.add(this.heartbeatCursorRow, new byte[1]));
+            this.heartbeatCursorRow = null;
+          } else if (this.lastResult != null) {
+            this.scan.setStartRow(this.lastResult.getRow());
+            // Skip first row returned.  We already let it out on previous
+            // invocation.
+            skipFirst = true;
           }
-          lastNext = currentTime;
-          if (values != null && values.length > 0) {
-            for (Result rs : values) {
-              cache.add(rs);
-              for (Cell kv : rs.rawCells()) {
-                // TODO make method in Cell or CellUtil
-                remainingResultSize -= KeyValueUtil.ensureKeyValue(kv).heapSize();
-              }
-              countdown--;
-              this.lastResult = rs;
+          if (e instanceof OutOfOrderScannerNextException) {
+            if (retryAfterOutOfOrderException) {
+              retryAfterOutOfOrderException = false;
+            } else {
+              // TODO: Why wrap this in a DNRIOE when it already is a DNRIOE?
+              throw new DoNotRetryIOException("Failed after retry of " +
+                "OutOfOrderScannerNextException: was there a rpc timeout?", e);
             }
           }
-          // Values == null means server-side filter has determined we must STOP
-        } while (remainingResultSize > 0 && countdown > 0 && nextScanner(countdown, values == null));
-      }
+          // Clear region.
+          this.currentRegion = null;
+          // Set this to zero so we don't try and do an rpc and close on remote server when
+          // the exception we got was UnknownScanner or the Server is going down.
+          callable = null;
+          // This continue will take us to while at end of loop where we will set up new scanner.
+          continue;
+        }
+        long currentTime = System.currentTimeMillis();
+        if (this.scanMetrics != null ) {
+          this.scanMetrics.sumOfMillisSecBetweenNexts.addAndGet(currentTime-lastNext);
+        }
+        lastNext = currentTime;
+        if (values != null && values.length > 0) {
+          for (Result rs : values) {
+            cache.add(rs);
+            remainingResultSize -= calcEstimatedSize(rs);
+            countdown--;
+            this.lastResult = rs;
+          }
+          this.heartbeatCursorRow = null;
+        }
+        if (callable != null && callable.getCursorRow() != null && !scan.isReversed()) {
+          this.heartbeatCursorRow = callable.getCursorRow();
+        }
+        // Values == null means server-side filter has determined we must STOP. If the
+        // server says there is more in the region, e.g. after a heartbeat, stay on it.
+      } while (remainingResultSize > 0 && countdown > 0
+          && ((callable != null && callable.isMoreResultsInRegion())
+              || nextScanner(countdown, values == null)));
+    }
 
-      if (cache.size() > 0) {
-        return cache.poll();
+    /**
+     * @return the estimated heap size of the cells of the result, as counted against
+     * the max result size of the scan
+     */
+    protected static long calcEstimatedSize(Result rs) {
+      long size = 0;
+      for (Cell kv : rs.rawCells()) {
+        // TODO make method in Cell or CellUtil
+        size += KeyValueUtil.ensureKeyValue(kv).heapSize();
       }
-
-      // if we exhausted this scanner before calling close, write out the scan metrics
-      writeScanMetrics();
-      return null;
+      return size;
     }
 
     @Override
@@ -21,6 +21,7 @@ import java.util.Random;
 
 import org.apache.hadoop.classification.InterfaceAudience;
 import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.RegionTooBusyException;
 
 /**
  * Utility used by client connections.
@@ -61,4 +62,22 @@ public class ConnectionUtils {
     }
     return newPause;
   }
+
+  /**
+   * Honors the retry hint of a server that asked us to back off.
+   * @param pause the pause computed from the number of tries.
+   * @param error the error of the last try, may be null.
+   * @return the longer of <code>pause</code> and the wait the server asked for in
+   * a {@link RegionTooBusyException}
+   */
+  public static long getPauseTime(final long pause, final Throwable error) {
+    Throwable cause = HConnectionManager.findException(error);
+    if (cause instanceof RegionTooBusyException) {
+      long retryAfter = ((RegionTooBusyException) cause).getRetryAfter();
+      if (retryAfter > pause) {
+        return addJitter(retryAfter, 0.10f);
+      }
+    }
+    return pause;
+  }
 }
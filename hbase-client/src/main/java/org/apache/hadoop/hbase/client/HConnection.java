@@ -35,6 +35,7 @@ import org.apache.hadoop.hbase.ServerName;
 import org.apache.hadoop.hbase.ZooKeeperConnectionException;
 import org.apache.hadoop.hbase.catalog.CatalogTracker;
 import org.apache.hadoop.hbase.client.coprocessor.Batch;
+import org.apache.hadoop.hbase.client.metrics.RegionCacheMetrics;
 import org.apache.hadoop.hbase.protobuf.generated.AdminProtos.AdminService;
 import org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ClientService;
 import org.apache.hadoop.hbase.protobuf.generated.MasterProtos.MasterService;
@@ -350,6 +351,19 @@ public interface HConnection extends Abortable, Closeable {
       final boolean useCache,
       final boolean offlined) throws IOException;
 
+  /**
+   * Loads the locations of all the online regions of the table into the region cache,
+   * with a single scan of hbase:meta.
+   * @param tableName table to get regions of
+   * @throws IOException
+   */
+  void warmUpRegionCache(final TableName tableName) throws IOException;
+
+  /**
+   * @return the hits, misses and invalidations of the region location cache
+   */
+  RegionCacheMetrics getRegionCacheMetrics();
+
   /**
    * Returns a {@link MasterKeepAliveConnection} to the active master
    */
@@ -520,4 +534,10 @@ public interface HConnection extends Abortable, Closeable {
    * @return Nonce generator for this HConnection; may be null if disabled in configuration.
    */
   public NonceGenerator getNonceGenerator();
+
+  /**
+   * @return the load reported by the region servers to this HConnection; null if
+   * {@link HConstants#HBASE_CLIENT_BACKPRESSURE_ENABLED} is not set.
+   */
+  public ServerStatisticTracker getStatisticTracker();
 }
\ No newline at end of file
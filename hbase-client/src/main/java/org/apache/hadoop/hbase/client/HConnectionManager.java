@@ -30,12 +30,10 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.NavigableMap;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListMap;
-import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -65,7 +63,9 @@ import org.apache.hadoop.hbase.TableNotFoundException;
 import org.apache.hadoop.hbase.ZooKeeperConnectionException;
 import org.apache.hadoop.hbase.client.MetaScanner.MetaScannerVisitor;
 import org.apache.hadoop.hbase.client.MetaScanner.MetaScannerVisitorBase;
+import org.apache.hadoop.hbase.client.MetaScanner.TableMetaScannerVisitor;
 import org.apache.hadoop.hbase.client.coprocessor.Batch;
+import org.apache.hadoop.hbase.client.metrics.RegionCacheMetrics;
 import org.apache.hadoop.hbase.exceptions.RegionMovedException;
 import org.apache.hadoop.hbase.exceptions.RegionOpeningException;
 import org.apache.hadoop.hbase.ipc.RpcClient;
@@ -572,7 +572,9 @@ public class HConnectionManager {
     private final int numTries;
     final int rpcTimeout;
     private NonceGenerator nonceGenerator = null;
+    private final ServerStatisticTracker statisticTracker;
     private final int prefetchRegionLimit;
+    private final boolean prefetchWarmup;
 
     private volatile boolean closed;
     private volatile boolean aborted;
@@ -615,7 +617,14 @@ public class HConnectionManager {
     // of a server in this map guarentees that there is no entry in cache that
     // maps to the absent server.
     // The access to this attribute must be protected by a lock on cachedRegionLocations
-    private final Set<ServerName> cachedServers = new ConcurrentSkipListSet<ServerName>();
+    // The value is the ServerName instance shared by all the cached locations of the server,
+    // so that the cache holds one per server rather than one per region.
+    private final ConcurrentMap<ServerName, ServerName> cachedServers =
+        new ConcurrentSkipListMap<ServerName, ServerName>();
+
+    // Lookups of a region location that were served by the cache, that went to hbase:meta,
+    // and the cached locations dropped because they were found or suspected to be stale
+    private final RegionCacheMetrics regionCacheMetrics = new RegionCacheMetrics();
 
     // region cache prefetch is enabled by default. this set contains all
     // tables whose region cache prefetch are disabled.
@@ -721,10 +730,15 @@ public class HConnectionManager {
       } else {
         this.nonceGenerator = new NoNonceGenerator();
       }
+      this.statisticTracker = conf.getBoolean(HConstants.HBASE_CLIENT_BACKPRESSURE_ENABLED,
+          HConstants.DEFAULT_HBASE_CLIENT_BACKPRESSURE_ENABLED)
+          ? new ServerStatisticTracker() : null;
 
       this.prefetchRegionLimit = conf.getInt(
           HConstants.HBASE_CLIENT_PREFETCH_LIMIT,
           HConstants.DEFAULT_HBASE_CLIENT_PREFETCH_LIMIT);
+      this.prefetchWarmup = conf.getBoolean(HConstants.HBASE_CLIENT_PREFETCH_WARMUP,
+          HConstants.DEFAULT_HBASE_CLIENT_PREFETCH_WARMUP);
     }
 
     @Override
@@ -1037,10 +1051,24 @@ public class HConnectionManager {
     @Override
     public List<HRegionLocation> locateRegions(final TableName tableName,
         final boolean useCache, final boolean offlined) throws IOException {
-      NavigableMap<HRegionInfo, ServerName> regions = MetaScanner.allTableRegions(conf, this,
-          tableName, offlined);
+      final List<HRegionInfo> regions = new ArrayList<HRegionInfo>();
+      MetaScannerVisitor visitor = new TableMetaScannerVisitor(tableName) {
+        @Override
+        public boolean processRowInternal(Result result) throws IOException {
+          HRegionInfo regionInfo = MetaScanner.getHRegionInfo(result);
+          regions.add(regionInfo);
+          ServerName serverName = HRegionInfo.getServerName(result);
+          if (useCache && serverName != null) {
+            // Cache what the scan found rather than looking up every few regions again
+            cacheLocation(tableName, null, new HRegionLocation(regionInfo, serverName,
+                HRegionInfo.getSeqNumDuringOpen(result)));
+          }
+          return true;
+        }
+      };
+      MetaScanner.metaScan(conf, this, visitor, tableName);
       final List<HRegionLocation> locations = new ArrayList<HRegionLocation>();
-      for (HRegionInfo regionInfo : regions.keySet()) {
+      for (HRegionInfo regionInfo : regions) {
         locations.add(locateRegion(tableName, regionInfo.getStartKey(), useCache, true));
       }
       return locations;
@@ -1104,6 +1132,16 @@ public class HConnectionManager {
       }
     }
 
+    @Override
+    public void warmUpRegionCache(final TableName tableName) throws IOException {
+      long start = EnvironmentEdgeManager.currentTimeMillis();
+      int cached = prefetchRegionCache(tableName, null, Integer.MAX_VALUE);
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Cached the locations of " + cached + " regions of " + tableName + " in "
+            + (EnvironmentEdgeManager.currentTimeMillis() - start) + "ms");
+      }
+    }
+
     /*
      * Search hbase:meta for the HRegionLocation info that contains the table and
      * row we're seeking. It will prefetch certain number of regions info and
@@ -1111,6 +1149,25 @@ public class HConnectionManager {
      */
     private void prefetchRegionCache(final TableName tableName,
         final byte[] row) {
+      // The first lookup of a table loads all of its regions at once
+      boolean warmup = this.prefetchWarmup && getTableLocations(tableName).isEmpty();
+      try {
+        // pre-fetch certain number of regions info at region cache.
+        prefetchRegionCache(tableName, warmup ? null : row,
+            warmup ? Integer.MAX_VALUE : this.prefetchRegionLimit);
+      } catch (IOException e) {
+        LOG.warn("Encountered problems when prefetch hbase:meta table: ", e);
+      }
+    }
+
+    /*
+     * Scans hbase:meta from the region containing the row, or from the first region of
+     * the table if the row is null, and caches the locations of up to rowLimit regions.
+     * @return the number of locations cached
+     */
+    private int prefetchRegionCache(final TableName tableName, final byte[] row,
+        final int rowLimit) throws IOException {
+      final AtomicInteger cached = new AtomicInteger(0);
       // Implement a new visitor for MetaScanner, and use it to walk through
       // the hbase:meta
       MetaScannerVisitor visitor = new MetaScannerVisitorBase() {
@@ -1139,19 +1196,16 @@ public class HConnectionManager {
             HRegionLocation loc = new HRegionLocation(regionInfo, serverName, seqNum);
             // cache this meta entry
             cacheLocation(tableName, null, loc);
+            cached.incrementAndGet();
             return true;
           } catch (RuntimeException e) {
             throw new IOException(e);
           }
         }
       };
-      try {
-        // pre-fetch certain number of regions info at region cache.
-        MetaScanner.metaScan(conf, this, visitor, tableName, row,
-            this.prefetchRegionLimit, TableName.META_TABLE_NAME);
-      } catch (IOException e) {
-        LOG.warn("Encountered problems when prefetch hbase:meta table: ", e);
-      }
+      MetaScanner.metaScan(conf, this, visitor, tableName, row,
+          rowLimit, TableName.META_TABLE_NAME);
+      return cached.get();
     }
 
     /*
@@ -1168,9 +1222,11 @@ public class HConnectionManager {
       if (useCache) {
         location = getCachedLocation(tableName, row);
         if (location != null) {
+          regionCacheMetrics.countOfCacheHits.incrementAndGet();
           return location;
         }
       }
+      regionCacheMetrics.countOfCacheMisses.incrementAndGet();
       int localNumRetries = retry ? numTries : 1;
       // build the key of the meta region we should be looking for.
       // the extra 9's on the end are necessary to allow "exact" matches
@@ -1269,8 +1325,8 @@ public class HConnectionManager {
           }
 
           // Instantiate the location
-          location = new HRegionLocation(regionInfo, serverName,
-            HRegionInfo.getSeqNumDuringOpen(regionInfoRow));
+          location = withCachedServerName(new HRegionLocation(regionInfo, serverName,
+            HRegionInfo.getSeqNumDuringOpen(regionInfoRow)));
           cacheLocation(tableName, null, location);
           return location;
         } catch (TableNotFoundException e) {
@@ -1371,7 +1427,7 @@ public class HConnectionManager {
      */
     @Override
     public void clearCaches(final ServerName serverName) {
-      if (!this.cachedServers.contains(serverName)) {
+      if (!this.cachedServers.containsKey(serverName)) {
         return;
       }
 
@@ -1381,7 +1437,7 @@ public class HConnectionManager {
         //  threads will get the error  simultaneously. If there are hundreds of thousand of
         //  region location to check, it's better to do this only once. A better pattern would
         //  be to check if the server is dead when we get the region location.
-        if (!this.cachedServers.contains(serverName)) {
+        if (!this.cachedServers.containsKey(serverName)) {
           return;
         }
         for (Map<byte[], HRegionLocation> tableLocations : cachedRegionLocations.values()) {
@@ -1389,7 +1445,9 @@ public class HConnectionManager {
             HRegionLocation value = e.getValue();
             if (value != null
                 && serverName.equals(value.getServerName())) {
-              tableLocations.remove(e.getKey());
+              if (tableLocations.remove(e.getKey()) != null) {
+                regionCacheMetrics.countOfCacheInvalidations.incrementAndGet();
+              }
               deletedSomething = true;
             }
           }
@@ -1445,14 +1503,15 @@ public class HConnectionManager {
      * @param location the new location
      */
     private void cacheLocation(final TableName tableName, final HRegionLocation source,
-        final HRegionLocation location) {
+        HRegionLocation location) {
       boolean isFromMeta = (source == null);
       byte [] startKey = location.getRegionInfo().getStartKey();
       ConcurrentMap<byte[], HRegionLocation> tableLocations = getTableLocations(tableName);
+      location = withCachedServerName(location);
       HRegionLocation oldLocation = tableLocations.putIfAbsent(startKey, location);
       boolean isNewCacheEntry = (oldLocation == null);
       if (isNewCacheEntry) {
-        cachedServers.add(location.getServerName());
+        addCachedServer(location.getServerName());
         return;
       }
       boolean updateCache;
@@ -1473,12 +1532,39 @@ public class HConnectionManager {
         boolean isStaleUpdate = (isStaleMetaRecord || isStaleRedirect);
         updateCache = (!isStaleUpdate);
       }
-      if (updateCache) {
-        tableLocations.replace(startKey, oldLocation, location);
-        cachedServers.add(location.getServerName());
+      if (updateCache && tableLocations.replace(startKey, oldLocation, location)) {
+        addCachedServer(location.getServerName());
       }
     }
 
+    /**
+     * @return the location, with the ServerName instance shared by the cached locations
+     * of the same server if there are any
+     */
+    private HRegionLocation withCachedServerName(final HRegionLocation location) {
+      ServerName serverName = location.getServerName();
+      ServerName cachedServerName = cachedServers.get(serverName);
+      if (cachedServerName == null || cachedServerName == serverName) {
+        return location;
+      }
+      return new HRegionLocation(location.getRegionInfo(), cachedServerName,
+          location.getSeqNum());
+    }
+
+    /**
+     * Registers the server of a location that is now in the cache. Only done once the
+     * location is in, so that an absent server guarantees there is no location of it
+     * in the cache.
+     */
+    private void addCachedServer(final ServerName serverName) {
+      cachedServers.putIfAbsent(serverName, serverName);
+    }
+
+    @Override
+    public RegionCacheMetrics getRegionCacheMetrics() {
+      return regionCacheMetrics;
+    }
+
     // Map keyed by service name + regionserver to service stub implementation
     private final ConcurrentHashMap<String, Object> stubs =
       new ConcurrentHashMap<String, Object>();
@@ -2193,7 +2279,9 @@ public class HConnectionManager {
     */
    void deleteCachedLocation(HRegionInfo hri, HRegionLocation source) {
      ConcurrentMap<byte[], HRegionLocation> tableLocations = getTableLocations(hri.getTable());
-     tableLocations.remove(hri.getStartKey(), source);
+     if (tableLocations.remove(hri.getStartKey(), source)) {
+       regionCacheMetrics.countOfCacheInvalidations.incrementAndGet();
+     }
    }
 
     @Override
@@ -2206,6 +2294,9 @@ public class HConnectionManager {
       TableName tableName = location.getRegionInfo().getTable();
       Map<byte[], HRegionLocation> tableLocations = getTableLocations(tableName);
       removedLocation = tableLocations.remove(location.getRegionInfo().getStartKey());
+      if (removedLocation != null) {
+        regionCacheMetrics.countOfCacheInvalidations.incrementAndGet();
+      }
       if (LOG.isDebugEnabled() && removedLocation != null) {
         LOG.debug("Removed " +
             location.getRegionInfo().getRegionNameAsString() +
@@ -2512,6 +2603,9 @@ public class HConnectionManager {
       if (this.closed) {
         return;
       }
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Region location cache: " + regionCacheMetrics);
+      }
       delayedClosing.stop("Closing connection");
       closeMaster();
       shutdownBatchPool();
@@ -2625,6 +2719,11 @@ public class HConnectionManager {
       return this.nonceGenerator;
     }
 
+    @Override
+    public ServerStatisticTracker getStatisticTracker() {
+      return this.statisticTracker;
+    }
+
     /**
      * Connects to the master to get the table descriptor.
      * @param tableName table name
@@ -124,6 +124,7 @@ public class HTable implements HTableInterface {
   private boolean autoFlush;
   protected long currentWriteBufferSize;
   protected int scannerCaching;
+  private boolean scannerAsyncPrefetch;
   private int maxKeyValueSize;
   private ExecutorService pool;  // For Multi
   private boolean closed;
@@ -337,6 +338,9 @@ public class HTable implements HTableInterface {
     this.scannerCaching = this.configuration.getInt(
         HConstants.HBASE_CLIENT_SCANNER_CACHING,
         HConstants.DEFAULT_HBASE_CLIENT_SCANNER_CACHING);
+    this.scannerAsyncPrefetch = this.configuration.getBoolean(
+        HConstants.HBASE_CLIENT_SCANNER_ASYNC_PREFETCH,
+        HConstants.DEFAULT_HBASE_CLIENT_SCANNER_ASYNC_PREFETCH);
 
     this.rpcCallerFactory = RpcRetryingCallerFactory.instantiate(configuration);
     ap = new AsyncProcess<Object>(connection, tableName, pool, null,
@@ -720,10 +724,43 @@ public class HTable implements HTableInterface {
       return new ReversedClientScanner(getConfiguration(), scan, getName(),
           this.connection);
     }
+    Boolean asyncPrefetch = scan.getAsyncPrefetch();
+    if (asyncPrefetch == null) {
+      asyncPrefetch = this.scannerAsyncPrefetch;
+    }
+    if (asyncPrefetch) {
+      return new ClientAsyncPrefetchScanner(getConfiguration(), scan, getName(),
+          this.connection, this.pool);
+    }
     return new ClientScanner(getConfiguration(), scan,
         getName(), this.connection);
   }
 
+  /**
+   * Returns a scanner that scans up to <code>maxParallelism</code> regions of the table
+   * at the same time, in the pool of this table. The {@link Scan} start and stop rows are
+   * respected, and regions splitting during the scan are followed.
+   * <p>
+   * Reversed and small scans, or a parallelism of one, get the usual scanner.
+   * @param scan A configured {@link Scan} object.
+   * @param maxParallelism the most regions scanned at the same time
+   * @param ordered whether the rows are returned in row order. Unordered, the rows of the
+   * different regions are interleaved as they come; the rows of a region keep their order.
+   * @return A scanner.
+   * @throws IOException if a remote or network exception occurs.
+   */
+  public ResultScanner getParallelScanner(final Scan scan, int maxParallelism,
+      boolean ordered) throws IOException {
+    if (scan.isSmall() || scan.isReversed() || maxParallelism <= 1) {
+      return getScanner(scan);
+    }
+    if (scan.getCaching() <= 0) {
+      scan.setCaching(getScannerCaching());
+    }
+    return new ClientParallelScanner(getConfiguration(), scan, getName(), this.connection,
+        this.pool, maxParallelism, ordered);
+  }
+
   /**
    * {@inheritDoc}
    */
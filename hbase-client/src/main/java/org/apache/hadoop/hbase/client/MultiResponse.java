@@ -47,6 +47,11 @@ public class MultiResponse {
   private Map<byte[], Throwable> exceptions =
       new TreeMap<byte[], Throwable>(Bytes.BYTES_COMPARATOR);
 
+  /**
+   * The load of the server, if it reported it.
+   */
+  private ServerStatistics serverStatistics;
+
   public MultiResponse() {
     super();
   }
@@ -102,4 +107,15 @@ public class MultiResponse {
   public Map<byte[], Throwable> getExceptions() {
     return exceptions;
   }
+
+  public void setServerStatistics(ServerStatistics serverStatistics) {
+    this.serverStatistics = serverStatistics;
+  }
+
+  /**
+   * @return the load the server reported with the response, if any. Null otherwise.
+   */
+  public ServerStatistics getServerStatistics() {
+    return serverStatistics;
+  }
 }
\ No newline at end of file
@@ -137,6 +137,8 @@ public class RpcRetryingCaller<T> {
         //  a chance to the regions to be
         // tries hasn't been bumped up yet so we use "tries + 1" to get right pause time
         expectedSleep = callable.sleep(pause, tries + 1);
+        // A busy server may tell us how long to back off
+        expectedSleep = ConnectionUtils.getPauseTime(expectedSleep, t);
 
         // If, after the planned sleep, there won't be enough time left, we stop now.
         long duration = singleCallDuration(expectedSleep);
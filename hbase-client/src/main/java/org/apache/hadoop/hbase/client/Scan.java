@@ -115,6 +115,7 @@ public class Scan extends Query {
   private Map<byte [], NavigableSet<byte []>> familyMap =
     new TreeMap<byte [], NavigableSet<byte []>>(Bytes.BYTES_COMPARATOR);
   private Boolean loadColumnFamiliesOnDemand = null;
+  private Boolean asyncPrefetch = null;
 
   /**
    * Set it true for small scan to get better performance
@@ -188,6 +189,7 @@ public class Scan extends Query {
     getScan = scan.isGetScan();
     filter = scan.getFilter(); // clone?
     loadColumnFamiliesOnDemand = scan.getLoadColumnFamiliesOnDemandValue();
+    asyncPrefetch = scan.getAsyncPrefetch();
     TimeRange ctr = scan.getTimeRange();
     tr = new TimeRange(ctr.getMin(), ctr.getMax());
     Map<byte[], NavigableSet<byte[]>> fams = scan.getFamilyMap();
@@ -772,4 +774,24 @@ public class Scan extends Query {
   public boolean isSmall() {
     return small;
   }
+
+  /**
+   * Set whether the scanner fetches the next batch of results in the background while
+   * the application consumes the current one. Overrides
+   * {@link HConstants#HBASE_CLIENT_SCANNER_ASYNC_PREFETCH} for this scan. Has no effect
+   * on small or reversed scans. Client side only, it is not sent to the servers.
+   * @param asyncPrefetch
+   * @return this instance
+   */
+  public Scan setAsyncPrefetch(boolean asyncPrefetch) {
+    this.asyncPrefetch = asyncPrefetch;
+    return this;
+  }
+
+  /**
+   * Get the raw asyncPrefetch setting; if it's not set, can be null.
+   */
+  public Boolean getAsyncPrefetch() {
+    return asyncPrefetch;
+  }
 }
@@ -81,6 +81,10 @@ public class ScannerCallable extends RegionServerCallable<Result[]> {
   // indicate if it is a remote server call
   protected boolean isRegionServerRemote = true;
   private long nextCallSeq = 0;
+  // What the server said about the last response, see ScanResponse
+  private boolean moreResultsInRegion = false;
+  private boolean heartbeatMessage = false;
+  private byte[] cursorRow = null;
   
   /**
    * @param connection which connection
@@ -158,9 +162,11 @@ public class ScannerCallable extends RegionServerCallable<Result[]> {
       } else {
         Result [] rrs = null;
         ScanRequest request = null;
+        setServerState(null);
         try {
           incRPCcallsMetrics();
-          request = RequestConverter.buildScanRequest(scannerId, caching, false, nextCallSeq);
+          request = RequestConverter.buildScanRequest(scannerId, caching, false, nextCallSeq,
+            true);
           ScanResponse response = null;
           PayloadCarryingRpcController controller = new PayloadCarryingRpcController();
           try {
@@ -180,6 +186,7 @@ public class ScannerCallable extends RegionServerCallable<Result[]> {
             // Results are returned via controller
             CellScanner cellScanner = controller.cellScanner();
             rrs = ResponseConverter.getResults(cellScanner, response);
+            setServerState(response);
             if (logScannerActivity) {
               long now = System.currentTimeMillis();
               if (now - timestamp > logCutOffLatency) {
@@ -192,6 +199,7 @@ public class ScannerCallable extends RegionServerCallable<Result[]> {
                 && !response.getMoreResults()) {
               scannerId = -1L;
               closed = true;
+              setServerState(null);
               return null;
             }
           } catch (ServiceException se) {
@@ -246,6 +254,40 @@ public class ScannerCallable extends RegionServerCallable<Result[]> {
     return null;
   }
 
+  private void setServerState(ScanResponse response) {
+    if (response == null) {
+      this.moreResultsInRegion = false;
+      this.heartbeatMessage = false;
+      this.cursorRow = null;
+    } else {
+      this.moreResultsInRegion = response.getMoreResultsInRegion();
+      this.heartbeatMessage = response.getHeartbeatMessage();
+      this.cursorRow = response.hasCursorRow() ? response.getCursorRow().toByteArray() : null;
+    }
+  }
+
+  /**
+   * @return true if the server said the last call stopped before the end of the region.
+   *         Servers that do not tell leave this false.
+   */
+  public boolean isMoreResultsInRegion() {
+    return moreResultsInRegion;
+  }
+
+  /**
+   * @return true if the last call returned early because of the server's time limit
+   */
+  public boolean isHeartbeatMessage() {
+    return heartbeatMessage;
+  }
+
+  /**
+   * @return the last row the server skipped before a heartbeat without results, or null
+   */
+  public byte[] getCursorRow() {
+    return cursorRow;
+  }
+
   private void incRPCcallsMetrics() {
     if (this.scanMetrics == null) {
       return;
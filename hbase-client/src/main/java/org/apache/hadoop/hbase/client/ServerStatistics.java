@@ -0,0 +1,72 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.client;
+
+import org.apache.hadoop.classification.InterfaceAudience;
+
+/**
+ * The load a region server reported with its last response, as percentages of the
+ * levels at which it starts pushing back on the clients.
+ */
+@InterfaceAudience.Private
+public class ServerStatistics {
+  private final int memstoreLoad;
+  private final int callQueueLoad;
+  private final int compactionLoad;
+
+  public ServerStatistics(int memstoreLoad, int callQueueLoad, int compactionLoad) {
+    this.memstoreLoad = memstoreLoad;
+    this.callQueueLoad = callQueueLoad;
+    this.compactionLoad = compactionLoad;
+  }
+
+  /**
+   * @return the memstore size relative to the size at which updates are blocked
+   */
+  public int getMemstoreLoad() {
+    return memstoreLoad;
+  }
+
+  /**
+   * @return the call queue length relative to its capacity
+   */
+  public int getCallQueueLoad() {
+    return callQueueLoad;
+  }
+
+  /**
+   * @return the store file count relative to the count at which flushes are delayed
+   */
+  public int getCompactionLoad() {
+    return compactionLoad;
+  }
+
+  /**
+   * @return the highest of the loads; the server is as busy as its busiest resource
+   */
+  public int getLoad() {
+    return Math.max(memstoreLoad, Math.max(callQueueLoad, compactionLoad));
+  }
+
+  @Override
+  public String toString() {
+    return "memstoreLoad=" + memstoreLoad + "%, callQueueLoad=" + callQueueLoad +
+        "%, compactionLoad=" + compactionLoad + "%";
+  }
+}
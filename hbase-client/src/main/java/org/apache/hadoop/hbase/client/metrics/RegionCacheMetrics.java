@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hbase.client.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hadoop.classification.InterfaceAudience;
+import org.apache.hadoop.classification.InterfaceStability;
+
+/**
+ * Provides client-side metrics of the region location cache of a connection.
+ * The counters only grow for the life of the connection.
+ */
+@InterfaceAudience.Public
+@InterfaceStability.Evolving
+public class RegionCacheMetrics {
+
+  private final Map<String, AtomicLong> counters = new TreeMap<String, AtomicLong>();
+
+  /**
+   * number of region lookups served by the cache
+   */
+  public final AtomicLong countOfCacheHits = createCounter("CACHE_HITS");
+
+  /**
+   * number of region lookups that went to hbase:meta
+   */
+  public final AtomicLong countOfCacheMisses = createCounter("CACHE_MISSES");
+
+  /**
+   * number of cached locations dropped because they were found or suspected stale
+   */
+  public final AtomicLong countOfCacheInvalidations = createCounter("CACHE_INVALIDATIONS");
+
+  private AtomicLong createCounter(String counterName) {
+    AtomicLong c = new AtomicLong(0);
+    counters.put(counterName, c);
+    return c;
+  }
+
+  /**
+   * @return A Map of String -> Long with the current value of each metric
+   */
+  public Map<String, Long> getMetricsMap() {
+    Map<String, Long> values = new TreeMap<String, Long>();
+    for (Map.Entry<String, AtomicLong> e : this.counters.entrySet()) {
+      values.put(e.getKey(), e.getValue().get());
+    }
+    return values;
+  }
+
+  @Override
+  public String toString() {
+    return getMetricsMap().toString();
+  }
+}
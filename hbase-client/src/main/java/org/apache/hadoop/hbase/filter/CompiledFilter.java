@@ -0,0 +1,435 @@
+/*
+ * Copyright The Apache Software Foundation
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.filter;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.hadoop.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.KeyValueUtil;
+import org.apache.hadoop.hbase.filter.CompareFilter.CompareOp;
+import org.apache.hadoop.hbase.util.Bytes;
+
+/**
+ * A server side replacement for a {@link FilterList} with operator
+ * {@link FilterList.Operator#MUST_PASS_ALL} whose members are all of the
+ * common, stateless-to-evaluate filter types: {@link PrefixFilter},
+ * {@link ValueFilter} and {@link SingleColumnValueFilter} with a
+ * {@link BinaryComparator}, and {@link ColumnRangeFilter}.
+ * <p>
+ * The member filters are flattened into one array of predicates that is
+ * evaluated in a single loop, without the per cell virtual calls, the
+ * <code>filterAllRemaining()</code> checks and the transform bookkeeping that
+ * {@link FilterList} does for every member. The results, including the
+ * state kept between cells of a row, are the same as those of the original
+ * list. Filters that cannot be compiled, including subclasses of the supported
+ * types, are left alone by {@link #compile(Filter)} and evaluated as usual.
+ */
+@InterfaceAudience.Private
+final public class CompiledFilter extends FilterBase {
+  private static final int PREFIX = 0;
+  private static final int VALUE = 1;
+  private static final int COLUMN_RANGE = 2;
+  private static final int SINGLE_COLUMN_VALUE = 3;
+
+  /**
+   * One member of the compiled list. Only the fields used by its kind are
+   * set.
+   */
+  private static final class Predicate {
+    final int kind;
+    /** Prefix, comparator value or minimum column */
+    byte[] operand;
+    /** Maximum column */
+    byte[] maxColumn;
+    byte[] family;
+    byte[] qualifier;
+    CompareOp compareOp;
+    /**
+     * Bit i + 1 is set if a value is filtered out when comparing the operand
+     * to it gives a result with signum i.
+     */
+    int filterMask;
+    boolean minColumnInclusive;
+    boolean maxColumnInclusive;
+    boolean filterIfMissing;
+    boolean latestVersionOnly;
+
+    // Per scan and per row state
+    boolean passedPrefix = false;
+    boolean filterRow = true;
+    boolean foundColumn = false;
+    boolean matchedColumn = false;
+
+    Predicate(int kind) {
+      this.kind = kind;
+    }
+  }
+
+  private final Filter filter;
+  private final Predicate[] predicates;
+  private final boolean hasFilterRow;
+  private Predicate seekHintPredicate = null;
+
+  private CompiledFilter(Filter filter, Predicate[] predicates) {
+    this.filter = filter;
+    this.predicates = predicates;
+    boolean hasFilterRow = false;
+    for (Predicate p : predicates) {
+      hasFilterRow |= p.kind == SINGLE_COLUMN_VALUE;
+    }
+    this.hasFilterRow = hasFilterRow;
+    this.reversed = filter.isReversed();
+  }
+
+  /**
+   * Compiles the given filter if possible.
+   * @param filter the filter of a scan
+   * @return a {@link CompiledFilter} equivalent to the given filter, or the
+   *         given filter itself if it cannot be compiled
+   */
+  public static Filter compile(Filter filter) {
+    if (!(filter instanceof FilterList)) {
+      return filter;
+    }
+    FilterList list = (FilterList) filter;
+    List<Filter> filters = list.getFilters();
+    if (list.getOperator() != FilterList.Operator.MUST_PASS_ALL || filters.isEmpty()) {
+      return filter;
+    }
+    Predicate[] predicates = new Predicate[filters.size()];
+    for (int i = 0; i < predicates.length; i++) {
+      predicates[i] = toPredicate(filters.get(i));
+      if (predicates[i] == null) {
+        return filter;
+      }
+    }
+    return new CompiledFilter(filter, predicates);
+  }
+
+  /**
+   * @return the predicate for the given filter, or null if it is not
+   *         supported. Only the exact classes are supported, subclasses may
+   *         change the behavior.
+   */
+  private static Predicate toPredicate(Filter filter) {
+    Class<?> clazz = filter.getClass();
+    if (clazz == PrefixFilter.class) {
+      PrefixFilter prefixFilter = (PrefixFilter) filter;
+      if (prefixFilter.getPrefix() == null) {
+        return null;
+      }
+      Predicate p = new Predicate(PREFIX);
+      p.operand = prefixFilter.getPrefix();
+      return p;
+    } else if (clazz == ValueFilter.class) {
+      ValueFilter valueFilter = (ValueFilter) filter;
+      Predicate p = new Predicate(VALUE);
+      return setComparison(p, valueFilter.getOperator(), valueFilter.getComparator());
+    } else if (clazz == ColumnRangeFilter.class) {
+      ColumnRangeFilter rangeFilter = (ColumnRangeFilter) filter;
+      Predicate p = new Predicate(COLUMN_RANGE);
+      p.operand = rangeFilter.getMinColumn();
+      p.minColumnInclusive = rangeFilter.getMinColumnInclusive();
+      p.maxColumn = rangeFilter.getMaxColumn();
+      p.maxColumnInclusive = rangeFilter.getMaxColumnInclusive();
+      return p;
+    } else if (clazz == SingleColumnValueFilter.class) {
+      SingleColumnValueFilter columnValueFilter = (SingleColumnValueFilter) filter;
+      if (columnValueFilter.getFamily() == null || columnValueFilter.getQualifier() == null) {
+        return null;
+      }
+      Predicate p = new Predicate(SINGLE_COLUMN_VALUE);
+      p.family = columnValueFilter.getFamily();
+      p.qualifier = columnValueFilter.getQualifier();
+      p.filterIfMissing = columnValueFilter.getFilterIfMissing();
+      p.latestVersionOnly = columnValueFilter.getLatestVersionOnly();
+      return setComparison(p, columnValueFilter.getOperator(),
+          columnValueFilter.getComparator());
+    }
+    return null;
+  }
+
+  private static Predicate setComparison(Predicate p, CompareOp compareOp,
+      ByteArrayComparable comparator) {
+    if (compareOp == null || compareOp == CompareOp.NO_OP || comparator == null
+        || comparator.getClass() != BinaryComparator.class) {
+      return null;
+    }
+    p.operand = comparator.getValue();
+    p.compareOp = compareOp;
+    // Same truth table as CompareFilter#doCompare, indexed by signum + 1
+    switch (compareOp) {
+    case LESS:
+      p.filterMask = 0x3;
+      break;
+    case LESS_OR_EQUAL:
+      p.filterMask = 0x1;
+      break;
+    case EQUAL:
+      p.filterMask = 0x5;
+      break;
+    case NOT_EQUAL:
+      p.filterMask = 0x2;
+      break;
+    case GREATER_OR_EQUAL:
+      p.filterMask = 0x4;
+      break;
+    case GREATER:
+      p.filterMask = 0x6;
+      break;
+    default:
+      return null;
+    }
+    return p;
+  }
+
+  /**
+   * @return the filter this one was compiled from
+   */
+  public Filter getFilter() {
+    return filter;
+  }
+
+  /**
+   * @return true if the value is filtered out by the comparison of the
+   *         predicate
+   */
+  private static boolean filterValue(Predicate p, byte[] buffer, int offset, int length) {
+    byte[] operand = p.operand;
+    if (p.compareOp == CompareOp.EQUAL) {
+      return !Bytes.equals(operand, 0, operand.length, buffer, offset, length);
+    } else if (p.compareOp == CompareOp.NOT_EQUAL) {
+      return Bytes.equals(operand, 0, operand.length, buffer, offset, length);
+    }
+    int cmp = Bytes.compareTo(operand, 0, operand.length, buffer, offset, length);
+    return (p.filterMask & (1 << (Integer.signum(cmp) + 1))) != 0;
+  }
+
+  @Override
+  public void reset() {
+    for (Predicate p : predicates) {
+      p.filterRow = true;
+      p.foundColumn = false;
+      p.matchedColumn = false;
+    }
+    seekHintPredicate = null;
+  }
+
+  @Override
+  public boolean filterRowKey(byte[] buffer, int offset, int length) {
+    boolean filtered = false;
+    for (Predicate p : predicates) {
+      if (p.kind != PREFIX || p.passedPrefix) {
+        filtered |= p.passedPrefix;
+        continue;
+      }
+      byte[] prefix = p.operand;
+      if (buffer == null || length < prefix.length) {
+        filtered = true;
+        continue;
+      }
+      int cmp = Bytes.compareTo(buffer, offset, prefix.length, prefix, 0, prefix.length);
+      if ((!isReversed() && cmp > 0) || (isReversed() && cmp < 0)) {
+        p.passedPrefix = true;
+      }
+      p.filterRow = cmp != 0;
+      filtered |= p.filterRow;
+    }
+    return filtered;
+  }
+
+  @Override
+  public boolean filterAllRemaining() {
+    for (Predicate p : predicates) {
+      if (p.passedPrefix) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public ReturnCode filterKeyValue(Cell cell) {
+    for (Predicate p : predicates) {
+      switch (p.kind) {
+      case PREFIX:
+        if (p.passedPrefix) {
+          return ReturnCode.NEXT_ROW;
+        }
+        break;
+      case VALUE:
+        if (filterValue(p, cell.getValueArray(), cell.getValueOffset(),
+            cell.getValueLength())) {
+          return ReturnCode.SKIP;
+        }
+        break;
+      case COLUMN_RANGE:
+        ReturnCode code = filterColumnRange(p, cell);
+        if (code != ReturnCode.INCLUDE) {
+          if (code == ReturnCode.SEEK_NEXT_USING_HINT) {
+            seekHintPredicate = p;
+          }
+          return code;
+        }
+        break;
+      case SINGLE_COLUMN_VALUE:
+        if (p.matchedColumn) {
+          break;
+        } else if (p.latestVersionOnly && p.foundColumn) {
+          return ReturnCode.NEXT_ROW;
+        }
+        if (!CellUtil.matchingFamily(cell, p.family)
+            || !CellUtil.matchingQualifier(cell, p.qualifier)) {
+          break;
+        }
+        p.foundColumn = true;
+        if (filterValue(p, cell.getValueArray(), cell.getValueOffset(),
+            cell.getValueLength())) {
+          if (p.latestVersionOnly) {
+            return ReturnCode.NEXT_ROW;
+          }
+          break;
+        }
+        p.matchedColumn = true;
+        break;
+      default:
+        throw new IllegalStateException("Unknown predicate kind " + p.kind);
+      }
+    }
+    return ReturnCode.INCLUDE;
+  }
+
+  /**
+   * Same as {@link ColumnRangeFilter#filterKeyValue(Cell)}.
+   */
+  private static ReturnCode filterColumnRange(Predicate p, Cell cell) {
+    byte[] buffer = cell.getQualifierArray();
+    int qualifierOffset = cell.getQualifierOffset();
+    int qualifierLength = cell.getQualifierLength();
+    int cmpMin = 1;
+    if (p.operand != null) {
+      cmpMin = Bytes.compareTo(buffer, qualifierOffset, qualifierLength,
+          p.operand, 0, p.operand.length);
+    }
+    if (cmpMin < 0) {
+      return ReturnCode.SEEK_NEXT_USING_HINT;
+    }
+    if (!p.minColumnInclusive && cmpMin == 0) {
+      return ReturnCode.SKIP;
+    }
+    if (p.maxColumn == null) {
+      return ReturnCode.INCLUDE;
+    }
+    int cmpMax = Bytes.compareTo(buffer, qualifierOffset, qualifierLength,
+        p.maxColumn, 0, p.maxColumn.length);
+    if (p.maxColumnInclusive && cmpMax <= 0 || !p.maxColumnInclusive && cmpMax < 0) {
+      return ReturnCode.INCLUDE;
+    }
+    return ReturnCode.NEXT_ROW;
+  }
+
+  @Override
+  public Cell transformCell(Cell v) {
+    // None of the compiled filters transforms cells
+    return v;
+  }
+
+  @Override
+  public void filterRowCells(List<Cell> ignored) {
+    // None of the compiled filters modifies the row
+  }
+
+  @Override
+  public boolean hasFilterRow() {
+    return hasFilterRow;
+  }
+
+  @Override
+  public boolean filterRow() {
+    for (Predicate p : predicates) {
+      if (p.kind == PREFIX && p.filterRow) {
+        return true;
+      } else if (p.kind == SINGLE_COLUMN_VALUE
+          && (p.foundColumn ? !p.matchedColumn : p.filterIfMissing)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  @Deprecated
+  public KeyValue getNextKeyHint(KeyValue currentKV) {
+    return KeyValueUtil.ensureKeyValue(getNextCellHint((Cell) currentKV));
+  }
+
+  @Override
+  public Cell getNextCellHint(Cell kv) {
+    if (seekHintPredicate == null) {
+      return null;
+    }
+    byte[] minColumn = seekHintPredicate.operand;
+    return KeyValue.createFirstOnRow(kv.getRowArray(), kv.getRowOffset(), kv.getRowLength(),
+        kv.getFamilyArray(), kv.getFamilyOffset(), kv.getFamilyLength(),
+        minColumn, 0, minColumn == null ? 0 : minColumn.length);
+  }
+
+  @Override
+  public boolean isFamilyEssential(byte[] name) {
+    for (Predicate p : predicates) {
+      if (p.kind != SINGLE_COLUMN_VALUE || !p.filterIfMissing
+          || Bytes.equals(name, p.family)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void setReversed(boolean reversed) {
+    filter.setReversed(reversed);
+    this.reversed = reversed;
+  }
+
+  /**
+   * Compiled filters only live on the server side and are never serialized.
+   */
+  @Override
+  public byte[] toByteArray() throws IOException {
+    throw new UnsupportedOperationException("Compiled filters are not serialized, use "
+        + "the filter they were compiled from: " + filter);
+  }
+
+  @Override
+  boolean areSerializedFieldsEqual(Filter o) {
+    if (o == this) return true;
+    if (!(o instanceof CompiledFilter)) return false;
+    return filter.areSerializedFieldsEqual(((CompiledFilter) o).getFilter());
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName() + " " + filter;
+  }
+}
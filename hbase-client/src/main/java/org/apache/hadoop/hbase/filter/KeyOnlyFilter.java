@@ -47,6 +47,14 @@ public class KeyOnlyFilter extends FilterBase {
   public KeyOnlyFilter() { this(false); }
   public KeyOnlyFilter(boolean lenAsVal) { this.lenAsVal = lenAsVal; }
 
+  /**
+   * @return true if the values are replaced with their lengths, false if they
+   *         are dropped
+   */
+  public boolean isLenAsVal() {
+    return lenAsVal;
+  }
+
   @Override
   public Cell transformCell(Cell kv) {
     // TODO Move to KeyValueUtil
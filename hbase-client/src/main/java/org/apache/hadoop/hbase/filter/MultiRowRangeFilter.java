@@ -0,0 +1,416 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.filter;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.ZeroCopyLiteralByteString;
+
+import org.apache.hadoop.classification.InterfaceAudience;
+import org.apache.hadoop.classification.InterfaceStability;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.exceptions.DeserializationException;
+import org.apache.hadoop.hbase.protobuf.generated.FilterProtos;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Filters rows by a list of row key ranges. Performs fast-forwards during
+ * scanning: when a row is not in any of the ranges, the scanners are asked to
+ * seek straight to the start of the next range, so one scan can read many
+ * disjoint ranges.
+ * <p>
+ * The ranges are sorted and overlapping ranges are merged when the filter is
+ * created. For best results also set the start row of the scan to the start of
+ * the first range and the stop row to the end of the last one. Table scanners
+ * and <code>TableInputFormat</code> skip regions that do not intersect any of
+ * the ranges.
+ * <p>
+ * Reversed scans are supported, but do not fast-forward; rows outside of the
+ * ranges are then skipped one by one.
+ */
+@InterfaceAudience.Public
+@InterfaceStability.Evolving
+public class MultiRowRangeFilter extends FilterBase {
+  private final List<RowRange> rangeList;
+
+  /** Index of the range the last row key was in or before */
+  private int index = 0;
+  private ReturnCode currentReturnCode = ReturnCode.INCLUDE;
+  private boolean done = false;
+
+  /**
+   * @param rowRanges the row key ranges to include; they may overlap and do
+   *          not need to be sorted
+   * @throws IllegalArgumentException if a range is empty
+   */
+  public MultiRowRangeFilter(List<RowRange> rowRanges) {
+    this.rangeList = sortAndMerge(rowRanges);
+  }
+
+  /**
+   * @return the sorted, non-overlapping ranges of this filter
+   */
+  public List<RowRange> getRowRanges() {
+    return Collections.unmodifiableList(rangeList);
+  }
+
+  @Override
+  public boolean filterAllRemaining() {
+    return done;
+  }
+
+  @Override
+  public boolean filterRowKey(byte[] buffer, int offset, int length) {
+    if (isReversed()) {
+      currentReturnCode = ReturnCode.INCLUDE;
+      return findRange(buffer, offset, length, 0) < 0;
+    }
+    // Rows come in order, so the search starts at the last range.
+    int i = nextRangeIndex(buffer, offset, length, index);
+    if (i == rangeList.size()) {
+      // Past the last range
+      done = true;
+      currentReturnCode = ReturnCode.NEXT_ROW;
+      return true;
+    }
+    index = i;
+    RowRange range = rangeList.get(i);
+    int cmp = range.compareToStartRow(buffer, offset, length);
+    if (cmp > 0) {
+      currentReturnCode = ReturnCode.INCLUDE;
+      return false;
+    } else if (cmp == 0) {
+      // At an exclusive start row; the next row is in the range.
+      currentReturnCode = ReturnCode.NEXT_ROW;
+      return true;
+    }
+    // Before the range. The row is not filtered here but the scanners are
+    // told to seek to the start of the range in filterKeyValue.
+    currentReturnCode = ReturnCode.SEEK_NEXT_USING_HINT;
+    return false;
+  }
+
+  @Override
+  public ReturnCode filterKeyValue(Cell ignored) {
+    return currentReturnCode;
+  }
+
+  @Override
+  public Cell getNextCellHint(Cell currentKV) {
+    return KeyValue.createFirstOnRow(rangeList.get(index).getStartRow());
+  }
+
+  /**
+   * Gives the first row key at or after the given one that may be in one of
+   * the ranges. Used by clients to skip regions without any of the ranges.
+   * @param row a row key, the empty row key is the start of the table
+   * @return the given row key if it is in a range, else the start row of the
+   *         next range, or null if there is no range after the given row
+   */
+  public byte[] getNextRowInRanges(byte[] row) {
+    int i = nextRangeIndex(row, 0, row.length, 0);
+    if (i == rangeList.size()) {
+      return null;
+    }
+    RowRange range = rangeList.get(i);
+    return range.compareToStartRow(row, 0, row.length) >= 0 ? row : range.getStartRow();
+  }
+
+  /**
+   * @param startRow start of the key range, inclusive
+   * @param stopRow end of the key range, exclusive; empty for the end of the
+   *          table
+   * @return true if any of the ranges intersects the given key range
+   */
+  public boolean intersects(byte[] startRow, byte[] stopRow) {
+    byte[] next = getNextRowInRanges(startRow);
+    return next != null
+        && (stopRow.length == 0 || Bytes.compareTo(next, stopRow) < 0);
+  }
+
+  /**
+   * @return the index of the first range that does not end before the given
+   *         row, searching from the given index, or the number of ranges if
+   *         there is none
+   */
+  private int nextRangeIndex(byte[] row, int offset, int length, int from) {
+    if (from < rangeList.size() && !rangeList.get(from).isBefore(row, offset, length)) {
+      return from;
+    }
+    int low = from;
+    int high = rangeList.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (rangeList.get(mid).isBefore(row, offset, length)) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * @return the index of the range that contains the given row, or -1
+   */
+  private int findRange(byte[] row, int offset, int length, int from) {
+    int i = nextRangeIndex(row, offset, length, from);
+    if (i < rangeList.size() && rangeList.get(i).compareToStartRow(row, offset, length) > 0) {
+      return i;
+    }
+    return -1;
+  }
+
+  /**
+   * @return The filter serialized using pb
+   */
+  public byte[] toByteArray() {
+    FilterProtos.MultiRowRangeFilter.Builder builder =
+        FilterProtos.MultiRowRangeFilter.newBuilder();
+    for (RowRange range : rangeList) {
+      FilterProtos.RowRange.Builder rangeBuilder = FilterProtos.RowRange.newBuilder();
+      rangeBuilder.setStartRow(ZeroCopyLiteralByteString.wrap(range.startRow));
+      rangeBuilder.setStartRowInclusive(range.startRowInclusive);
+      rangeBuilder.setStopRow(ZeroCopyLiteralByteString.wrap(range.stopRow));
+      rangeBuilder.setStopRowInclusive(range.stopRowInclusive);
+      builder.addRowRangeList(rangeBuilder.build());
+    }
+    return builder.build().toByteArray();
+  }
+
+  /**
+   * @param pbBytes A pb serialized instance
+   * @return An instance of MultiRowRangeFilter
+   * @throws DeserializationException
+   */
+  public static MultiRowRangeFilter parseFrom(final byte[] pbBytes)
+      throws DeserializationException {
+    FilterProtos.MultiRowRangeFilter proto;
+    try {
+      proto = FilterProtos.MultiRowRangeFilter.parseFrom(pbBytes);
+    } catch (InvalidProtocolBufferException e) {
+      throw new DeserializationException(e);
+    }
+    List<RowRange> rangeList = new ArrayList<RowRange>(proto.getRowRangeListCount());
+    for (FilterProtos.RowRange range : proto.getRowRangeListList()) {
+      rangeList.add(new RowRange(range.hasStartRow() ? range.getStartRow().toByteArray()
+          : HConstants.EMPTY_START_ROW, range.getStartRowInclusive(),
+          range.hasStopRow() ? range.getStopRow().toByteArray() : HConstants.EMPTY_END_ROW,
+          range.getStopRowInclusive()));
+    }
+    try {
+      return new MultiRowRangeFilter(rangeList);
+    } catch (IllegalArgumentException e) {
+      throw new DeserializationException(e);
+    }
+  }
+
+  /**
+   * @param o the other filter to compare with
+   * @return true if and only if the fields of the filter that are serialized are equal to the
+   *         corresponding fields in other. Used for testing.
+   */
+  boolean areSerializedFieldsEqual(Filter o) {
+    if (o == this) return true;
+    if (!(o instanceof MultiRowRangeFilter)) return false;
+    return this.rangeList.equals(((MultiRowRangeFilter) o).rangeList);
+  }
+
+  @Override
+  public String toString() {
+    return this.getClass().getSimpleName() + " " + rangeList;
+  }
+
+  /**
+   * Sorts the ranges by start row and merges the ones that overlap or are
+   * adjacent.
+   */
+  static List<RowRange> sortAndMerge(List<RowRange> ranges) {
+    List<RowRange> sorted = new ArrayList<RowRange>(ranges);
+    Collections.sort(sorted);
+    List<RowRange> merged = new ArrayList<RowRange>(sorted.size());
+    RowRange current = null;
+    for (RowRange range : sorted) {
+      if (current == null) {
+        current = range;
+      } else if (current.stopRow.length == 0) {
+        // Covers everything after its start row
+        break;
+      } else if (current.overlapsOrAdjoins(range)) {
+        if (range.stopRow.length == 0) {
+          current = new RowRange(current.startRow, current.startRowInclusive,
+              range.stopRow, false);
+        } else {
+          int cmp = Bytes.compareTo(range.stopRow, current.stopRow);
+          if (cmp > 0 || (cmp == 0 && range.stopRowInclusive && !current.stopRowInclusive)) {
+            current = new RowRange(current.startRow, current.startRowInclusive,
+                range.stopRow, range.stopRowInclusive);
+          }
+        }
+      } else {
+        merged.add(current);
+        current = range;
+      }
+    }
+    if (current != null) {
+      merged.add(current);
+    }
+    return merged;
+  }
+
+  /**
+   * A range of row keys. The empty start row is the start of the table and
+   * the empty stop row is the end of the table.
+   */
+  @InterfaceAudience.Public
+  @InterfaceStability.Evolving
+  public static class RowRange implements Comparable<RowRange> {
+    private final byte[] startRow;
+    private final boolean startRowInclusive;
+    private final byte[] stopRow;
+    private final boolean stopRowInclusive;
+
+    /**
+     * @throws IllegalArgumentException if the range is empty
+     */
+    public RowRange(String startRow, boolean startRowInclusive, String stopRow,
+        boolean stopRowInclusive) {
+      this(startRow == null ? null : Bytes.toBytes(startRow), startRowInclusive,
+          stopRow == null ? null : Bytes.toBytes(stopRow), stopRowInclusive);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the range is empty
+     */
+    public RowRange(byte[] startRow, boolean startRowInclusive, byte[] stopRow,
+        boolean stopRowInclusive) {
+      this.startRow = startRow == null ? HConstants.EMPTY_START_ROW : startRow;
+      // The start of the table is always included
+      this.startRowInclusive = startRowInclusive || this.startRow.length == 0;
+      this.stopRow = stopRow == null ? HConstants.EMPTY_END_ROW : stopRow;
+      this.stopRowInclusive = stopRowInclusive && this.stopRow.length > 0;
+      if (this.stopRow.length > 0) {
+        int cmp = Bytes.compareTo(this.startRow, this.stopRow);
+        if (cmp > 0 || (cmp == 0 && !(this.startRowInclusive && this.stopRowInclusive))) {
+          throw new IllegalArgumentException("Empty row range: " + this);
+        }
+      }
+    }
+
+    public byte[] getStartRow() {
+      return startRow;
+    }
+
+    public boolean isStartRowInclusive() {
+      return startRowInclusive;
+    }
+
+    public byte[] getStopRow() {
+      return stopRow;
+    }
+
+    public boolean isStopRowInclusive() {
+      return stopRowInclusive;
+    }
+
+    /**
+     * @return true if the given row is in this range
+     */
+    public boolean contains(byte[] row, int offset, int length) {
+      return compareToStartRow(row, offset, length) > 0 && !isBefore(row, offset, length);
+    }
+
+    /**
+     * @return a positive number if the row is in this range as far as the
+     *         start row is concerned, 0 if it is the excluded start row and a
+     *         negative number if it is before the start row
+     */
+    int compareToStartRow(byte[] row, int offset, int length) {
+      int cmp = Bytes.compareTo(row, offset, length, startRow, 0, startRow.length);
+      if (cmp == 0) {
+        return startRowInclusive ? 1 : 0;
+      }
+      return cmp;
+    }
+
+    /**
+     * @return true if this range ends before the given row
+     */
+    boolean isBefore(byte[] row, int offset, int length) {
+      if (stopRow.length == 0) {
+        return false;
+      }
+      int cmp = Bytes.compareTo(stopRow, 0, stopRow.length, row, offset, length);
+      return cmp < 0 || (cmp == 0 && !stopRowInclusive);
+    }
+
+    /**
+     * @return true if the given range, which does not start before this one,
+     *         overlaps this range or continues it without a gap
+     */
+    boolean overlapsOrAdjoins(RowRange next) {
+      int cmp = Bytes.compareTo(next.startRow, stopRow);
+      return cmp < 0 || (cmp == 0 && (stopRowInclusive || next.startRowInclusive));
+    }
+
+    @Override
+    public int compareTo(RowRange other) {
+      int cmp = Bytes.compareTo(startRow, other.startRow);
+      if (cmp != 0) {
+        return cmp;
+      }
+      // Inclusive starts first
+      return startRowInclusive == other.startRowInclusive ? 0 : (startRowInclusive ? -1 : 1);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof RowRange)) {
+        return false;
+      }
+      RowRange other = (RowRange) obj;
+      return Bytes.equals(startRow, other.startRow)
+          && startRowInclusive == other.startRowInclusive
+          && Bytes.equals(stopRow, other.stopRow)
+          && stopRowInclusive == other.stopRowInclusive;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = Bytes.hashCode(startRow);
+      result = 31 * result + (startRowInclusive ? 1 : 0);
+      result = 31 * result + Bytes.hashCode(stopRow);
+      result = 31 * result + (stopRowInclusive ? 1 : 0);
+      return result;
+    }
+
+    @Override
+    public String toString() {
+      return (startRowInclusive ? "[" : "(") + Bytes.toStringBinary(startRow) + ", "
+          + Bytes.toStringBinary(stopRow) + (stopRowInclusive ? "]" : ")");
+    }
+  }
+}
@@ -61,6 +61,7 @@ import org.apache.hadoop.hbase.client.Mutation;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.ServerStatistics;
 import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
 import org.apache.hadoop.hbase.exceptions.DeserializationException;
 import org.apache.hadoop.hbase.filter.ByteArrayComparable;
@@ -2283,6 +2284,16 @@ public final class ProtobufUtil {
     return scanMetrics;
   }
 
+  /**
+   * Convert the load reported by a region server to its client representation.
+   * @param stats the protobuf load statistics
+   * @return the server statistics
+   */
+  public static ServerStatistics toServerStatistics(final ClientProtos.ServerLoadStats stats) {
+    return new ServerStatistics(stats.getMemstoreLoad(), stats.getCallQueueLoad(),
+        stats.getCompactionLoad());
+  }
+
   public static MapReduceProtos.ScanMetrics toScanMetrics(ScanMetrics scanMetrics) {
     MapReduceProtos.ScanMetrics.Builder builder = MapReduceProtos.ScanMetrics.newBuilder();
     Map<String, Long> metrics = scanMetrics.getMetricsMap();
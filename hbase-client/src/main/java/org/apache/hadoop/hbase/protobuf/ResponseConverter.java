@@ -91,6 +91,9 @@ public final class ResponseConverter {
 
     org.apache.hadoop.hbase.client.MultiResponse results =
       new org.apache.hadoop.hbase.client.MultiResponse();
+    if (response.hasLoadStats()) {
+      results.setServerStatistics(ProtobufUtil.toServerStatistics(response.getLoadStats()));
+    }
 
     for (int i = 0; i < responseRegionActionResultCount; i++) {
       RegionAction actions = request.getRegionAction(i);
@@ -36,5 +36,11 @@ public enum BloomType {
   /**
    * Bloom enabled with Table row & column (family+qualifier) as Key
    */
-  ROWCOL
+  ROWCOL,
+  /**
+   * Bloom enabled with a fixed-length prefix of the Table row as Key. The
+   * prefix length is set per column family, see
+   * {@link org.apache.hadoop.hbase.HColumnDescriptor#setBloomFilterPrefixLength(int)}
+   */
+  ROWPREFIX_FIXED_LENGTH
 }
\ No newline at end of file
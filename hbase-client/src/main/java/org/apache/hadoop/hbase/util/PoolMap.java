@@ -97,8 +97,9 @@ public class PoolMap<K, V> implements Map<K, V> {
    * @deprecated Will be removed for Java 8, use {@link #removeValue} instead
    */
   @Deprecated
-  public boolean remove(K key, V value) {
-    return removeValue(key, value);
+  @SuppressWarnings("unchecked")
+  public boolean remove(Object key, Object value) {
+    return removeValue((K) key, (V) value);
   }
 
   public boolean removeValue(K key, V value) {
@@ -0,0 +1,80 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.HBaseConfiguration;
+import org.apache.hadoop.hbase.ServerName;
+import org.apache.hadoop.hbase.SmallTests;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(SmallTests.class)
+public class TestClientBackoffPolicy {
+  private final Configuration conf = HBaseConfiguration.create();
+
+  @Test
+  public void testNoBackoffBelowThreshold() {
+    ClientBackoffPolicy policy = new ClientBackoffPolicy(conf);
+    assertEquals(0, policy.getBackoffTime(null));
+    assertEquals(5, policy.getMaxConcurrentTasks(null, 5));
+    ServerStatistics stats = new ServerStatistics(ClientBackoffPolicy.DEFAULT_BACKOFF_THRESHOLD,
+        10, 20);
+    assertEquals(0, policy.getBackoffTime(stats));
+    assertEquals(5, policy.getMaxConcurrentTasks(stats, 5));
+  }
+
+  @Test
+  public void testBackoffGrowsWithTheLoad() {
+    ClientBackoffPolicy policy = new ClientBackoffPolicy(conf);
+    long previous = 0;
+    for (int load = 60; load <= 100; load += 10) {
+      // The busiest resource counts
+      ServerStatistics stats = new ServerStatistics(0, load, 0);
+      long backoff = policy.getBackoffTime(stats);
+      assertTrue(backoff > previous);
+      previous = backoff;
+    }
+    assertEquals(ClientBackoffPolicy.DEFAULT_MAX_BACKOFF, previous);
+    ServerStatistics full = new ServerStatistics(100, 0, 0);
+    assertEquals(1, policy.getMaxConcurrentTasks(full, 5));
+    ServerStatistics half = new ServerStatistics(0, 0, 75);
+    assertEquals(3, policy.getMaxConcurrentTasks(half, 5));
+
+    conf.setLong(ClientBackoffPolicy.MAX_BACKOFF_KEY, 0);
+    assertEquals(0, new ClientBackoffPolicy(conf).getBackoffTime(full));
+  }
+
+  @Test
+  public void testStatisticTracker() {
+    ServerStatisticTracker tracker = new ServerStatisticTracker();
+    ServerName sn = ServerName.valueOf("localhost", 1, 1);
+    assertNull(tracker.getServerStats(sn));
+    tracker.updateServerStats(sn, new ServerStatistics(90, 0, 0));
+    // Responses without statistics keep the last known load
+    tracker.updateServerStats(sn, null);
+    assertEquals(90, tracker.getServerStats(sn).getLoad());
+    tracker.updateServerStats(sn, new ServerStatistics(10, 0, 0));
+    assertEquals(10, tracker.getServerStats(sn).getLoad());
+  }
+}
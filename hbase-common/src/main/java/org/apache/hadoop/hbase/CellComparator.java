@@ -51,9 +51,7 @@ public class CellComparator implements Comparator<Cell>, Serializable{
 
   public static int compareStatic(Cell a, Cell b) {
     //row
-    int c = Bytes.compareTo(
-        a.getRowArray(), a.getRowOffset(), a.getRowLength(),
-        b.getRowArray(), b.getRowOffset(), b.getRowLength());
+    int c = compareRows(a, b);
     if (c != 0) return c;
 
     // If the column is not specified, the "minimum" key type appears the
@@ -70,15 +68,11 @@ public class CellComparator implements Comparator<Cell>, Serializable{
     }
 
     //family
-    c = Bytes.compareTo(
-      a.getFamilyArray(), a.getFamilyOffset(), a.getFamilyLength(),
-      b.getFamilyArray(), b.getFamilyOffset(), b.getFamilyLength());
+    c = compareFamilies(a, b);
     if (c != 0) return c;
 
     //qualifier
-    c = Bytes.compareTo(
-        a.getQualifierArray(), a.getQualifierOffset(), a.getQualifierLength(),
-        b.getQualifierArray(), b.getQualifierOffset(), b.getQualifierLength());
+    c = compareQualifiers(a, b);
     if (c != 0) return c;
 
     //timestamp: later sorts first
@@ -94,6 +88,27 @@ public class CellComparator implements Comparator<Cell>, Serializable{
   }
 
 
+  /**************** parts ****************************/
+
+  public static int compareRows(Cell a, Cell b) {
+    return Bytes.compareTo(
+        a.getRowArray(), a.getRowOffset(), a.getRowLength(),
+        b.getRowArray(), b.getRowOffset(), b.getRowLength());
+  }
+
+  public static int compareFamilies(Cell a, Cell b) {
+    return Bytes.compareTo(
+        a.getFamilyArray(), a.getFamilyOffset(), a.getFamilyLength(),
+        b.getFamilyArray(), b.getFamilyOffset(), b.getFamilyLength());
+  }
+
+  public static int compareQualifiers(Cell a, Cell b) {
+    return Bytes.compareTo(
+        a.getQualifierArray(), a.getQualifierOffset(), a.getQualifierLength(),
+        b.getQualifierArray(), b.getQualifierOffset(), b.getQualifierLength());
+  }
+
+
   /**************** equals ****************************/
 
   public static boolean equals(Cell a, Cell b){
@@ -179,21 +194,15 @@ public class CellComparator implements Comparator<Cell>, Serializable{
    */
   private static int compareStaticIgnoreMvccVersion(Cell a, Cell b) {
     //row
-    int c = Bytes.compareTo(
-        a.getRowArray(), a.getRowOffset(), a.getRowLength(),
-        b.getRowArray(), b.getRowOffset(), b.getRowLength());
+    int c = compareRows(a, b);
     if (c != 0) return c;
 
     //family
-    c = Bytes.compareTo(
-      a.getFamilyArray(), a.getFamilyOffset(), a.getFamilyLength(),
-      b.getFamilyArray(), b.getFamilyOffset(), b.getFamilyLength());
+    c = compareFamilies(a, b);
     if (c != 0) return c;
 
     //qualifier
-    c = Bytes.compareTo(
-        a.getQualifierArray(), a.getQualifierOffset(), a.getQualifierLength(),
-        b.getQualifierArray(), b.getQualifierOffset(), b.getQualifierLength());
+    c = compareQualifiers(a, b);
     if (c != 0) return c;
 
     //timestamp: later sorts first
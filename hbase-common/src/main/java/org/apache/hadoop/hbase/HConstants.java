@@ -605,6 +605,18 @@ public final class HConstants {
    */
   public static final int DEFAULT_HBASE_CLIENT_MAX_PERREGION_TASKS = 1;
 
+  /**
+   * If true, the client slows down the writes to the region servers reporting a high
+   * load in their responses, and speeds them up again once the load goes down.
+   */
+  public static final String HBASE_CLIENT_BACKPRESSURE_ENABLED =
+      "hbase.client.backpressure.enabled";
+
+  /**
+   * Default value of {@link #HBASE_CLIENT_BACKPRESSURE_ENABLED}.
+   */
+  public static final boolean DEFAULT_HBASE_CLIENT_BACKPRESSURE_ENABLED = false;
+
   /**
    * Parameter name for server pause value, used mostly as value to wait before
    * running a retry of a failed operation.
@@ -639,6 +651,18 @@ public final class HConstants {
    */
   public static int DEFAULT_HBASE_CLIENT_PREFETCH_LIMIT = 10;
 
+  /**
+   * Parameter name for whether the first lookup of a table location in hbase:meta loads the
+   * locations of all the regions of the table, in a single scan, rather than
+   * {@link #HBASE_CLIENT_PREFETCH_LIMIT} of them.
+   */
+  public static final String HBASE_CLIENT_PREFETCH_WARMUP = "hbase.client.prefetch.warmup";
+
+  /**
+   * Default value of {@link #HBASE_CLIENT_PREFETCH_WARMUP}.
+   */
+  public static final boolean DEFAULT_HBASE_CLIENT_PREFETCH_WARMUP = false;
+
   /**
    * Parameter name to set the default scanner caching for all clients.
    */
@@ -649,6 +673,19 @@ public final class HConstants {
    */
   public static int DEFAULT_HBASE_CLIENT_SCANNER_CACHING = 100;
 
+  /**
+   * Parameter name for whether the client scanners fetch the next batch of results in the
+   * background while the application consumes the current one. A {@link
+   * org.apache.hadoop.hbase.client.Scan} can override it.
+   */
+  public static final String HBASE_CLIENT_SCANNER_ASYNC_PREFETCH =
+      "hbase.client.scanner.async.prefetch";
+
+  /**
+   * Default value of {@link #HBASE_CLIENT_SCANNER_ASYNC_PREFETCH}.
+   */
+  public static final boolean DEFAULT_HBASE_CLIENT_SCANNER_ASYNC_PREFETCH = false;
+
   /**
    * Parameter name for number of rows that will be fetched when calling next on
    * a scanner if it is not served from memory. Higher caching values will
@@ -1950,9 +1950,7 @@ public class KeyValue implements Cell, HeapSize, Cloneable {
      * @return 0 if equal, <0 if left smaller, >0 if right smaller
      */
     protected int compareRowKey(final Cell left, final Cell right) {
-      return Bytes.compareTo(
-          left.getRowArray(),  left.getRowOffset(),  left.getRowLength(),
-          right.getRowArray(), right.getRowOffset(), right.getRowLength());
+      return CellComparator.compareRows(left, right);
     }
 
     /**
@@ -1993,6 +1991,43 @@ public class KeyValue implements Cell, HeapSize, Cloneable {
      * rowkey, colfam/qual, timestamp, type, mvcc
      */
     public int compare(final Cell left, final Cell right) {
+      if (left instanceof KeyValue && right instanceof KeyValue) {
+        return compareKeyValues((KeyValue) left, (KeyValue) right);
+      }
+      return compareCells(left, right);
+    }
+
+    /**
+     * Fast path of {@link #compare(Cell, Cell)} for two KeyValues. The key and row lengths are
+     * parsed once from the backing arrays instead of on every accessor call, and the parts are
+     * compared in place, eight bytes at a time where Unsafe is available.
+     */
+    private int compareKeyValues(final KeyValue left, final KeyValue right) {
+      byte[] lbytes = left.bytes;
+      byte[] rbytes = right.bytes;
+      int lkeyoffset = left.offset + ROW_OFFSET;
+      int rkeyoffset = right.offset + ROW_OFFSET;
+      short lrowlength = Bytes.toShort(lbytes, lkeyoffset);
+      short rrowlength = Bytes.toShort(rbytes, rkeyoffset);
+      int compare = compareRows(lbytes, lkeyoffset + ROW_LENGTH_SIZE, lrowlength,
+          rbytes, rkeyoffset + ROW_LENGTH_SIZE, rrowlength);
+      if (compare != 0) {
+        return compare;
+      }
+      if (lrowlength != rrowlength) {
+        // Rows may compare equal without being identical, e.g. in MetaComparator
+        return compareCells(left, right);
+      }
+      compare = compareWithoutRow(0, lbytes, lkeyoffset, Bytes.toInt(lbytes, left.offset),
+          rbytes, rkeyoffset, Bytes.toInt(rbytes, right.offset), rrowlength);
+      if (compare != 0) {
+        return compare;
+      }
+      // Negate this comparison so later edits show up first
+      return Longs.compare(right.mvcc, left.mvcc);
+    }
+
+    private int compareCells(final Cell left, final Cell right) {
       // compare row
       int compare = compareRowKey(left, right);
       if (compare != 0) {
@@ -2021,17 +2056,13 @@ public class KeyValue implements Cell, HeapSize, Cloneable {
       // compare col family / col fam + qual
       // If left family size is not equal to right family size, we need not
       // compare the qualifiers.
-      compare = Bytes.compareTo(
-        left.getFamilyArray(),  left.getFamilyOffset(),  left.getFamilyLength(),
-        right.getFamilyArray(), right.getFamilyOffset(), right.getFamilyLength());
+      compare = CellComparator.compareFamilies(left, right);
       if (compare != 0) {
         return compare;
       }
 
       // Compare qualifier
-      compare = Bytes.compareTo(
-          left.getQualifierArray(), left.getQualifierOffset(), left.getQualifierLength(),
-          right.getQualifierArray(), right.getQualifierOffset(), right.getQualifierLength());
+      compare = CellComparator.compareQualifiers(left, right);
       if (compare!= 0) {
         return compare;
       }
@@ -46,7 +46,7 @@ public class KeyValueUtil {
         cell.getTagsLength()));
   }
 
-  protected static int keyLength(final Cell cell) {
+  public static int keyLength(final Cell cell) {
     return (int)KeyValue.getKeyDataStructureSize(cell.getRowLength(), cell.getFamilyLength(),
       cell.getQualifierLength());
   }
@@ -78,6 +78,21 @@ public class KeyValueUtil {
     return kvCell;
   }
 
+  /**
+   * @return a new KeyValue with the key of the given cell, an empty value and
+   *         no tags, as {@link KeyValue#createKeyOnly(boolean)} makes it
+   */
+  public static KeyValue copyKeyToNewKeyValue(final Cell cell) {
+    int keyLength = keyLength(cell);
+    byte[] bytes = new byte[KeyValue.ROW_OFFSET + keyLength];
+    int pos = Bytes.putInt(bytes, 0, keyLength);
+    pos = Bytes.putInt(bytes, pos, 0);
+    appendKeyToByteArrayWithoutValue(cell, bytes, pos);
+    KeyValue kvCell = new KeyValue(bytes, 0, bytes.length);
+    kvCell.setMvccVersion(cell.getMvccVersion());
+    return kvCell;
+  }
+
   public static ByteBuffer copyKeyToNewByteBuffer(final Cell cell) {
     byte[] bytes = new byte[keyLength(cell)];
     appendKeyToByteArrayWithoutValue(cell, bytes, 0);
@@ -93,7 +108,7 @@ public class KeyValueUtil {
     return backingBytes;
   }
 
-  protected static int appendKeyToByteArrayWithoutValue(final Cell cell, final byte[] output,
+  public static int appendKeyToByteArrayWithoutValue(final Cell cell, final byte[] output,
       final int offset) {
     int nextOffset = offset;
     nextOffset = Bytes.putShort(output, nextOffset, cell.getRowLength());
@@ -0,0 +1,41 @@
+/**
+ * Copyright The Apache Software Foundation
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase;
+
+import org.apache.hadoop.classification.InterfaceAudience;
+import org.apache.hadoop.classification.InterfaceStability;
+
+/**
+ * The types of the {@link Tag}s HBase itself writes, kept together so that
+ * they do not collide. Types 3 and 4 are reserved.
+ */
+@InterfaceAudience.Private
+@InterfaceStability.Evolving
+public final class TagType {
+  /** Per cell access control lists */
+  public static final byte ACL_TAG_TYPE = (byte) 1;
+  /** Visibility expressions */
+  public static final byte VISIBILITY_TAG_TYPE = (byte) 2;
+  /** Marks a cell whose value is kept in a blob file, and names that file */
+  public static final byte BLOB_REFERENCE_TAG_TYPE = (byte) 5;
+
+  private TagType() {
+  }
+}
@@ -244,6 +244,28 @@ public final class Compression {
           throw new RuntimeException(e);
         }
       }
+    },
+    /**
+     * Pure-Java deflate that can be primed with a per-file dictionary, which
+     * helps a lot with small blocks of repetitive data. See
+     * {@link DictionaryCodec}.
+     */
+    DICT("dict") {
+      private volatile transient DictionaryCodec codec;
+      private transient Object lock = new Object();
+
+      @Override
+      CompressionCodec getCodec(Configuration conf) {
+        if (codec == null) {
+          synchronized (lock) {
+            if (codec == null) {
+              codec = new DictionaryCodec();
+              codec.setConf(new Configuration(conf));
+            }
+          }
+        }
+        return codec;
+      }
   };
 
     private final Configuration conf;
@@ -422,6 +444,20 @@ public final class Compression {
       InputStream bufferedBoundedStream, int compressedSize,
       int uncompressedSize, Compression.Algorithm compressAlgo)
       throws IOException {
+    decompress(dest, destOffset, bufferedBoundedStream, compressedSize,
+        uncompressedSize, compressAlgo, null);
+  }
+
+  /**
+   * Same as {@link #decompress(byte[], int, InputStream, int, int, Algorithm)}
+   * but primes the decompressor with the dictionary the data was compressed
+   * with, if any.
+   * @param dictionary the compression dictionary, or null if there is none
+   */
+  public static void decompress(byte[] dest, int destOffset,
+      InputStream bufferedBoundedStream, int compressedSize,
+      int uncompressedSize, Compression.Algorithm compressAlgo,
+      byte[] dictionary) throws IOException {
 
     if (dest.length - destOffset < uncompressedSize) {
       throw new IllegalArgumentException(
@@ -433,6 +469,9 @@ public final class Compression {
     Decompressor decompressor = null;
     try {
       decompressor = compressAlgo.getDecompressor();
+      if (dictionary != null) {
+        decompressor.setDictionary(dictionary, 0, dictionary.length);
+      }
       InputStream is = compressAlgo.createDecompressionStream(
           bufferedBoundedStream, decompressor, 0);
 
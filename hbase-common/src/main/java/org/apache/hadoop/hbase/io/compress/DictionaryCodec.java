@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hadoop.hbase.io.compress;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.hadoop.classification.InterfaceAudience;
+import org.apache.hadoop.io.compress.Compressor;
+import org.apache.hadoop.io.compress.Decompressor;
+import org.apache.hadoop.io.compress.DefaultCodec;
+import org.apache.hadoop.io.compress.zlib.BuiltInZlibDeflater;
+import org.apache.hadoop.io.compress.zlib.BuiltInZlibInflater;
+
+/**
+ * A pure-Java deflate codec whose compressors can be primed with a preset
+ * dictionary through {@link Compressor#setDictionary(byte[], int, int)}.
+ * Small blocks of repetitive data compress poorly on their own because the
+ * compressor has no history to refer to; a dictionary trained from the rest
+ * of the file provides that history. The dictionary id is part of the
+ * compressed stream, so data compressed without a dictionary reads back
+ * fine, while data compressed with one cannot be read with the wrong one.
+ * <p>
+ * The dictionary is dropped when a compressor is reset, so it has to be set
+ * again for every new stream. Decompressors keep theirs until reset and
+ * apply it when the stream asks for it.
+ */
+@InterfaceAudience.Private
+public class DictionaryCodec extends DefaultCodec {
+
+  @Override
+  public Class<? extends Compressor> getCompressorType() {
+    return BuiltInZlibDeflater.class;
+  }
+
+  @Override
+  public Compressor createCompressor() {
+    return new BuiltInZlibDeflater();
+  }
+
+  @Override
+  public Class<? extends Decompressor> getDecompressorType() {
+    return DictionaryDecompressor.class;
+  }
+
+  @Override
+  public Decompressor createDecompressor() {
+    return new DictionaryDecompressor();
+  }
+
+  @Override
+  public String getDefaultExtension() {
+    return ".dict";
+  }
+
+  /**
+   * An inflater that supplies the dictionary itself when the stream needs
+   * one. The stock decompressor streams take a dictionary request for the
+   * end of the stream.
+   */
+  static class DictionaryDecompressor extends BuiltInZlibInflater {
+    private byte[] dictionary;
+
+    @Override
+    public synchronized void setDictionary(byte[] b, int off, int len) {
+      dictionary = Arrays.copyOfRange(b, off, off + len);
+    }
+
+    @Override
+    public synchronized int decompress(byte[] b, int off, int len)
+        throws IOException {
+      int n = super.decompress(b, off, len);
+      if (n == 0 && super.needsDictionary()) {
+        if (dictionary == null) {
+          throw new IOException("Data was compressed with a dictionary but none was given");
+        }
+        try {
+          super.setDictionary(dictionary, 0, dictionary.length);
+        } catch (IllegalArgumentException e) {
+          throw new IOException("Data was compressed with a different dictionary", e);
+        }
+        n = super.decompress(b, off, len);
+      }
+      return n;
+    }
+
+    @Override
+    public synchronized void reset() {
+      super.reset();
+      dictionary = null;
+    }
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hadoop.hbase.io.compress;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.hadoop.classification.InterfaceAudience;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.util.Bytes;
+
+/**
+ * Builds a compression dictionary for {@link DictionaryCodec} out of sampled
+ * data. The sample is cut into epochs, one per dictionary segment, and from
+ * each epoch we take the segment whose k-mers are the most frequent across
+ * the whole sample. K-mers already covered by a chosen segment no longer
+ * count, so later segments bring in new content. The best segments go last,
+ * closest to the data, where deflate references them most cheaply.
+ */
+@InterfaceAudience.Private
+public class DictionaryTrainer {
+
+  /** Size of the dictionary to build. Deflate can only see the last 32KB. */
+  public static final String DICTIONARY_SIZE_KEY =
+      "hbase.hfile.compression.dictionary.size";
+  public static final int DEFAULT_DICTIONARY_SIZE = 16 * 1024;
+
+  /** How much data to sample before building the dictionary. */
+  public static final String SAMPLE_SIZE_KEY =
+      "hbase.hfile.compression.dictionary.sample.size";
+  public static final int DEFAULT_SAMPLE_SIZE = 128 * 1024;
+
+  private static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+  private static final int SEGMENT_SIZE = 64;
+  private static final int KMER_SIZE = Bytes.SIZEOF_LONG;
+  private static final int HASH_BITS = 18;
+
+  private final int dictionarySize;
+  private final byte[] sample;
+  private int sampleLength;
+
+  public DictionaryTrainer(Configuration conf) {
+    this(conf.getInt(DICTIONARY_SIZE_KEY, DEFAULT_DICTIONARY_SIZE),
+        conf.getInt(SAMPLE_SIZE_KEY, DEFAULT_SAMPLE_SIZE));
+  }
+
+  public DictionaryTrainer(int dictionarySize, int sampleSize) {
+    if (dictionarySize < SEGMENT_SIZE || dictionarySize > MAX_DICTIONARY_SIZE) {
+      throw new IllegalArgumentException("Dictionary size must be between " + SEGMENT_SIZE
+          + " and " + MAX_DICTIONARY_SIZE + ": " + dictionarySize);
+    }
+    this.dictionarySize = dictionarySize;
+    this.sample = new byte[Math.max(sampleSize, dictionarySize)];
+  }
+
+  /**
+   * Adds data to the sample, as much of it as still fits.
+   * @return true once the sample is full
+   */
+  public boolean add(byte[] b, int off, int len) {
+    int n = Math.min(len, sample.length - sampleLength);
+    System.arraycopy(b, off, sample, sampleLength, n);
+    sampleLength += n;
+    return isFull();
+  }
+
+  public boolean isFull() {
+    return sampleLength == sample.length;
+  }
+
+  /**
+   * @return the dictionary built from the data sampled so far
+   */
+  public byte[] train() {
+    if (sampleLength <= dictionarySize) {
+      return Arrays.copyOf(sample, sampleLength);
+    }
+
+    int[] frequencies = new int[1 << HASH_BITS];
+    for (int i = 0; i + KMER_SIZE <= sampleLength; i++) {
+      frequencies[hashKmer(i)]++;
+    }
+
+    int numSegments = dictionarySize / SEGMENT_SIZE;
+    int epochSize = sampleLength / numSegments;
+    List<long[]> segments = new ArrayList<long[]>(numSegments);
+    for (int epoch = 0; epoch < numSegments; epoch++) {
+      int start = epoch * epochSize;
+      int end = start + epochSize - SEGMENT_SIZE;
+      // Slide a window over the epoch, keeping the score of the k-mers in it
+      long score = 0;
+      for (int i = start; i <= start + SEGMENT_SIZE - KMER_SIZE; i++) {
+        score += frequencies[hashKmer(i)];
+      }
+      long bestScore = score;
+      int best = start;
+      for (int i = start + 1; i <= end; i++) {
+        score += frequencies[hashKmer(i + SEGMENT_SIZE - KMER_SIZE)]
+            - frequencies[hashKmer(i - 1)];
+        if (score > bestScore) {
+          bestScore = score;
+          best = i;
+        }
+      }
+      for (int i = best; i <= best + SEGMENT_SIZE - KMER_SIZE; i++) {
+        frequencies[hashKmer(i)] = 0;
+      }
+      segments.add(new long[] { bestScore, best });
+    }
+
+    Collections.sort(segments, new Comparator<long[]>() {
+      @Override
+      public int compare(long[] a, long[] b) {
+        return a[0] < b[0] ? -1 : a[0] > b[0] ? 1 : 0;
+      }
+    });
+    byte[] dictionary = new byte[numSegments * SEGMENT_SIZE];
+    int pos = 0;
+    for (long[] segment : segments) {
+      System.arraycopy(sample, (int) segment[1], dictionary, pos, SEGMENT_SIZE);
+      pos += SEGMENT_SIZE;
+    }
+    return dictionary;
+  }
+
+  private int hashKmer(int offset) {
+    return (int) ((Bytes.toLong(sample, offset) * 0x9E3779B97F4A7C15L) >>> (64 - HASH_BITS));
+  }
+}
@@ -243,6 +243,17 @@ abstract class BufferedDataBlockEncoder implements DataBlockEncoder {
       return kv;
     }
 
+    @Override
+    public KeyValue getKeyOnlyKeyValue() {
+      byte[] kvBuf = new byte[KeyValue.ROW_OFFSET + current.keyLength];
+      int pos = Bytes.putInt(kvBuf, 0, current.keyLength);
+      pos = Bytes.putInt(kvBuf, pos, 0);
+      System.arraycopy(current.keyBuffer, 0, kvBuf, pos, current.keyLength);
+      KeyValue kv = new KeyValue(kvBuf, 0, kvBuf.length);
+      kv.setMvccVersion(current.memstoreTS);
+      return kv;
+    }
+
     @Override
     public void rewind() {
       currentBuffer.rewind();
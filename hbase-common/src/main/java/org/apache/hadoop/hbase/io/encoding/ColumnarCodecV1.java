@@ -0,0 +1,492 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hadoop.hbase.io.encoding;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.apache.hadoop.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.KeyValue.KVComparator;
+import org.apache.hadoop.hbase.util.ByteBufferUtils;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.io.WritableUtils;
+
+/**
+ * Stores the parts of the key/values of a block in separate streams instead of
+ * interleaving keys and values. The seeker rebuilds keys from the row, column,
+ * timestamp and type streams and only records where the value of the current
+ * key/value starts, so seeks, and scans that get their key/values from
+ * {@link EncodedSeeker#getKeyOnlyKeyValue()}, never read the value bytes.
+ * Keeping like data together also lets the block compression do better on
+ * each stream.
+ * <p>
+ * Block layout:
+ * <pre>
+ * int         length of the key/values when unencoded
+ * int         number of key/values
+ * int         length of the first key
+ * byte[]      the first key
+ * int[8]      length of each of the streams below
+ * rows        per row: compressed int row length, row, compressed int number
+ *             of key/values in the row
+ * columns     per key/value: compressed int family length + 1 and the family
+ *             when it differs from the previous key/value, 0 otherwise, then
+ *             compressed int qualifier length and the qualifier
+ * timestamps  per key/value: vlong difference from the previous timestamp
+ * types       per key/value: one byte
+ * lengths     per key/value: compressed int value length
+ * values      the values, one after the other
+ * tags        per key/value: compressed int tags length and the tags, when
+ *             the file includes tags
+ * mvcc        per key/value: vlong memstore timestamp, when the file
+ *             includes it
+ * </pre>
+ */
+@InterfaceAudience.Private
+public class ColumnarCodecV1 extends BufferedDataBlockEncoder {
+
+  private static final int NUM_STREAMS = 8;
+  private static final int FIRST_KEY_LENGTH_OFFSET = 2 * Bytes.SIZEOF_INT;
+
+  @Override
+  public void internalEncodeKeyValues(DataOutputStream out,
+      ByteBuffer in, HFileBlockDefaultEncodingContext encodingCtx) throws IOException {
+    in.rewind();
+    boolean includesTags = encodingCtx.getHFileContext().isIncludesTags();
+    boolean includesMvcc = encodingCtx.getHFileContext().isIncludesMvcc();
+    byte[] array = in.array();
+    int arrayOffset = in.arrayOffset();
+
+    ByteArrayOutputStream[] streams = new ByteArrayOutputStream[NUM_STREAMS];
+    for (int i = 0; i < NUM_STREAMS; ++i) {
+      streams[i] = new ByteArrayOutputStream();
+    }
+    ByteArrayOutputStream rows = streams[0];
+    ByteArrayOutputStream columns = streams[1];
+    DataOutputStream timestamps = new DataOutputStream(streams[2]);
+    ByteArrayOutputStream types = streams[3];
+    ByteArrayOutputStream valueLengths = streams[4];
+    ByteArrayOutputStream values = streams[5];
+    ByteArrayOutputStream tags = streams[6];
+    DataOutputStream mvcc = new DataOutputStream(streams[7]);
+
+    int numCells = 0;
+    int rowOffset = -1;
+    int rowLength = 0;
+    int cellsInRow = 0;
+    int familyOffset = -1;
+    int familyLength = 0;
+    long timestamp = 0;
+    int pos = 0;
+    while (pos < in.limit()) {
+      int keyLength = in.getInt(pos);
+      int valueLength = in.getInt(pos + Bytes.SIZEOF_INT);
+      int keyOffset = pos + KeyValue.ROW_OFFSET;
+      int kvRowLength = in.getShort(keyOffset);
+      int kvRowOffset = keyOffset + Bytes.SIZEOF_SHORT;
+      int kvFamilyLength = in.get(kvRowOffset + kvRowLength);
+      int kvFamilyOffset = kvRowOffset + kvRowLength + Bytes.SIZEOF_BYTE;
+      int qualifierOffset = kvFamilyOffset + kvFamilyLength;
+      int qualifierLength = keyLength - KeyValue.KEY_INFRASTRUCTURE_SIZE
+          - kvRowLength - kvFamilyLength;
+      int timestampOffset = qualifierOffset + qualifierLength;
+
+      if (rowOffset == -1 || !Bytes.equals(array, arrayOffset + kvRowOffset, kvRowLength,
+          array, arrayOffset + rowOffset, rowLength)) {
+        if (rowOffset != -1) {
+          ByteBufferUtils.putCompressedInt(rows, cellsInRow);
+        }
+        ByteBufferUtils.putCompressedInt(rows, kvRowLength);
+        rows.write(array, arrayOffset + kvRowOffset, kvRowLength);
+        rowOffset = kvRowOffset;
+        rowLength = kvRowLength;
+        cellsInRow = 0;
+      }
+      cellsInRow++;
+
+      if (familyOffset == -1 || !Bytes.equals(array, arrayOffset + kvFamilyOffset,
+          kvFamilyLength, array, arrayOffset + familyOffset, familyLength)) {
+        ByteBufferUtils.putCompressedInt(columns, kvFamilyLength + 1);
+        columns.write(array, arrayOffset + kvFamilyOffset, kvFamilyLength);
+        familyOffset = kvFamilyOffset;
+        familyLength = kvFamilyLength;
+      } else {
+        ByteBufferUtils.putCompressedInt(columns, 0);
+      }
+      ByteBufferUtils.putCompressedInt(columns, qualifierLength);
+      columns.write(array, arrayOffset + qualifierOffset, qualifierLength);
+
+      long kvTimestamp = in.getLong(timestampOffset);
+      WritableUtils.writeVLong(timestamps, kvTimestamp - timestamp);
+      timestamp = kvTimestamp;
+      types.write(in.get(timestampOffset + Bytes.SIZEOF_LONG));
+
+      ByteBufferUtils.putCompressedInt(valueLengths, valueLength);
+      values.write(array, arrayOffset + keyOffset + keyLength, valueLength);
+      pos = keyOffset + keyLength + valueLength;
+
+      if (includesTags) {
+        int tagsLength = in.getShort(pos);
+        pos += Bytes.SIZEOF_SHORT;
+        ByteBufferUtils.putCompressedInt(tags, tagsLength);
+        tags.write(array, arrayOffset + pos, tagsLength);
+        pos += tagsLength;
+      }
+      if (includesMvcc) {
+        in.position(pos);
+        WritableUtils.writeVLong(mvcc, ByteBufferUtils.readVLong(in));
+        pos = in.position();
+      }
+      numCells++;
+    }
+    if (rowOffset != -1) {
+      ByteBufferUtils.putCompressedInt(rows, cellsInRow);
+    }
+
+    ByteBufferUtils.putInt(out, in.limit());
+    ByteBufferUtils.putInt(out, numCells);
+    int firstKeyLength = numCells == 0 ? 0 : in.getInt(0);
+    ByteBufferUtils.putInt(out, firstKeyLength);
+    out.write(array, arrayOffset + KeyValue.ROW_OFFSET, firstKeyLength);
+    for (ByteArrayOutputStream stream : streams) {
+      ByteBufferUtils.putInt(out, stream.size());
+    }
+    for (ByteArrayOutputStream stream : streams) {
+      stream.writeTo(out);
+    }
+  }
+
+  @Override
+  public ByteBuffer getFirstKeyInBlock(ByteBuffer block) {
+    int keyLength = block.getInt(block.position() + FIRST_KEY_LENGTH_OFFSET);
+    return ByteBuffer.wrap(block.array(), block.arrayOffset() + block.position()
+        + FIRST_KEY_LENGTH_OFFSET + Bytes.SIZEOF_INT, keyLength).slice();
+  }
+
+  @Override
+  public String toString() {
+    return ColumnarCodecV1.class.getSimpleName();
+  }
+
+  @Override
+  public EncodedSeeker createSeeker(KVComparator comparator,
+      final HFileBlockDecodingContext decodingCtx) {
+    return new ColumnarSeekerV1(comparator, decodingCtx);
+  }
+
+  @Override
+  protected ByteBuffer internalDecodeKeyValues(DataInputStream source, int allocateHeaderLength,
+      int skipLastBytes, HFileBlockDefaultDecodingContext decodingCtx) throws IOException {
+    // Read the encoded block back in one piece and walk it with a seeker, so
+    // that the streams are put back together in a single place.
+    int decompressedSize = source.readInt();
+    int numCells = source.readInt();
+    int firstKeyLength = source.readInt();
+    int headerLength = FIRST_KEY_LENGTH_OFFSET + Bytes.SIZEOF_INT + firstKeyLength
+        + NUM_STREAMS * Bytes.SIZEOF_INT;
+    ByteBuffer header = ByteBuffer.allocate(headerLength);
+    header.putInt(decompressedSize);
+    header.putInt(numCells);
+    header.putInt(firstKeyLength);
+    ByteBufferUtils.copyFromStreamToBuffer(header, source, firstKeyLength);
+    int streamsLength = 0;
+    for (int i = 0; i < NUM_STREAMS; ++i) {
+      int streamLength = source.readInt();
+      header.putInt(streamLength);
+      streamsLength += streamLength;
+    }
+    byte[] encoded = new byte[headerLength + streamsLength];
+    System.arraycopy(header.array(), 0, encoded, 0, headerLength);
+    source.readFully(encoded, headerLength, streamsLength);
+
+    ByteBuffer buffer = ByteBuffer.allocate(decompressedSize +
+        allocateHeaderLength);
+    buffer.position(allocateHeaderLength);
+    if (numCells == 0) {
+      return buffer;
+    }
+    ColumnarSeekerV1 seeker = new ColumnarSeekerV1(KeyValue.COMPARATOR, decodingCtx);
+    seeker.setCurrentBuffer(ByteBuffer.wrap(encoded));
+    do {
+      ColumnarSeekerState state = seeker.current;
+      buffer.putInt(state.keyLength);
+      buffer.putInt(state.valueLength);
+      buffer.put(state.keyBuffer, 0, state.keyLength);
+      buffer.put(encoded, state.valueOffset, state.valueLength);
+      if (decodingCtx.getHFileContext().isIncludesTags()) {
+        buffer.putShort((short) state.tagsLength);
+        buffer.put(encoded, state.tagsOffset, state.tagsLength);
+      }
+      if (decodingCtx.getHFileContext().isIncludesMvcc()) {
+        ByteBufferUtils.writeVLong(buffer, state.memstoreTS);
+      }
+    } while (seeker.next());
+
+    return buffer;
+  }
+
+  /**
+   * Besides the current key/value, remembers where the next one starts in
+   * each of the streams.
+   */
+  protected static class ColumnarSeekerState extends SeekerState {
+    private int cellIndex;
+    private int rowsPos;
+    private int columnsPos;
+    private int timestampsPos;
+    private int valueLengthsPos;
+    private int valuesPos;
+    private int tagsPos;
+    private int mvccPos;
+    private int rowLength;
+    private int cellsLeftInRow;
+    private int familyOffset;
+    private int familyLength;
+    private long timestamp;
+
+    @Override
+    protected void copyFromNext(SeekerState that) {
+      super.copyFromNext(that);
+      ColumnarSeekerState other = (ColumnarSeekerState) that;
+      tagsLength = other.tagsLength;
+      tagsOffset = other.tagsOffset;
+      cellIndex = other.cellIndex;
+      rowsPos = other.rowsPos;
+      columnsPos = other.columnsPos;
+      timestampsPos = other.timestampsPos;
+      valueLengthsPos = other.valueLengthsPos;
+      valuesPos = other.valuesPos;
+      tagsPos = other.tagsPos;
+      mvccPos = other.mvccPos;
+      rowLength = other.rowLength;
+      cellsLeftInRow = other.cellsLeftInRow;
+      familyOffset = other.familyOffset;
+      familyLength = other.familyLength;
+      timestamp = other.timestamp;
+    }
+  }
+
+  private static class ColumnarSeekerV1 extends BufferedEncodedSeeker<ColumnarSeekerState> {
+    private int numCells;
+    private int rowsStart;
+    private int columnsStart;
+    private int timestampsStart;
+    private int typesStart;
+    private int valueLengthsStart;
+    private int valuesStart;
+    private int tagsStart;
+    private int mvccStart;
+
+    ColumnarSeekerV1(KVComparator comparator, HFileBlockDecodingContext decodingCtx) {
+      super(comparator, decodingCtx);
+    }
+
+    @Override
+    public void setCurrentBuffer(ByteBuffer buffer) {
+      // The stream offsets are relative to the start of the block
+      super.setCurrentBuffer(buffer.slice());
+    }
+
+    @Override
+    public boolean next() {
+      if (!hasNext()) {
+        return false;
+      }
+      decodeNext();
+      previous.invalidate();
+      return true;
+    }
+
+    private boolean hasNext() {
+      return current.cellIndex + 1 < numCells;
+    }
+
+    @Override
+    public int seekToKeyInBlock(byte[] key, int offset, int length,
+        boolean seekBefore) {
+      previous.invalidate();
+      do {
+        int comp = comparator.compareFlatKey(key, offset, length,
+            current.keyBuffer, 0, current.keyLength);
+        if (comp == 0) { // exact match
+          if (seekBefore) {
+            if (!previous.isValid()) {
+              // The caller (seekBefore) has to ensure that we are not at the
+              // first key in the block.
+              throw new IllegalStateException("Cannot seekBefore if " +
+                  "positioned at the first key in the block: key=" +
+                  Bytes.toStringBinary(key, offset, length));
+            }
+            moveToPrevious();
+            return 1;
+          }
+          return 0;
+        }
+
+        if (comp < 0) { // already too large, check previous
+          if (previous.isValid()) {
+            moveToPrevious();
+          } else {
+            return HConstants.INDEX_KEY_MAGIC; // using optimized index key
+          }
+          return 1;
+        }
+
+        // move to next, if more data is available
+        if (hasNext()) {
+          previous.copyFromNext(current);
+          decodeNext();
+        } else {
+          break;
+        }
+      } while (true);
+
+      // we hit the end of the block, not an exact match
+      return 1;
+    }
+
+    private void moveToPrevious() {
+      ColumnarSeekerState tmp = previous;
+      previous = current;
+      current = tmp;
+      previous.invalidate();
+    }
+
+    @Override
+    protected void decodeFirst() {
+      numCells = currentBuffer.getInt(Bytes.SIZEOF_INT);
+      int firstKeyLength = currentBuffer.getInt(FIRST_KEY_LENGTH_OFFSET);
+      int lengthsOffset = FIRST_KEY_LENGTH_OFFSET + Bytes.SIZEOF_INT + firstKeyLength;
+      rowsStart = lengthsOffset + NUM_STREAMS * Bytes.SIZEOF_INT;
+      columnsStart = rowsStart + getStreamLength(lengthsOffset, 0);
+      timestampsStart = columnsStart + getStreamLength(lengthsOffset, 1);
+      typesStart = timestampsStart + getStreamLength(lengthsOffset, 2);
+      valueLengthsStart = typesStart + getStreamLength(lengthsOffset, 3);
+      valuesStart = valueLengthsStart + getStreamLength(lengthsOffset, 4);
+      tagsStart = valuesStart + getStreamLength(lengthsOffset, 5);
+      mvccStart = tagsStart + getStreamLength(lengthsOffset, 6);
+
+      current.cellIndex = -1;
+      current.rowsPos = rowsStart;
+      current.columnsPos = columnsStart;
+      current.timestampsPos = timestampsStart;
+      current.valueLengthsPos = valueLengthsStart;
+      current.valuesPos = valuesStart;
+      current.tagsPos = tagsStart;
+      current.mvccPos = mvccStart;
+      current.cellsLeftInRow = 0;
+      current.timestamp = 0;
+      if (numCells > 0) {
+        decodeNext();
+      }
+    }
+
+    private int getStreamLength(int lengthsOffset, int stream) {
+      return currentBuffer.getInt(lengthsOffset + stream * Bytes.SIZEOF_INT);
+    }
+
+    @Override
+    protected void decodeNext() {
+      ColumnarSeekerState state = current;
+      ByteBuffer buffer = currentBuffer;
+      byte[] array = buffer.array();
+      int arrayOffset = buffer.arrayOffset();
+      state.cellIndex++;
+
+      int rowOffset = -1;
+      if (state.cellsLeftInRow == 0) {
+        buffer.position(state.rowsPos);
+        state.rowLength = ByteBufferUtils.readCompressedInt(buffer);
+        rowOffset = buffer.position();
+        ByteBufferUtils.skip(buffer, state.rowLength);
+        state.cellsLeftInRow = ByteBufferUtils.readCompressedInt(buffer);
+        state.rowsPos = buffer.position();
+        state.lastCommonPrefix = 0;
+      } else {
+        state.lastCommonPrefix = KeyValue.ROW_LENGTH_SIZE + state.rowLength;
+      }
+      state.cellsLeftInRow--;
+
+      buffer.position(state.columnsPos);
+      int familyLengthPlusOne = ByteBufferUtils.readCompressedInt(buffer);
+      if (familyLengthPlusOne != 0) {
+        state.familyLength = familyLengthPlusOne - 1;
+        state.familyOffset = buffer.position();
+        ByteBufferUtils.skip(buffer, state.familyLength);
+      }
+      int qualifierLength = ByteBufferUtils.readCompressedInt(buffer);
+      int qualifierOffset = buffer.position();
+      ByteBufferUtils.skip(buffer, qualifierLength);
+      state.columnsPos = buffer.position();
+
+      buffer.position(state.timestampsPos);
+      state.timestamp += ByteBufferUtils.readVLong(buffer);
+      state.timestampsPos = buffer.position();
+
+      buffer.position(state.valueLengthsPos);
+      state.valueLength = ByteBufferUtils.readCompressedInt(buffer);
+      state.valueLengthsPos = buffer.position();
+      // The value itself is only read when asked for
+      state.valueOffset = state.valuesPos;
+      state.valuesPos += state.valueLength;
+
+      if (includesTags()) {
+        buffer.position(state.tagsPos);
+        state.tagsLength = ByteBufferUtils.readCompressedInt(buffer);
+        state.tagsOffset = buffer.position();
+        ByteBufferUtils.skip(buffer, state.tagsLength);
+        state.tagsPos = buffer.position();
+      }
+      if (includesMvcc()) {
+        buffer.position(state.mvccPos);
+        state.memstoreTS = ByteBufferUtils.readVLong(buffer);
+        state.mvccPos = buffer.position();
+      } else {
+        state.memstoreTS = 0;
+      }
+
+      // Rebuild the key, keeping the row when it has not changed
+      state.keyLength = KeyValue.KEY_INFRASTRUCTURE_SIZE + state.rowLength
+          + state.familyLength + qualifierLength;
+      state.ensureSpaceForKey();
+      byte[] key = state.keyBuffer;
+      if (rowOffset != -1) {
+        Bytes.putShort(key, 0, (short) state.rowLength);
+        System.arraycopy(array, arrayOffset + rowOffset, key, KeyValue.ROW_LENGTH_SIZE,
+            state.rowLength);
+      }
+      int pos = KeyValue.ROW_LENGTH_SIZE + state.rowLength;
+      key[pos++] = (byte) state.familyLength;
+      System.arraycopy(array, arrayOffset + state.familyOffset, key, pos, state.familyLength);
+      pos += state.familyLength;
+      System.arraycopy(array, arrayOffset + qualifierOffset, key, pos, qualifierLength);
+      pos += qualifierLength;
+      pos = Bytes.putLong(key, pos, state.timestamp);
+      key[pos] = buffer.get(typesStart + state.cellIndex);
+    }
+
+    @Override
+    protected ColumnarSeekerState createSeekerState() {
+      return new ColumnarSeekerState();
+    }
+  }
+}
@@ -148,6 +148,14 @@ public interface DataBlockEncoder {
      */
     KeyValue getKeyValue();
 
+    /**
+     * @return the key at the current position as a KeyValue with an empty
+     *         value and no tags. Includes memstore timestamp. The value is not
+     *         copied, and encodings that store values apart from the keys do
+     *         not read it.
+     */
+    KeyValue getKeyOnlyKeyValue();
+
     /** Set position to beginning of given block */
     void rewind();
 
@@ -90,7 +90,8 @@ public class HFileBlockDefaultDecodingContext implements
     if (compression != Compression.Algorithm.NONE) {
       Compression.decompress(blockBufferWithoutHeader.array(),
         blockBufferWithoutHeader.arrayOffset(), in, onDiskSizeWithoutHeader,
-        uncompressedSizeWithoutHeader, compression);
+        uncompressedSizeWithoutHeader, compression,
+        fileContext.getCompressionDictionary());
     } else {
       IOUtils.readFully(in, blockBufferWithoutHeader.array(),
         blockBufferWithoutHeader.arrayOffset(), onDiskSizeWithoutHeader);
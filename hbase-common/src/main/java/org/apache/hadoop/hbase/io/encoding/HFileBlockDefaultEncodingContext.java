@@ -180,7 +180,7 @@ public class HFileBlockDefaultEncodingContext implements
       // Run any compression before encryption
       if (fileContext.getCompression() != Compression.Algorithm.NONE) {
         compressedByteStream.reset();
-        compressionStream.resetState();
+        resetCompressionStream();
         compressionStream.write(uncompressedBytesWithHeader,
             headerBytes.length, uncompressedBytesWithHeader.length - headerBytes.length);
         compressionStream.flush();
@@ -228,7 +228,7 @@ public class HFileBlockDefaultEncodingContext implements
       if (this.fileContext.getCompression() != NONE) {
         compressedByteStream.reset();
         compressedByteStream.write(headerBytes);
-        compressionStream.resetState();
+        resetCompressionStream();
         compressionStream.write(uncompressedBytesWithHeader,
           headerBytes.length, uncompressedBytesWithHeader.length
               - headerBytes.length);
@@ -244,6 +244,18 @@ public class HFileBlockDefaultEncodingContext implements
     this.blockType = blockType;
   }
 
+  /**
+   * Readies the compression stream for a new block. A compression dictionary
+   * has to be set again after every reset.
+   */
+  private void resetCompressionStream() throws IOException {
+    compressionStream.resetState();
+    byte[] dictionary = fileContext.getCompressionDictionary();
+    if (dictionary != null) {
+      compressor.setDictionary(dictionary, 0, dictionary.length);
+    }
+  }
+
   @Override
   public byte[] getOnDiskBytesWithHeader() {
     return onDiskBytesWithHeader;
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with this
+ * work for additional information regarding copyright ownership. The ASF
+ * licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.hadoop.hbase.io.encoding;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.apache.hadoop.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.KeyValue.KVComparator;
+import org.apache.hadoop.hbase.util.ByteBufferUtils;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.io.WritableUtils;
+
+/**
+ * Keeps the key/values of the block as they are and appends an index of the
+ * offsets at which each row starts. A seek inside the block is a binary search
+ * over the first keys of the rows followed by a scan of a single row, instead
+ * of decoding every key/value from the start of the block.
+ * <p>
+ * Block layout:
+ * <pre>
+ * int         length of the key/values
+ * byte[]      the key/values, as in an unencoded block
+ * int[]       offset of each row start, relative to the first key/value
+ * int         number of rows
+ * </pre>
+ */
+@InterfaceAudience.Private
+public class RowIndexCodecV1 extends BufferedDataBlockEncoder {
+
+  @Override
+  public void internalEncodeKeyValues(DataOutputStream out,
+      ByteBuffer in, HFileBlockDefaultEncodingContext encodingCtx) throws IOException {
+    in.rewind();
+    ByteBufferUtils.putInt(out, in.limit());
+    ByteBufferUtils.moveBufferToStream(out, in, in.limit());
+
+    boolean includesTags = encodingCtx.getHFileContext().isIncludesTags();
+    boolean includesMvcc = encodingCtx.getHFileContext().isIncludesMvcc();
+    byte[] array = in.array();
+    int arrayOffset = in.arrayOffset();
+    int prevRowOffset = -1;
+    int prevRowLength = 0;
+    int numRows = 0;
+    int pos = 0;
+    while (pos < in.limit()) {
+      int keyLength = in.getInt(pos);
+      int valueLength = in.getInt(pos + Bytes.SIZEOF_INT);
+      int rowLength = in.getShort(pos + KeyValue.ROW_OFFSET);
+      int rowOffset = pos + KeyValue.ROW_OFFSET + Bytes.SIZEOF_SHORT;
+      if (prevRowOffset == -1 || !Bytes.equals(array, arrayOffset + rowOffset, rowLength,
+          array, arrayOffset + prevRowOffset, prevRowLength)) {
+        ByteBufferUtils.putInt(out, pos);
+        prevRowOffset = rowOffset;
+        prevRowLength = rowLength;
+        numRows++;
+      }
+      pos += KeyValue.ROW_OFFSET + keyLength + valueLength;
+      if (includesTags) {
+        pos += Bytes.SIZEOF_SHORT + in.getShort(pos);
+      }
+      if (includesMvcc) {
+        pos += WritableUtils.decodeVIntSize(in.get(pos));
+      }
+    }
+    ByteBufferUtils.putInt(out, numRows);
+  }
+
+  @Override
+  public ByteBuffer getFirstKeyInBlock(ByteBuffer block) {
+    int keyLength = block.getInt(Bytes.SIZEOF_INT);
+    return ByteBuffer.wrap(block.array(),
+        block.arrayOffset() + 3 * Bytes.SIZEOF_INT, keyLength).slice();
+  }
+
+  @Override
+  public String toString() {
+    return RowIndexCodecV1.class.getSimpleName();
+  }
+
+  @Override
+  public EncodedSeeker createSeeker(KVComparator comparator,
+      final HFileBlockDecodingContext decodingCtx) {
+    return new RowIndexSeekerV1(comparator, decodingCtx);
+  }
+
+  @Override
+  protected ByteBuffer internalDecodeKeyValues(DataInputStream source, int allocateHeaderLength,
+      int skipLastBytes, HFileBlockDefaultDecodingContext decodingCtx) throws IOException {
+    int decompressedSize = source.readInt();
+    ByteBuffer buffer = ByteBuffer.allocate(decompressedSize +
+        allocateHeaderLength);
+    buffer.position(allocateHeaderLength);
+    ByteBufferUtils.copyFromStreamToBuffer(buffer, source, decompressedSize);
+
+    return buffer;
+  }
+
+  private static class RowIndexSeekerV1 extends BufferedEncodedSeeker<SeekerState> {
+    /** The row index at the end of the block, positioned at its first entry. */
+    private ByteBuffer rowIndex;
+    private int numRows;
+
+    RowIndexSeekerV1(KVComparator comparator, HFileBlockDecodingContext decodingCtx) {
+      super(comparator, decodingCtx);
+    }
+
+    @Override
+    public void setCurrentBuffer(ByteBuffer buffer) {
+      int dataLength = buffer.getInt(buffer.position());
+      int indexStart = buffer.position() + Bytes.SIZEOF_INT + dataLength;
+      numRows = buffer.getInt(buffer.limit() - Bytes.SIZEOF_INT);
+
+      ByteBuffer index = buffer.duplicate();
+      index.position(indexStart);
+      rowIndex = index.slice();
+
+      // Limit the key/values so that next() stops at the row index
+      ByteBuffer data = buffer.duplicate();
+      data.limit(indexStart);
+      super.setCurrentBuffer(data.slice());
+    }
+
+    @Override
+    public int seekToKeyInBlock(byte[] key, int offset, int length,
+        boolean seekBefore) {
+      // Start from the last row whose first key is before the sought key, or
+      // not after it when not seeking before. Everything in between is skipped.
+      int low = 0;
+      int high = numRows - 1;
+      int row = 0;
+      while (low <= high) {
+        int mid = (low + high) >>> 1;
+        int comp = compareRowStart(mid, key, offset, length);
+        if (comp > 0 || (comp == 0 && !seekBefore)) {
+          row = mid;
+          low = mid + 1;
+        } else {
+          high = mid - 1;
+        }
+      }
+      currentBuffer.position(getRowStart(row));
+      current.lastCommonPrefix = 0;
+      decodeNext();
+      return super.seekToKeyInBlock(key, offset, length, seekBefore);
+    }
+
+    /**
+     * @return the position in the current buffer of the first key/value of
+     *         the given row
+     */
+    private int getRowStart(int row) {
+      return Bytes.SIZEOF_INT + rowIndex.getInt(row * Bytes.SIZEOF_INT);
+    }
+
+    private int compareRowStart(int row, byte[] key, int offset, int length) {
+      int kvOffset = getRowStart(row);
+      int keyLength = currentBuffer.getInt(kvOffset);
+      return comparator.compareFlatKey(key, offset, length, currentBuffer.array(),
+          currentBuffer.arrayOffset() + kvOffset + KeyValue.ROW_OFFSET, keyLength);
+    }
+
+    @Override
+    protected void decodeNext() {
+      current.keyLength = currentBuffer.getInt();
+      current.valueLength = currentBuffer.getInt();
+      current.ensureSpaceForKey();
+      currentBuffer.get(current.keyBuffer, 0, current.keyLength);
+      current.valueOffset = currentBuffer.position();
+      ByteBufferUtils.skip(currentBuffer, current.valueLength);
+      if (includesTags()) {
+        current.tagsLength = currentBuffer.getShort();
+        current.tagsOffset = currentBuffer.position();
+        ByteBufferUtils.skip(currentBuffer, current.tagsLength);
+      }
+      if (includesMvcc()) {
+        current.memstoreTS = ByteBufferUtils.readVLong(currentBuffer);
+      } else {
+        current.memstoreTS = 0;
+      }
+      current.nextKvOffset = currentBuffer.position();
+    }
+
+    @Override
+    protected void decodeFirst() {
+      ByteBufferUtils.skip(currentBuffer, Bytes.SIZEOF_INT);
+      current.lastCommonPrefix = 0;
+      decodeNext();
+    }
+  }
+}
@@ -35,7 +35,7 @@ import org.apache.hadoop.hbase.util.ClassSize;
 public class HFileContext implements HeapSize, Cloneable {
 
   public static final int DEFAULT_BYTES_PER_CHECKSUM = 16 * 1024;
-  public static final ChecksumType DEFAULT_CHECKSUM_TYPE = ChecksumType.CRC32;
+  public static final ChecksumType DEFAULT_CHECKSUM_TYPE = ChecksumType.CRC32C;
 
   /** Whether checksum is enabled or not**/
   private boolean usesHBaseChecksum = true;
@@ -56,6 +56,8 @@ public class HFileContext implements HeapSize, Cloneable {
   private DataBlockEncoding encoding = DataBlockEncoding.NONE;
   /** Encryption algorithm and key used */
   private Encryption.Context cryptoContext = Encryption.Context.NONE;
+  /** Dictionary blocks are compressed with, if the algorithm uses one */
+  private byte[] compressionDictionary;
 
   //Empty constructor.  Go with setters
   public HFileContext() {
@@ -76,6 +78,7 @@ public class HFileContext implements HeapSize, Cloneable {
     this.blocksize = context.blocksize;
     this.encoding = context.encoding;
     this.cryptoContext = context.cryptoContext;
+    this.compressionDictionary = context.compressionDictionary;
   }
 
   public HFileContext(boolean useHBaseChecksum, boolean includesMvcc, boolean includesTags,
@@ -160,6 +163,14 @@ public class HFileContext implements HeapSize, Cloneable {
     this.cryptoContext = cryptoContext;
   }
 
+  public byte[] getCompressionDictionary() {
+    return compressionDictionary;
+  }
+
+  public void setCompressionDictionary(byte[] compressionDictionary) {
+    this.compressionDictionary = compressionDictionary;
+  }
+
   /**
    * HeapSize implementation
    * NOTE : The heapsize should be altered as and when new state variable are added
@@ -169,10 +180,15 @@ public class HFileContext implements HeapSize, Cloneable {
   public long heapSize() {
     long size = ClassSize.align(ClassSize.OBJECT +
         // Algorithm reference, encodingon, checksumtype, Encryption.Context reference
-        4 * ClassSize.REFERENCE +
+        // and compression dictionary
+        5 * ClassSize.REFERENCE +
+        ClassSize.ARRAY +
         2 * Bytes.SIZEOF_INT +
         // usesHBaseChecksum, includesMvcc, includesTags and compressTags
         4 * Bytes.SIZEOF_BOOLEAN);
+    if (compressionDictionary != null) {
+      size += ClassSize.align(compressionDictionary.length);
+    }
     return size;
   }
 
@@ -198,6 +214,9 @@ public class HFileContext implements HeapSize, Cloneable {
     sb.append(" includesTags=");      sb.append(includesTags);
     sb.append(" compressAlgo=");      sb.append(compressAlgo);
     sb.append(" compressTags=");      sb.append(compressTags);
+    if (compressionDictionary != null) {
+      sb.append(" compressionDictionary="); sb.append(compressionDictionary.length);
+    }
     sb.append(" cryptoContext=[ ");   sb.append(cryptoContext);      sb.append(" ]");
     sb.append(" ]");
     return sb.toString();
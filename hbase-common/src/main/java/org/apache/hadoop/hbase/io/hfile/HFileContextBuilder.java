@@ -31,7 +31,7 @@ import org.apache.hadoop.hbase.util.ChecksumType;
 public class HFileContextBuilder {
 
   public static final int DEFAULT_BYTES_PER_CHECKSUM = 16 * 1024;
-  public static final ChecksumType DEFAULT_CHECKSUM_TYPE = ChecksumType.CRC32;
+  public static final ChecksumType DEFAULT_CHECKSUM_TYPE = ChecksumType.CRC32C;
 
   /** Whether checksum is enabled or not **/
   private boolean usesHBaseChecksum = true;
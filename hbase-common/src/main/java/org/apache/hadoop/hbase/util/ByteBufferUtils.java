@@ -29,6 +29,8 @@ import org.apache.hadoop.classification.InterfaceStability;
 import org.apache.hadoop.io.IOUtils;
 import org.apache.hadoop.io.WritableUtils;
 
+import com.google.common.annotations.VisibleForTesting;
+
 /**
  * Utility functions for working with byte buffers, such as reading/writing
  * variable-length long numbers.
@@ -425,6 +427,100 @@ public final class ByteBufferUtils {
     return true;
   }
 
+  /**
+   * Lexicographically compare two ranges of buffers, which may be on heap or direct. The offsets
+   * are absolute and the positions of the buffers are left untouched.
+   * @return 0 if equal, &lt; 0 if left is less than right, etc.
+   */
+  public static int compareTo(ByteBuffer buf1, int offset1, int length1,
+      ByteBuffer buf2, int offset2, int length2) {
+    if (UnsafeAccess.isAvailable()) {
+      return UnsafeAccess.compareTo(buf1, offset1, length1, buf2, offset2, length2);
+    }
+    return compareToWithoutUnsafe(buf1, offset1, length1, buf2, offset2, length2);
+  }
+
+  /**
+   * {@link #compareTo(ByteBuffer, int, int, ByteBuffer, int, int)} for when {@link UnsafeAccess}
+   * is not available.
+   */
+  @VisibleForTesting
+  static int compareToWithoutUnsafe(ByteBuffer buf1, int offset1, int length1,
+      ByteBuffer buf2, int offset2, int length2) {
+    if (buf1.hasArray() && buf2.hasArray()) {
+      return Bytes.compareTo(buf1.array(), buf1.arrayOffset() + offset1, length1,
+          buf2.array(), buf2.arrayOffset() + offset2, length2);
+    }
+    int end1 = offset1 + length1;
+    int end2 = offset2 + length2;
+    for (int i = offset1, j = offset2; i < end1 && j < end2; i++, j++) {
+      int a = buf1.get(i) & 0xff;
+      int b = buf2.get(j) & 0xff;
+      if (a != b) {
+        return a - b;
+      }
+    }
+    return length1 - length2;
+  }
+
+  /**
+   * Lexicographically compare a range of a buffer, which may be on heap or direct, with a range
+   * of a byte array. The buffer offset is absolute and its position is left untouched.
+   * @return 0 if equal, &lt; 0 if left is less than right, etc.
+   */
+  public static int compareTo(ByteBuffer buf1, int offset1, int length1,
+      byte[] buf2, int offset2, int length2) {
+    if (UnsafeAccess.isAvailable()) {
+      return UnsafeAccess.compareTo(buf1, offset1, length1, buf2, offset2, length2);
+    }
+    return compareToWithoutUnsafe(buf1, offset1, length1, buf2, offset2, length2);
+  }
+
+  /**
+   * {@link #compareTo(ByteBuffer, int, int, byte[], int, int)} for when {@link UnsafeAccess} is
+   * not available.
+   */
+  @VisibleForTesting
+  static int compareToWithoutUnsafe(ByteBuffer buf1, int offset1, int length1,
+      byte[] buf2, int offset2, int length2) {
+    if (buf1.hasArray()) {
+      return Bytes.compareTo(buf1.array(), buf1.arrayOffset() + offset1, length1,
+          buf2, offset2, length2);
+    }
+    int end1 = offset1 + length1;
+    int end2 = offset2 + length2;
+    for (int i = offset1, j = offset2; i < end1 && j < end2; i++, j++) {
+      int a = buf1.get(i) & 0xff;
+      int b = buf2[j] & 0xff;
+      if (a != b) {
+        return a - b;
+      }
+    }
+    return length1 - length2;
+  }
+
+  /**
+   * Copy a range of a buffer into a byte array. The source offset is absolute and the position
+   * of the buffer is left untouched.
+   * @param out array to copy into
+   * @param in buffer to copy from, on heap or direct
+   * @param sourceOffset absolute offset in the buffer
+   * @param destinationOffset offset in the array
+   * @param length how many bytes to copy
+   */
+  public static void copyFromBufferToArray(byte[] out, ByteBuffer in,
+      int sourceOffset, int destinationOffset, int length) {
+    if (in.hasArray()) {
+      System.arraycopy(in.array(), in.arrayOffset() + sourceOffset, out, destinationOffset,
+          length);
+    } else {
+      ByteBuffer dup = in.duplicate();
+      dup.clear();
+      dup.position(sourceOffset);
+      dup.get(out, destinationOffset, length);
+    }
+  }
+
   /**
    * Increment position in buffer.
    * @param buffer In this buffer.
@@ -1170,10 +1170,22 @@ public class Bytes {
             length1 == length2) {
           return 0;
         }
+        return compareMemory(buffer1, BYTE_ARRAY_BASE_OFFSET + (long) offset1, length1,
+            buffer2, BYTE_ARRAY_BASE_OFFSET + (long) offset2, length2);
+      }
+
+      /**
+       * Lexicographically compare two ranges of memory. Each range is given
+       * the way {@link Unsafe#getLong(Object, long)} takes it: either an array
+       * and {@link #BYTE_ARRAY_BASE_OFFSET} plus an offset in it, or null and
+       * a native address.
+       *
+       * @return 0 if equal, < 0 if left is less than right, etc.
+       */
+      static int compareMemory(Object base1, long address1, int length1,
+          Object base2, long address2, int length2) {
         int minLength = Math.min(length1, length2);
         int minWords = minLength / SIZEOF_LONG;
-        int offset1Adj = offset1 + BYTE_ARRAY_BASE_OFFSET;
-        int offset2Adj = offset2 + BYTE_ARRAY_BASE_OFFSET;
 
         /*
          * Compare 8 bytes at a time. Benchmarking shows comparing 8 bytes at a
@@ -1181,8 +1193,8 @@ public class Bytes {
          * On the other hand, it is substantially faster on 64-bit.
          */
         for (int i = 0; i < minWords * SIZEOF_LONG; i += SIZEOF_LONG) {
-          long lw = theUnsafe.getLong(buffer1, offset1Adj + (long) i);
-          long rw = theUnsafe.getLong(buffer2, offset2Adj + (long) i);
+          long lw = theUnsafe.getLong(base1, address1 + i);
+          long rw = theUnsafe.getLong(base2, address2 + i);
           long diff = lw ^ rw;
 
           if (diff != 0) {
@@ -1216,8 +1228,8 @@ public class Bytes {
 
         // The epilogue to cover the last (minLength % 8) elements.
         for (int i = minWords * SIZEOF_LONG; i < minLength; i++) {
-          int a = (buffer1[offset1 + i] & 0xff);
-          int b = (buffer2[offset2 + i] & 0xff);
+          int a = (theUnsafe.getByte(base1, address1 + i) & 0xff);
+          int b = (theUnsafe.getByte(base2, address2 + i) & 0xff);
           if (a != b) {
             return a - b;
           }
@@ -104,13 +104,24 @@ public enum ChecksumType {
 
     @Override
     public void initialize() {
-      final String PURECRC32C = "org.apache.hadoop.util.PureJavaCrc32C";
+      // Available from Java 9 on, and computed with the CPU's CRC32
+      // instructions where there are some.
+      final String JDKCRC32C = "java.util.zip.CRC32C";
+      final String CRC32C = Crc32C.class.getName();
       LOG = LogFactory.getLog(ChecksumType.class);
       try {
-        ctor = ChecksumFactory.newConstructor(PURECRC32C);
-        LOG.info("Checksum can use " + PURECRC32C);
+        ctor = ChecksumFactory.newConstructor(JDKCRC32C);
+        LOG.info("Checksum using " + JDKCRC32C);
       } catch (Exception e) {
-        LOG.trace(PURECRC32C + " not available.");
+        LOG.trace(JDKCRC32C + " not available.");
+      }
+      try {
+        if (ctor == null) {
+          ctor = ChecksumFactory.newConstructor(CRC32C);
+          LOG.info("Checksum can use " + CRC32C);
+        }
+      } catch (Exception e) {
+        LOG.trace(CRC32C + " not available.");
       }
     }
 
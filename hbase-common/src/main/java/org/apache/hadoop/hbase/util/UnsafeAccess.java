@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hbase.util;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.util.Bytes.LexicographicalComparerHolder;
+import org.apache.hadoop.hbase.util.Bytes.LexicographicalComparerHolder.UnsafeComparer;
+
+import sun.misc.Unsafe;
+
+/**
+ * Lexicographical comparison of bytes held in heap or direct {@link ByteBuffer}s, eight bytes at
+ * a time with the {@link Unsafe} comparer of {@link Bytes}. Callers must check
+ * {@link #isAvailable()} first and fall back to plain {@link ByteBuffer} reads when it returns
+ * false.
+ */
+@InterfaceAudience.Private
+public final class UnsafeAccess {
+  private static final Log LOG = LogFactory.getLog(UnsafeAccess.class);
+
+  /** The offset of the native address field in {@link Buffer}. */
+  private static final long BUFFER_ADDRESS_OFFSET;
+
+  static {
+    long addressOffset = -1;
+    // Only touch the Unsafe comparer if Bytes could load it
+    if (LexicographicalComparerHolder.BEST_COMPARER != Bytes.lexicographicalComparerJavaImpl()) {
+      try {
+        addressOffset = UnsafeComparer.theUnsafe.objectFieldOffset(
+            Buffer.class.getDeclaredField("address"));
+      } catch (Throwable t) {
+        LOG.debug("Buffer addresses are not readable, falling back to ByteBuffer reads", t);
+      }
+    }
+    BUFFER_ADDRESS_OFFSET = addressOffset;
+  }
+
+  private UnsafeAccess() {
+  }
+
+  /**
+   * @return true if the comparison methods of this class can be used
+   */
+  public static boolean isAvailable() {
+    return BUFFER_ADDRESS_OFFSET >= 0;
+  }
+
+  /**
+   * Lexicographically compares two ranges of buffers. The offsets are absolute, and neither the
+   * position nor the limit of the buffers are looked at or changed.
+   * @return 0 if equal, &lt; 0 if left is less than right, etc.
+   */
+  public static int compareTo(ByteBuffer buf1, int offset1, int length1,
+      ByteBuffer buf2, int offset2, int length2) {
+    return UnsafeComparer.compareMemory(base(buf1), address(buf1, offset1), length1,
+        base(buf2), address(buf2, offset2), length2);
+  }
+
+  /**
+   * Lexicographically compares a range of a buffer with a range of a byte array. The buffer
+   * offset is absolute, and neither the position nor the limit of the buffer are looked at or
+   * changed.
+   * @return 0 if equal, &lt; 0 if left is less than right, etc.
+   */
+  public static int compareTo(ByteBuffer buf1, int offset1, int length1,
+      byte[] buf2, int offset2, int length2) {
+    return UnsafeComparer.compareMemory(base(buf1), address(buf1, offset1), length1,
+        buf2, UnsafeComparer.BYTE_ARRAY_BASE_OFFSET + (long) offset2, length2);
+  }
+
+  /**
+   * @return the object {@link Unsafe} reads the buffer relative to, null when it is direct
+   */
+  private static Object base(ByteBuffer buf) {
+    return buf.hasArray() ? buf.array() : null;
+  }
+
+  /**
+   * @return the address {@link Unsafe} reads the given absolute offset of the buffer at
+   */
+  private static long address(ByteBuffer buf, int offset) {
+    if (buf.hasArray()) {
+      return UnsafeComparer.BYTE_ARRAY_BASE_OFFSET + (long) buf.arrayOffset() + offset;
+    }
+    return UnsafeComparer.theUnsafe.getLong(buf, BUFFER_ADDRESS_OFFSET) + offset;
+  }
+}
@@ -19,6 +19,7 @@
 package org.apache.hadoop.hbase;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
@@ -588,4 +589,168 @@ public class TestKeyValue extends TestCase {
     Bytes.equals(next.getValue(), metaValue2);
     assertFalse(tagItr.hasNext());
   }
+
+  /**
+   * The KeyValue fast path of KVComparator must agree with its generic Cell path, which it
+   * takes for any other Cell implementation.
+   */
+  public void testKeyValueFastPathMatchesCellPath() {
+    List<KeyValue> kvs = new ArrayList<KeyValue>();
+    byte[][] families = { Bytes.toBytes("f"), Bytes.toBytes("fam"), HConstants.EMPTY_BYTE_ARRAY };
+    byte[][] qualifiers = { Bytes.toBytes("q"), Bytes.toBytes("qual"),
+        HConstants.EMPTY_BYTE_ARRAY };
+    for (String row : new String[] { "", "a", "aaaaaaaaa", "b",
+        "hbase:meta,,1", "t1,,1", "t1,a,1", "t1,a,12", "t1,aa,1", "t1,row,1" }) {
+      byte[] r = Bytes.toBytes(row);
+      for (byte[] family : families) {
+        for (byte[] qualifier : qualifiers) {
+          kvs.add(new KeyValue(r, family, qualifier, 1, Type.Put));
+          kvs.add(new KeyValue(r, family, qualifier, 2, Type.Put));
+          kvs.add(new KeyValue(r, family, qualifier, 1, Type.Delete));
+        }
+      }
+      kvs.add(KeyValue.createFirstOnRow(r));
+      kvs.add(KeyValue.createLastOnRow(r));
+    }
+    for (int i = 0; i < kvs.size(); i++) {
+      kvs.get(i).setMvccVersion(i % 3);
+    }
+    for (KVComparator comparator : new KVComparator[] { KeyValue.COMPARATOR,
+        KeyValue.META_COMPARATOR }) {
+      for (KeyValue left : kvs) {
+        for (KeyValue right : kvs) {
+          if (comparator == KeyValue.META_COMPARATOR
+              && (left.getRowLength() == 0 || right.getRowLength() == 0)) {
+            // Not valid hbase:meta rows
+            continue;
+          }
+          Cell l = new DelegatingCell(left);
+          Cell r = new DelegatingCell(right);
+          assertEquals(left + " vs " + right, Integer.signum(comparator.compare(l, r)),
+              Integer.signum(comparator.compare(left, right)));
+        }
+      }
+    }
+  }
+
+  /**
+   * A Cell that is not a KeyValue, so that KVComparator takes its generic Cell path.
+   */
+  private static class DelegatingCell implements Cell {
+    private final Cell cell;
+
+    DelegatingCell(Cell cell) {
+      this.cell = cell;
+    }
+
+    @Override
+    public byte[] getRowArray() {
+      return cell.getRowArray();
+    }
+
+    @Override
+    public int getRowOffset() {
+      return cell.getRowOffset();
+    }
+
+    @Override
+    public short getRowLength() {
+      return cell.getRowLength();
+    }
+
+    @Override
+    public byte[] getFamilyArray() {
+      return cell.getFamilyArray();
+    }
+
+    @Override
+    public int getFamilyOffset() {
+      return cell.getFamilyOffset();
+    }
+
+    @Override
+    public byte getFamilyLength() {
+      return cell.getFamilyLength();
+    }
+
+    @Override
+    public byte[] getQualifierArray() {
+      return cell.getQualifierArray();
+    }
+
+    @Override
+    public int getQualifierOffset() {
+      return cell.getQualifierOffset();
+    }
+
+    @Override
+    public int getQualifierLength() {
+      return cell.getQualifierLength();
+    }
+
+    @Override
+    public long getTimestamp() {
+      return cell.getTimestamp();
+    }
+
+    @Override
+    public byte getTypeByte() {
+      return cell.getTypeByte();
+    }
+
+    @Override
+    public long getMvccVersion() {
+      return cell.getMvccVersion();
+    }
+
+    @Override
+    public byte[] getValueArray() {
+      return cell.getValueArray();
+    }
+
+    @Override
+    public int getValueOffset() {
+      return cell.getValueOffset();
+    }
+
+    @Override
+    public int getValueLength() {
+      return cell.getValueLength();
+    }
+
+    @Override
+    public byte[] getTagsArray() {
+      return cell.getTagsArray();
+    }
+
+    @Override
+    public int getTagsOffset() {
+      return cell.getTagsOffset();
+    }
+
+    @Override
+    public short getTagsLength() {
+      return cell.getTagsLength();
+    }
+
+    @Override
+    public byte[] getValue() {
+      return cell.getValue();
+    }
+
+    @Override
+    public byte[] getFamily() {
+      return cell.getFamily();
+    }
+
+    @Override
+    public byte[] getQualifier() {
+      return cell.getQualifier();
+    }
+
+    @Override
+    public byte[] getRow() {
+      return cell.getRow();
+    }
+  }
 }
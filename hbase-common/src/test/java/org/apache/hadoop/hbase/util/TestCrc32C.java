@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.zip.Checksum;
+
+import org.apache.hadoop.hbase.SmallTests;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(SmallTests.class)
+public class TestCrc32C {
+
+  private static long crc(byte[] b, int off, int len) {
+    Crc32C crc = new Crc32C();
+    crc.update(b, off, len);
+    return crc.getValue();
+  }
+
+  @Test
+  public void testKnownValues() {
+    // Check values from RFC 3720, section B.4
+    byte[] b = new byte[32];
+    assertEquals(0x8a9136aaL, crc(b, 0, b.length));
+    for (int i = 0; i < b.length; i++) {
+      b[i] = (byte) 0xff;
+    }
+    assertEquals(0x62a8ab43L, crc(b, 0, b.length));
+    for (int i = 0; i < b.length; i++) {
+      b[i] = (byte) i;
+    }
+    assertEquals(0x46dd794eL, crc(b, 0, b.length));
+    assertEquals(0xe3069283L, crc(Bytes.toBytes("123456789"), 0, 9));
+    assertEquals(0L, crc(b, 0, 0));
+  }
+
+  @Test
+  public void testAllInputsAgree() throws IOException {
+    Random random = new Random(42);
+    byte[] b = new byte[1000];
+    random.nextBytes(b);
+    Checksum checksumType = ChecksumType.CRC32C.getChecksumObject();
+    for (int off = 0; off < 10; off++) {
+      for (int len = 0; len < b.length - off; len += 1 + len / 3) {
+        long expected = crc(b, off, len);
+
+        Crc32C crc = new Crc32C();
+        for (int i = off; i < off + len; i++) {
+          crc.update(b[i]);
+        }
+        assertEquals(expected, crc.getValue());
+
+        // In two pieces
+        crc.reset();
+        crc.update(b, off, len / 2);
+        crc.update(b, off + len / 2, len - len / 2);
+        assertEquals(expected, crc.getValue());
+
+        ByteBuffer heap = ByteBuffer.wrap(b, off, len).slice();
+        ByteBuffer direct = ByteBuffer.allocateDirect(len + 3);
+        direct.position(3);
+        direct.put(b, off, len);
+        direct.position(3);
+        for (ByteBuffer buf : new ByteBuffer[] { heap, direct,
+            direct.duplicate().order(ByteOrder.LITTLE_ENDIAN) }) {
+          int position = buf.position();
+          crc.reset();
+          crc.update(buf);
+          assertEquals(expected, crc.getValue());
+          assertEquals(position, buf.position());
+        }
+
+        checksumType.reset();
+        checksumType.update(b, off, len);
+        assertEquals(expected, checksumType.getValue());
+      }
+    }
+  }
+}
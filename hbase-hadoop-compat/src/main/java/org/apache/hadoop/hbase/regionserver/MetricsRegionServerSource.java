@@ -140,6 +140,9 @@ public interface MetricsRegionServerSource extends BaseSource {
       "Number of Check and Mutate calls that passed the checks.";
   String STOREFILE_INDEX_SIZE = "storeFileIndexSize";
   String STOREFILE_INDEX_SIZE_DESC = "Size of indexes in storefiles on disk.";
+  String AVERAGE_STOREFILE_INDEX_SIZE = "averageStoreFileIndexSize";
+  String AVERAGE_STOREFILE_INDEX_SIZE_DESC =
+      "Average heap size of the block indexes of an open storefile.";
   String STATIC_INDEX_SIZE = "staticIndexSize";
   String STATIC_INDEX_SIZE_DESC = "Uncompressed size of the static indexes.";
   String STATIC_BLOOM_SIZE = "staticBloomSize";
@@ -192,6 +195,12 @@ public interface MetricsRegionServerSource extends BaseSource {
   String UPDATES_BLOCKED_TIME = "updatesBlockedTime";
   String UPDATES_BLOCKED_DESC =
       "Number of MS updates have been blocked so that the memstore can be flushed.";
+  String UPDATES_BLOCKED_COUNT = "updatesBlockedCount";
+  String UPDATES_BLOCKED_COUNT_DESC =
+      "Number of times updates have been blocked so that the memstore can be flushed.";
+  String UPDATES_REJECTED_COUNT = "updatesRejectedCount";
+  String UPDATES_REJECTED_COUNT_DESC =
+      "Number of updates rejected so that the memstore can be flushed.";
   String DELETE_KEY = "delete";
   String GET_KEY = "get";
   String INCREMENT_KEY = "increment";
@@ -117,6 +117,11 @@ public interface MetricsRegionServerWrapper {
    */
   long getStoreFileIndexSize();
 
+  /**
+   * Get the average heap size (in bytes) of the block indexes of an open storefile.
+   */
+  long getAverageStoreFileIndexSize();
+
   /**
    * Get the size (in bytes) of of the static indexes including the roots.
    */
@@ -206,4 +211,14 @@ public interface MetricsRegionServerWrapper {
    * Get the amount of time that updates were blocked.
    */
   long getUpdatesBlockedTime();
+
+  /**
+   * Get the number of times updates were blocked.
+   */
+  long getUpdatesBlockedCount();
+
+  /**
+   * Get the number of updates rejected because of global memstore pressure.
+   */
+  long getUpdatesRejectedCount();
 }
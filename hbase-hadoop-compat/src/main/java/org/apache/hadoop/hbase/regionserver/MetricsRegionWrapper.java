@@ -79,4 +79,9 @@ public interface MetricsRegionWrapper {
   long getNumBytesCompacted();
 
   long getNumCompactionsCompleted();
+
+  /**
+   * Get the total time in milliseconds spent waiting for row locks of this region.
+   */
+  long getRowLockWaitTime();
 }
@@ -162,6 +162,8 @@ public class MetricsRegionServerSourceImpl
               CHECK_MUTATE_PASSED_COUNT_DESC,
               rsWrap.getCheckAndMutateChecksPassed())
           .addGauge(STOREFILE_INDEX_SIZE, STOREFILE_INDEX_SIZE_DESC, rsWrap.getStoreFileIndexSize())
+          .addGauge(AVERAGE_STOREFILE_INDEX_SIZE, AVERAGE_STOREFILE_INDEX_SIZE_DESC,
+              rsWrap.getAverageStoreFileIndexSize())
           .addGauge(STATIC_INDEX_SIZE, STATIC_INDEX_SIZE_DESC, rsWrap.getTotalStaticIndexSize())
           .addGauge(STATIC_BLOOM_SIZE, STATIC_BLOOM_SIZE_DESC, rsWrap.getTotalStaticBloomSize())
           .addGauge(NUMBER_OF_MUTATIONS_WITHOUT_WAL,
@@ -200,6 +202,10 @@ public class MetricsRegionServerSourceImpl
               BLOCK_CACHE_EXPRESS_HIT_PERCENT_DESC,
               rsWrap.getBlockCacheHitCachingPercent())
           .addCounter(UPDATES_BLOCKED_TIME, UPDATES_BLOCKED_DESC, rsWrap.getUpdatesBlockedTime())
+          .addCounter(UPDATES_BLOCKED_COUNT, UPDATES_BLOCKED_COUNT_DESC,
+              rsWrap.getUpdatesBlockedCount())
+          .addCounter(UPDATES_REJECTED_COUNT, UPDATES_REJECTED_COUNT_DESC,
+              rsWrap.getUpdatesRejectedCount())
           .tag(ZOOKEEPER_QUORUM_NAME, ZOOKEEPER_QUORUM_DESC, rsWrap.getZookeeperQuorum())
           .tag(SERVER_NAME_NAME, SERVER_NAME_DESC, rsWrap.getServerName())
           .tag(CLUSTER_ID_NAME, CLUSTER_ID_DESC, rsWrap.getClusterId());
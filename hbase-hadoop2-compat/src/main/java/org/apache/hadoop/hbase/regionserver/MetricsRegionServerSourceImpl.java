@@ -172,6 +172,8 @@ public class MetricsRegionServerSourceImpl
               rsWrap.getCheckAndMutateChecksPassed())
           .addGauge(Interns.info(STOREFILE_INDEX_SIZE, STOREFILE_INDEX_SIZE_DESC),
               rsWrap.getStoreFileIndexSize())
+          .addGauge(Interns.info(AVERAGE_STOREFILE_INDEX_SIZE, AVERAGE_STOREFILE_INDEX_SIZE_DESC),
+              rsWrap.getAverageStoreFileIndexSize())
           .addGauge(Interns.info(STATIC_INDEX_SIZE, STATIC_INDEX_SIZE_DESC),
               rsWrap.getTotalStaticIndexSize())
           .addGauge(Interns.info(STATIC_BLOOM_SIZE, STATIC_BLOOM_SIZE_DESC),
@@ -205,6 +207,10 @@ public class MetricsRegionServerSourceImpl
               BLOCK_CACHE_EXPRESS_HIT_PERCENT_DESC), rsWrap.getBlockCacheHitCachingPercent())
           .addCounter(Interns.info(UPDATES_BLOCKED_TIME, UPDATES_BLOCKED_DESC),
               rsWrap.getUpdatesBlockedTime())
+          .addCounter(Interns.info(UPDATES_BLOCKED_COUNT, UPDATES_BLOCKED_COUNT_DESC),
+              rsWrap.getUpdatesBlockedCount())
+          .addCounter(Interns.info(UPDATES_REJECTED_COUNT, UPDATES_REJECTED_COUNT_DESC),
+              rsWrap.getUpdatesRejectedCount())
           .tag(Interns.info(ZOOKEEPER_QUORUM_NAME, ZOOKEEPER_QUORUM_DESC),
               rsWrap.getZookeeperQuorum())
           .tag(Interns.info(SERVER_NAME_NAME, SERVER_NAME_DESC), rsWrap.getServerName())
@@ -189,6 +189,9 @@ public class MetricsRegionSourceImpl implements MetricsRegionSource {
     mrb.addCounter(Interns.info(regionNamePrefix + MetricsRegionSource.NUM_FILES_COMPACTED_COUNT,
         MetricsRegionSource.NUM_FILES_COMPACTED_DESC),
         this.regionWrapper.getNumFilesCompacted());
+    mrb.addCounter(Interns.info(regionNamePrefix + MetricsRegionSource.ROW_LOCK_WAIT_TIME,
+        MetricsRegionSource.ROW_LOCK_WAIT_TIME_DESC),
+        this.regionWrapper.getRowLockWaitTime());
 
   }
 }
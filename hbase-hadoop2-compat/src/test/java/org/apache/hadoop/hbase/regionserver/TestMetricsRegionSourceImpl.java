@@ -117,5 +117,10 @@ public class TestMetricsRegionSourceImpl {
     public long getNumCompactionsCompleted() {
       return 0;
     }
+
+    @Override
+    public long getRowLockWaitTime() {
+      return 0;
+    }
   }
 }
@@ -27,6 +27,7 @@ import org.apache.hadoop.hbase.KeyValue;
 import org.apache.hadoop.hbase.KeyValueUtil;
 import org.apache.hadoop.hbase.KeyValue.KVComparator;
 import org.apache.hadoop.hbase.codec.prefixtree.decode.DecoderFactory;
+import org.apache.hadoop.hbase.codec.prefixtree.decode.FlatKeyCell;
 import org.apache.hadoop.hbase.codec.prefixtree.decode.PrefixTreeArraySearcher;
 import org.apache.hadoop.hbase.codec.prefixtree.scanner.CellScannerPosition;
 import org.apache.hadoop.hbase.io.encoding.DataBlockEncoder.EncodedSeeker;
@@ -45,6 +46,9 @@ public class PrefixTreeSeeker implements EncodedSeeker {
   protected ByteBuffer block;
   protected boolean includeMvccVersion;
   protected PrefixTreeArraySearcher ptSearcher;
+  // reused for every seek and compare so they don't allocate
+  protected FlatKeyCell seekKey = new FlatKeyCell();
+  protected byte[] currentKeyBuffer = new byte[0];
 
   public PrefixTreeSeeker(boolean includeMvccVersion) {
     this.includeMvccVersion = includeMvccVersion;
@@ -53,18 +57,24 @@ public class PrefixTreeSeeker implements EncodedSeeker {
   @Override
   public void setCurrentBuffer(ByteBuffer fullBlockBuffer) {
     block = fullBlockBuffer;
-    ptSearcher = DecoderFactory.checkOut(block, includeMvccVersion);
+    if (ptSearcher == null) {
+      ptSearcher = DecoderFactory.checkOut(block, includeMvccVersion);
+    } else {
+      // reuse the searcher we already have rather than checking out a new one per block
+      ptSearcher = DecoderFactory.ensureArraySearcherValid(block, ptSearcher, includeMvccVersion);
+    }
     rewind();
   }
 
   /**
    * Currently unused.
    * <p/>
-   * TODO performance leak. should reuse the searchers. hbase does not currently have a hook where
-   * this can be called
+   * The searcher is reused across blocks by setCurrentBuffer, but hbase does not currently have a
+   * hook where this can be called to return it to the pool.
    */
   public void releaseCurrentSearcher(){
     DecoderFactory.checkIn(ptSearcher);
+    ptSearcher = null;
   }
 
 
@@ -98,6 +108,14 @@ public class PrefixTreeSeeker implements EncodedSeeker {
     return KeyValueUtil.copyToNewKeyValue(ptSearcher.current());
   }
 
+  @Override
+  public KeyValue getKeyOnlyKeyValue() {
+    if (ptSearcher.current() == null) {
+      return null;
+    }
+    return KeyValueUtil.copyKeyToNewKeyValue(ptSearcher.current());
+  }
+
   /**
    * Currently unused.
    * <p/>
@@ -168,8 +186,8 @@ public class PrefixTreeSeeker implements EncodedSeeker {
 
   protected int seekToOrBeforeUsingPositionAtOrBefore(byte[] keyOnlyBytes, int offset, int length,
       boolean seekBefore){
-    // this does a deep copy of the key byte[] because the CellSearcher interface wants a Cell
-    KeyValue kv = KeyValue.createKeyValueFromKey(keyOnlyBytes, offset, length);
+    // the CellSearcher interface wants a Cell, so wrap the key rather than copying it
+    Cell kv = seekKey.setKey(keyOnlyBytes, offset, length);
 
     CellScannerPosition position = ptSearcher.seekForwardToOrBefore(kv);
 
@@ -187,8 +205,8 @@ public class PrefixTreeSeeker implements EncodedSeeker {
 
   protected int seekToOrBeforeUsingPositionAtOrAfter(byte[] keyOnlyBytes, int offset, int length,
       boolean seekBefore){
-    // this does a deep copy of the key byte[] because the CellSearcher interface wants a Cell
-    KeyValue kv = KeyValue.createKeyValueFromKey(keyOnlyBytes, offset, length);
+    // the CellSearcher interface wants a Cell, so wrap the key rather than copying it
+    Cell kv = seekKey.setKey(keyOnlyBytes, offset, length);
 
     //should probably switch this to use the seekForwardToOrBefore method
     CellScannerPosition position = ptSearcher.seekForwardToOrAfter(kv);
@@ -221,8 +239,13 @@ public class PrefixTreeSeeker implements EncodedSeeker {
 
   @Override
   public int compareKey(KVComparator comparator, byte[] key, int offset, int length) {
-    // can't optimize this, make a copy of the key
-    ByteBuffer bb = getKeyDeepCopy();
-    return comparator.compareFlatKey(key, offset, length, bb.array(), bb.arrayOffset(), bb.limit());
+    // the comparator works on flat keys, so copy the current key into a reused buffer
+    Cell current = ptSearcher.current();
+    int keyLength = KeyValueUtil.keyLength(current);
+    if (currentKeyBuffer.length < keyLength) {
+      currentKeyBuffer = new byte[keyLength];
+    }
+    KeyValueUtil.appendKeyToByteArrayWithoutValue(current, currentKeyBuffer, 0);
+    return comparator.compareFlatKey(key, offset, length, currentKeyBuffer, 0, keyLength);
   }
 }
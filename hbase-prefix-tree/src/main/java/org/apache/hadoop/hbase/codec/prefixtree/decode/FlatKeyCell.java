@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hbase.codec.prefixtree.decode;
+
+import org.apache.hadoop.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.util.Bytes;
+
+/**
+ * A reusable Cell view of a KeyValue key laid out in a flat byte[], as passed to the
+ * EncodedSeeker.  The searcher needs a Cell to seek to, and this lets the seeker hand it one
+ * without copying the key into a new KeyValue for every seek.  The value and tags are empty and
+ * the mvccVersion is 0, same as a KeyValue created from the key.
+ */
+@InterfaceAudience.Private
+public class FlatKeyCell implements Cell {
+
+  protected byte[] bytes;
+  protected int rowOffset;
+  protected short rowLength;
+  protected int familyOffset;
+  protected byte familyLength;
+  protected int qualifierOffset;
+  protected int qualifierLength;
+  protected long timestamp;
+  protected byte typeByte;
+
+  public FlatKeyCell setKey(byte[] key, int offset, int length) {
+    this.bytes = key;
+    this.rowLength = Bytes.toShort(key, offset);
+    this.rowOffset = offset + KeyValue.ROW_LENGTH_SIZE;
+    int familyLengthOffset = rowOffset + rowLength;
+    this.familyLength = key[familyLengthOffset];
+    this.familyOffset = familyLengthOffset + KeyValue.FAMILY_LENGTH_SIZE;
+    this.qualifierOffset = familyOffset + familyLength;
+    int timestampOffset = offset + length - KeyValue.TIMESTAMP_TYPE_SIZE;
+    this.qualifierLength = timestampOffset - qualifierOffset;
+    this.timestamp = Bytes.toLong(key, timestampOffset);
+    this.typeByte = key[timestampOffset + KeyValue.TIMESTAMP_SIZE];
+    return this;
+  }
+
+  @Override
+  public byte[] getRowArray() {
+    return bytes;
+  }
+
+  @Override
+  public int getRowOffset() {
+    return rowOffset;
+  }
+
+  @Override
+  public short getRowLength() {
+    return rowLength;
+  }
+
+  @Override
+  public byte[] getFamilyArray() {
+    return bytes;
+  }
+
+  @Override
+  public int getFamilyOffset() {
+    return familyOffset;
+  }
+
+  @Override
+  public byte getFamilyLength() {
+    return familyLength;
+  }
+
+  @Override
+  public byte[] getQualifierArray() {
+    return bytes;
+  }
+
+  @Override
+  public int getQualifierOffset() {
+    return qualifierOffset;
+  }
+
+  @Override
+  public int getQualifierLength() {
+    return qualifierLength;
+  }
+
+  @Override
+  public long getTimestamp() {
+    return timestamp;
+  }
+
+  @Override
+  public byte getTypeByte() {
+    return typeByte;
+  }
+
+  @Override
+  public long getMvccVersion() {
+    return 0L;
+  }
+
+  @Override
+  public byte[] getValueArray() {
+    return HConstants.EMPTY_BYTE_ARRAY;
+  }
+
+  @Override
+  public int getValueOffset() {
+    return 0;
+  }
+
+  @Override
+  public int getValueLength() {
+    return 0;
+  }
+
+  @Override
+  public byte[] getTagsArray() {
+    return HConstants.EMPTY_BYTE_ARRAY;
+  }
+
+  @Override
+  public int getTagsOffset() {
+    return 0;
+  }
+
+  @Override
+  public short getTagsLength() {
+    return 0;
+  }
+
+  /* Deprecated methods pushed into the Cell interface */
+  @Override
+  public byte[] getValue() {
+    return CellUtil.cloneValue(this);
+  }
+
+  @Override
+  public byte[] getFamily() {
+    return CellUtil.cloneFamily(this);
+  }
+
+  @Override
+  public byte[] getQualifier() {
+    return CellUtil.cloneQualifier(this);
+  }
+
+  @Override
+  public byte[] getRow() {
+    return CellUtil.cloneRow(this);
+  }
+
+  @Override
+  public String toString() {
+    return Bytes.toStringBinary(bytes, rowOffset, rowLength) + "/"
+        + Bytes.toStringBinary(bytes, familyOffset, familyLength) + ":"
+        + Bytes.toStringBinary(bytes, qualifierOffset, qualifierLength) + "/" + timestamp + "/"
+        + KeyValue.Type.codeToType(typeByte);
+  }
+}
@@ -311,7 +311,7 @@ public class PrefixTreeArrayScanner extends PrefixTreeCell implements CellScanne
     appendToRowBuffer(currentRowNode.getFanByte(fanIndex));
 
     int nextOffsetIntoUnderlyingStructure = currentRowNode.getOffset()
-        + currentRowNode.getNextNodeOffset(fanIndex, blockMeta);
+        + currentRowNode.getNextNodeOffset(fanIndex);
     ++rowNodeStackIndex;
 
     currentRowNode = rowNodes[rowNodeStackIndex];
@@ -450,19 +450,19 @@ public class PrefixTreeArrayScanner extends PrefixTreeCell implements CellScanne
   }
 
   protected void populateFamily() {
-    int familyTreeIndex = currentRowNode.getFamilyOffset(currentCellIndex, blockMeta);
+    int familyTreeIndex = currentRowNode.getFamilyOffset(currentCellIndex);
     familyOffset = familyReader.populateBuffer(familyTreeIndex).getColumnOffset();
     familyLength = familyReader.getColumnLength();
   }
 
   protected void populateQualifier() {
-    int qualifierTreeIndex = currentRowNode.getColumnOffset(currentCellIndex, blockMeta);
+    int qualifierTreeIndex = currentRowNode.getColumnOffset(currentCellIndex);
     qualifierOffset = qualifierReader.populateBuffer(qualifierTreeIndex).getColumnOffset();
     qualifierLength = qualifierReader.getColumnLength();
   }
 
   protected void populateTag() {
-    int tagTreeIndex = currentRowNode.getTagOffset(currentCellIndex, blockMeta);
+    int tagTreeIndex = currentRowNode.getTagOffset(currentCellIndex);
     tagsOffset = tagsReader.populateBuffer(tagTreeIndex).getColumnOffset();
     tagsLength = (short)tagsReader.getColumnLength();
   }
@@ -471,7 +471,7 @@ public class PrefixTreeArrayScanner extends PrefixTreeCell implements CellScanne
     if (blockMeta.isAllSameTimestamp()) {
       timestamp = blockMeta.getMinTimestamp();
     } else {
-      int timestampIndex = currentRowNode.getTimestampIndex(currentCellIndex, blockMeta);
+      int timestampIndex = currentRowNode.getTimestampIndex(currentCellIndex);
       timestamp = timestampDecoder.getLong(timestampIndex);
     }
   }
@@ -480,8 +480,7 @@ public class PrefixTreeArrayScanner extends PrefixTreeCell implements CellScanne
     if (blockMeta.isAllSameMvccVersion()) {
       mvccVersion = blockMeta.getMinMvccVersion();
     } else {
-      int mvccVersionIndex = currentRowNode.getMvccVersionIndex(currentCellIndex,
-        blockMeta);
+      int mvccVersionIndex = currentRowNode.getMvccVersionIndex(currentCellIndex);
       mvccVersion = mvccVersionDecoder.getMvccVersion(mvccVersionIndex);
     }
   }
@@ -491,15 +490,15 @@ public class PrefixTreeArrayScanner extends PrefixTreeCell implements CellScanne
     if (blockMeta.isAllSameType()) {
       typeInt = blockMeta.getAllTypes();
     } else {
-      typeInt = currentRowNode.getType(currentCellIndex, blockMeta);
+      typeInt = currentRowNode.getType(currentCellIndex);
     }
     type = PrefixTreeCell.TYPES[typeInt];
   }
 
   protected void populateValueOffsets() {
-    int offsetIntoValueSection = currentRowNode.getValueOffset(currentCellIndex, blockMeta);
+    int offsetIntoValueSection = currentRowNode.getValueOffset(currentCellIndex);
     absoluteValueOffset = blockMeta.getAbsoluteValueOffset() + offsetIntoValueSection;
-    valueLength = currentRowNode.getValueLength(currentCellIndex, blockMeta);
+    valueLength = currentRowNode.getValueLength(currentCellIndex);
   }
 
   /**************** getters ***************************/
@@ -282,11 +282,15 @@ public class PrefixTreeArraySearcher extends PrefixTreeArrayReversibleScanner im
   protected int compareToCurrentToken(Cell key) {
     int startIndex = rowLength - currentRowNode.getTokenLength();
     int endIndexExclusive = startIndex + currentRowNode.getTokenLength();
+    // fetch these once rather than through the Cell interface for every byte
+    byte[] keyRowArray = key.getRowArray();
+    int keyRowOffset = key.getRowOffset();
+    int keyRowLength = key.getRowLength();
     for (int i = startIndex; i < endIndexExclusive; ++i) {
-      if (i >= key.getRowLength()) {// key was shorter, so it's first
+      if (i >= keyRowLength) {// key was shorter, so it's first
         return -1;
       }
-      byte keyByte = CellUtil.getRowByte(key, i);
+      byte keyByte = keyRowArray[keyRowOffset + i];
       byte thisByte = rowBuffer[i];
       if (keyByte == thisByte) {
         continue;
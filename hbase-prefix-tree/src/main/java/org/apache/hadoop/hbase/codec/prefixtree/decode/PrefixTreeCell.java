@@ -62,8 +62,8 @@ public class PrefixTreeCell implements Cell, Comparable<Cell> {
   protected int qualifierOffset;
   protected int qualifierLength;
 
-  protected Long timestamp;
-  protected Long mvccVersion;
+  protected long timestamp;
+  protected long mvccVersion;
 
   protected KeyValue.Type type;
 
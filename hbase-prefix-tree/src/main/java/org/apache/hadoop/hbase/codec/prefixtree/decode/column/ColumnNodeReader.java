@@ -34,6 +34,10 @@ public class ColumnNodeReader {
   protected ColumnNodeType nodeType;
   protected byte[] columnBuffer;
 
+  // set once per block so positionAt and isRoot don't have to check the nodeType on every call
+  protected int absoluteSectionOffset;
+  protected int offsetWidth;
+
   protected int offsetIntoBlock;
 
   protected int tokenOffsetIntoBlock;
@@ -51,6 +55,16 @@ public class ColumnNodeReader {
   public void initOnBlock(PrefixTreeBlockMeta blockMeta, byte[] block) {
     this.blockMeta = blockMeta;
     this.block = block;
+    if (nodeType == ColumnNodeType.FAMILY) {
+      absoluteSectionOffset = blockMeta.getAbsoluteFamilyOffset();
+      offsetWidth = blockMeta.getFamilyOffsetWidth();
+    } else if (nodeType == ColumnNodeType.QUALIFIER) {
+      absoluteSectionOffset = blockMeta.getAbsoluteQualifierOffset();
+      offsetWidth = blockMeta.getQualifierOffsetWidth();
+    } else {
+      absoluteSectionOffset = blockMeta.getAbsoluteTagsOffset();
+      offsetWidth = blockMeta.getTagsOffsetWidth();
+    }
   }
 
 
@@ -61,14 +75,6 @@ public class ColumnNodeReader {
     tokenLength = UVIntTool.getInt(block, offsetIntoBlock);
     tokenOffsetIntoBlock = offsetIntoBlock + UVIntTool.numBytes(tokenLength);
     int parentStartPositionIndex = tokenOffsetIntoBlock + tokenLength;
-    int offsetWidth;
-    if(nodeType == ColumnNodeType.FAMILY) {
-      offsetWidth = blockMeta.getFamilyOffsetWidth();
-    } else if(nodeType == ColumnNodeType.QUALIFIER) {
-      offsetWidth = blockMeta.getQualifierOffsetWidth();
-    } else {
-      offsetWidth = blockMeta.getTagsOffsetWidth();
-    }
     parentStartPosition = (int) UFIntTool.fromBytes(block, parentStartPositionIndex, offsetWidth);
   }
 
@@ -77,13 +83,7 @@ public class ColumnNodeReader {
   }
 
   public boolean isRoot() {
-    if (nodeType == ColumnNodeType.FAMILY) {
-      return offsetIntoBlock == blockMeta.getAbsoluteFamilyOffset();
-    } else if (nodeType == ColumnNodeType.QUALIFIER) {
-      return offsetIntoBlock == blockMeta.getAbsoluteQualifierOffset();
-    } else {
-      return offsetIntoBlock == blockMeta.getAbsoluteTagsOffset();
-    }
+    return offsetIntoBlock == absoluteSectionOffset;
   }
 
 
@@ -105,4 +105,8 @@ public class ColumnNodeReader {
     return parentStartPosition;
   }
 
+  public int getAbsoluteSectionOffset() {
+    return absoluteSectionOffset;
+  }
+
 }
@@ -37,6 +37,8 @@ public class ColumnReader {
   protected int columnOffset;
   protected int columnLength;
   protected ColumnNodeType nodeType;  
+  // the buffer already holds this column, so populating it again is free
+  protected int populatedOffsetIntoColumnData;
 
   protected ColumnNodeReader columnNodeReader;
 
@@ -59,22 +61,20 @@ public class ColumnReader {
   /********************* methods *******************/
 
   public ColumnReader populateBuffer(int offsetIntoColumnData) {
+    if (offsetIntoColumnData == populatedOffsetIntoColumnData) {
+      // consecutive cells usually share the family and often the qualifier
+      return this;
+    }
     clearColumnBuffer();
+    int absoluteSectionOffset = columnNodeReader.getAbsoluteSectionOffset();
     int nextRelativeOffset = offsetIntoColumnData;
     while (true) {
-      int absoluteOffset = 0;
-      if (nodeType == ColumnNodeType.FAMILY) {
-        absoluteOffset = blockMeta.getAbsoluteFamilyOffset() + nextRelativeOffset;
-      } else if (nodeType == ColumnNodeType.QUALIFIER) {
-        absoluteOffset = blockMeta.getAbsoluteQualifierOffset() + nextRelativeOffset;
-      } else {
-        absoluteOffset = blockMeta.getAbsoluteTagsOffset() + nextRelativeOffset;
-      }
-      columnNodeReader.positionAt(absoluteOffset);
+      columnNodeReader.positionAt(absoluteSectionOffset + nextRelativeOffset);
       columnOffset -= columnNodeReader.getTokenLength();
       columnLength += columnNodeReader.getTokenLength();
       columnNodeReader.prependTokenToBuffer(columnOffset);
       if (columnNodeReader.isRoot()) {
+        populatedOffsetIntoColumnData = offsetIntoColumnData;
         return this;
       }
       nextRelativeOffset = columnNodeReader.getParentStartPosition();
@@ -94,6 +94,7 @@ public class ColumnReader {
   public void clearColumnBuffer() {
     columnOffset = columnBuffer.length;
     columnLength = 0;
+    populatedOffsetIntoColumnData = -1;
   }
 
 
@@ -55,6 +55,19 @@ public class RowNodeReader {
   protected int tagOffsetsOffset;
   protected int nextNodeOffsetsOffset;
 
+  // copied from the blockMeta in initOnBlock so the per-cell getters only touch this object
+  protected int familyOffsetWidth;
+  protected int qualifierOffsetWidth;
+  protected int tagsOffsetWidth;
+  protected int timestampIndexWidth;
+  protected int mvccVersionIndexWidth;
+  protected int keyValueTypeWidth;
+  protected int valueOffsetWidth;
+  protected int valueLengthWidth;
+  protected int nextNodeOffsetWidth;
+  protected boolean allSameType;
+  protected int allTypes;
+
 
   /******************* construct **************************/
 
@@ -72,24 +85,34 @@ public class RowNodeReader {
 
     this.numCells = UVIntTool.getInt(block, fanOffset + fanOut);
 
+    this.familyOffsetWidth = blockMeta.getFamilyOffsetWidth();
+    this.qualifierOffsetWidth = blockMeta.getQualifierOffsetWidth();
+    this.tagsOffsetWidth = blockMeta.getTagsOffsetWidth();
+    this.timestampIndexWidth = blockMeta.getTimestampIndexWidth();
+    this.mvccVersionIndexWidth = blockMeta.getMvccVersionIndexWidth();
+    this.keyValueTypeWidth = blockMeta.getKeyValueTypeWidth();
+    this.valueOffsetWidth = blockMeta.getValueOffsetWidth();
+    this.valueLengthWidth = blockMeta.getValueLengthWidth();
+    this.nextNodeOffsetWidth = blockMeta.getNextNodeOffsetWidth();
+    this.allSameType = blockMeta.isAllSameType();
+    this.allTypes = blockMeta.getAllTypes();
+
     this.familyOffsetsOffset = fanOffset + fanOut + UVIntTool.numBytes(numCells);
-    this.qualifierOffsetsOffset = familyOffsetsOffset + numCells * blockMeta.getFamilyOffsetWidth();
-    this.tagOffsetsOffset = this.qualifierOffsetsOffset + numCells * blockMeta.getQualifierOffsetWidth();
+    this.qualifierOffsetsOffset = familyOffsetsOffset + numCells * familyOffsetWidth;
+    this.tagOffsetsOffset = this.qualifierOffsetsOffset + numCells * qualifierOffsetWidth;
     // TODO : This code may not be needed now..As we always consider tags to be present
-    if(blockMeta.getTagsOffsetWidth() == 0) {
+    if(tagsOffsetWidth == 0) {
       // Make both of them same so that we know that there are no tags
       this.tagOffsetsOffset = this.qualifierOffsetsOffset;
-      this.timestampIndexesOffset = qualifierOffsetsOffset + numCells * blockMeta.getQualifierOffsetWidth();
+      this.timestampIndexesOffset = qualifierOffsetsOffset + numCells * qualifierOffsetWidth;
     } else {
-      this.timestampIndexesOffset = tagOffsetsOffset + numCells * blockMeta.getTagsOffsetWidth();
+      this.timestampIndexesOffset = tagOffsetsOffset + numCells * tagsOffsetWidth;
     }
-    this.mvccVersionIndexesOffset = timestampIndexesOffset + numCells
-        * blockMeta.getTimestampIndexWidth();
-    this.operationTypesOffset = mvccVersionIndexesOffset + numCells
-        * blockMeta.getMvccVersionIndexWidth();
-    this.valueOffsetsOffset = operationTypesOffset + numCells * blockMeta.getKeyValueTypeWidth();
-    this.valueLengthsOffset = valueOffsetsOffset + numCells * blockMeta.getValueOffsetWidth();
-    this.nextNodeOffsetsOffset = valueLengthsOffset + numCells * blockMeta.getValueLengthWidth();
+    this.mvccVersionIndexesOffset = timestampIndexesOffset + numCells * timestampIndexWidth;
+    this.operationTypesOffset = mvccVersionIndexesOffset + numCells * mvccVersionIndexWidth;
+    this.valueOffsetsOffset = operationTypesOffset + numCells * keyValueTypeWidth;
+    this.valueLengthsOffset = valueOffsetsOffset + numCells * valueOffsetWidth;
+    this.nextNodeOffsetsOffset = valueLengthsOffset + numCells * valueLengthWidth;
   }
 
 
@@ -130,61 +153,51 @@ public class RowNodeReader {
     return Bytes.toStringBinary(block, fanOffset + i, 1);
   }
 
-  public int getFamilyOffset(int index, PrefixTreeBlockMeta blockMeta) {
-    int fIntWidth = blockMeta.getFamilyOffsetWidth();
-    int startIndex = familyOffsetsOffset + fIntWidth * index;
-    return (int) UFIntTool.fromBytes(block, startIndex, fIntWidth);
+  public int getFamilyOffset(int index) {
+    int startIndex = familyOffsetsOffset + familyOffsetWidth * index;
+    return (int) UFIntTool.fromBytes(block, startIndex, familyOffsetWidth);
   }
 
-  public int getColumnOffset(int index, PrefixTreeBlockMeta blockMeta) {
-    int fIntWidth = blockMeta.getQualifierOffsetWidth();
-    int startIndex = qualifierOffsetsOffset + fIntWidth * index;
-    return (int) UFIntTool.fromBytes(block, startIndex, fIntWidth);
+  public int getColumnOffset(int index) {
+    int startIndex = qualifierOffsetsOffset + qualifierOffsetWidth * index;
+    return (int) UFIntTool.fromBytes(block, startIndex, qualifierOffsetWidth);
   }
 
-  public int getTagOffset(int index, PrefixTreeBlockMeta blockMeta) {
-    int fIntWidth = blockMeta.getTagsOffsetWidth();
-    int startIndex = tagOffsetsOffset + fIntWidth * index;
-    return (int) UFIntTool.fromBytes(block, startIndex, fIntWidth);
+  public int getTagOffset(int index) {
+    int startIndex = tagOffsetsOffset + tagsOffsetWidth * index;
+    return (int) UFIntTool.fromBytes(block, startIndex, tagsOffsetWidth);
   }
 
-  public int getTimestampIndex(int index, PrefixTreeBlockMeta blockMeta) {
-    int fIntWidth = blockMeta.getTimestampIndexWidth();
-    int startIndex = timestampIndexesOffset + fIntWidth * index;
-    return (int) UFIntTool.fromBytes(block, startIndex, fIntWidth);
+  public int getTimestampIndex(int index) {
+    int startIndex = timestampIndexesOffset + timestampIndexWidth * index;
+    return (int) UFIntTool.fromBytes(block, startIndex, timestampIndexWidth);
   }
 
-  public int getMvccVersionIndex(int index, PrefixTreeBlockMeta blockMeta) {
-    int fIntWidth = blockMeta.getMvccVersionIndexWidth();
-    int startIndex = mvccVersionIndexesOffset + fIntWidth * index;
-    return (int) UFIntTool.fromBytes(block, startIndex, fIntWidth);
+  public int getMvccVersionIndex(int index) {
+    int startIndex = mvccVersionIndexesOffset + mvccVersionIndexWidth * index;
+    return (int) UFIntTool.fromBytes(block, startIndex, mvccVersionIndexWidth);
   }
 
-  public int getType(int index, PrefixTreeBlockMeta blockMeta) {
-    if (blockMeta.isAllSameType()) {
-      return blockMeta.getAllTypes();
+  public int getType(int index) {
+    if (allSameType) {
+      return allTypes;
     }
     return block[operationTypesOffset + index];
   }
 
-  public int getValueOffset(int index, PrefixTreeBlockMeta blockMeta) {
-    int fIntWidth = blockMeta.getValueOffsetWidth();
-    int startIndex = valueOffsetsOffset + fIntWidth * index;
-    int offset = (int) UFIntTool.fromBytes(block, startIndex, fIntWidth);
-    return offset;
+  public int getValueOffset(int index) {
+    int startIndex = valueOffsetsOffset + valueOffsetWidth * index;
+    return (int) UFIntTool.fromBytes(block, startIndex, valueOffsetWidth);
   }
 
-  public int getValueLength(int index, PrefixTreeBlockMeta blockMeta) {
-    int fIntWidth = blockMeta.getValueLengthWidth();
-    int startIndex = valueLengthsOffset + fIntWidth * index;
-    int length = (int) UFIntTool.fromBytes(block, startIndex, fIntWidth);
-    return length;
+  public int getValueLength(int index) {
+    int startIndex = valueLengthsOffset + valueLengthWidth * index;
+    return (int) UFIntTool.fromBytes(block, startIndex, valueLengthWidth);
   }
 
-  public int getNextNodeOffset(int index, PrefixTreeBlockMeta blockMeta) {
-    int fIntWidth = blockMeta.getNextNodeOffsetWidth();
-    int startIndex = nextNodeOffsetsOffset + fIntWidth * index;
-    return (int) UFIntTool.fromBytes(block, startIndex, fIntWidth);
+  public int getNextNodeOffset(int index) {
+    int startIndex = nextNodeOffsetsOffset + nextNodeOffsetWidth * index;
+    return (int) UFIntTool.fromBytes(block, startIndex, nextNodeOffsetWidth);
   }
 
   public String getBranchNubLeafIndicator() {
@@ -59,9 +59,16 @@ public class ColumnNodeWriter{
 
   public ColumnNodeWriter(PrefixTreeBlockMeta blockMeta, TokenizerNode builderNode,
       ColumnNodeType nodeType) {
+    this.token = new byte[0];
+    reset(blockMeta, builderNode, nodeType);
+  }
+
+  public void reset(PrefixTreeBlockMeta blockMeta, TokenizerNode builderNode,
+      ColumnNodeType nodeType) {
     this.blockMeta = blockMeta;
     this.builderNode = builderNode;
     this.nodeType = nodeType;
+    this.parentStartPosition = 0;
     calculateTokenLength();
   }
 
@@ -74,7 +81,9 @@ public class ColumnNodeWriter{
 
   private void calculateTokenLength() {
     tokenLength = builderNode.getTokenLength();
-    token = new byte[tokenLength];
+    if (token.length < tokenLength) {// token buffer is reused between blocks
+      token = new byte[tokenLength];
+    }
   }
 
   /**
@@ -86,7 +95,7 @@ public class ColumnNodeWriter{
   public int getWidthUsingPlaceholderForOffsetWidth(int offsetWidthPlaceholder) {
     int width = 0;
     width += UVIntTool.numBytes(tokenLength);
-    width += token.length;
+    width += tokenLength;
     width += offsetWidthPlaceholder;
     return width;
   }
@@ -101,7 +110,7 @@ public class ColumnNodeWriter{
       parentOffsetWidth = blockMeta.getTagsOffsetWidth();
     }
     UVIntTool.writeBytes(tokenLength, os);
-    os.write(token);
+    os.write(token, 0, tokenLength);
     UFIntTool.writeBytes(parentOffsetWidth, parentStartPosition, os);
   }
 
@@ -117,7 +126,7 @@ public class ColumnNodeWriter{
     StringBuilder sb = new StringBuilder();
     sb.append(Strings.padFront(builderNode.getOutputArrayOffset() + "", ' ', 3) + ",");
     sb.append("[");
-    sb.append(Bytes.toString(token));
+    sb.append(Bytes.toString(token, 0, tokenLength));
     sb.append("]->");
     sb.append(parentStartPosition);
     return sb.toString();
@@ -28,7 +28,6 @@ import org.apache.hadoop.hbase.codec.prefixtree.PrefixTreeBlockMeta;
 import org.apache.hadoop.hbase.codec.prefixtree.encode.other.ColumnNodeType;
 import org.apache.hadoop.hbase.codec.prefixtree.encode.tokenize.Tokenizer;
 import org.apache.hadoop.hbase.codec.prefixtree.encode.tokenize.TokenizerNode;
-import org.apache.hadoop.hbase.util.CollectionUtils;
 import org.apache.hadoop.hbase.util.vint.UFIntTool;
 
 import com.google.common.collect.Lists;
@@ -68,6 +67,7 @@ public class ColumnSectionWriter {
   private ArrayList<TokenizerNode> leaves;
   private ArrayList<TokenizerNode> allNodes;
   private ArrayList<ColumnNodeWriter> columnNodeWriters;
+  private int numColumnNodeWriters;
   private List<Integer> outputArrayOffsets;
 
 
@@ -76,6 +76,8 @@ public class ColumnSectionWriter {
   public ColumnSectionWriter() {
     this.nonLeaves = Lists.newArrayList();
     this.leaves = Lists.newArrayList();
+    this.allNodes = Lists.newArrayList();
+    this.columnNodeWriters = Lists.newArrayList();
     this.outputArrayOffsets = Lists.newArrayList();
   }
 
@@ -96,6 +98,8 @@ public class ColumnSectionWriter {
     numBytes = 0;
     nonLeaves.clear();
     leaves.clear();
+    allNodes.clear();
+    numColumnNodeWriters = 0;
     outputArrayOffsets.clear();
   }
 
@@ -120,14 +124,13 @@ public class ColumnSectionWriter {
 
     tokenizer.appendNodes(leaves, false, true);
 
-    allNodes = Lists.newArrayListWithCapacity(nonLeaves.size() + leaves.size());
     allNodes.addAll(nonLeaves);
     allNodes.addAll(leaves);
 
-    columnNodeWriters = Lists.newArrayListWithCapacity(CollectionUtils.nullSafeSize(allNodes));
     for (int i = 0; i < allNodes.size(); ++i) {
       TokenizerNode node = allNodes.get(i);
-      columnNodeWriters.add(new ColumnNodeWriter(blockMeta, node, this.nodeType));
+      initializeWriter(numColumnNodeWriters, node);
+      ++numColumnNodeWriters;
     }
 
     // leaf widths are known at this point, so add them up
@@ -175,9 +178,19 @@ public class ColumnSectionWriter {
     tokenizer.appendOutputArrayOffsets(outputArrayOffsets);
   }
 
+  protected ColumnNodeWriter initializeWriter(int index, TokenizerNode builderNode) {
+    //check if there is an existing writer we can recycle, along with its token buffer
+    if (index >= columnNodeWriters.size()) {
+      columnNodeWriters.add(new ColumnNodeWriter(blockMeta, builderNode, this.nodeType));
+    }
+    ColumnNodeWriter columnNodeWriter = columnNodeWriters.get(index);
+    columnNodeWriter.reset(blockMeta, builderNode, this.nodeType);
+    return columnNodeWriter;
+  }
+
   public void writeBytes(OutputStream os) throws IOException {
-    for (ColumnNodeWriter columnNodeWriter : columnNodeWriters) {
-      columnNodeWriter.writeBytes(os);
+    for (int i = 0; i < numColumnNodeWriters; ++i) {
+      columnNodeWriters.get(i).writeBytes(os);
     }
   }
 
@@ -0,0 +1,275 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hbase.codec.prefixtree;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.codec.prefixtree.decode.DecoderFactory;
+import org.apache.hadoop.hbase.codec.prefixtree.decode.PrefixTreeArraySearcher;
+import org.apache.hadoop.hbase.codec.prefixtree.encode.PrefixTreeEncoder;
+import org.apache.hadoop.hbase.util.Bytes;
+
+/**
+ * Measures the prefix-tree codec over a few realistic key distributions: the encode throughput,
+ * a full forward scan and a full reverse scan of each block, random seeks with the
+ * {@link PrefixTreeArraySearcher}, and random seeks through the {@link PrefixTreeSeeker} the way
+ * the HFile reader drives it, loading the block and seeking to a flat key.
+ * <p>
+ * Usage: PrefixTreeBenchmark [numKeyValues] [blockSize] [rounds]
+ */
+public class PrefixTreeBenchmark {
+  private static final int WARMUP_ROUNDS = 2;
+  private static final int NUM_SEEKS = 200000;
+  private static final byte[] FAMILY = Bytes.toBytes("f");
+
+  private final String name;
+  private final int rounds;
+  private final List<List<KeyValue>> blocks = new ArrayList<List<KeyValue>>();
+  private final List<ByteBuffer> encoded = new ArrayList<ByteBuffer>();
+  private final List<KeyValue> seekKeys = new ArrayList<KeyValue>(NUM_SEEKS);
+  private final int[] seekBlocks = new int[NUM_SEEKS];
+  private long rawBytes;
+  private long numCells;
+  // Keeps the JIT from dropping the work
+  private long sink;
+
+  public PrefixTreeBenchmark(String name, List<KeyValue> kvs, int blockSize, int rounds)
+      throws IOException {
+    this.name = name;
+    this.rounds = rounds;
+    Collections.sort(kvs, KeyValue.COMPARATOR);
+    List<KeyValue> block = new ArrayList<KeyValue>();
+    int size = 0;
+    for (KeyValue kv : kvs) {
+      block.add(kv);
+      size += kv.getLength();
+      rawBytes += kv.getLength();
+      if (size >= blockSize) {
+        blocks.add(block);
+        block = new ArrayList<KeyValue>();
+        size = 0;
+      }
+    }
+    if (!block.isEmpty()) {
+      blocks.add(block);
+    }
+    numCells = kvs.size();
+    PrefixTreeEncoder encoder = new PrefixTreeEncoder(null, true);
+    ByteArrayOutputStream os = new ByteArrayOutputStream(blockSize);
+    for (List<KeyValue> b : blocks) {
+      encode(encoder, os, b);
+      encoded.add(ByteBuffer.wrap(os.toByteArray()));
+    }
+    Random rand = new Random(12345);
+    for (int i = 0; i < NUM_SEEKS; i++) {
+      seekBlocks[i] = rand.nextInt(blocks.size());
+      List<KeyValue> b = blocks.get(seekBlocks[i]);
+      seekKeys.add(b.get(rand.nextInt(b.size())));
+    }
+  }
+
+  private static void encode(PrefixTreeEncoder encoder, ByteArrayOutputStream os,
+      List<KeyValue> block) throws IOException {
+    os.reset();
+    encoder.reset(os, true);
+    for (KeyValue kv : block) {
+      encoder.write(kv);
+    }
+    encoder.flush();
+  }
+
+  /** @return MB of KeyValues encoded per second */
+  private double encodeOnce() throws IOException {
+    PrefixTreeEncoder encoder = new PrefixTreeEncoder(null, true);
+    ByteArrayOutputStream os = new ByteArrayOutputStream(1 << 16);
+    long start = System.nanoTime();
+    for (int round = 0; round < rounds; round++) {
+      for (List<KeyValue> block : blocks) {
+        encode(encoder, os, block);
+        sink += os.size();
+      }
+    }
+    return rawBytes * rounds * 1e9 / (1 << 20) / (System.nanoTime() - start);
+  }
+
+  /** @return nanoseconds per cell */
+  private double scanOnce() {
+    PrefixTreeArraySearcher searcher = null;
+    long start = System.nanoTime();
+    for (int round = 0; round < rounds; round++) {
+      for (ByteBuffer block : encoded) {
+        searcher = DecoderFactory.ensureArraySearcherValid(block, searcher, true);
+        while (searcher.advance()) {
+          Cell cell = searcher.current();
+          sink += cell.getQualifierLength() + cell.getValueLength();
+        }
+      }
+    }
+    return (double) (System.nanoTime() - start) / (numCells * rounds);
+  }
+
+  /** @return nanoseconds per cell */
+  private double reverseScanOnce() {
+    PrefixTreeArraySearcher searcher = null;
+    long start = System.nanoTime();
+    for (int round = 0; round < rounds; round++) {
+      for (ByteBuffer block : encoded) {
+        searcher = DecoderFactory.ensureArraySearcherValid(block, searcher, true);
+        searcher.positionAfterLastCell();
+        while (searcher.previous()) {
+          Cell cell = searcher.current();
+          sink += cell.getQualifierLength() + cell.getValueLength();
+        }
+      }
+    }
+    return (double) (System.nanoTime() - start) / (numCells * rounds);
+  }
+
+  /** @return nanoseconds per seek, the block already loaded */
+  private double seekOnce() {
+    PrefixTreeArraySearcher[] searchers = new PrefixTreeArraySearcher[encoded.size()];
+    for (int i = 0; i < searchers.length; i++) {
+      searchers[i] = DecoderFactory.ensureArraySearcherValid(encoded.get(i), null, true);
+    }
+    long start = System.nanoTime();
+    for (int round = 0; round < rounds; round++) {
+      for (int i = 0; i < NUM_SEEKS; i++) {
+        PrefixTreeArraySearcher searcher = searchers[seekBlocks[i]];
+        sink += searcher.positionAtOrAfter(seekKeys.get(i)).ordinal();
+      }
+    }
+    return (double) (System.nanoTime() - start) / ((long) NUM_SEEKS * rounds);
+  }
+
+  /** @return nanoseconds per block load, seek to a flat key and compare of the result */
+  private double seekerOnce() {
+    byte[][] flatKeys = new byte[NUM_SEEKS][];
+    for (int i = 0; i < NUM_SEEKS; i++) {
+      flatKeys[i] = seekKeys.get(i).getKey();
+    }
+    PrefixTreeSeeker seeker = new PrefixTreeSeeker(true);
+    long start = System.nanoTime();
+    for (int round = 0; round < rounds; round++) {
+      for (int i = 0; i < NUM_SEEKS; i++) {
+        seeker.setCurrentBuffer(encoded.get(seekBlocks[i]));
+        byte[] key = flatKeys[i];
+        sink += seeker.seekToKeyInBlock(key, 0, key.length, false);
+        sink += seeker.compareKey(KeyValue.COMPARATOR, key, 0, key.length);
+      }
+    }
+    return (double) (System.nanoTime() - start) / ((long) NUM_SEEKS * rounds);
+  }
+
+  public void run() throws IOException {
+    double encode = 0, scan = 0, reverse = 0, seek = 0, seeker = 0;
+    for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+      encode = encodeOnce();
+      scan = scanOnce();
+      reverse = reverseScanOnce();
+      seek = seekOnce();
+      seeker = seekerOnce();
+    }
+    long encodedBytes = 0;
+    for (ByteBuffer block : encoded) {
+      encodedBytes += block.capacity();
+    }
+    System.out.println(String.format("%-10s %,10d cells in %4d blocks, %5.1f%% of raw size",
+        name, numCells, blocks.size(), 100.0 * encodedBytes / rawBytes));
+    System.out.println(String.format("  encode          %8.1f MB/s", encode));
+    System.out.println(String.format("  scan            %8.1f ns/cell", scan));
+    System.out.println(String.format("  reverse scan    %8.1f ns/cell", reverse));
+    System.out.println(String.format("  positionAtOrAfter %6.1f ns/seek", seek));
+    System.out.println(String.format("  seeker load+seek  %6.1f ns/seek", seeker));
+  }
+
+  /** Wide user records: a hashed id, ten fields per row, one version. */
+  static List<KeyValue> userRecords(int numKeyValues, Random rand) {
+    List<KeyValue> kvs = new ArrayList<KeyValue>(numKeyValues);
+    while (kvs.size() < numKeyValues) {
+      byte[] row = Bytes.toBytes(String.format("user%012d", rand.nextInt(Integer.MAX_VALUE)));
+      for (int field = 0; field < 10; field++) {
+        byte[] value = new byte[32];
+        rand.nextBytes(value);
+        kvs.add(new KeyValue(row, FAMILY, Bytes.toBytes("field" + field),
+            1380000000000L + rand.nextInt(1000), KeyValue.Type.Put, value));
+      }
+    }
+    return kvs;
+  }
+
+  /** Time series: a metric, a host and an hour in the row, one column per minute. */
+  static List<KeyValue> timeSeries(int numKeyValues, Random rand) {
+    String[] metrics = { "proc.loadavg.1m", "proc.meminfo.free", "sys.cpu.system", "sys.cpu.user",
+        "sys.net.bytes.in", "sys.net.bytes.out" };
+    List<KeyValue> kvs = new ArrayList<KeyValue>(numKeyValues);
+    for (long hour = 1380000000L; kvs.size() < numKeyValues; hour += 3600) {
+      for (String metric : metrics) {
+        for (int host = 0; host < 20 && kvs.size() < numKeyValues; host++) {
+          byte[] row = Bytes.add(Bytes.toBytes(metric), Bytes.toBytes(host),
+              Bytes.toBytes(hour));
+          for (short minute = 0; minute < 60; minute++) {
+            kvs.add(new KeyValue(row, FAMILY, Bytes.toBytes(minute), hour * 1000,
+                KeyValue.Type.Put, Bytes.toBytes(rand.nextDouble())));
+          }
+        }
+      }
+    }
+    return kvs;
+  }
+
+  /** Crawled pages: reversed domain and path rows, a couple of columns, three versions. */
+  static List<KeyValue> webPages(int numKeyValues, Random rand) {
+    String[] tlds = { "com", "net", "org" };
+    String[] columns = { "anchor", "content", "language", "mime" };
+    List<KeyValue> kvs = new ArrayList<KeyValue>(numKeyValues);
+    while (kvs.size() < numKeyValues) {
+      String domain = tlds[rand.nextInt(tlds.length)] + ".site" + rand.nextInt(5000) + ".www";
+      byte[] row = Bytes.toBytes(domain + "/" + Integer.toString(rand.nextInt(1 << 20), 36)
+          + "/page" + rand.nextInt(100) + ".html");
+      for (String column : columns) {
+        for (int version = 0; version < 3; version++) {
+          byte[] value = new byte[column.equals("content") ? 200 : 12];
+          rand.nextBytes(value);
+          kvs.add(new KeyValue(row, FAMILY, Bytes.toBytes(column),
+              1380000000000L - version * 86400000L, KeyValue.Type.Put, value));
+        }
+      }
+    }
+    return kvs;
+  }
+
+  public static void main(String[] args) throws IOException {
+    int numKeyValues = args.length > 0 ? Integer.parseInt(args[0]) : 500000;
+    int blockSize = args.length > 1 ? Integer.parseInt(args[1]) : 64 * 1024;
+    int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+    Random rand = new Random(12345);
+    new PrefixTreeBenchmark("users", userRecords(numKeyValues, rand), blockSize, rounds).run();
+    new PrefixTreeBenchmark("timeseries", timeSeries(numKeyValues, rand), blockSize, rounds)
+        .run();
+    new PrefixTreeBenchmark("webpages", webPages(numKeyValues, rand), blockSize, rounds).run();
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hbase.codec.prefixtree;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.hadoop.hbase.CellComparator;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.codec.prefixtree.decode.FlatKeyCell;
+import org.apache.hadoop.hbase.codec.prefixtree.encode.PrefixTreeEncoder;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestPrefixTreeSeeker {
+
+  private static ByteBuffer encode(List<KeyValue> kvs) throws IOException {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    PrefixTreeEncoder encoder = new PrefixTreeEncoder(os, true);
+    for (KeyValue kv : kvs) {
+      encoder.write(kv);
+    }
+    encoder.flush();
+    return ByteBuffer.wrap(os.toByteArray());
+  }
+
+  @Test
+  public void testFlatKeyCellMatchesKeyValue() {
+    FlatKeyCell cell = new FlatKeyCell();
+    for (KeyValue kv : PrefixTreeBenchmark.webPages(100, new Random(1))) {
+      byte[] key = new byte[kv.getKeyLength() + 3];
+      System.arraycopy(kv.getBuffer(), kv.getKeyOffset(), key, 2, kv.getKeyLength());
+      cell.setKey(key, 2, kv.getKeyLength());
+      KeyValue expected = KeyValue.createKeyValueFromKey(key, 2, kv.getKeyLength());
+      Assert.assertTrue(CellComparator.equals(expected, cell));
+      Assert.assertEquals(0, cell.getValueLength());
+      Assert.assertEquals(0L, cell.getMvccVersion());
+    }
+  }
+
+  @Test
+  public void testSeekAcrossBlocksWithOneSeeker() throws IOException {
+    List<KeyValue> users = PrefixTreeBenchmark.userRecords(500, new Random(1));
+    List<KeyValue> pages = PrefixTreeBenchmark.webPages(500, new Random(2));
+    Collections.sort(users, KeyValue.COMPARATOR);
+    Collections.sort(pages, KeyValue.COMPARATOR);
+    ByteBuffer usersBlock = encode(users);
+    ByteBuffer pagesBlock = encode(pages);
+
+    // the seeker reuses its searcher between blocks, so alternate between two different blocks
+    PrefixTreeSeeker seeker = new PrefixTreeSeeker(true);
+    for (int i = 0; i < Math.min(users.size(), pages.size()); ++i) {
+      seeker.setCurrentBuffer(usersBlock);
+      assertSeek(seeker, users.get(i));
+      seeker.setCurrentBuffer(pagesBlock);
+      assertSeek(seeker, pages.get(i));
+    }
+  }
+
+  private static void assertSeek(PrefixTreeSeeker seeker, KeyValue kv) {
+    byte[] key = kv.getKey();
+    Assert.assertEquals(0, seeker.seekToKeyInBlock(key, 0, key.length, false));
+    Assert.assertEquals(0, seeker.compareKey(KeyValue.COMPARATOR, key, 0, key.length));
+    Assert.assertEquals(kv, seeker.getKeyValue());
+  }
+}
@@ -15780,6 +15780,26 @@ public final class ClientProtos {
      * <code>optional uint64 next_call_seq = 6;</code>
      */
     long getNextCallSeq();
+
+    // optional bool client_handles_heartbeats = 7;
+    /**
+     * <code>optional bool client_handles_heartbeats = 7;</code>
+     *
+     * <pre>
+     * Set if the client can handle responses cut short by the server's time
+     * limit, see ScanResponse.heartbeat_message.
+     * </pre>
+     */
+    boolean hasClientHandlesHeartbeats();
+    /**
+     * <code>optional bool client_handles_heartbeats = 7;</code>
+     *
+     * <pre>
+     * Set if the client can handle responses cut short by the server's time
+     * limit, see ScanResponse.heartbeat_message.
+     * </pre>
+     */
+    boolean getClientHandlesHeartbeats();
   }
   /**
    * Protobuf type {@code ScanRequest}
@@ -15891,6 +15911,11 @@ public final class ClientProtos {
               nextCallSeq_ = input.readUInt64();
               break;
             }
+            case 56: {
+              bitField0_ |= 0x00000040;
+              clientHandlesHeartbeats_ = input.readBool();
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -16039,6 +16064,32 @@ public final class ClientProtos {
       return nextCallSeq_;
     }
 
+    // optional bool client_handles_heartbeats = 7;
+    public static final int CLIENT_HANDLES_HEARTBEATS_FIELD_NUMBER = 7;
+    private boolean clientHandlesHeartbeats_;
+    /**
+     * <code>optional bool client_handles_heartbeats = 7;</code>
+     *
+     * <pre>
+     * Set if the client can handle responses cut short by the server's time
+     * limit, see ScanResponse.heartbeat_message.
+     * </pre>
+     */
+    public boolean hasClientHandlesHeartbeats() {
+      return ((bitField0_ & 0x00000040) == 0x00000040);
+    }
+    /**
+     * <code>optional bool client_handles_heartbeats = 7;</code>
+     *
+     * <pre>
+     * Set if the client can handle responses cut short by the server's time
+     * limit, see ScanResponse.heartbeat_message.
+     * </pre>
+     */
+    public boolean getClientHandlesHeartbeats() {
+      return clientHandlesHeartbeats_;
+    }
+
     private void initFields() {
       region_ = org.apache.hadoop.hbase.protobuf.generated.HBaseProtos.RegionSpecifier.getDefaultInstance();
       scan_ = org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Scan.getDefaultInstance();
@@ -16046,6 +16097,7 @@ public final class ClientProtos {
       numberOfRows_ = 0;
       closeScanner_ = false;
       nextCallSeq_ = 0L;
+      clientHandlesHeartbeats_ = false;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -16089,6 +16141,9 @@ public final class ClientProtos {
       if (((bitField0_ & 0x00000020) == 0x00000020)) {
         output.writeUInt64(6, nextCallSeq_);
       }
+      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+        output.writeBool(7, clientHandlesHeartbeats_);
+      }
       getUnknownFields().writeTo(output);
     }
 
@@ -16122,6 +16177,10 @@ public final class ClientProtos {
         size += com.google.protobuf.CodedOutputStream
           .computeUInt64Size(6, nextCallSeq_);
       }
+      if (((bitField0_ & 0x00000040) == 0x00000040)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(7, clientHandlesHeartbeats_);
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
       return size;
@@ -16175,6 +16234,11 @@ public final class ClientProtos {
         result = result && (getNextCallSeq()
             == other.getNextCallSeq());
       }
+      result = result && (hasClientHandlesHeartbeats() == other.hasClientHandlesHeartbeats());
+      if (hasClientHandlesHeartbeats()) {
+        result = result && (getClientHandlesHeartbeats()
+            == other.getClientHandlesHeartbeats());
+      }
       result = result &&
           getUnknownFields().equals(other.getUnknownFields());
       return result;
@@ -16212,6 +16276,10 @@ public final class ClientProtos {
         hash = (37 * hash) + NEXT_CALL_SEQ_FIELD_NUMBER;
         hash = (53 * hash) + hashLong(getNextCallSeq());
       }
+      if (hasClientHandlesHeartbeats()) {
+        hash = (37 * hash) + CLIENT_HANDLES_HEARTBEATS_FIELD_NUMBER;
+        hash = (53 * hash) + hashBoolean(getClientHandlesHeartbeats());
+      }
       hash = (29 * hash) + getUnknownFields().hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -16356,6 +16424,8 @@ public final class ClientProtos {
         bitField0_ = (bitField0_ & ~0x00000010);
         nextCallSeq_ = 0L;
         bitField0_ = (bitField0_ & ~0x00000020);
+        clientHandlesHeartbeats_ = false;
+        bitField0_ = (bitField0_ & ~0x00000040);
         return this;
       }
 
@@ -16416,6 +16486,10 @@ public final class ClientProtos {
           to_bitField0_ |= 0x00000020;
         }
         result.nextCallSeq_ = nextCallSeq_;
+        if (((from_bitField0_ & 0x00000040) == 0x00000040)) {
+          to_bitField0_ |= 0x00000040;
+        }
+        result.clientHandlesHeartbeats_ = clientHandlesHeartbeats_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -16450,6 +16524,9 @@ public final class ClientProtos {
         if (other.hasNextCallSeq()) {
           setNextCallSeq(other.getNextCallSeq());
         }
+        if (other.hasClientHandlesHeartbeats()) {
+          setClientHandlesHeartbeats(other.getClientHandlesHeartbeats());
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
@@ -16855,6 +16932,59 @@ public final class ClientProtos {
         return this;
       }
 
+      // optional bool client_handles_heartbeats = 7;
+      private boolean clientHandlesHeartbeats_ ;
+      /**
+       * <code>optional bool client_handles_heartbeats = 7;</code>
+       *
+       * <pre>
+       * Set if the client can handle responses cut short by the server's time
+       * limit, see ScanResponse.heartbeat_message.
+       * </pre>
+       */
+      public boolean hasClientHandlesHeartbeats() {
+        return ((bitField0_ & 0x00000040) == 0x00000040);
+      }
+      /**
+       * <code>optional bool client_handles_heartbeats = 7;</code>
+       *
+       * <pre>
+       * Set if the client can handle responses cut short by the server's time
+       * limit, see ScanResponse.heartbeat_message.
+       * </pre>
+       */
+      public boolean getClientHandlesHeartbeats() {
+        return clientHandlesHeartbeats_;
+      }
+      /**
+       * <code>optional bool client_handles_heartbeats = 7;</code>
+       *
+       * <pre>
+       * Set if the client can handle responses cut short by the server's time
+       * limit, see ScanResponse.heartbeat_message.
+       * </pre>
+       */
+      public Builder setClientHandlesHeartbeats(boolean value) {
+        bitField0_ |= 0x00000040;
+        clientHandlesHeartbeats_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bool client_handles_heartbeats = 7;</code>
+       *
+       * <pre>
+       * Set if the client can handle responses cut short by the server's time
+       * limit, see ScanResponse.heartbeat_message.
+       * </pre>
+       */
+      public Builder clearClientHandlesHeartbeats() {
+        bitField0_ = (bitField0_ & ~0x00000040);
+        clientHandlesHeartbeats_ = false;
+        onChanged();
+        return this;
+      }
+
       // @@protoc_insertion_point(builder_scope:ScanRequest)
     }
 
@@ -16997,6 +17127,68 @@ public final class ClientProtos {
      */
     org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ResultOrBuilder getResultsOrBuilder(
         int index);
+
+    // optional bool more_results_in_region = 6;
+    /**
+     * <code>optional bool more_results_in_region = 6;</code>
+     *
+     * <pre>
+     * Set if the scanner stopped before the end of the region because of the
+     * row count, result size or time limit of the request. False if the end of
+     * the region was reached.
+     * </pre>
+     */
+    boolean hasMoreResultsInRegion();
+    /**
+     * <code>optional bool more_results_in_region = 6;</code>
+     *
+     * <pre>
+     * Set if the scanner stopped before the end of the region because of the
+     * row count, result size or time limit of the request. False if the end of
+     * the region was reached.
+     * </pre>
+     */
+    boolean getMoreResultsInRegion();
+
+    // optional bool heartbeat_message = 7;
+    /**
+     * <code>optional bool heartbeat_message = 7;</code>
+     *
+     * <pre>
+     * Set if the server stopped because of its time limit. The results may then
+     * be empty although the scanner is still open on the region.
+     * </pre>
+     */
+    boolean hasHeartbeatMessage();
+    /**
+     * <code>optional bool heartbeat_message = 7;</code>
+     *
+     * <pre>
+     * Set if the server stopped because of its time limit. The results may then
+     * be empty although the scanner is still open on the region.
+     * </pre>
+     */
+    boolean getHeartbeatMessage();
+
+    // optional bytes cursor_row = 8;
+    /**
+     * <code>optional bytes cursor_row = 8;</code>
+     *
+     * <pre>
+     * With a heartbeat, the last row the scanner skipped. Rows up to and
+     * including it need not be scanned again when the scanner is reopened.
+     * </pre>
+     */
+    boolean hasCursorRow();
+    /**
+     * <code>optional bytes cursor_row = 8;</code>
+     *
+     * <pre>
+     * With a heartbeat, the last row the scanner skipped. Rows up to and
+     * including it need not be scanned again when the scanner is reopened.
+     * </pre>
+     */
+    com.google.protobuf.ByteString getCursorRow();
   }
   /**
    * Protobuf type {@code ScanResponse}
@@ -17099,6 +17291,21 @@ public final class ClientProtos {
               results_.add(input.readMessage(org.apache.hadoop.hbase.protobuf.generated.ClientProtos.Result.PARSER, extensionRegistry));
               break;
             }
+            case 48: {
+              bitField0_ |= 0x00000008;
+              moreResultsInRegion_ = input.readBool();
+              break;
+            }
+            case 56: {
+              bitField0_ |= 0x00000010;
+              heartbeatMessage_ = input.readBool();
+              break;
+            }
+            case 66: {
+              bitField0_ |= 0x00000020;
+              cursorRow_ = input.readBytes();
+              break;
+            }
           }
         }
       } catch (com.google.protobuf.InvalidProtocolBufferException e) {
@@ -17312,12 +17519,95 @@ public final class ClientProtos {
       return results_.get(index);
     }
 
+    // optional bool more_results_in_region = 6;
+    public static final int MORE_RESULTS_IN_REGION_FIELD_NUMBER = 6;
+    private boolean moreResultsInRegion_;
+    /**
+     * <code>optional bool more_results_in_region = 6;</code>
+     *
+     * <pre>
+     * Set if the scanner stopped before the end of the region because of the
+     * row count, result size or time limit of the request. False if the end of
+     * the region was reached.
+     * </pre>
+     */
+    public boolean hasMoreResultsInRegion() {
+      return ((bitField0_ & 0x00000008) == 0x00000008);
+    }
+    /**
+     * <code>optional bool more_results_in_region = 6;</code>
+     *
+     * <pre>
+     * Set if the scanner stopped before the end of the region because of the
+     * row count, result size or time limit of the request. False if the end of
+     * the region was reached.
+     * </pre>
+     */
+    public boolean getMoreResultsInRegion() {
+      return moreResultsInRegion_;
+    }
+
+    // optional bool heartbeat_message = 7;
+    public static final int HEARTBEAT_MESSAGE_FIELD_NUMBER = 7;
+    private boolean heartbeatMessage_;
+    /**
+     * <code>optional bool heartbeat_message = 7;</code>
+     *
+     * <pre>
+     * Set if the server stopped because of its time limit. The results may then
+     * be empty although the scanner is still open on the region.
+     * </pre>
+     */
+    public boolean hasHeartbeatMessage() {
+      return ((bitField0_ & 0x00000010) == 0x00000010);
+    }
+    /**
+     * <code>optional bool heartbeat_message = 7;</code>
+     *
+     * <pre>
+     * Set if the server stopped because of its time limit. The results may then
+     * be empty although the scanner is still open on the region.
+     * </pre>
+     */
+    public boolean getHeartbeatMessage() {
+      return heartbeatMessage_;
+    }
+
+    // optional bytes cursor_row = 8;
+    public static final int CURSOR_ROW_FIELD_NUMBER = 8;
+    private com.google.protobuf.ByteString cursorRow_;
+    /**
+     * <code>optional bytes cursor_row = 8;</code>
+     *
+     * <pre>
+     * With a heartbeat, the last row the scanner skipped. Rows up to and
+     * including it need not be scanned again when the scanner is reopened.
+     * </pre>
+     */
+    public boolean hasCursorRow() {
+      return ((bitField0_ & 0x00000020) == 0x00000020);
+    }
+    /**
+     * <code>optional bytes cursor_row = 8;</code>
+     *
+     * <pre>
+     * With a heartbeat, the last row the scanner skipped. Rows up to and
+     * including it need not be scanned again when the scanner is reopened.
+     * </pre>
+     */
+    public com.google.protobuf.ByteString getCursorRow() {
+      return cursorRow_;
+    }
+
     private void initFields() {
       cellsPerResult_ = java.util.Collections.emptyList();
       scannerId_ = 0L;
       moreResults_ = false;
       ttl_ = 0;
       results_ = java.util.Collections.emptyList();
+      moreResultsInRegion_ = false;
+      heartbeatMessage_ = false;
+      cursorRow_ = com.google.protobuf.ByteString.EMPTY;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
@@ -17346,6 +17636,15 @@ public final class ClientProtos {
       for (int i = 0; i < results_.size(); i++) {
         output.writeMessage(5, results_.get(i));
       }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        output.writeBool(6, moreResultsInRegion_);
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        output.writeBool(7, heartbeatMessage_);
+      }
+      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+        output.writeBytes(8, cursorRow_);
+      }
       getUnknownFields().writeTo(output);
     }
 
@@ -17380,6 +17679,18 @@ public final class ClientProtos {
         size += com.google.protobuf.CodedOutputStream
           .computeMessageSize(5, results_.get(i));
       }
+      if (((bitField0_ & 0x00000008) == 0x00000008)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(6, moreResultsInRegion_);
+      }
+      if (((bitField0_ & 0x00000010) == 0x00000010)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(7, heartbeatMessage_);
+      }
+      if (((bitField0_ & 0x00000020) == 0x00000020)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(8, cursorRow_);
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
       return size;
@@ -17422,6 +17733,21 @@ public final class ClientProtos {
       }
       result = result && getResultsList()
           .equals(other.getResultsList());
+      result = result && (hasMoreResultsInRegion() == other.hasMoreResultsInRegion());
+      if (hasMoreResultsInRegion()) {
+        result = result && (getMoreResultsInRegion()
+            == other.getMoreResultsInRegion());
+      }
+      result = result && (hasHeartbeatMessage() == other.hasHeartbeatMessage());
+      if (hasHeartbeatMessage()) {
+        result = result && (getHeartbeatMessage()
+            == other.getHeartbeatMessage());
+      }
+      result = result && (hasCursorRow() == other.hasCursorRow());
+      if (hasCursorRow()) {
+        result = result && getCursorRow()
+            .equals(other.getCursorRow());
+      }
       result = result &&
           getUnknownFields().equals(other.getUnknownFields());
       return result;
@@ -17455,6 +17781,18 @@ public final class ClientProtos {
         hash = (37 * hash) + RESULTS_FIELD_NUMBER;
         hash = (53 * hash) + getResultsList().hashCode();
       }
+      if (hasMoreResultsInRegion()) {
+        hash = (37 * hash) + MORE_RESULTS_IN_REGION_FIELD_NUMBER;
+        hash = (53 * hash) + hashBoolean(getMoreResultsInRegion());
+      }
+      if (hasHeartbeatMessage()) {
+        hash = (37 * hash) + HEARTBEAT_MESSAGE_FIELD_NUMBER;
+        hash = (53 * hash) + hashBoolean(getHeartbeatMessage());
+      }
+      if (hasCursorRow()) {
+        hash = (37 * hash) + CURSOR_ROW_FIELD_NUMBER;
+        hash = (53 * hash) + getCursorRow().hashCode();
+      }
       hash = (29 * hash) + getUnknownFields().hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -17585,6 +17923,12 @@ public final class ClientProtos {
         } else {
           resultsBuilder_.clear();
         }
+        moreResultsInRegion_ = false;
+        bitField0_ = (bitField0_ & ~0x00000020);
+        heartbeatMessage_ = false;
+        bitField0_ = (bitField0_ & ~0x00000040);
+        cursorRow_ = com.google.protobuf.ByteString.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000080);
         return this;
       }
 
@@ -17639,6 +17983,18 @@ public final class ClientProtos {
         } else {
           result.results_ = resultsBuilder_.build();
         }
+        if (((from_bitField0_ & 0x00000020) == 0x00000020)) {
+          to_bitField0_ |= 0x00000008;
+        }
+        result.moreResultsInRegion_ = moreResultsInRegion_;
+        if (((from_bitField0_ & 0x00000040) == 0x00000040)) {
+          to_bitField0_ |= 0x00000010;
+        }
+        result.heartbeatMessage_ = heartbeatMessage_;
+        if (((from_bitField0_ & 0x00000080) == 0x00000080)) {
+          to_bitField0_ |= 0x00000020;
+        }
+        result.cursorRow_ = cursorRow_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -17700,6 +18056,15 @@ public final class ClientProtos {
             }
           }
         }
+        if (other.hasMoreResultsInRegion()) {
+          setMoreResultsInRegion(other.getMoreResultsInRegion());
+        }
+        if (other.hasHeartbeatMessage()) {
+          setHeartbeatMessage(other.getHeartbeatMessage());
+        }
+        if (other.hasCursorRow()) {
+          setCursorRow(other.getCursorRow());
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
@@ -18310,37 +18675,203 @@ public final class ClientProtos {
         return resultsBuilder_;
       }
 
-      // @@protoc_insertion_point(builder_scope:ScanResponse)
-    }
-
-    static {
-      defaultInstance = new ScanResponse(true);
-      defaultInstance.initFields();
-    }
-
-    // @@protoc_insertion_point(class_scope:ScanResponse)
-  }
-
-  public interface BulkLoadHFileRequestOrBuilder
-      extends com.google.protobuf.MessageOrBuilder {
-
-    // required .RegionSpecifier region = 1;
-    /**
-     * <code>required .RegionSpecifier region = 1;</code>
-     */
-    boolean hasRegion();
-    /**
-     * <code>required .RegionSpecifier region = 1;</code>
-     */
-    org.apache.hadoop.hbase.protobuf.generated.HBaseProtos.RegionSpecifier getRegion();
-    /**
-     * <code>required .RegionSpecifier region = 1;</code>
-     */
-    org.apache.hadoop.hbase.protobuf.generated.HBaseProtos.RegionSpecifierOrBuilder getRegionOrBuilder();
+      // optional bool more_results_in_region = 6;
+      private boolean moreResultsInRegion_ ;
+      /**
+       * <code>optional bool more_results_in_region = 6;</code>
+       *
+       * <pre>
+       * Set if the scanner stopped before the end of the region because of the
+       * row count, result size or time limit of the request. False if the end of
+       * the region was reached.
+       * </pre>
+       */
+      public boolean hasMoreResultsInRegion() {
+        return ((bitField0_ & 0x00000020) == 0x00000020);
+      }
+      /**
+       * <code>optional bool more_results_in_region = 6;</code>
+       *
+       * <pre>
+       * Set if the scanner stopped before the end of the region because of the
+       * row count, result size or time limit of the request. False if the end of
+       * the region was reached.
+       * </pre>
+       */
+      public boolean getMoreResultsInRegion() {
+        return moreResultsInRegion_;
+      }
+      /**
+       * <code>optional bool more_results_in_region = 6;</code>
+       *
+       * <pre>
+       * Set if the scanner stopped before the end of the region because of the
+       * row count, result size or time limit of the request. False if the end of
+       * the region was reached.
+       * </pre>
+       */
+      public Builder setMoreResultsInRegion(boolean value) {
+        bitField0_ |= 0x00000020;
+        moreResultsInRegion_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bool more_results_in_region = 6;</code>
+       *
+       * <pre>
+       * Set if the scanner stopped before the end of the region because of the
+       * row count, result size or time limit of the request. False if the end of
+       * the region was reached.
+       * </pre>
+       */
+      public Builder clearMoreResultsInRegion() {
+        bitField0_ = (bitField0_ & ~0x00000020);
+        moreResultsInRegion_ = false;
+        onChanged();
+        return this;
+      }
 
-    // repeated .BulkLoadHFileRequest.FamilyPath family_path = 2;
-    /**
-     * <code>repeated .BulkLoadHFileRequest.FamilyPath family_path = 2;</code>
+      // optional bool heartbeat_message = 7;
+      private boolean heartbeatMessage_ ;
+      /**
+       * <code>optional bool heartbeat_message = 7;</code>
+       *
+       * <pre>
+       * Set if the server stopped because of its time limit. The results may then
+       * be empty although the scanner is still open on the region.
+       * </pre>
+       */
+      public boolean hasHeartbeatMessage() {
+        return ((bitField0_ & 0x00000040) == 0x00000040);
+      }
+      /**
+       * <code>optional bool heartbeat_message = 7;</code>
+       *
+       * <pre>
+       * Set if the server stopped because of its time limit. The results may then
+       * be empty although the scanner is still open on the region.
+       * </pre>
+       */
+      public boolean getHeartbeatMessage() {
+        return heartbeatMessage_;
+      }
+      /**
+       * <code>optional bool heartbeat_message = 7;</code>
+       *
+       * <pre>
+       * Set if the server stopped because of its time limit. The results may then
+       * be empty although the scanner is still open on the region.
+       * </pre>
+       */
+      public Builder setHeartbeatMessage(boolean value) {
+        bitField0_ |= 0x00000040;
+        heartbeatMessage_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bool heartbeat_message = 7;</code>
+       *
+       * <pre>
+       * Set if the server stopped because of its time limit. The results may then
+       * be empty although the scanner is still open on the region.
+       * </pre>
+       */
+      public Builder clearHeartbeatMessage() {
+        bitField0_ = (bitField0_ & ~0x00000040);
+        heartbeatMessage_ = false;
+        onChanged();
+        return this;
+      }
+
+      // optional bytes cursor_row = 8;
+      private com.google.protobuf.ByteString cursorRow_ = com.google.protobuf.ByteString.EMPTY;
+      /**
+       * <code>optional bytes cursor_row = 8;</code>
+       *
+       * <pre>
+       * With a heartbeat, the last row the scanner skipped. Rows up to and
+       * including it need not be scanned again when the scanner is reopened.
+       * </pre>
+       */
+      public boolean hasCursorRow() {
+        return ((bitField0_ & 0x00000080) == 0x00000080);
+      }
+      /**
+       * <code>optional bytes cursor_row = 8;</code>
+       *
+       * <pre>
+       * With a heartbeat, the last row the scanner skipped. Rows up to and
+       * including it need not be scanned again when the scanner is reopened.
+       * </pre>
+       */
+      public com.google.protobuf.ByteString getCursorRow() {
+        return cursorRow_;
+      }
+      /**
+       * <code>optional bytes cursor_row = 8;</code>
+       *
+       * <pre>
+       * With a heartbeat, the last row the scanner skipped. Rows up to and
+       * including it need not be scanned again when the scanner is reopened.
+       * </pre>
+       */
+      public Builder setCursorRow(com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000080;
+        cursorRow_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bytes cursor_row = 8;</code>
+       *
+       * <pre>
+       * With a heartbeat, the last row the scanner skipped. Rows up to and
+       * including it need not be scanned again when the scanner is reopened.
+       * </pre>
+       */
+      public Builder clearCursorRow() {
+        bitField0_ = (bitField0_ & ~0x00000080);
+        cursorRow_ = getDefaultInstance().getCursorRow();
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:ScanResponse)
+    }
+
+    static {
+      defaultInstance = new ScanResponse(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:ScanResponse)
+  }
+
+  public interface BulkLoadHFileRequestOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+
+    // required .RegionSpecifier region = 1;
+    /**
+     * <code>required .RegionSpecifier region = 1;</code>
+     */
+    boolean hasRegion();
+    /**
+     * <code>required .RegionSpecifier region = 1;</code>
+     */
+    org.apache.hadoop.hbase.protobuf.generated.HBaseProtos.RegionSpecifier getRegion();
+    /**
+     * <code>required .RegionSpecifier region = 1;</code>
+     */
+    org.apache.hadoop.hbase.protobuf.generated.HBaseProtos.RegionSpecifierOrBuilder getRegionOrBuilder();
+
+    // repeated .BulkLoadHFileRequest.FamilyPath family_path = 2;
+    /**
+     * <code>repeated .BulkLoadHFileRequest.FamilyPath family_path = 2;</code>
      */
     java.util.List<org.apache.hadoop.hbase.protobuf.generated.ClientProtos.BulkLoadHFileRequest.FamilyPath> 
         getFamilyPathList();
@@ -27594,53 +28125,92 @@ public final class ClientProtos {
     // @@protoc_insertion_point(class_scope:MultiRequest)
   }
 
-  public interface MultiResponseOrBuilder
+  public interface ServerLoadStatsOrBuilder
       extends com.google.protobuf.MessageOrBuilder {
 
-    // repeated .RegionActionResult regionActionResult = 1;
+    // optional uint32 memstoreLoad = 1 [default = 0];
     /**
-     * <code>repeated .RegionActionResult regionActionResult = 1;</code>
+     * <code>optional uint32 memstoreLoad = 1 [default = 0];</code>
+     *
+     * <pre>
+     * Memstore size, of the server or of the busiest region of the request, relative
+     * to the size at which updates are blocked
+     * </pre>
      */
-    java.util.List<org.apache.hadoop.hbase.protobuf.generated.ClientProtos.RegionActionResult> 
-        getRegionActionResultList();
+    boolean hasMemstoreLoad();
     /**
-     * <code>repeated .RegionActionResult regionActionResult = 1;</code>
+     * <code>optional uint32 memstoreLoad = 1 [default = 0];</code>
+     *
+     * <pre>
+     * Memstore size, of the server or of the busiest region of the request, relative
+     * to the size at which updates are blocked
+     * </pre>
      */
-    org.apache.hadoop.hbase.protobuf.generated.ClientProtos.RegionActionResult getRegionActionResult(int index);
+    int getMemstoreLoad();
+
+    // optional uint32 callQueueLoad = 2 [default = 0];
     /**
-     * <code>repeated .RegionActionResult regionActionResult = 1;</code>
+     * <code>optional uint32 callQueueLoad = 2 [default = 0];</code>
+     *
+     * <pre>
+     * Length of the call queue, relative to its capacity
+     * </pre>
      */
-    int getRegionActionResultCount();
+    boolean hasCallQueueLoad();
     /**
-     * <code>repeated .RegionActionResult regionActionResult = 1;</code>
+     * <code>optional uint32 callQueueLoad = 2 [default = 0];</code>
+     *
+     * <pre>
+     * Length of the call queue, relative to its capacity
+     * </pre>
      */
-    java.util.List<? extends org.apache.hadoop.hbase.protobuf.generated.ClientProtos.RegionActionResultOrBuilder> 
-        getRegionActionResultOrBuilderList();
+    int getCallQueueLoad();
+
+    // optional uint32 compactionLoad = 3 [default = 0];
     /**
-     * <code>repeated .RegionActionResult regionActionResult = 1;</code>
+     * <code>optional uint32 compactionLoad = 3 [default = 0];</code>
+     *
+     * <pre>
+     * Store file count of the busiest store of the request, relative to the count at
+     * which flushes are delayed
+     * </pre>
      */
-    org.apache.hadoop.hbase.protobuf.generated.ClientProtos.RegionActionResultOrBuilder getRegionActionResultOrBuilder(
-        int index);
+    boolean hasCompactionLoad();
+    /**
+     * <code>optional uint32 compactionLoad = 3 [default = 0];</code>
+     *
+     * <pre>
+     * Store file count of the busiest store of the request, relative to the count at
+     * which flushes are delayed
+     * </pre>
+     */
+    int getCompactionLoad();
   }
   /**
-   * Protobuf type {@code MultiResponse}
+   * Protobuf type {@code ServerLoadStats}
+   *
+   * <pre>
+   **
+   * How loaded the region server is, as percentages of the levels at which it starts
+   * pushing back on the clients.
+   * </pre>
    */
-  public static final class MultiResponse extends
+  public static final class ServerLoadStats extends
       com.google.protobuf.GeneratedMessage
-      implements MultiResponseOrBuilder {
-    // Use MultiResponse.newBuilder() to construct.
-    private MultiResponse(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      implements ServerLoadStatsOrBuilder {
+    // Use ServerLoadStats.newBuilder() to construct.
+    private ServerLoadStats(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
       super(builder);
       this.unknownFields = builder.getUnknownFields();
     }
-    private MultiResponse(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+    private ServerLoadStats(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
 
-    private static final MultiResponse defaultInstance;
-    public static MultiResponse getDefaultInstance() {
+    private static final ServerLoadStats defaultInstance;
+    public static ServerLoadStats getDefaultInstance() {
       return defaultInstance;
     }
 
-    public MultiResponse getDefaultInstanceForType() {
+    public ServerLoadStats getDefaultInstanceForType() {
       return defaultInstance;
     }
 
@@ -27650,7 +28220,7 @@ public final class ClientProtos {
         getUnknownFields() {
       return this.unknownFields;
     }
-    private MultiResponse(
+    private ServerLoadStats(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
@@ -27673,12 +28243,19 @@ public final class ClientProtos {
               }
               break;
             }
-            case 10: {
-              if (!((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
-                regionActionResult_ = new java.util.ArrayList<org.apache.hadoop.hbase.protobuf.generated.ClientProtos.RegionActionResult>();
-                mutable_bitField0_ |= 0x00000001;
-              }
-              regionActionResult_.add(input.readMessage(org.apache.hadoop.hbase.protobuf.generated.ClientProtos.RegionActionResult.PARSER, extensionRegistry));
+            case 8: {
+              bitField0_ |= 0x00000001;
+              memstoreLoad_ = input.readUInt32();
+              break;
+            }
+            case 16: {
+              bitField0_ |= 0x00000002;
+              callQueueLoad_ = input.readUInt32();
+              break;
+            }
+            case 24: {
+              bitField0_ |= 0x00000004;
+              compactionLoad_ = input.readUInt32();
               break;
             }
           }
@@ -27689,90 +28266,124 @@ public final class ClientProtos {
         throw new com.google.protobuf.InvalidProtocolBufferException(
             e.getMessage()).setUnfinishedMessage(this);
       } finally {
-        if (((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
-          regionActionResult_ = java.util.Collections.unmodifiableList(regionActionResult_);
-        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
     }
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return org.apache.hadoop.hbase.protobuf.generated.ClientProtos.internal_static_MultiResponse_descriptor;
+      return org.apache.hadoop.hbase.protobuf.generated.ClientProtos.internal_static_ServerLoadStats_descriptor;
     }
 
     protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return org.apache.hadoop.hbase.protobuf.generated.ClientProtos.internal_static_MultiResponse_fieldAccessorTable
+      return org.apache.hadoop.hbase.protobuf.generated.ClientProtos.internal_static_ServerLoadStats_fieldAccessorTable
           .ensureFieldAccessorsInitialized(
-              org.apache.hadoop.hbase.protobuf.generated.ClientProtos.MultiResponse.class, org.apache.hadoop.hbase.protobuf.generated.ClientProtos.MultiResponse.Builder.class);
+              org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats.class, org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats.Builder.class);
     }
 
-    public static com.google.protobuf.Parser<MultiResponse> PARSER =
-        new com.google.protobuf.AbstractParser<MultiResponse>() {
-      public MultiResponse parsePartialFrom(
+    public static com.google.protobuf.Parser<ServerLoadStats> PARSER =
+        new com.google.protobuf.AbstractParser<ServerLoadStats>() {
+      public ServerLoadStats parsePartialFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-        return new MultiResponse(input, extensionRegistry);
+        return new ServerLoadStats(input, extensionRegistry);
       }
     };
 
     @java.lang.Override
-    public com.google.protobuf.Parser<MultiResponse> getParserForType() {
+    public com.google.protobuf.Parser<ServerLoadStats> getParserForType() {
       return PARSER;
     }
 
-    // repeated .RegionActionResult regionActionResult = 1;
-    public static final int REGIONACTIONRESULT_FIELD_NUMBER = 1;
-    private java.util.List<org.apache.hadoop.hbase.protobuf.generated.ClientProtos.RegionActionResult> regionActionResult_;
+    private int bitField0_;
+    // optional uint32 memstoreLoad = 1 [default = 0];
+    public static final int MEMSTORELOAD_FIELD_NUMBER = 1;
+    private int memstoreLoad_;
     /**
-     * <code>repeated .RegionActionResult regionActionResult = 1;</code>
+     * <code>optional uint32 memstoreLoad = 1 [default = 0];</code>
+     *
+     * <pre>
+     * Memstore size, of the server or of the busiest region of the request, relative
+     * to the size at which updates are blocked
+     * </pre>
      */
-    public java.util.List<org.apache.hadoop.hbase.protobuf.generated.ClientProtos.RegionActionResult> getRegionActionResultList() {
-      return regionActionResult_;
+    public boolean hasMemstoreLoad() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
     }
     /**
-     * <code>repeated .RegionActionResult regionActionResult = 1;</code>
+     * <code>optional uint32 memstoreLoad = 1 [default = 0];</code>
+     *
+     * <pre>
+     * Memstore size, of the server or of the busiest region of the request, relative
+     * to the size at which updates are blocked
+     * </pre>
      */
-    public java.util.List<? extends org.apache.hadoop.hbase.protobuf.generated.ClientProtos.RegionActionResultOrBuilder> 
-        getRegionActionResultOrBuilderList() {
-      return regionActionResult_;
+    public int getMemstoreLoad() {
+      return memstoreLoad_;
     }
+
+    // optional uint32 callQueueLoad = 2 [default = 0];
+    public static final int CALLQUEUELOAD_FIELD_NUMBER = 2;
+    private int callQueueLoad_;
     /**
-     * <code>repeated .RegionActionResult regionActionResult = 1;</code>
+     * <code>optional uint32 callQueueLoad = 2 [default = 0];</code>
+     *
+     * <pre>
+     * Length of the call queue, relative to its capacity
+     * </pre>
      */
-    public int getRegionActionResultCount() {
-      return regionActionResult_.size();
+    public boolean hasCallQueueLoad() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
     }
     /**
-     * <code>repeated .RegionActionResult regionActionResult = 1;</code>
+     * <code>optional uint32 callQueueLoad = 2 [default = 0];</code>
+     *
+     * <pre>
+     * Length of the call queue, relative to its capacity
+     * </pre>
      */
-    public org.apache.hadoop.hbase.protobuf.generated.ClientProtos.RegionActionResult getRegionActionResult(int index) {
-      return regionActionResult_.get(index);
+    public int getCallQueueLoad() {
+      return callQueueLoad_;
+    }
+
+    // optional uint32 compactionLoad = 3 [default = 0];
+    public static final int COMPACTIONLOAD_FIELD_NUMBER = 3;
+    private int compactionLoad_;
+    /**
+     * <code>optional uint32 compactionLoad = 3 [default = 0];</code>
+     *
+     * <pre>
+     * Store file count of the busiest store of the request, relative to the count at
+     * which flushes are delayed
+     * </pre>
+     */
+    public boolean hasCompactionLoad() {
+      return ((bitField0_ & 0x00000004) == 0x00000004);
     }
     /**
-     * <code>repeated .RegionActionResult regionActionResult = 1;</code>
+     * <code>optional uint32 compactionLoad = 3 [default = 0];</code>
+     *
+     * <pre>
+     * Store file count of the busiest store of the request, relative to the count at
+     * which flushes are delayed
+     * </pre>
      */
-    public org.apache.hadoop.hbase.protobuf.generated.ClientProtos.RegionActionResultOrBuilder getRegionActionResultOrBuilder(
-        int index) {
-      return regionActionResult_.get(index);
+    public int getCompactionLoad() {
+      return compactionLoad_;
     }
 
     private void initFields() {
-      regionActionResult_ = java.util.Collections.emptyList();
+      memstoreLoad_ = 0;
+      callQueueLoad_ = 0;
+      compactionLoad_ = 0;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
       byte isInitialized = memoizedIsInitialized;
       if (isInitialized != -1) return isInitialized == 1;
 
-      for (int i = 0; i < getRegionActionResultCount(); i++) {
-        if (!getRegionActionResult(i).isInitialized()) {
-          memoizedIsInitialized = 0;
-          return false;
-        }
-      }
       memoizedIsInitialized = 1;
       return true;
     }
@@ -27780,8 +28391,14 @@ public final class ClientProtos {
     public void writeTo(com.google.protobuf.CodedOutputStream output)
                         throws java.io.IOException {
       getSerializedSize();
-      for (int i = 0; i < regionActionResult_.size(); i++) {
-        output.writeMessage(1, regionActionResult_.get(i));
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeUInt32(1, memstoreLoad_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeUInt32(2, callQueueLoad_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        output.writeUInt32(3, compactionLoad_);
       }
       getUnknownFields().writeTo(output);
     }
@@ -27792,9 +28409,17 @@ public final class ClientProtos {
       if (size != -1) return size;
 
       size = 0;
-      for (int i = 0; i < regionActionResult_.size(); i++) {
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
         size += com.google.protobuf.CodedOutputStream
-          .computeMessageSize(1, regionActionResult_.get(i));
+          .computeUInt32Size(1, memstoreLoad_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt32Size(2, callQueueLoad_);
+      }
+      if (((bitField0_ & 0x00000004) == 0x00000004)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt32Size(3, compactionLoad_);
       }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
@@ -27813,14 +28438,27 @@ public final class ClientProtos {
       if (obj == this) {
        return true;
       }
-      if (!(obj instanceof org.apache.hadoop.hbase.protobuf.generated.ClientProtos.MultiResponse)) {
+      if (!(obj instanceof org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats)) {
         return super.equals(obj);
       }
-      org.apache.hadoop.hbase.protobuf.generated.ClientProtos.MultiResponse other = (org.apache.hadoop.hbase.protobuf.generated.ClientProtos.MultiResponse) obj;
+      org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats other = (org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats) obj;
 
       boolean result = true;
-      result = result && getRegionActionResultList()
-          .equals(other.getRegionActionResultList());
+      result = result && (hasMemstoreLoad() == other.hasMemstoreLoad());
+      if (hasMemstoreLoad()) {
+        result = result && (getMemstoreLoad()
+            == other.getMemstoreLoad());
+      }
+      result = result && (hasCallQueueLoad() == other.hasCallQueueLoad());
+      if (hasCallQueueLoad()) {
+        result = result && (getCallQueueLoad()
+            == other.getCallQueueLoad());
+      }
+      result = result && (hasCompactionLoad() == other.hasCompactionLoad());
+      if (hasCompactionLoad()) {
+        result = result && (getCompactionLoad()
+            == other.getCompactionLoad());
+      }
       result = result &&
           getUnknownFields().equals(other.getUnknownFields());
       return result;
@@ -27834,11 +28472,709 @@ public final class ClientProtos {
       }
       int hash = 41;
       hash = (19 * hash) + getDescriptorForType().hashCode();
-      if (getRegionActionResultCount() > 0) {
-        hash = (37 * hash) + REGIONACTIONRESULT_FIELD_NUMBER;
-        hash = (53 * hash) + getRegionActionResultList().hashCode();
+      if (hasMemstoreLoad()) {
+        hash = (37 * hash) + MEMSTORELOAD_FIELD_NUMBER;
+        hash = (53 * hash) + getMemstoreLoad();
       }
-      hash = (29 * hash) + getUnknownFields().hashCode();
+      if (hasCallQueueLoad()) {
+        hash = (37 * hash) + CALLQUEUELOAD_FIELD_NUMBER;
+        hash = (53 * hash) + getCallQueueLoad();
+      }
+      if (hasCompactionLoad()) {
+        hash = (37 * hash) + COMPACTIONLOAD_FIELD_NUMBER;
+        hash = (53 * hash) + getCompactionLoad();
+      }
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code ServerLoadStats}
+     *
+     * <pre>
+     **
+     * How loaded the region server is, as percentages of the levels at which it starts
+     * pushing back on the clients.
+     * </pre>
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStatsOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return org.apache.hadoop.hbase.protobuf.generated.ClientProtos.internal_static_ServerLoadStats_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return org.apache.hadoop.hbase.protobuf.generated.ClientProtos.internal_static_ServerLoadStats_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats.class, org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats.Builder.class);
+      }
+
+      // Construct using org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        memstoreLoad_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        callQueueLoad_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        compactionLoad_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000004);
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return org.apache.hadoop.hbase.protobuf.generated.ClientProtos.internal_static_ServerLoadStats_descriptor;
+      }
+
+      public org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats getDefaultInstanceForType() {
+        return org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats.getDefaultInstance();
+      }
+
+      public org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats build() {
+        org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats buildPartial() {
+        org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats result = new org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.memstoreLoad_ = memstoreLoad_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.callQueueLoad_ = callQueueLoad_;
+        if (((from_bitField0_ & 0x00000004) == 0x00000004)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        result.compactionLoad_ = compactionLoad_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats) {
+          return mergeFrom((org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats other) {
+        if (other == org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats.getDefaultInstance()) return this;
+        if (other.hasMemstoreLoad()) {
+          setMemstoreLoad(other.getMemstoreLoad());
+        }
+        if (other.hasCallQueueLoad()) {
+          setCallQueueLoad(other.getCallQueueLoad());
+        }
+        if (other.hasCompactionLoad()) {
+          setCompactionLoad(other.getCompactionLoad());
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      // optional uint32 memstoreLoad = 1 [default = 0];
+      private int memstoreLoad_ ;
+      /**
+       * <code>optional uint32 memstoreLoad = 1 [default = 0];</code>
+       *
+       * <pre>
+       * Memstore size, of the server or of the busiest region of the request, relative
+       * to the size at which updates are blocked
+       * </pre>
+       */
+      public boolean hasMemstoreLoad() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>optional uint32 memstoreLoad = 1 [default = 0];</code>
+       *
+       * <pre>
+       * Memstore size, of the server or of the busiest region of the request, relative
+       * to the size at which updates are blocked
+       * </pre>
+       */
+      public int getMemstoreLoad() {
+        return memstoreLoad_;
+      }
+      /**
+       * <code>optional uint32 memstoreLoad = 1 [default = 0];</code>
+       *
+       * <pre>
+       * Memstore size, of the server or of the busiest region of the request, relative
+       * to the size at which updates are blocked
+       * </pre>
+       */
+      public Builder setMemstoreLoad(int value) {
+        bitField0_ |= 0x00000001;
+        memstoreLoad_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional uint32 memstoreLoad = 1 [default = 0];</code>
+       *
+       * <pre>
+       * Memstore size, of the server or of the busiest region of the request, relative
+       * to the size at which updates are blocked
+       * </pre>
+       */
+      public Builder clearMemstoreLoad() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        memstoreLoad_ = 0;
+        onChanged();
+        return this;
+      }
+
+      // optional uint32 callQueueLoad = 2 [default = 0];
+      private int callQueueLoad_ ;
+      /**
+       * <code>optional uint32 callQueueLoad = 2 [default = 0];</code>
+       *
+       * <pre>
+       * Length of the call queue, relative to its capacity
+       * </pre>
+       */
+      public boolean hasCallQueueLoad() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional uint32 callQueueLoad = 2 [default = 0];</code>
+       *
+       * <pre>
+       * Length of the call queue, relative to its capacity
+       * </pre>
+       */
+      public int getCallQueueLoad() {
+        return callQueueLoad_;
+      }
+      /**
+       * <code>optional uint32 callQueueLoad = 2 [default = 0];</code>
+       *
+       * <pre>
+       * Length of the call queue, relative to its capacity
+       * </pre>
+       */
+      public Builder setCallQueueLoad(int value) {
+        bitField0_ |= 0x00000002;
+        callQueueLoad_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional uint32 callQueueLoad = 2 [default = 0];</code>
+       *
+       * <pre>
+       * Length of the call queue, relative to its capacity
+       * </pre>
+       */
+      public Builder clearCallQueueLoad() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        callQueueLoad_ = 0;
+        onChanged();
+        return this;
+      }
+
+      // optional uint32 compactionLoad = 3 [default = 0];
+      private int compactionLoad_ ;
+      /**
+       * <code>optional uint32 compactionLoad = 3 [default = 0];</code>
+       *
+       * <pre>
+       * Store file count of the busiest store of the request, relative to the count at
+       * which flushes are delayed
+       * </pre>
+       */
+      public boolean hasCompactionLoad() {
+        return ((bitField0_ & 0x00000004) == 0x00000004);
+      }
+      /**
+       * <code>optional uint32 compactionLoad = 3 [default = 0];</code>
+       *
+       * <pre>
+       * Store file count of the busiest store of the request, relative to the count at
+       * which flushes are delayed
+       * </pre>
+       */
+      public int getCompactionLoad() {
+        return compactionLoad_;
+      }
+      /**
+       * <code>optional uint32 compactionLoad = 3 [default = 0];</code>
+       *
+       * <pre>
+       * Store file count of the busiest store of the request, relative to the count at
+       * which flushes are delayed
+       * </pre>
+       */
+      public Builder setCompactionLoad(int value) {
+        bitField0_ |= 0x00000004;
+        compactionLoad_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional uint32 compactionLoad = 3 [default = 0];</code>
+       *
+       * <pre>
+       * Store file count of the busiest store of the request, relative to the count at
+       * which flushes are delayed
+       * </pre>
+       */
+      public Builder clearCompactionLoad() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        compactionLoad_ = 0;
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:ServerLoadStats)
+    }
+
+    static {
+      defaultInstance = new ServerLoadStats(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:ServerLoadStats)
+  }
+
+  public interface MultiResponseOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+
+    // repeated .RegionActionResult regionActionResult = 1;
+    /**
+     * <code>repeated .RegionActionResult regionActionResult = 1;</code>
+     */
+    java.util.List<org.apache.hadoop.hbase.protobuf.generated.ClientProtos.RegionActionResult> 
+        getRegionActionResultList();
+    /**
+     * <code>repeated .RegionActionResult regionActionResult = 1;</code>
+     */
+    org.apache.hadoop.hbase.protobuf.generated.ClientProtos.RegionActionResult getRegionActionResult(int index);
+    /**
+     * <code>repeated .RegionActionResult regionActionResult = 1;</code>
+     */
+    int getRegionActionResultCount();
+    /**
+     * <code>repeated .RegionActionResult regionActionResult = 1;</code>
+     */
+    java.util.List<? extends org.apache.hadoop.hbase.protobuf.generated.ClientProtos.RegionActionResultOrBuilder> 
+        getRegionActionResultOrBuilderList();
+    /**
+     * <code>repeated .RegionActionResult regionActionResult = 1;</code>
+     */
+    org.apache.hadoop.hbase.protobuf.generated.ClientProtos.RegionActionResultOrBuilder getRegionActionResultOrBuilder(
+        int index);
+
+    // optional .ServerLoadStats loadStats = 2;
+    /**
+     * <code>optional .ServerLoadStats loadStats = 2;</code>
+     */
+    boolean hasLoadStats();
+    /**
+     * <code>optional .ServerLoadStats loadStats = 2;</code>
+     */
+    org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats getLoadStats();
+    /**
+     * <code>optional .ServerLoadStats loadStats = 2;</code>
+     */
+    org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStatsOrBuilder getLoadStatsOrBuilder();
+  }
+  /**
+   * Protobuf type {@code MultiResponse}
+   */
+  public static final class MultiResponse extends
+      com.google.protobuf.GeneratedMessage
+      implements MultiResponseOrBuilder {
+    // Use MultiResponse.newBuilder() to construct.
+    private MultiResponse(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private MultiResponse(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final MultiResponse defaultInstance;
+    public static MultiResponse getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public MultiResponse getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private MultiResponse(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              if (!((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
+                regionActionResult_ = new java.util.ArrayList<org.apache.hadoop.hbase.protobuf.generated.ClientProtos.RegionActionResult>();
+                mutable_bitField0_ |= 0x00000001;
+              }
+              regionActionResult_.add(input.readMessage(org.apache.hadoop.hbase.protobuf.generated.ClientProtos.RegionActionResult.PARSER, extensionRegistry));
+              break;
+            }
+            case 18: {
+              org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000001) == 0x00000001)) {
+                subBuilder = loadStats_.toBuilder();
+              }
+              loadStats_ = input.readMessage(org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(loadStats_);
+                loadStats_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000001;
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
+          regionActionResult_ = java.util.Collections.unmodifiableList(regionActionResult_);
+        }
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return org.apache.hadoop.hbase.protobuf.generated.ClientProtos.internal_static_MultiResponse_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return org.apache.hadoop.hbase.protobuf.generated.ClientProtos.internal_static_MultiResponse_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              org.apache.hadoop.hbase.protobuf.generated.ClientProtos.MultiResponse.class, org.apache.hadoop.hbase.protobuf.generated.ClientProtos.MultiResponse.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<MultiResponse> PARSER =
+        new com.google.protobuf.AbstractParser<MultiResponse>() {
+      public MultiResponse parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new MultiResponse(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<MultiResponse> getParserForType() {
+      return PARSER;
+    }
+
+    private int bitField0_;
+    // repeated .RegionActionResult regionActionResult = 1;
+    public static final int REGIONACTIONRESULT_FIELD_NUMBER = 1;
+    private java.util.List<org.apache.hadoop.hbase.protobuf.generated.ClientProtos.RegionActionResult> regionActionResult_;
+    /**
+     * <code>repeated .RegionActionResult regionActionResult = 1;</code>
+     */
+    public java.util.List<org.apache.hadoop.hbase.protobuf.generated.ClientProtos.RegionActionResult> getRegionActionResultList() {
+      return regionActionResult_;
+    }
+    /**
+     * <code>repeated .RegionActionResult regionActionResult = 1;</code>
+     */
+    public java.util.List<? extends org.apache.hadoop.hbase.protobuf.generated.ClientProtos.RegionActionResultOrBuilder> 
+        getRegionActionResultOrBuilderList() {
+      return regionActionResult_;
+    }
+    /**
+     * <code>repeated .RegionActionResult regionActionResult = 1;</code>
+     */
+    public int getRegionActionResultCount() {
+      return regionActionResult_.size();
+    }
+    /**
+     * <code>repeated .RegionActionResult regionActionResult = 1;</code>
+     */
+    public org.apache.hadoop.hbase.protobuf.generated.ClientProtos.RegionActionResult getRegionActionResult(int index) {
+      return regionActionResult_.get(index);
+    }
+    /**
+     * <code>repeated .RegionActionResult regionActionResult = 1;</code>
+     */
+    public org.apache.hadoop.hbase.protobuf.generated.ClientProtos.RegionActionResultOrBuilder getRegionActionResultOrBuilder(
+        int index) {
+      return regionActionResult_.get(index);
+    }
+
+    // optional .ServerLoadStats loadStats = 2;
+    public static final int LOADSTATS_FIELD_NUMBER = 2;
+    private org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats loadStats_;
+    /**
+     * <code>optional .ServerLoadStats loadStats = 2;</code>
+     */
+    public boolean hasLoadStats() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
+    }
+    /**
+     * <code>optional .ServerLoadStats loadStats = 2;</code>
+     */
+    public org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats getLoadStats() {
+      return loadStats_;
+    }
+    /**
+     * <code>optional .ServerLoadStats loadStats = 2;</code>
+     */
+    public org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStatsOrBuilder getLoadStatsOrBuilder() {
+      return loadStats_;
+    }
+
+    private void initFields() {
+      regionActionResult_ = java.util.Collections.emptyList();
+      loadStats_ = org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats.getDefaultInstance();
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+
+      for (int i = 0; i < getRegionActionResultCount(); i++) {
+        if (!getRegionActionResult(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      for (int i = 0; i < regionActionResult_.size(); i++) {
+        output.writeMessage(1, regionActionResult_.get(i));
+      }
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeMessage(2, loadStats_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      for (int i = 0; i < regionActionResult_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(1, regionActionResult_.get(i));
+      }
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(2, loadStats_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof org.apache.hadoop.hbase.protobuf.generated.ClientProtos.MultiResponse)) {
+        return super.equals(obj);
+      }
+      org.apache.hadoop.hbase.protobuf.generated.ClientProtos.MultiResponse other = (org.apache.hadoop.hbase.protobuf.generated.ClientProtos.MultiResponse) obj;
+
+      boolean result = true;
+      result = result && getRegionActionResultList()
+          .equals(other.getRegionActionResultList());
+      result = result && (hasLoadStats() == other.hasLoadStats());
+      if (hasLoadStats()) {
+        result = result && getLoadStats()
+            .equals(other.getLoadStats());
+      }
+      result = result &&
+          getUnknownFields().equals(other.getUnknownFields());
+      return result;
+    }
+
+    private int memoizedHashCode = 0;
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptorForType().hashCode();
+      if (getRegionActionResultCount() > 0) {
+        hash = (37 * hash) + REGIONACTIONRESULT_FIELD_NUMBER;
+        hash = (53 * hash) + getRegionActionResultList().hashCode();
+      }
+      if (hasLoadStats()) {
+        hash = (37 * hash) + LOADSTATS_FIELD_NUMBER;
+        hash = (53 * hash) + getLoadStats().hashCode();
+      }
+      hash = (29 * hash) + getUnknownFields().hashCode();
       memoizedHashCode = hash;
       return hash;
     }
@@ -27940,6 +29276,7 @@ public final class ClientProtos {
       private void maybeForceBuilderInitialization() {
         if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
           getRegionActionResultFieldBuilder();
+          getLoadStatsFieldBuilder();
         }
       }
       private static Builder create() {
@@ -27954,6 +29291,12 @@ public final class ClientProtos {
         } else {
           regionActionResultBuilder_.clear();
         }
+        if (loadStatsBuilder_ == null) {
+          loadStats_ = org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats.getDefaultInstance();
+        } else {
+          loadStatsBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000002);
         return this;
       }
 
@@ -27981,6 +29324,7 @@ public final class ClientProtos {
       public org.apache.hadoop.hbase.protobuf.generated.ClientProtos.MultiResponse buildPartial() {
         org.apache.hadoop.hbase.protobuf.generated.ClientProtos.MultiResponse result = new org.apache.hadoop.hbase.protobuf.generated.ClientProtos.MultiResponse(this);
         int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
         if (regionActionResultBuilder_ == null) {
           if (((bitField0_ & 0x00000001) == 0x00000001)) {
             regionActionResult_ = java.util.Collections.unmodifiableList(regionActionResult_);
@@ -27990,6 +29334,15 @@ public final class ClientProtos {
         } else {
           result.regionActionResult_ = regionActionResultBuilder_.build();
         }
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        if (loadStatsBuilder_ == null) {
+          result.loadStats_ = loadStats_;
+        } else {
+          result.loadStats_ = loadStatsBuilder_.build();
+        }
+        result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
       }
@@ -28031,6 +29384,9 @@ public final class ClientProtos {
             }
           }
         }
+        if (other.hasLoadStats()) {
+          mergeLoadStats(other.getLoadStats());
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
@@ -28304,6 +29660,123 @@ public final class ClientProtos {
         return regionActionResultBuilder_;
       }
 
+      // optional .ServerLoadStats loadStats = 2;
+      private org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats loadStats_ = org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats.getDefaultInstance();
+      private com.google.protobuf.SingleFieldBuilder<
+          org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats, org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats.Builder, org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStatsOrBuilder> loadStatsBuilder_;
+      /**
+       * <code>optional .ServerLoadStats loadStats = 2;</code>
+       */
+      public boolean hasLoadStats() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>optional .ServerLoadStats loadStats = 2;</code>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats getLoadStats() {
+        if (loadStatsBuilder_ == null) {
+          return loadStats_;
+        } else {
+          return loadStatsBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>optional .ServerLoadStats loadStats = 2;</code>
+       */
+      public Builder setLoadStats(org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats value) {
+        if (loadStatsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          loadStats_ = value;
+          onChanged();
+        } else {
+          loadStatsBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      /**
+       * <code>optional .ServerLoadStats loadStats = 2;</code>
+       */
+      public Builder setLoadStats(
+          org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats.Builder builderForValue) {
+        if (loadStatsBuilder_ == null) {
+          loadStats_ = builderForValue.build();
+          onChanged();
+        } else {
+          loadStatsBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      /**
+       * <code>optional .ServerLoadStats loadStats = 2;</code>
+       */
+      public Builder mergeLoadStats(org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats value) {
+        if (loadStatsBuilder_ == null) {
+          if (((bitField0_ & 0x00000002) == 0x00000002) &&
+              loadStats_ != org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats.getDefaultInstance()) {
+            loadStats_ =
+              org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats.newBuilder(loadStats_).mergeFrom(value).buildPartial();
+          } else {
+            loadStats_ = value;
+          }
+          onChanged();
+        } else {
+          loadStatsBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      /**
+       * <code>optional .ServerLoadStats loadStats = 2;</code>
+       */
+      public Builder clearLoadStats() {
+        if (loadStatsBuilder_ == null) {
+          loadStats_ = org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats.getDefaultInstance();
+          onChanged();
+        } else {
+          loadStatsBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+      /**
+       * <code>optional .ServerLoadStats loadStats = 2;</code>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats.Builder getLoadStatsBuilder() {
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return getLoadStatsFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>optional .ServerLoadStats loadStats = 2;</code>
+       */
+      public org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStatsOrBuilder getLoadStatsOrBuilder() {
+        if (loadStatsBuilder_ != null) {
+          return loadStatsBuilder_.getMessageOrBuilder();
+        } else {
+          return loadStats_;
+        }
+      }
+      /**
+       * <code>optional .ServerLoadStats loadStats = 2;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilder<
+          org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats, org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats.Builder, org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStatsOrBuilder> 
+          getLoadStatsFieldBuilder() {
+        if (loadStatsBuilder_ == null) {
+          loadStatsBuilder_ = new com.google.protobuf.SingleFieldBuilder<
+              org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats, org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats.Builder, org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStatsOrBuilder>(
+                  loadStats_,
+                  getParentForChildren(),
+                  isClean());
+          loadStats_ = null;
+        }
+        return loadStatsBuilder_;
+      }
+
       // @@protoc_insertion_point(builder_scope:MultiResponse)
     }
 
@@ -29037,6 +30510,11 @@ public final class ClientProtos {
   private static
     com.google.protobuf.GeneratedMessage.FieldAccessorTable
       internal_static_MultiRequest_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_ServerLoadStats_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_ServerLoadStats_fieldAccessorTable;
   private static com.google.protobuf.Descriptors.Descriptor
     internal_static_MultiResponse_descriptor;
   private static
@@ -29096,7 +30574,7 @@ public final class ClientProtos {
       " \n\010mutation\030\002 \002(\0132\016.MutationProto\022\035\n\tcon" +
       "dition\030\003 \001(\0132\n.Condition\022\023\n\013nonce_group\030" +
       "\004 \001(\004\"<\n\016MutateResponse\022\027\n\006result\030\001 \001(\0132" +
-      "\007.Result\022\021\n\tprocessed\030\002 \001(\010\"\344\002\n\004Scan\022\027\n\006" +
+      "\007.Result\022\021\n\tprocessed\030\002 \001(\010\"\375\002\n\004Scan\022\027\n\006" +
       "column\030\001 \003(\0132\007.Column\022!\n\tattribute\030\002 \003(\013" +
       "2\016.NameBytesPair\022\021\n\tstart_row\030\003 \001(\014\022\020\n\010s" +
       "top_row\030\004 \001(\014\022\027\n\006filter\030\005 \001(\0132\007.Filter\022\036" +
@@ -29105,49 +30583,56 @@ public final class ClientProtos {
       "rue\022\022\n\nbatch_size\030\t \001(\r\022\027\n\017max_result_si" +
       "ze\030\n \001(\004\022\023\n\013store_limit\030\013 \001(\r\022\024\n\014store_o" +
       "ffset\030\014 \001(\r\022&\n\036load_column_families_on_d" +
-      "emand\030\r \001(\010\022\r\n\005small\030\016 \001(\010\"\236\001\n\013ScanReque" +
-      "st\022 \n\006region\030\001 \001(\0132\020.RegionSpecifier\022\023\n\004" +
-      "scan\030\002 \001(\0132\005.Scan\022\022\n\nscanner_id\030\003 \001(\004\022\026\n" +
-      "\016number_of_rows\030\004 \001(\r\022\025\n\rclose_scanner\030\005" +
-      " \001(\010\022\025\n\rnext_call_seq\030\006 \001(\004\"y\n\014ScanRespo" +
-      "nse\022\030\n\020cells_per_result\030\001 \003(\r\022\022\n\nscanner",
-      "_id\030\002 \001(\004\022\024\n\014more_results\030\003 \001(\010\022\013\n\003ttl\030\004" +
-      " \001(\r\022\030\n\007results\030\005 \003(\0132\007.Result\"\263\001\n\024BulkL" +
-      "oadHFileRequest\022 \n\006region\030\001 \002(\0132\020.Region" +
-      "Specifier\0225\n\013family_path\030\002 \003(\0132 .BulkLoa" +
-      "dHFileRequest.FamilyPath\022\026\n\016assign_seq_n" +
-      "um\030\003 \001(\010\032*\n\nFamilyPath\022\016\n\006family\030\001 \002(\014\022\014" +
-      "\n\004path\030\002 \002(\t\"\'\n\025BulkLoadHFileResponse\022\016\n" +
-      "\006loaded\030\001 \002(\010\"a\n\026CoprocessorServiceCall\022" +
-      "\013\n\003row\030\001 \002(\014\022\024\n\014service_name\030\002 \002(\t\022\023\n\013me" +
-      "thod_name\030\003 \002(\t\022\017\n\007request\030\004 \002(\014\"d\n\031Copr",
-      "ocessorServiceRequest\022 \n\006region\030\001 \002(\0132\020." +
-      "RegionSpecifier\022%\n\004call\030\002 \002(\0132\027.Coproces" +
-      "sorServiceCall\"]\n\032CoprocessorServiceResp" +
-      "onse\022 \n\006region\030\001 \002(\0132\020.RegionSpecifier\022\035" +
-      "\n\005value\030\002 \002(\0132\016.NameBytesPair\"L\n\006Action\022" +
-      "\r\n\005index\030\001 \001(\r\022 \n\010mutation\030\002 \001(\0132\016.Mutat" +
-      "ionProto\022\021\n\003get\030\003 \001(\0132\004.Get\"Y\n\014RegionAct" +
-      "ion\022 \n\006region\030\001 \002(\0132\020.RegionSpecifier\022\016\n" +
-      "\006atomic\030\002 \001(\010\022\027\n\006action\030\003 \003(\0132\007.Action\"^" +
-      "\n\021ResultOrException\022\r\n\005index\030\001 \001(\r\022\027\n\006re",
-      "sult\030\002 \001(\0132\007.Result\022!\n\texception\030\003 \001(\0132\016" +
-      ".NameBytesPair\"f\n\022RegionActionResult\022-\n\021" +
-      "resultOrException\030\001 \003(\0132\022.ResultOrExcept" +
-      "ion\022!\n\texception\030\002 \001(\0132\016.NameBytesPair\"G" +
-      "\n\014MultiRequest\022#\n\014regionAction\030\001 \003(\0132\r.R" +
-      "egionAction\022\022\n\nnonceGroup\030\002 \001(\004\"@\n\rMulti" +
-      "Response\022/\n\022regionActionResult\030\001 \003(\0132\023.R" +
-      "egionActionResult2\261\002\n\rClientService\022 \n\003G" +
-      "et\022\013.GetRequest\032\014.GetResponse\022)\n\006Mutate\022" +
-      "\016.MutateRequest\032\017.MutateResponse\022#\n\004Scan",
-      "\022\014.ScanRequest\032\r.ScanResponse\022>\n\rBulkLoa" +
-      "dHFile\022\025.BulkLoadHFileRequest\032\026.BulkLoad" +
-      "HFileResponse\022F\n\013ExecService\022\032.Coprocess" +
-      "orServiceRequest\032\033.CoprocessorServiceRes" +
-      "ponse\022&\n\005Multi\022\r.MultiRequest\032\016.MultiRes" +
-      "ponseBB\n*org.apache.hadoop.hbase.protobu" +
-      "f.generatedB\014ClientProtosH\001\210\001\001\240\001\001"
+      "emand\030\r \001(\010\022\r\n\005small\030\016 \001(\010\022\027\n\010reversed\030\017" +
+      " \001(\010:\005false\"\301\001\n\013ScanRequest\022 \n\006region\030\001 " +
+      "\001(\0132\020.RegionSpecifier\022\023\n\004scan\030\002 \001(\0132\005.Sc" +
+      "an\022\022\n\nscanner_id\030\003 \001(\004\022\026\n\016number_of_rows" +
+      "\030\004 \001(\r\022\025\n\rclose_scanner\030\005 \001(\010\022\025\n\rnext_ca" +
+      "ll_seq\030\006 \001(\004\022!\n\031client_handles_heartbeat",
+      "s\030\007 \001(\010\"\310\001\n\014ScanResponse\022\030\n\020cells_per_re" +
+      "sult\030\001 \003(\r\022\022\n\nscanner_id\030\002 \001(\004\022\024\n\014more_r" +
+      "esults\030\003 \001(\010\022\013\n\003ttl\030\004 \001(\r\022\030\n\007results\030\005 \003" +
+      "(\0132\007.Result\022\036\n\026more_results_in_region\030\006 " +
+      "\001(\010\022\031\n\021heartbeat_message\030\007 \001(\010\022\022\n\ncursor" +
+      "_row\030\010 \001(\014\"\263\001\n\024BulkLoadHFileRequest\022 \n\006r" +
+      "egion\030\001 \002(\0132\020.RegionSpecifier\0225\n\013family_" +
+      "path\030\002 \003(\0132 .BulkLoadHFileRequest.Family" +
+      "Path\022\026\n\016assign_seq_num\030\003 \001(\010\032*\n\nFamilyPa" +
+      "th\022\016\n\006family\030\001 \002(\014\022\014\n\004path\030\002 \002(\t\"\'\n\025Bulk",
+      "LoadHFileResponse\022\016\n\006loaded\030\001 \002(\010\"a\n\026Cop" +
+      "rocessorServiceCall\022\013\n\003row\030\001 \002(\014\022\024\n\014serv" +
+      "ice_name\030\002 \002(\t\022\023\n\013method_name\030\003 \002(\t\022\017\n\007r" +
+      "equest\030\004 \002(\014\"d\n\031CoprocessorServiceReques" +
+      "t\022 \n\006region\030\001 \002(\0132\020.RegionSpecifier\022%\n\004c" +
+      "all\030\002 \002(\0132\027.CoprocessorServiceCall\"]\n\032Co" +
+      "processorServiceResponse\022 \n\006region\030\001 \002(\013" +
+      "2\020.RegionSpecifier\022\035\n\005value\030\002 \002(\0132\016.Name" +
+      "BytesPair\"L\n\006Action\022\r\n\005index\030\001 \001(\r\022 \n\010mu" +
+      "tation\030\002 \001(\0132\016.MutationProto\022\021\n\003get\030\003 \001(",
+      "\0132\004.Get\"Y\n\014RegionAction\022 \n\006region\030\001 \002(\0132" +
+      "\020.RegionSpecifier\022\016\n\006atomic\030\002 \001(\010\022\027\n\006act" +
+      "ion\030\003 \003(\0132\007.Action\"^\n\021ResultOrException\022" +
+      "\r\n\005index\030\001 \001(\r\022\027\n\006result\030\002 \001(\0132\007.Result\022" +
+      "!\n\texception\030\003 \001(\0132\016.NameBytesPair\"f\n\022Re" +
+      "gionActionResult\022-\n\021resultOrException\030\001 " +
+      "\003(\0132\022.ResultOrException\022!\n\texception\030\002 \001" +
+      "(\0132\016.NameBytesPair\"G\n\014MultiRequest\022#\n\014re" +
+      "gionAction\030\001 \003(\0132\r.RegionAction\022\022\n\nnonce" +
+      "Group\030\002 \001(\004\"_\n\017ServerLoadStats\022\027\n\014memsto",
+      "reLoad\030\001 \001(\r:\0010\022\030\n\rcallQueueLoad\030\002 \001(\r:\001" +
+      "0\022\031\n\016compactionLoad\030\003 \001(\r:\0010\"e\n\rMultiRes" +
+      "ponse\022/\n\022regionActionResult\030\001 \003(\0132\023.Regi" +
+      "onActionResult\022#\n\tloadStats\030\002 \001(\0132\020.Serv" +
+      "erLoadStats2\261\002\n\rClientService\022 \n\003Get\022\013.G" +
+      "etRequest\032\014.GetResponse\022)\n\006Mutate\022\016.Muta" +
+      "teRequest\032\017.MutateResponse\022#\n\004Scan\022\014.Sca" +
+      "nRequest\032\r.ScanResponse\022>\n\rBulkLoadHFile" +
+      "\022\025.BulkLoadHFileRequest\032\026.BulkLoadHFileR" +
+      "esponse\022F\n\013ExecService\022\032.CoprocessorServ",
+      "iceRequest\032\033.CoprocessorServiceResponse\022" +
+      "&\n\005Multi\022\r.MultiRequest\032\016.MultiResponseB" +
+      "B\n*org.apache.hadoop.hbase.protobuf.gene" +
+      "ratedB\014ClientProtosH\001\210\001\001\240\001\001"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
       new com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner() {
@@ -29237,19 +30722,19 @@ public final class ClientProtos {
           internal_static_Scan_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_Scan_descriptor,
-              new java.lang.String[] { "Column", "Attribute", "StartRow", "StopRow", "Filter", "TimeRange", "MaxVersions", "CacheBlocks", "BatchSize", "MaxResultSize", "StoreLimit", "StoreOffset", "LoadColumnFamiliesOnDemand", "Small", });
+              new java.lang.String[] { "Column", "Attribute", "StartRow", "StopRow", "Filter", "TimeRange", "MaxVersions", "CacheBlocks", "BatchSize", "MaxResultSize", "StoreLimit", "StoreOffset", "LoadColumnFamiliesOnDemand", "Small", "Reversed", });
           internal_static_ScanRequest_descriptor =
             getDescriptor().getMessageTypes().get(12);
           internal_static_ScanRequest_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_ScanRequest_descriptor,
-              new java.lang.String[] { "Region", "Scan", "ScannerId", "NumberOfRows", "CloseScanner", "NextCallSeq", });
+              new java.lang.String[] { "Region", "Scan", "ScannerId", "NumberOfRows", "CloseScanner", "NextCallSeq", "ClientHandlesHeartbeats", });
           internal_static_ScanResponse_descriptor =
             getDescriptor().getMessageTypes().get(13);
           internal_static_ScanResponse_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_ScanResponse_descriptor,
-              new java.lang.String[] { "CellsPerResult", "ScannerId", "MoreResults", "Ttl", "Results", });
+              new java.lang.String[] { "CellsPerResult", "ScannerId", "MoreResults", "Ttl", "Results", "MoreResultsInRegion", "HeartbeatMessage", "CursorRow", });
           internal_static_BulkLoadHFileRequest_descriptor =
             getDescriptor().getMessageTypes().get(14);
           internal_static_BulkLoadHFileRequest_fieldAccessorTable = new
@@ -29316,12 +30801,18 @@ public final class ClientProtos {
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_MultiRequest_descriptor,
               new java.lang.String[] { "RegionAction", "NonceGroup", });
-          internal_static_MultiResponse_descriptor =
+          internal_static_ServerLoadStats_descriptor =
             getDescriptor().getMessageTypes().get(24);
+          internal_static_ServerLoadStats_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_ServerLoadStats_descriptor,
+              new java.lang.String[] { "MemstoreLoad", "CallQueueLoad", "CompactionLoad", });
+          internal_static_MultiResponse_descriptor =
+            getDescriptor().getMessageTypes().get(25);
           internal_static_MultiResponse_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_MultiResponse_descriptor,
-              new java.lang.String[] { "RegionActionResult", });
+              new java.lang.String[] { "RegionActionResult", "LoadStats", });
           return null;
         }
       };
@@ -17,6 +17,7 @@
  */
 package org.apache.hadoop.hbase.backup;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -32,6 +33,7 @@ import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.fs.PathFilter;
 import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.regionserver.BlobStore;
 import org.apache.hadoop.hbase.regionserver.HRegion;
 import org.apache.hadoop.hbase.regionserver.StoreFile;
 import org.apache.hadoop.hbase.util.Bytes;
@@ -149,6 +151,35 @@ public class HFileArchiver {
         + "), cannot delete region directory. ");
   }
 
+  /**
+   * Archive the blob files of all the families of a table, see {@link BlobStore}.
+   * @param fs the filesystem where the blob files live
+   * @param rootdir {@link Path} to the root directory where hbase files are stored (for building
+   *          the archive path)
+   * @param tableDir {@link Path} to where the table is being stored
+   * @throws IOException if the files could not be archived
+   */
+  public static void archiveBlobs(FileSystem fs, Path rootdir, Path tableDir)
+      throws IOException {
+    Path blobDir = new Path(tableDir, BlobStore.BLOB_DIR);
+    FileStatus blobDirStatus;
+    try {
+      blobDirStatus = fs.getFileStatus(blobDir);
+    } catch (FileNotFoundException e) {
+      LOG.debug("No blob files to archive for table " + tableDir);
+      return;
+    }
+
+    Path tableArchiveDir = HFileArchiveUtil.getTableArchivePath(rootdir,
+        FSUtils.getTableName(tableDir));
+    Collection<File> toArchive = Collections.singletonList(
+        new FileStatusConverter(fs).apply(blobDirStatus));
+    if (!resolveAndArchive(fs, tableArchiveDir, toArchive)) {
+      throw new IOException("Failed to archive the blob files of " + tableDir
+          + " into " + tableArchiveDir + ". Something is probably awry on the filesystem.");
+    }
+  }
+
   /**
    * Remove from the specified region the store files of the specified column family,
    * either by archiving them or outright deletion
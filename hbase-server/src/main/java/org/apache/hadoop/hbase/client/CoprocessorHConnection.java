@@ -36,6 +36,7 @@ import org.apache.hadoop.hbase.client.HConnectionManager;
 import org.apache.hadoop.hbase.client.HTableInterface;
 import org.apache.hadoop.hbase.client.Row;
 import org.apache.hadoop.hbase.client.coprocessor.Batch.Callback;
+import org.apache.hadoop.hbase.client.metrics.RegionCacheMetrics;
 import org.apache.hadoop.hbase.coprocessor.RegionCoprocessorEnvironment;
 import org.apache.hadoop.hbase.ipc.RpcServerInterface;
 import org.apache.hadoop.hbase.monitoring.MonitoredRPCHandler;
@@ -280,6 +281,14 @@ public class CoprocessorHConnection implements HConnection {
     return delegate.locateRegions(tableName, useCache, offlined);
   }
 
+  public void warmUpRegionCache(TableName tableName) throws IOException {
+    delegate.warmUpRegionCache(tableName);
+  }
+
+  public RegionCacheMetrics getRegionCacheMetrics() {
+    return delegate.getRegionCacheMetrics();
+  }
+
   public org.apache.hadoop.hbase.protobuf.generated.MasterProtos.MasterService.BlockingInterface getMaster()
   throws IOException {
     return delegate.getMaster();
@@ -385,4 +394,9 @@ public class CoprocessorHConnection implements HConnection {
   public NonceGenerator getNonceGenerator() {
     return null; // don't use nonces for coprocessor connection
   }
+
+  @Override
+  public ServerStatisticTracker getStatisticTracker() {
+    return delegate.getStatisticTracker();
+  }
 }
\ No newline at end of file
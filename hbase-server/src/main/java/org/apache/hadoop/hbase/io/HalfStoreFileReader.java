@@ -149,6 +149,12 @@ public class HalfStoreFileReader extends StoreFile.Reader {
         return delegate.getKeyValue();
       }
 
+      public KeyValue getKeyOnlyKeyValue() {
+        if (atEnd) return null;
+
+        return delegate.getKeyOnlyKeyValue();
+      }
+
       public boolean next() throws IOException {
         if (atEnd) return false;
 
@@ -19,12 +19,15 @@ package org.apache.hadoop.hbase.io.hfile;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
 import java.util.zip.Checksum;
 
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.hadoop.hbase.util.ChecksumType;
+import org.apache.hadoop.hbase.util.Crc32C;
 
 /**
  * Utility methods to compute and validate checksums.
@@ -34,6 +37,12 @@ public class ChecksumUtil {
   /** This is used to reserve space in a byte buffer */
   private static byte[] DUMMY_VALUE = new byte[128 * HFileBlock.CHECKSUM_SIZE];
 
+  /**
+   * Checksum.update(ByteBuffer), from Java 9 on. java.util.zip.CRC32C and
+   * CRC32 read direct buffers in place through it. Null on older JVMs.
+   */
+  private static final Method UPDATE_BYTE_BUFFER = getUpdateByteBuffer();
+
   /** 
    * This is used by unit tests to make checksum failures throw an 
    * exception instead of returning null. Returning a null value from 
@@ -62,27 +71,76 @@ public class ChecksumUtil {
     byte[] outdata, int outOffset,
     ChecksumType checksumType,
     int bytesPerChecksum) throws IOException {
+    generateChecksums(ByteBuffer.wrap(indata, startOffset, endOffset - startOffset),
+        outdata, outOffset, checksumType, bytesPerChecksum);
+  }
+
+  /**
+   * Generates a checksum for the remaining bytes of indata, which may be a
+   * direct buffer. The checksum is written to outdata. The position and
+   * limit of indata are left untouched.
+   * @param indata input data
+   * @param outdata the output buffer where checksum values are written
+   * @param outOffset the starting offset in the outdata where the
+   *                  checksum values are written
+   * @param checksumType type of checksum
+   * @param bytesPerChecksum number of bytes per checksum value
+   */
+  static void generateChecksums(ByteBuffer indata,
+    byte[] outdata, int outOffset,
+    ChecksumType checksumType,
+    int bytesPerChecksum) throws IOException {
 
     if (checksumType == ChecksumType.NULL) {
       return; // No checkums for this block.
     }
 
     Checksum checksum = checksumType.getChecksumObject();
-    int bytesLeft = endOffset - startOffset;
-    int chunkNum = 0;
-
-    while (bytesLeft > 0) {
+    ByteBuffer chunk = indata.duplicate();
+    for (int off = indata.position(); off < indata.limit(); off += bytesPerChecksum) {
       // generate the checksum for one chunk
+      chunk.limit(Math.min(indata.limit(), off + bytesPerChecksum));
+      chunk.position(off);
       checksum.reset();
-      int count = Math.min(bytesLeft, bytesPerChecksum);
-      checksum.update(indata, startOffset, count);
+      update(checksum, chunk);
 
       // write the checksum value to the output buffer.
       int cksumValue = (int)checksum.getValue();
       outOffset = Bytes.putInt(outdata, outOffset, cksumValue);
-      chunkNum++;
-      startOffset += count;
-      bytesLeft -= count;
+    }
+  }
+
+  private static Method getUpdateByteBuffer() {
+    try {
+      return Checksum.class.getMethod("update", ByteBuffer.class);
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Updates the checksum with the remaining bytes of the buffer. They are
+   * not copied if the checksum is a {@link Crc32C}, which reads heap and
+   * direct buffers in place, if the buffer is backed by an array, or if the
+   * JVM has Checksum.update(ByteBuffer).
+   */
+  private static void update(Checksum checksum, ByteBuffer buf) throws IOException {
+    if (checksum instanceof Crc32C) {
+      ((Crc32C) checksum).update(buf);
+    } else if (buf.hasArray()) {
+      checksum.update(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+    } else if (UPDATE_BYTE_BUFFER != null) {
+      try {
+        UPDATE_BYTE_BUFFER.invoke(checksum, buf.duplicate());
+      } catch (IllegalAccessException e) {
+        throw new IOException(e);
+      } catch (InvocationTargetException e) {
+        throw new IOException(e.getCause());
+      }
+    } else {
+      byte[] copy = new byte[buf.remaining()];
+      buf.duplicate().get(copy);
+      checksum.update(copy, 0, copy.length);
     }
   }
 
@@ -117,7 +175,6 @@ public class ChecksumUtil {
       return true; // No checkums validations needed for this block.
     }
     Checksum checksumObject = cktype.getChecksumObject();
-    checksumObject.reset();
 
     // read in the stored value of the checksum size from the header.
     int bytesPerChecksum = block.getBytesPerChecksum();
@@ -130,20 +187,20 @@ public class ChecksumUtil {
       HFile.LOG.warn(msg);
       return false;   // cannot happen case, unable to verify checksum
     }
-    // Extract the header and compute checksum for the header.
-    ByteBuffer hdr = block.getBufferWithHeader();
-    checksumObject.update(hdr.array(), hdr.arrayOffset(), hdrSize);
-
-    int off = hdrSize;
-    int consumed = hdrSize;
-    int bytesLeft = block.getOnDiskDataSizeWithHeader() - off;
-    int cksumOffset = block.getOnDiskDataSizeWithHeader();
-    
+
+    // The on-disk block starts with the header, which is checksummed along
+    // with the data of the first chunk, so we go over it in one pass.
+    int onDiskDataSize = block.getOnDiskDataSizeWithHeader();
+    int cksumOffset = onDiskDataSize;
+    ByteBuffer chunk = ByteBuffer.wrap(data);
+
     // validate each chunk
-    while (bytesLeft > 0) {
-      int thisChunkSize = bytesPerChecksum - consumed;
-      int count = Math.min(bytesLeft, thisChunkSize);
-      checksumObject.update(data, off, count);
+    for (int off = 0; off < onDiskDataSize; off += bytesPerChecksum) {
+      int count = Math.min(onDiskDataSize - off, bytesPerChecksum);
+      chunk.limit(off + count);
+      chunk.position(off);
+      checksumObject.reset();
+      update(checksumObject, chunk);
 
       int storedChecksum = Bytes.toInt(data, cksumOffset);
       if (storedChecksum != (int)checksumObject.getValue()) {
@@ -163,10 +220,6 @@ public class ChecksumUtil {
         }
       }
       cksumOffset += HFileBlock.CHECKSUM_SIZE;
-      bytesLeft -= count; 
-      off += count;
-      consumed = 0;
-      checksumObject.reset();
     }
     return true; // checksum is valid
   }
@@ -0,0 +1,262 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.io.hfile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.apache.hadoop.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.KeyValue.KVComparator;
+import org.apache.hadoop.hbase.util.ByteBufferUtils;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.ClassSize;
+
+/**
+ * The root level of a block index packed into one buffer, which can live off
+ * the heap. Replaces one byte array per key and the arrays of block offsets
+ * and sizes, whose object overhead dominates the heap used by the block
+ * indexes of a region server with many open store files.
+ * <p>
+ * Keys are prefix-compressed against the previous key. Every
+ * {@link #RESTART_INTERVAL}th key is stored whole, so a lookup is a binary
+ * search over those keys followed by a scan of at most
+ * {@link #RESTART_INTERVAL} entries.
+ * <p>
+ * Buffer layout, for <code>n</code> entries and <code>r</code> restart keys:
+ * <pre>
+ * long[n]   block offsets
+ * int[n]    block on-disk sizes
+ * int[r]    positions of the restart keys in the buffer
+ * for each entry: compressed int common prefix with the previous key,
+ *                 compressed int suffix length, suffix bytes
+ * </pre>
+ */
+@InterfaceAudience.Private
+class CompactRootIndex {
+  static final int RESTART_INTERVAL = 16;
+
+  private final KVComparator comparator;
+  private final ByteBuffer buf;
+  private final int numEntries;
+  private final int numRestarts;
+  private final int restartsOffset;
+  /** The length of the longest key, to size the buffer keys are decoded into */
+  private final int maxKeyLength;
+
+  /**
+   * The buffer keys are decoded into, shared by the lookups of a thread into
+   * all root indexes and grown to the longest key seen so far
+   */
+  private static final ThreadLocal<byte[]> SCRATCH_FOR_THREAD = new ThreadLocal<byte[]>();
+
+  CompactRootIndex(KVComparator comparator, byte[][] keys, long[] offsets, int[] dataSizes,
+      int numEntries, boolean offHeap) throws IOException {
+    this.comparator = comparator;
+    this.numEntries = numEntries;
+    this.numRestarts = (numEntries + RESTART_INTERVAL - 1) / RESTART_INTERVAL;
+    this.restartsOffset = numEntries * (Bytes.SIZEOF_LONG + Bytes.SIZEOF_INT);
+    int keysOffset = restartsOffset + numRestarts * Bytes.SIZEOF_INT;
+
+    ByteArrayOutputStream keysBaos = new ByteArrayOutputStream();
+    int[] restarts = new int[numRestarts];
+    int maxKeyLength = 0;
+    for (int i = 0; i < numEntries; ++i) {
+      byte[] key = keys[i];
+      int prefix = 0;
+      if (i % RESTART_INTERVAL == 0) {
+        restarts[i / RESTART_INTERVAL] = keysOffset + keysBaos.size();
+      } else {
+        byte[] prev = keys[i - 1];
+        prefix = ByteBufferUtils.findCommonPrefix(key, 0, key.length, prev, 0, prev.length);
+      }
+      ByteBufferUtils.putCompressedInt(keysBaos, prefix);
+      ByteBufferUtils.putCompressedInt(keysBaos, key.length - prefix);
+      keysBaos.write(key, prefix, key.length - prefix);
+      maxKeyLength = Math.max(maxKeyLength, key.length);
+    }
+    this.maxKeyLength = maxKeyLength;
+
+    ByteArrayOutputStream baos = new ByteArrayOutputStream(keysOffset + keysBaos.size());
+    DataOutputStream out = new DataOutputStream(baos);
+    for (int i = 0; i < numEntries; ++i) {
+      out.writeLong(offsets[i]);
+    }
+    for (int i = 0; i < numEntries; ++i) {
+      out.writeInt(dataSizes[i]);
+    }
+    for (int restart : restarts) {
+      out.writeInt(restart);
+    }
+    keysBaos.writeTo(out);
+    out.close();
+
+    byte[] packed = baos.toByteArray();
+    if (offHeap) {
+      buf = ByteBuffer.allocateDirect(packed.length);
+      buf.put(packed);
+      buf.flip();
+    } else {
+      buf = ByteBuffer.wrap(packed);
+    }
+  }
+
+  int getNumEntries() {
+    return numEntries;
+  }
+
+  long getBlockOffset(int i) {
+    return buf.getLong(i * Bytes.SIZEOF_LONG);
+  }
+
+  int getBlockDataSize(int i) {
+    return buf.getInt(numEntries * Bytes.SIZEOF_LONG + i * Bytes.SIZEOF_INT);
+  }
+
+  /**
+   * @param i zero-based index of an entry
+   * @return a copy of the key of that entry
+   */
+  byte[] getKey(int i) {
+    ByteBuffer in = seekToRestart(i / RESTART_INTERVAL);
+    byte[] key = getScratch();
+    int keyLength = 0;
+    for (int j = i - i % RESTART_INTERVAL; j <= i; ++j) {
+      keyLength = readKey(in, key);
+    }
+    return Bytes.copy(key, 0, keyLength);
+  }
+
+  /**
+   * Finds the entry whose key is the greatest key not after the given key.
+   *
+   * @return the index of that entry, or -1 if the given key is before the
+   *         first key
+   */
+  int rootBlockContainingKey(byte[] key, int offset, int length) {
+    // Restart keys are stored whole and compared in place when the buffer is
+    // on the heap. The others are decoded into the scratch buffer.
+    byte[] scratch = getScratch();
+    boolean inPlace = buf.hasArray();
+
+    // The last restart key not after the given key
+    int low = 0;
+    int high = numRestarts - 1;
+    int restart = -1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      ByteBuffer in = seekToRestart(mid);
+      ByteBufferUtils.readCompressedInt(in);
+      int midLength = ByteBufferUtils.readCompressedInt(in);
+      // We have to compare in this order, because the comparator has special
+      // logic when the left side is a special key.
+      int cmp;
+      if (inPlace) {
+        cmp = comparator.compareFlatKey(key, offset, length,
+            buf.array(), buf.arrayOffset() + in.position(), midLength);
+      } else {
+        in.get(scratch, 0, midLength);
+        cmp = comparator.compareFlatKey(key, offset, length, scratch, 0, midLength);
+      }
+      if (cmp < 0) {
+        high = mid - 1;
+      } else if (cmp > 0) {
+        restart = mid;
+        low = mid + 1;
+      } else {
+        return mid * RESTART_INTERVAL;
+      }
+    }
+    if (restart < 0) {
+      return -1;
+    }
+
+    // Scan the entries following that restart key
+    ByteBuffer in = seekToRestart(restart);
+    int first = restart * RESTART_INTERVAL;
+    int end = Math.min(first + RESTART_INTERVAL, numEntries);
+    readKey(in, scratch);
+    for (int i = first + 1; i < end; ++i) {
+      int keyLength = readKey(in, scratch);
+      int cmp = comparator.compareFlatKey(key, offset, length, scratch, 0, keyLength);
+      if (cmp < 0) {
+        return i - 1;
+      } else if (cmp == 0) {
+        return i;
+      }
+    }
+    return end - 1;
+  }
+
+  /**
+   * @return the scratch buffer of this thread, large enough for any key of
+   *         this index
+   */
+  private byte[] getScratch() {
+    byte[] scratch = SCRATCH_FOR_THREAD.get();
+    if (scratch == null || scratch.length < maxKeyLength) {
+      scratch = new byte[maxKeyLength];
+      SCRATCH_FOR_THREAD.set(scratch);
+    }
+    return scratch;
+  }
+
+  private ByteBuffer seekToRestart(int restart) {
+    ByteBuffer in = buf.duplicate();
+    in.position(buf.getInt(restartsOffset + restart * Bytes.SIZEOF_INT));
+    return in;
+  }
+
+  /**
+   * Reads the next key, which shares its prefix with the key already in the
+   * given array.
+   * @return the length of the key
+   */
+  private static int readKey(ByteBuffer in, byte[] key) {
+    int prefix = ByteBufferUtils.readCompressedInt(in);
+    int suffix = ByteBufferUtils.readCompressedInt(in);
+    in.get(key, prefix, suffix);
+    return prefix + suffix;
+  }
+
+  boolean isOffHeap() {
+    return buf.isDirect();
+  }
+
+  /**
+   * @return the size of the packed entries, on or off the heap
+   */
+  int getBufferSize() {
+    return buf.capacity();
+  }
+
+  /**
+   * @return the heap used by this index, not counting the buffer contents
+   *         when it is off the heap
+   */
+  long heapSize() {
+    long heapSize = ClassSize.align(ClassSize.OBJECT + 2 * ClassSize.REFERENCE
+        + 4 * Bytes.SIZEOF_INT) + ClassSize.align(ClassSize.BYTE_BUFFER);
+    if (!buf.isDirect()) {
+      heapSize += ClassSize.align(ClassSize.ARRAY + buf.capacity());
+    }
+    return heapSize;
+  }
+}
@@ -175,7 +175,7 @@ public class HFile {
    * The number of bytes per checksum.
    */
   public static final int DEFAULT_BYTES_PER_CHECKSUM = 16 * 1024;
-  public static final ChecksumType DEFAULT_CHECKSUM_TYPE = ChecksumType.CRC32;
+  public static final ChecksumType DEFAULT_CHECKSUM_TYPE = ChecksumType.CRC32C;
 
   // For measuring latency of "sequential" reads and writes
   private static final AtomicInteger readOps = new AtomicInteger();
@@ -613,6 +613,8 @@ public class HFile {
     static final byte [] COMPARATOR = Bytes.toBytes(RESERVED_PREFIX + "COMPARATOR");
     static final byte [] TAGS_COMPRESSED = Bytes.toBytes(RESERVED_PREFIX + "TAGS_COMPRESSED");
     public static final byte [] MAX_TAGS_LEN = Bytes.toBytes(RESERVED_PREFIX + "MAX_TAGS_LEN");
+    static final byte [] COMPRESSION_DICTIONARY =
+        Bytes.toBytes(RESERVED_PREFIX + "COMPRESSION_DICTIONARY");
     private final SortedMap<byte [], byte []> map = new TreeMap<byte [], byte []>(Bytes.BYTES_COMPARATOR);
 
     public FileInfo() {
@@ -70,6 +70,20 @@ public class HFileBlockIndex {
    */
   public static final String MAX_CHUNK_SIZE_KEY = "hfile.index.block.max.size";
 
+  /**
+   * Whether readers keep the root level of the data block index
+   * prefix-compressed in a single buffer instead of one array per key.
+   */
+  public static final String COMPACT_ROOT_INDEX_KEY = "hfile.index.root.compact";
+  public static final boolean DEFAULT_COMPACT_ROOT_INDEX = false;
+
+  /**
+   * Whether the compact root level of the data block index is kept off the
+   * heap. Implies {@link #COMPACT_ROOT_INDEX_KEY}.
+   */
+  public static final String OFFHEAP_ROOT_INDEX_KEY = "hfile.index.root.offheap";
+  public static final boolean DEFAULT_OFFHEAP_ROOT_INDEX = false;
+
   /**
    * The number of bytes stored in each "secondary index" entry in addition to
    * key bytes in the non-root index block format. The first long is the file
@@ -114,6 +128,11 @@ public class HFileBlockIndex {
     private int[] blockDataSizes;
     private int rootCount = 0;
 
+    /** Replaces the arrays above once the root level is read, if set up */
+    private CompactRootIndex compactRoot;
+    private boolean compactRootIndex;
+    private boolean offHeapRootIndex;
+
     // Mid-key metadata.
     private long midLeafBlockOffset = -1;
     private int midLeafBlockOnDiskSize = -1;
@@ -143,11 +162,23 @@ public class HFileBlockIndex {
       searchTreeLevel = treeLevel;
     }
 
+    /**
+     * Creates a reader which keeps the root level in the format set up by
+     * {@link #COMPACT_ROOT_INDEX_KEY} and {@link #OFFHEAP_ROOT_INDEX_KEY}.
+     */
+    public BlockIndexReader(final KVComparator c, final int treeLevel,
+        final CachingBlockReader cachingBlockReader, Configuration conf) {
+      this(c, treeLevel, cachingBlockReader);
+      offHeapRootIndex = conf.getBoolean(OFFHEAP_ROOT_INDEX_KEY, DEFAULT_OFFHEAP_ROOT_INDEX);
+      compactRootIndex = offHeapRootIndex
+          || conf.getBoolean(COMPACT_ROOT_INDEX_KEY, DEFAULT_COMPACT_ROOT_INDEX);
+    }
+
     /**
      * @return true if the block index is empty.
      */
     public boolean isEmpty() {
-      return blockKeys.length == 0;
+      return rootCount == 0;
     }
 
     /**
@@ -155,7 +186,7 @@ public class HFileBlockIndex {
      * {@link IllegalStateException} otherwise.
      */
     public void ensureNonEmpty() {
-      if (blockKeys.length == 0) {
+      if (rootCount == 0) {
         throw new IllegalStateException("Block index is empty or not loaded");
       }
     }
@@ -207,7 +238,7 @@ public class HFileBlockIndex {
         boolean pread, boolean isCompaction)
         throws IOException {
       int rootLevelIndex = rootBlockContainingKey(key, keyOffset, keyLength);
-      if (rootLevelIndex < 0 || rootLevelIndex >= blockOffsets.length) {
+      if (rootLevelIndex < 0 || rootLevelIndex >= rootCount) {
         return null;
       }
 
@@ -215,12 +246,12 @@ public class HFileBlockIndex {
       byte[] nextIndexedKey = null;
 
       // Read the next-level (intermediate or leaf) index block.
-      long currentOffset = blockOffsets[rootLevelIndex];
-      int currentOnDiskSize = blockDataSizes[rootLevelIndex];
+      long currentOffset = getRootBlockOffset(rootLevelIndex);
+      int currentOnDiskSize = getRootBlockDataSize(rootLevelIndex);
 
-      if (rootLevelIndex < blockKeys.length - 1) {
-        nextIndexedKey = blockKeys[rootLevelIndex + 1];
-      } else {
+      // The next root-level key is only looked up if no lower level has one,
+      // as it has to be decoded when the root level is compact.
+      if (rootLevelIndex == rootCount - 1) {
         nextIndexedKey = HConstants.NO_NEXT_INDEXED_KEY;
       }
 
@@ -298,6 +329,10 @@ public class HFileBlockIndex {
             " but the number of levels is " + searchTreeLevel);
       }
 
+      if (nextIndexedKey == null) {
+        nextIndexedKey = getRootBlockKey(rootLevelIndex + 1);
+      }
+
       // set the next indexed key for the current block.
       BlockWithScanInfo blockWithScanInfo = new BlockWithScanInfo(block, nextIndexedKey);
       return blockWithScanInfo;
@@ -341,7 +376,7 @@ public class HFileBlockIndex {
         targetMidKey = Arrays.copyOfRange(b.array(), keyOffset, keyOffset + keyLen);
       } else {
         // The middle of the root-level index.
-        targetMidKey = blockKeys[rootCount / 2];
+        targetMidKey = getRootBlockKey(rootCount / 2);
       }
 
       this.midKey.set(targetMidKey);
@@ -352,6 +387,9 @@ public class HFileBlockIndex {
      * @param i from 0 to {@link #getRootBlockCount() - 1}
      */
     public byte[] getRootBlockKey(int i) {
+      if (compactRoot != null) {
+        return compactRoot.getKey(i);
+      }
       return blockKeys[i];
     }
 
@@ -359,6 +397,9 @@ public class HFileBlockIndex {
      * @param i from 0 to {@link #getRootBlockCount() - 1}
      */
     public long getRootBlockOffset(int i) {
+      if (compactRoot != null) {
+        return compactRoot.getBlockOffset(i);
+      }
       return blockOffsets[i];
     }
 
@@ -368,6 +409,9 @@ public class HFileBlockIndex {
      *         uncompressed size for version 1
      */
     public int getRootBlockDataSize(int i) {
+      if (compactRoot != null) {
+        return compactRoot.getBlockDataSize(i);
+      }
       return blockDataSizes[i];
     }
 
@@ -389,6 +433,9 @@ public class HFileBlockIndex {
      */
     public int rootBlockContainingKey(final byte[] key, int offset,
         int length) {
+      if (compactRoot != null) {
+        return compactRoot.rootBlockContainingKey(key, offset, length);
+      }
       int pos = Bytes.binarySearch(blockKeys, key, offset, length,
           comparator);
       // pos is between -(blockKeys.length + 1) to blockKeys.length - 1, see
@@ -610,6 +657,14 @@ public class HFileBlockIndex {
           add(key, offset, dataSize);
         }
       }
+
+      if (compactRootIndex) {
+        compactRoot = new CompactRootIndex(comparator, blockKeys, blockOffsets, blockDataSizes,
+            rootCount, offHeapRootIndex);
+        blockKeys = null;
+        blockOffsets = null;
+        blockDataSizes = null;
+      }
     }
     
     /**
@@ -658,21 +713,25 @@ public class HFileBlockIndex {
       StringBuilder sb = new StringBuilder();
       sb.append("size=" + rootCount).append("\n");
       for (int i = 0; i < rootCount; i++) {
-        sb.append("key=").append(KeyValue.keyToString(blockKeys[i]))
-            .append("\n  offset=").append(blockOffsets[i])
-            .append(", dataSize=" + blockDataSizes[i]).append("\n");
+        sb.append("key=").append(KeyValue.keyToString(getRootBlockKey(i)))
+            .append("\n  offset=").append(getRootBlockOffset(i))
+            .append(", dataSize=" + getRootBlockDataSize(i)).append("\n");
       }
       return sb.toString();
     }
 
     @Override
     public long heapSize() {
-      long heapSize = ClassSize.align(6 * ClassSize.REFERENCE +
-          2 * Bytes.SIZEOF_INT + ClassSize.OBJECT);
+      long heapSize = ClassSize.align(7 * ClassSize.REFERENCE +
+          2 * Bytes.SIZEOF_INT + 2 * Bytes.SIZEOF_BOOLEAN + ClassSize.OBJECT);
 
       // Mid-key metadata.
       heapSize += MID_KEY_METADATA_SIZE;
 
+      if (compactRoot != null) {
+        heapSize += compactRoot.heapSize();
+      }
+
       // Calculating the size of blockKeys
       if (blockKeys != null) {
         // Adding array + references overhead
@@ -345,6 +345,8 @@ public class HFilePrettyPrinter {
       } else if (Bytes.compareTo(e.getKey(), FileInfo.AVG_KEY_LEN) == 0
           || Bytes.compareTo(e.getKey(), FileInfo.AVG_VALUE_LEN) == 0) {
         System.out.println(Bytes.toInt(e.getValue()));
+      } else if (Bytes.compareTo(e.getKey(), FileInfo.COMPRESSION_DICTIONARY) == 0) {
+        System.out.println(e.getValue().length + " bytes");
       } else {
         System.out.println(Bytes.toStringBinary(e.getValue()));
       }
@@ -129,7 +129,7 @@ public class HFileReaderV2 extends AbstractHFileReader {
     // Comparator class name is stored in the trailer in version 2.
     comparator = trailer.createComparator();
     dataBlockIndexReader = new HFileBlockIndex.BlockIndexReader(comparator,
-        trailer.getNumDataIndexLevels(), this);
+        trailer.getNumDataIndexLevels(), this, conf);
     metaBlockIndexReader = new HFileBlockIndex.BlockIndexReader(
         KeyValue.RAW_COMPARATOR, 1);
 
@@ -166,6 +166,10 @@ public class HFileReaderV2 extends AbstractHFileReader {
       decodeMemstoreTS = Bytes.toLong(fileInfo.get(HFileWriterV2.MAX_MEMSTORE_TS_KEY)) > 0;
     }
 
+    // Blocks past the load-on-open section may be compressed with a
+    // dictionary kept in the file info.
+    hfileContext.setCompressionDictionary(fileInfo.get(FileInfo.COMPRESSION_DICTIONARY));
+
     // Read data block encoding algorithm name from file info.
     dataBlockEncoder = HFileDataBlockEncoderImpl.createFromFileInfo(fileInfo);
     fsBlockReaderV2.setDataBlockEncoder(dataBlockEncoder);
@@ -647,6 +651,13 @@ public class HFileReaderV2 extends AbstractHFileReader {
       return ret;
     }
 
+    @Override
+    public KeyValue getKeyOnlyKeyValue() {
+      // The key/value points into the block, so leaving the value out would
+      // only add a copy of the key
+      return getKeyValue();
+    }
+
     protected int getCellBufSize() {
       return KEY_VALUE_LEN_SIZE + currKeyLen + currValueLen;
     }
@@ -1096,6 +1107,14 @@ public class HFileReaderV2 extends AbstractHFileReader {
       return seeker.getKeyValue();
     }
 
+    @Override
+    public KeyValue getKeyOnlyKeyValue() {
+      if (block == null) {
+        return null;
+      }
+      return seeker.getKeyOnlyKeyValue();
+    }
+
     @Override
     public String getKeyString() {
       ByteBuffer keyBuffer = getKey();
@@ -122,6 +122,14 @@ public interface HFileScanner {
    * @return Instance of {@link KeyValue}.
    */
   KeyValue getKeyValue();
+  /**
+   * Gets the current key/value for a caller that drops its value. Scanners
+   * that have to copy the value to build a {@link KeyValue} return the key
+   * with an empty value and no tags instead. The others may return the whole
+   * key/value.
+   * @return Instance of {@link KeyValue}.
+   */
+  KeyValue getKeyOnlyKeyValue();
   /**
    * Convenience method to get a copy of the key as a string - interpreting the
    * bytes as UTF8. You must call {@link #seekTo(byte[])} before this method.
@@ -22,6 +22,7 @@ package org.apache.hadoop.hbase.io.hfile;
 import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -32,8 +33,12 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.HConstants;
 import org.apache.hadoop.hbase.KeyValue;
 import org.apache.hadoop.hbase.KeyValue.KVComparator;
+import org.apache.hadoop.hbase.io.compress.Compression;
+import org.apache.hadoop.hbase.io.compress.DictionaryTrainer;
+import org.apache.hadoop.hbase.io.hfile.HFile.FileInfo;
 import org.apache.hadoop.hbase.io.hfile.HFile.Writer;
 import org.apache.hadoop.hbase.io.hfile.HFileBlock.BlockWritable;
 import org.apache.hadoop.hbase.util.BloomFilterWriter;
@@ -84,6 +89,12 @@ public class HFileWriterV2 extends AbstractHFileWriter {
 
   protected long maxMemstoreTS = 0;
 
+  /**
+   * Samples the first data blocks to build the compression dictionary from,
+   * if the compression algorithm uses one. Null once the dictionary is built.
+   */
+  private DictionaryTrainer dictionaryTrainer;
+
   static class WriterFactoryV2 extends HFile.WriterFactory {
     WriterFactoryV2(Configuration conf, CacheConfig cacheConf) {
       super(conf, cacheConf);
@@ -127,6 +138,11 @@ public class HFileWriterV2 extends AbstractHFileWriter {
 
     // Meta data block index writer
     metaBlockIndexWriter = new HFileBlockIndex.BlockIndexWriter();
+
+    if (hFileContext.getCompression() == Compression.Algorithm.DICT
+        && hFileContext.getCompressionDictionary() == null) {
+      dictionaryTrainer = new DictionaryTrainer(conf);
+    }
     if (LOG.isTraceEnabled()) LOG.trace("Initialized with " + cacheConf);
   }
 
@@ -166,6 +182,24 @@ public class HFileWriterV2 extends AbstractHFileWriter {
     if (cacheConf.shouldCacheDataOnWrite()) {
       doCacheOnWrite(lastDataBlockOffset);
     }
+    if (dictionaryTrainer != null) {
+      sampleForDictionary();
+    }
+  }
+
+  /**
+   * Adds the last written data block to the compression dictionary sample.
+   * Blocks written before the sample fills up are compressed without a
+   * dictionary; all the following ones use the dictionary built from it.
+   */
+  private void sampleForDictionary() {
+    ByteBuffer block = fsBlockWriter.getUncompressedBufferWithHeader();
+    int headerSize = HConstants.HFILEBLOCK_HEADER_SIZE;
+    if (dictionaryTrainer.add(block.array(), block.arrayOffset() + headerSize,
+        block.limit() - headerSize)) {
+      hFileContext.setCompressionDictionary(dictionaryTrainer.train());
+      dictionaryTrainer = null;
+    }
   }
 
   /** Gives inline block writers an opportunity to contribute blocks. */
@@ -359,6 +393,11 @@ public class HFileWriterV2 extends AbstractHFileWriter {
 
     // Load-on-open section.
 
+    // The reader only learns about the compression dictionary from the file
+    // info, so nothing it reads before that may be compressed with it.
+    byte[] compressionDictionary = hFileContext.getCompressionDictionary();
+    hFileContext.setCompressionDictionary(null);
+
     // Data block index.
     //
     // In version 2, this section of the file starts with the root level data
@@ -379,6 +418,9 @@ public class HFileWriterV2 extends AbstractHFileWriter {
       appendFileInfo(MAX_MEMSTORE_TS_KEY, Bytes.toBytes(maxMemstoreTS));
       appendFileInfo(KEY_VALUE_VERSION, Bytes.toBytes(KEY_VALUE_VER_WITH_MEMSTORE));
     }
+    if (compressionDictionary != null) {
+      fileInfo.append(FileInfo.COMPRESSION_DICTIONARY, compressionDictionary, false);
+    }
 
     // File info
     writeFileInfo(trailer, fsBlockWriter.startWriting(BlockType.FILE_INFO));
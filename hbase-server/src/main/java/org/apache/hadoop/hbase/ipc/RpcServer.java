@@ -157,7 +157,7 @@ public class RpcServer implements RpcServerInterface {
   /**
    * How many calls/handler are allowed in the queue.
    */
-  static final int DEFAULT_MAX_CALLQUEUE_LENGTH_PER_HANDLER = 10;
+  public static final int DEFAULT_MAX_CALLQUEUE_LENGTH_PER_HANDLER = 10;
 
   /**
    * The maximum size that we can hold in the RPC queue
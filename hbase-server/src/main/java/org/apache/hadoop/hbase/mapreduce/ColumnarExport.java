@@ -0,0 +1,118 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hbase.mapreduce;
+
+import java.io.IOException;
+
+import org.apache.hadoop.classification.InterfaceAudience;
+import org.apache.hadoop.classification.InterfaceStability;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.HBaseConfiguration;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.util.GenericOptionsParser;
+
+/**
+ * Converts the HFiles of a snapshot into {@link ColumnarFile}s, for analytic
+ * jobs which read them back with {@link ColumnarInputFormat}.
+ * <p>
+ * The snapshot is read through {@link TableSnapshotInputFormat}, so the
+ * conversion does not touch the cluster and runs one map task per region.
+ * Each task streams the rows of its region into one file of the output
+ * directory, keeping the newest version of each cell.
+ */
+@InterfaceAudience.Public
+@InterfaceStability.Evolving
+public class ColumnarExport {
+  final static String NAME = "columnarexport";
+
+  /**
+   * Sets up the actual job.
+   *
+   * @param conf  The current configuration.
+   * @param args  The command line parameters.
+   * @return The newly created job.
+   * @throws IOException When setting up the job fails.
+   */
+  public static Job createSubmittableJob(Configuration conf, String[] args)
+  throws IOException {
+    String snapshotName = args[0];
+    Path restoreDir = new Path(args[1]);
+    Path outputDir = new Path(args[2]);
+    Job job = new Job(conf, NAME + "_" + snapshotName);
+    job.setJarByClass(ColumnarExport.class);
+
+    Scan scan = new Scan();
+    scan.setCacheBlocks(false);
+    if (conf.get(TableInputFormat.SCAN_COLUMN_FAMILY) != null) {
+      scan.addFamily(Bytes.toBytes(conf.get(TableInputFormat.SCAN_COLUMN_FAMILY)));
+    }
+    TableMapReduceUtil.initTableSnapshotMapperJob(snapshotName, scan,
+        IdentityTableMapper.class, ImmutableBytesWritable.class, Result.class, job, true,
+        restoreDir);
+    // No reducers. Each region is written straight to its own file.
+    job.setNumReduceTasks(0);
+    job.setOutputFormatClass(ColumnarOutputFormat.class);
+    job.setOutputKeyClass(ImmutableBytesWritable.class);
+    job.setOutputValueClass(Result.class);
+    FileOutputFormat.setOutputPath(job, outputDir);
+    return job;
+  }
+
+  /*
+   * @param errorMsg Error message.  Can be null.
+   */
+  private static void usage(final String errorMsg) {
+    if (errorMsg != null && errorMsg.length() > 0) {
+      System.err.println("ERROR: " + errorMsg);
+    }
+    System.err.println("Usage: ColumnarExport [-D <property=value>]* <snapshotname> "
+        + "<restoredir> <outputdir>\n");
+    System.err.println("  <restoredir> is a temporary directory the snapshot references are");
+    System.err.println("  restored into. It must not be under the hbase root directory.");
+    System.err.println("  The following properties can be specified:");
+    System.err.println("   -D " + TableInputFormat.SCAN_COLUMN_FAMILY + "=<familyName>");
+    System.err.println("   -D " + ColumnarFile.COMPRESSION_KEY + "=<compression, default "
+        + ColumnarFile.DEFAULT_COMPRESSION + ">");
+    System.err.println("   -D " + ColumnarFile.ROW_GROUP_SIZE_KEY + "=<bytes, default "
+        + ColumnarFile.DEFAULT_ROW_GROUP_SIZE + ">");
+  }
+
+  /**
+   * Main entry point.
+   *
+   * @param args  The command line parameters.
+   * @throws Exception When running the job fails.
+   */
+  public static void main(String[] args) throws Exception {
+    Configuration conf = HBaseConfiguration.create();
+    String[] otherArgs = new GenericOptionsParser(conf, args).getRemainingArgs();
+    if (otherArgs.length < 3) {
+      usage("Wrong number of arguments: " + otherArgs.length);
+      System.exit(-1);
+    }
+    Job job = createSubmittableJob(conf, otherArgs);
+    System.exit(job.waitForCompletion(true) ? 0 : 1);
+  }
+}
@@ -0,0 +1,665 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hbase.mapreduce;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+
+import org.apache.hadoop.classification.InterfaceAudience;
+import org.apache.hadoop.classification.InterfaceStability;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.io.compress.Compression;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.apache.hadoop.io.WritableUtils;
+import org.apache.hadoop.io.compress.Compressor;
+
+/**
+ * A column-oriented file holding the newest version of every cell of a range
+ * of rows, for analytic scans which only need a handful of columns.
+ * <p>
+ * Rows are written in order and grouped into row groups of about
+ * {@link #ROW_GROUP_SIZE_KEY} uncompressed bytes. Within a row group the row
+ * keys and each column are stored as separately compressed chunks, so a
+ * reader only reads and decompresses the chunks of the columns it asks for.
+ * Every column chunk carries statistics which let readers skip it.
+ * <p>
+ * File layout:
+ * <pre>
+ * for each row group:
+ *   row keys chunk: (vint row length, row)*
+ *   for each column: (vint row delta, vlong timestamp, vint value length, value)*
+ * footer:  name of the compression algorithm of the chunks, row group count,
+ *          then for each row group its row count, first and last rows, and
+ *          the location, sizes and statistics of its chunks
+ * trailer: long footer offset, magic
+ * </pre>
+ * @see ColumnarExport
+ * @see ColumnarInputFormat
+ */
+@InterfaceAudience.Public
+@InterfaceStability.Evolving
+public final class ColumnarFile {
+
+  /** Extension of the files written by {@link ColumnarOutputFormat} */
+  public static final String EXTENSION = ".hcol";
+
+  /**
+   * The uncompressed size of the cells buffered before a row group is written
+   * out. A row group is the unit of parallelism of {@link ColumnarInputFormat}.
+   */
+  public static final String ROW_GROUP_SIZE_KEY = "hbase.columnar.rowgroup.size";
+  public static final int DEFAULT_ROW_GROUP_SIZE = 16 * 1024 * 1024;
+
+  /**
+   * The compression algorithm of the chunks written, by name. Readers use the
+   * algorithm recorded in the footer of the file.
+   */
+  public static final String COMPRESSION_KEY = "hbase.columnar.compression";
+  public static final String DEFAULT_COMPRESSION = Compression.Algorithm.GZ.getName();
+
+  /** Column statistics keep at most that many leading bytes of a value */
+  static final int MAX_STATS_VALUE_LENGTH = 64;
+
+  static final byte[] MAGIC = Bytes.toBytes("HCOLUMN1");
+  static final int TRAILER_SIZE = Bytes.SIZEOF_LONG + MAGIC.length;
+
+  private ColumnarFile() {
+  }
+
+  /**
+   * @return a key identifying a column, which family names can not make
+   *         ambiguous
+   */
+  private static byte[] columnKey(byte[] family, byte[] qualifier) {
+    return Bytes.add(new byte[] { (byte) family.length }, family, qualifier);
+  }
+
+  /**
+   * Location and size of a compressed chunk of a row group.
+   */
+  static class Chunk {
+    long offset;
+    int length;
+    int uncompressedLength;
+
+    void write(DataOutput out) throws IOException {
+      out.writeLong(offset);
+      out.writeInt(length);
+      out.writeInt(uncompressedLength);
+    }
+
+    void readFields(DataInput in) throws IOException {
+      offset = in.readLong();
+      length = in.readInt();
+      uncompressedLength = in.readInt();
+    }
+  }
+
+  /**
+   * Statistics of the values of one column in one row group.
+   */
+  public static class ColumnStats {
+    private long count;
+    private long valueBytes;
+    private long minTimestamp = Long.MAX_VALUE;
+    private long maxTimestamp = Long.MIN_VALUE;
+    private byte[] minValue;
+    private byte[] maxValue;
+
+    void add(long timestamp, byte[] value, int offset, int length) {
+      count++;
+      valueBytes += length;
+      minTimestamp = Math.min(minTimestamp, timestamp);
+      maxTimestamp = Math.max(maxTimestamp, timestamp);
+      int statsLength = Math.min(length, MAX_STATS_VALUE_LENGTH);
+      if (minValue == null
+          || Bytes.compareTo(value, offset, statsLength, minValue, 0, minValue.length) < 0) {
+        minValue = Bytes.copy(value, offset, statsLength);
+      }
+      if (maxValue == null
+          || Bytes.compareTo(value, offset, statsLength, maxValue, 0, maxValue.length) > 0) {
+        maxValue = Bytes.copy(value, offset, statsLength);
+      }
+    }
+
+    /** @return the number of rows having a value in the column */
+    public long getCount() {
+      return count;
+    }
+
+    /** @return the total size of the values, uncompressed */
+    public long getValueBytes() {
+      return valueBytes;
+    }
+
+    public long getMinTimestamp() {
+      return minTimestamp;
+    }
+
+    public long getMaxTimestamp() {
+      return maxTimestamp;
+    }
+
+    /**
+     * @return the smallest value, or its first {@value #MAX_STATS_VALUE_LENGTH}
+     *         bytes if it is longer
+     */
+    public byte[] getMinValue() {
+      return minValue;
+    }
+
+    /**
+     * @return the greatest value, or its first {@value #MAX_STATS_VALUE_LENGTH}
+     *         bytes if it is longer
+     */
+    public byte[] getMaxValue() {
+      return maxValue;
+    }
+
+    void write(DataOutput out) throws IOException {
+      WritableUtils.writeVLong(out, count);
+      WritableUtils.writeVLong(out, valueBytes);
+      out.writeLong(minTimestamp);
+      out.writeLong(maxTimestamp);
+      Bytes.writeByteArray(out, minValue);
+      Bytes.writeByteArray(out, maxValue);
+    }
+
+    void readFields(DataInput in) throws IOException {
+      count = WritableUtils.readVLong(in);
+      valueBytes = WritableUtils.readVLong(in);
+      minTimestamp = in.readLong();
+      maxTimestamp = in.readLong();
+      minValue = Bytes.readByteArray(in);
+      maxValue = Bytes.readByteArray(in);
+    }
+  }
+
+  /**
+   * The chunk and statistics of one column in one row group.
+   */
+  public static class ColumnChunk {
+    private byte[] family;
+    private byte[] qualifier;
+    private final Chunk chunk = new Chunk();
+    private final ColumnStats stats = new ColumnStats();
+
+    public byte[] getFamily() {
+      return family;
+    }
+
+    public byte[] getQualifier() {
+      return qualifier;
+    }
+
+    public ColumnStats getStats() {
+      return stats;
+    }
+
+    /** @return the compressed size of the column in the row group */
+    public int getLength() {
+      return chunk.length;
+    }
+
+    void write(DataOutput out) throws IOException {
+      Bytes.writeByteArray(out, family);
+      Bytes.writeByteArray(out, qualifier);
+      chunk.write(out);
+      stats.write(out);
+    }
+
+    void readFields(DataInput in) throws IOException {
+      family = Bytes.readByteArray(in);
+      qualifier = Bytes.readByteArray(in);
+      chunk.readFields(in);
+      stats.readFields(in);
+    }
+  }
+
+  /**
+   * The metadata of a row group, as found in the footer.
+   */
+  public static class RowGroup {
+    private int numRows;
+    private byte[] firstRow;
+    private byte[] lastRow;
+    private final Chunk rows = new Chunk();
+    private final Map<byte[], ColumnChunk> columns =
+        new TreeMap<byte[], ColumnChunk>(Bytes.BYTES_COMPARATOR);
+
+    public int getNumRows() {
+      return numRows;
+    }
+
+    public byte[] getFirstRow() {
+      return firstRow;
+    }
+
+    public byte[] getLastRow() {
+      return lastRow;
+    }
+
+    /** @return the offset of the row group in the file */
+    public long getOffset() {
+      return rows.offset;
+    }
+
+    /** @return the size of the row group in the file */
+    public long getLength() {
+      long length = rows.length;
+      for (ColumnChunk column : columns.values()) {
+        length += column.chunk.length;
+      }
+      return length;
+    }
+
+    /** @return the columns having at least one value in the row group */
+    public List<ColumnChunk> getColumns() {
+      return new ArrayList<ColumnChunk>(columns.values());
+    }
+
+    /** @return the column, or null if it has no value in the row group */
+    public ColumnChunk getColumn(byte[] family, byte[] qualifier) {
+      return columns.get(columnKey(family, qualifier));
+    }
+
+    /**
+     * @return whether some rows of the row group are in the row range of the
+     *         given scan
+     */
+    public boolean overlaps(Scan scan) {
+      byte[] stopRow = scan.getStopRow();
+      return Bytes.compareTo(scan.getStartRow(), lastRow) <= 0
+          && (Bytes.equals(stopRow, HConstants.EMPTY_END_ROW)
+              || Bytes.compareTo(firstRow, stopRow) < 0);
+    }
+
+    void write(DataOutput out) throws IOException {
+      out.writeInt(numRows);
+      Bytes.writeByteArray(out, firstRow);
+      Bytes.writeByteArray(out, lastRow);
+      rows.write(out);
+      out.writeInt(columns.size());
+      for (ColumnChunk column : columns.values()) {
+        column.write(out);
+      }
+    }
+
+    void readFields(DataInput in) throws IOException {
+      numRows = in.readInt();
+      firstRow = Bytes.readByteArray(in);
+      lastRow = Bytes.readByteArray(in);
+      rows.readFields(in);
+      int numColumns = in.readInt();
+      for (int i = 0; i < numColumns; ++i) {
+        ColumnChunk column = new ColumnChunk();
+        column.readFields(in);
+        columns.put(columnKey(column.family, column.qualifier), column);
+      }
+    }
+  }
+
+  /**
+   * Writes rows in a single streaming pass. Rows must be appended in order.
+   */
+  public static class Writer implements Closeable {
+    private final FSDataOutputStream out;
+    private final Compression.Algorithm compressAlgo;
+    private final int rowGroupSize;
+    private final List<RowGroup> rowGroups = new ArrayList<RowGroup>();
+
+    // The row group being buffered
+    private RowGroup rowGroup;
+    private final DataOutputBuffer rowsBuffer = new DataOutputBuffer();
+    private final Map<byte[], ColumnBuffer> columnBuffers =
+        new TreeMap<byte[], ColumnBuffer>(Bytes.BYTES_COMPARATOR);
+    private long bufferedSize;
+
+    /** The cells of one column of the row group being buffered */
+    private static class ColumnBuffer {
+      final ColumnChunk column = new ColumnChunk();
+      final DataOutputBuffer buffer = new DataOutputBuffer();
+      int lastRowIndex = -1;
+    }
+
+    public Writer(FileSystem fs, Path path, Configuration conf) throws IOException {
+      this.compressAlgo = Compression.getCompressionAlgorithmByName(
+          conf.get(COMPRESSION_KEY, DEFAULT_COMPRESSION));
+      this.rowGroupSize = conf.getInt(ROW_GROUP_SIZE_KEY, DEFAULT_ROW_GROUP_SIZE);
+      this.out = fs.create(path, false);
+    }
+
+    /**
+     * Appends the newest version of each cell of a row. The row must sort
+     * after the last row appended.
+     */
+    public void append(Result result) throws IOException {
+      if (result.isEmpty()) {
+        return;
+      }
+      byte[] row = result.getRow();
+      if (rowGroup == null) {
+        rowGroup = new RowGroup();
+        rowGroup.firstRow = row;
+      } else if (Bytes.compareTo(rowGroup.lastRow, row) >= 0) {
+        throw new IOException("Rows out of order: " + Bytes.toStringBinary(row)
+            + " after " + Bytes.toStringBinary(rowGroup.lastRow));
+      }
+      int rowIndex = rowGroup.numRows++;
+      rowGroup.lastRow = row;
+      WritableUtils.writeVInt(rowsBuffer, row.length);
+      rowsBuffer.write(row);
+      bufferedSize += row.length;
+
+      Cell previous = null;
+      for (Cell cell : result.rawCells()) {
+        if (previous != null && CellUtil.matchingFamily(previous, cell)
+            && CellUtil.matchingQualifier(previous, cell)) {
+          // An older version
+          continue;
+        }
+        previous = cell;
+        byte[] family = CellUtil.cloneFamily(cell);
+        byte[] qualifier = CellUtil.cloneQualifier(cell);
+        byte[] key = columnKey(family, qualifier);
+        ColumnBuffer columnBuffer = columnBuffers.get(key);
+        if (columnBuffer == null) {
+          columnBuffer = new ColumnBuffer();
+          columnBuffer.column.family = family;
+          columnBuffer.column.qualifier = qualifier;
+          columnBuffers.put(key, columnBuffer);
+        }
+        DataOutputBuffer buffer = columnBuffer.buffer;
+        int sizeBefore = buffer.getLength();
+        WritableUtils.writeVInt(buffer, rowIndex - columnBuffer.lastRowIndex);
+        WritableUtils.writeVLong(buffer, cell.getTimestamp());
+        WritableUtils.writeVInt(buffer, cell.getValueLength());
+        buffer.write(cell.getValueArray(), cell.getValueOffset(), cell.getValueLength());
+        columnBuffer.lastRowIndex = rowIndex;
+        columnBuffer.column.stats.add(cell.getTimestamp(), cell.getValueArray(),
+            cell.getValueOffset(), cell.getValueLength());
+        bufferedSize += buffer.getLength() - sizeBefore;
+      }
+
+      if (bufferedSize >= rowGroupSize) {
+        finishRowGroup();
+      }
+    }
+
+    private void finishRowGroup() throws IOException {
+      if (rowGroup == null) {
+        return;
+      }
+      writeChunk(rowsBuffer, rowGroup.rows);
+      for (Map.Entry<byte[], ColumnBuffer> entry : columnBuffers.entrySet()) {
+        ColumnBuffer columnBuffer = entry.getValue();
+        writeChunk(columnBuffer.buffer, columnBuffer.column.chunk);
+        rowGroup.columns.put(entry.getKey(), columnBuffer.column);
+      }
+      rowGroups.add(rowGroup);
+
+      rowGroup = null;
+      rowsBuffer.reset();
+      columnBuffers.clear();
+      bufferedSize = 0;
+    }
+
+    private void writeChunk(DataOutputBuffer buffer, Chunk chunk) throws IOException {
+      chunk.offset = out.getPos();
+      chunk.uncompressedLength = buffer.getLength();
+      Compressor compressor = compressAlgo.getCompressor();
+      try {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        OutputStream os = compressAlgo.createCompressionStream(compressed, compressor, 0);
+        os.write(buffer.getData(), 0, buffer.getLength());
+        os.flush();
+        chunk.length = compressed.size();
+        compressed.writeTo(out);
+      } finally {
+        compressAlgo.returnCompressor(compressor);
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      finishRowGroup();
+      long footerOffset = out.getPos();
+      WritableUtils.writeString(out, compressAlgo.getName());
+      out.writeInt(rowGroups.size());
+      for (RowGroup group : rowGroups) {
+        group.write(out);
+      }
+      out.writeLong(footerOffset);
+      out.write(MAGIC);
+      out.close();
+    }
+  }
+
+  /**
+   * Reads the footer of a file and scans its row groups.
+   */
+  public static class Reader implements Closeable {
+    private final Path path;
+    private final FSDataInputStream in;
+    private final Compression.Algorithm compressAlgo;
+    private final List<RowGroup> rowGroups = new ArrayList<RowGroup>();
+    private long bytesRead;
+
+    public Reader(FileSystem fs, Path path, Configuration conf) throws IOException {
+      this.path = path;
+      long fileLength = fs.getFileStatus(path).getLen();
+      this.in = fs.open(path);
+      if (fileLength < TRAILER_SIZE) {
+        in.close();
+        throw new IOException("Not a columnar file, too short: " + path);
+      }
+
+      byte[] trailer = readFully(fileLength - TRAILER_SIZE, TRAILER_SIZE);
+      if (!Bytes.equals(trailer, Bytes.SIZEOF_LONG, MAGIC.length, MAGIC, 0, MAGIC.length)) {
+        in.close();
+        throw new IOException("Not a columnar file, bad magic: " + path);
+      }
+      long footerOffset = Bytes.toLong(trailer);
+      DataInputStream footer = new DataInputStream(new ByteArrayInputStream(
+          readFully(footerOffset, (int) (fileLength - TRAILER_SIZE - footerOffset))));
+      String compressionName = WritableUtils.readString(footer);
+      try {
+        this.compressAlgo = Compression.getCompressionAlgorithmByName(compressionName);
+      } catch (IllegalArgumentException e) {
+        in.close();
+        throw new IOException("Unknown compression " + compressionName + " in " + path, e);
+      }
+      int numRowGroups = footer.readInt();
+      for (int i = 0; i < numRowGroups; ++i) {
+        RowGroup rowGroup = new RowGroup();
+        rowGroup.readFields(footer);
+        rowGroups.add(rowGroup);
+      }
+    }
+
+    private byte[] readFully(long offset, int length) throws IOException {
+      byte[] buf = new byte[length];
+      in.readFully(offset, buf, 0, length);
+      bytesRead += length;
+      return buf;
+    }
+
+    private DataInputStream readChunk(Chunk chunk) throws IOException {
+      byte[] compressed = readFully(chunk.offset, chunk.length);
+      byte[] uncompressed = new byte[chunk.uncompressedLength];
+      Compression.decompress(uncompressed, 0, new ByteArrayInputStream(compressed),
+          chunk.length, chunk.uncompressedLength, compressAlgo);
+      return new DataInputStream(new ByteArrayInputStream(uncompressed));
+    }
+
+    /** @return the compression algorithm the file was written with */
+    public Compression.Algorithm getCompressionAlgorithm() {
+      return compressAlgo;
+    }
+
+    public List<RowGroup> getRowGroups() {
+      return Collections.unmodifiableList(rowGroups);
+    }
+
+    /** @return the number of bytes read from the file so far */
+    public long getBytesRead() {
+      return bytesRead;
+    }
+
+    /**
+     * Scans one row group. Only the rows of the row range of the scan, and
+     * only the families and columns it asks for, are returned. Rows without
+     * any of those columns are skipped. Filters of the scan are not applied.
+     */
+    public RowGroupScanner getScanner(RowGroup rowGroup, Scan scan) throws IOException {
+      return new RowGroupScanner(rowGroup, scan);
+    }
+
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+
+    @Override
+    public String toString() {
+      return path.toString();
+    }
+
+    /**
+     * Iterates over the rows of a row group, reading only the chunks of the
+     * requested columns.
+     */
+    public class RowGroupScanner {
+      private final RowGroup rowGroup;
+      private final Scan scan;
+      private final DataInputStream rows;
+      private final List<ColumnCursor> cursors = new ArrayList<ColumnCursor>();
+      private int rowIndex = 0;
+
+      private class ColumnCursor {
+        final ColumnChunk column;
+        final DataInputStream values;
+        long remaining;
+        int nextRowIndex = -1;
+
+        ColumnCursor(ColumnChunk column) throws IOException {
+          this.column = column;
+          this.values = readChunk(column.chunk);
+          this.remaining = column.stats.count;
+          advance();
+        }
+
+        void advance() throws IOException {
+          if (remaining-- > 0) {
+            nextRowIndex += WritableUtils.readVInt(values);
+          } else {
+            nextRowIndex = Integer.MAX_VALUE;
+          }
+        }
+
+        KeyValue read(byte[] row) throws IOException {
+          long timestamp = WritableUtils.readVLong(values);
+          byte[] value = new byte[WritableUtils.readVInt(values)];
+          values.readFully(value);
+          advance();
+          return new KeyValue(row, column.family, column.qualifier, timestamp, value);
+        }
+
+        void skip() throws IOException {
+          WritableUtils.readVLong(values);
+          values.skipBytes(WritableUtils.readVInt(values));
+          advance();
+        }
+      }
+
+      RowGroupScanner(RowGroup rowGroup, Scan scan) throws IOException {
+        this.rowGroup = rowGroup;
+        this.scan = scan;
+        this.rows = readChunk(rowGroup.rows);
+        Map<byte[], NavigableSet<byte[]>> familyMap = scan.getFamilyMap();
+        for (ColumnChunk column : rowGroup.columns.values()) {
+          if (!familyMap.isEmpty()) {
+            if (!familyMap.containsKey(column.family)) {
+              continue;
+            }
+            NavigableSet<byte[]> qualifiers = familyMap.get(column.family);
+            if (qualifiers != null && !qualifiers.contains(column.qualifier)) {
+              continue;
+            }
+          }
+          cursors.add(new ColumnCursor(column));
+        }
+      }
+
+      /**
+       * @return the next row, or null at the end of the row group
+       */
+      public Result next() throws IOException {
+        byte[] stopRow = scan.getStopRow();
+        while (rowIndex < rowGroup.numRows) {
+          byte[] row = new byte[WritableUtils.readVInt(rows)];
+          rows.readFully(row);
+          boolean inRange = Bytes.compareTo(row, scan.getStartRow()) >= 0
+              && (Bytes.equals(stopRow, HConstants.EMPTY_END_ROW)
+                  || Bytes.compareTo(row, stopRow) < 0);
+
+          List<Cell> cells = new ArrayList<Cell>();
+          for (ColumnCursor cursor : cursors) {
+            if (cursor.nextRowIndex == rowIndex) {
+              if (inRange) {
+                cells.add(cursor.read(row));
+              } else {
+                cursor.skip();
+              }
+            }
+          }
+          rowIndex++;
+          if (!cells.isEmpty()) {
+            Collections.sort(cells, KeyValue.COMPARATOR);
+            return Result.create(cells);
+          }
+        }
+        return null;
+      }
+    }
+  }
+}
@@ -0,0 +1,176 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hbase.mapreduce;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hadoop.classification.InterfaceAudience;
+import org.apache.hadoop.classification.InterfaceStability;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.BlockLocation;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.HDFSBlocksDistribution;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.JobContext;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+
+/**
+ * Reads the {@link ColumnarFile}s written by {@link ColumnarExport}, one
+ * split per row group. The rows are the ones of a {@link Scan}: row groups
+ * outside its row range are not read, and only the chunks of the families
+ * and columns it asks for are read from the row groups. Filters are not
+ * supported.
+ * <pre>
+ * Job job = new Job(conf);
+ * Scan scan = new Scan();
+ * scan.addColumn(family, qualifier);
+ * ColumnarInputFormat.setInput(job, exportDir, scan);
+ * </pre>
+ */
+@InterfaceAudience.Public
+@InterfaceStability.Evolving
+public class ColumnarInputFormat extends FileInputFormat<ImmutableBytesWritable, Result> {
+
+  /** The serialized scan */
+  public static final String SCAN = "hbase.mapreduce.columnar.scan";
+
+  /**
+   * Configures the job to read the files in the given directory.
+   * @param scan the rows and columns to read
+   */
+  public static void setInput(Job job, Path inputDir, Scan scan) throws IOException {
+    job.setInputFormatClass(ColumnarInputFormat.class);
+    FileInputFormat.setInputPaths(job, inputDir);
+    job.getConfiguration().set(SCAN, TableMapReduceUtil.convertScanToString(scan));
+  }
+
+  static Scan getScan(Configuration conf) throws IOException {
+    String scan = conf.get(SCAN);
+    return scan == null ? new Scan() : TableMapReduceUtil.convertStringToScan(scan);
+  }
+
+  @Override
+  public List<InputSplit> getSplits(JobContext job) throws IOException {
+    Configuration conf = job.getConfiguration();
+    Scan scan = getScan(conf);
+    List<InputSplit> splits = new ArrayList<InputSplit>();
+    for (FileStatus file : listStatus(job)) {
+      Path path = file.getPath();
+      FileSystem fs = path.getFileSystem(conf);
+      ColumnarFile.Reader reader = new ColumnarFile.Reader(fs, path, conf);
+      try {
+        for (ColumnarFile.RowGroup rowGroup : reader.getRowGroups()) {
+          if (!rowGroup.overlaps(scan)) {
+            continue;
+          }
+          HDFSBlocksDistribution distribution = new HDFSBlocksDistribution();
+          for (BlockLocation location : fs.getFileBlockLocations(file,
+              rowGroup.getOffset(), rowGroup.getLength())) {
+            distribution.addHostsAndBlockWeight(location.getHosts(), location.getLength());
+          }
+          List<String> hosts = distribution.getTopHosts();
+          splits.add(new FileSplit(path, rowGroup.getOffset(), rowGroup.getLength(),
+              hosts.toArray(new String[hosts.size()])));
+        }
+      } finally {
+        reader.close();
+      }
+    }
+    return splits;
+  }
+
+  @Override
+  public RecordReader<ImmutableBytesWritable, Result> createRecordReader(InputSplit split,
+      TaskAttemptContext context) {
+    return new ColumnarRecordReader();
+  }
+
+  /**
+   * Reads the row group starting at the offset of a split.
+   */
+  static class ColumnarRecordReader extends RecordReader<ImmutableBytesWritable, Result> {
+    private ColumnarFile.Reader reader;
+    private ColumnarFile.Reader.RowGroupScanner scanner;
+    private int numRows;
+    private int rowsRead;
+    private ImmutableBytesWritable key = new ImmutableBytesWritable();
+    private Result value;
+
+    @Override
+    public void initialize(InputSplit split, TaskAttemptContext context) throws IOException {
+      FileSplit fileSplit = (FileSplit) split;
+      Configuration conf = context.getConfiguration();
+      Path path = fileSplit.getPath();
+      reader = new ColumnarFile.Reader(path.getFileSystem(conf), path, conf);
+      for (ColumnarFile.RowGroup rowGroup : reader.getRowGroups()) {
+        if (rowGroup.getOffset() == fileSplit.getStart()) {
+          numRows = rowGroup.getNumRows();
+          scanner = reader.getScanner(rowGroup, getScan(conf));
+          return;
+        }
+      }
+      throw new IOException("No row group at offset " + fileSplit.getStart() + " of " + path);
+    }
+
+    @Override
+    public boolean nextKeyValue() throws IOException {
+      value = scanner.next();
+      if (value == null) {
+        rowsRead = numRows;
+        return false;
+      }
+      rowsRead++;
+      key.set(value.getRow());
+      return true;
+    }
+
+    @Override
+    public ImmutableBytesWritable getCurrentKey() {
+      return key;
+    }
+
+    @Override
+    public Result getCurrentValue() {
+      return value;
+    }
+
+    @Override
+    public float getProgress() {
+      return numRows == 0 ? 1.0f : Math.min(1.0f, (float) rowsRead / numRows);
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (reader != null) {
+        reader.close();
+      }
+    }
+  }
+}
@@ -42,6 +42,8 @@ public class Driver {
       "Count cells in HBase table");
     pgd.addClass(Export.NAME, Export.class, "Write table data to HDFS.");
     pgd.addClass(Import.NAME, Import.class, "Import data written by Export.");
+    pgd.addClass(ColumnarExport.NAME, ColumnarExport.class,
+        "Convert a snapshot into column-oriented files.");
     pgd.addClass(ImportTsv.NAME, ImportTsv.class, "Import data in TSV format.");
     pgd.addClass(LoadIncrementalHFiles.NAME, LoadIncrementalHFiles.class,
                  "Complete a bulk data load.");
@@ -80,6 +80,8 @@ public class HFileOutputFormat extends FileOutputFormat<ImmutableBytesWritable,
   static Log LOG = LogFactory.getLog(HFileOutputFormat.class);
   static final String COMPRESSION_CONF_KEY = "hbase.hfileoutputformat.families.compression";
   private static final String BLOOM_TYPE_CONF_KEY = "hbase.hfileoutputformat.families.bloomtype";
+  private static final String BLOOM_PREFIX_LENGTH_CONF_KEY =
+      "hbase.hfileoutputformat.families.bloomprefixlength";
   private static final String DATABLOCK_ENCODING_CONF_KEY =
      "hbase.mapreduce.hfileoutputformat.datablock.encoding";
   private static final String BLOCK_SIZE_CONF_KEY = "hbase.mapreduce.hfileoutputformat.blocksize";
@@ -103,6 +105,7 @@ public class HFileOutputFormat extends FileOutputFormat<ImmutableBytesWritable,
     // create a map from column family to the compression algorithm
     final Map<byte[], String> compressionMap = createFamilyCompressionMap(conf);
     final Map<byte[], String> bloomTypeMap = createFamilyBloomMap(conf);
+    final Map<byte[], String> bloomPrefixLengthMap = createFamilyBloomPrefixLengthMap(conf);
     final Map<byte[], String> blockSizeMap = createFamilyBlockSizeMap(conf);
 
     final String dataBlockEncodingStr = conf.get(DATABLOCK_ENCODING_CONF_KEY);
@@ -187,6 +190,9 @@ public class HFileOutputFormat extends FileOutputFormat<ImmutableBytesWritable,
         if (bloomTypeStr != null) {
           bloomType = BloomType.valueOf(bloomTypeStr);
         }
+        String bloomPrefixLengthStr = bloomPrefixLengthMap.get(family);
+        int bloomPrefixLength = bloomPrefixLengthStr == null ? 0
+            : Integer.parseInt(bloomPrefixLengthStr);
         String blockSizeString = blockSizeMap.get(family);
         int blockSize = blockSizeString == null ? HConstants.DEFAULT_BLOCKSIZE
             : Integer.parseInt(blockSizeString);
@@ -203,7 +209,8 @@ public class HFileOutputFormat extends FileOutputFormat<ImmutableBytesWritable,
         HFileContext hFileContext = contextBuilder.build();
                                     
         wl.writer = new StoreFile.WriterBuilder(conf, new CacheConfig(tempConf), fs)
-            .withOutputDir(familydir).withBloomType(bloomType).withComparator(KeyValue.COMPARATOR)
+            .withOutputDir(familydir).withBloomType(bloomType)
+            .withBloomPrefixLength(bloomPrefixLength).withComparator(KeyValue.COMPARATOR)
             .withFileContext(hFileContext)
             .build();
 
@@ -348,6 +355,7 @@ public class HFileOutputFormat extends FileOutputFormat<ImmutableBytesWritable,
     // Set compression algorithms based on column families
     configureCompression(table, conf);
     configureBloomType(table, conf);
+    configureBloomPrefixLength(table, conf);
     configureBlockSize(table, conf);
 
     TableMapReduceUtil.addDependencyJars(job);
@@ -396,6 +404,10 @@ public class HFileOutputFormat extends FileOutputFormat<ImmutableBytesWritable,
     return createFamilyConfValueMap(conf, BLOOM_TYPE_CONF_KEY);
   }
 
+  private static Map<byte[], String> createFamilyBloomPrefixLengthMap(Configuration conf) {
+    return createFamilyConfValueMap(conf, BLOOM_PREFIX_LENGTH_CONF_KEY);
+  }
+
   private static Map<byte[], String> createFamilyBlockSizeMap(Configuration conf) {
     return createFamilyConfValueMap(conf, BLOCK_SIZE_CONF_KEY);
   }
@@ -507,4 +519,35 @@ public class HFileOutputFormat extends FileOutputFormat<ImmutableBytesWritable,
     }
     conf.set(BLOOM_TYPE_CONF_KEY, bloomTypeConfigValue.toString());
   }
+
+  /**
+   * Serialize column family to Bloom filter row prefix length map to
+   * configuration. Only families with a prefix length set are included.
+   * Invoked while configuring the MR job for incremental load.
+   *
+   * @throws IOException
+   *           on failure to read column family descriptors
+   */
+  static void configureBloomPrefixLength(HTable table, Configuration conf) throws IOException {
+    HTableDescriptor tableDescriptor = table.getTableDescriptor();
+    if (tableDescriptor == null) {
+      // could happen with mock table instance
+      return;
+    }
+    StringBuilder prefixLengthConfigValue = new StringBuilder();
+    for (HColumnDescriptor familyDescriptor : tableDescriptor.getFamilies()) {
+      int prefixLength = familyDescriptor.getBloomFilterPrefixLength();
+      if (prefixLength <= 0) {
+        continue;
+      }
+      if (prefixLengthConfigValue.length() > 0) {
+        prefixLengthConfigValue.append('&');
+      }
+      prefixLengthConfigValue.append(URLEncoder.encode(familyDescriptor.getNameAsString(),
+          "UTF-8"));
+      prefixLengthConfigValue.append('=');
+      prefixLengthConfigValue.append(prefixLength);
+    }
+    conf.set(BLOOM_PREFIX_LENGTH_CONF_KEY, prefixLengthConfigValue.toString());
+  }
 }
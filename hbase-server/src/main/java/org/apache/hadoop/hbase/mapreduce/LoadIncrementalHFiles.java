@@ -668,6 +668,7 @@ public class LoadIncrementalHFiles extends Configured implements Tool {
           fs)
               .withFilePath(outFile)
               .withBloomType(bloomFilterType)
+              .withBloomPrefixLength(familyDescriptor.getBloomFilterPrefixLength())
               .withFileContext(hFileContext)
               .build();
       HFileScanner scanner = halfReader.getScanner(false, false, false);
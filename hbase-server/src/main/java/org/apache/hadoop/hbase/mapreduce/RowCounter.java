@@ -28,8 +28,10 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hbase.HBaseConfiguration;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.filter.FilterList;
 import org.apache.hadoop.hbase.filter.FirstKeyOnlyFilter;
 import org.apache.hadoop.hbase.filter.FirstKeyValueMatchingQualifiersFilter;
+import org.apache.hadoop.hbase.filter.KeyOnlyFilter;
 import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.hadoop.mapreduce.Job;
@@ -137,11 +139,13 @@ public class RowCounter {
     }
     // specified column may or may not be part of first key value for the row.
     // Hence do not use FirstKeyOnlyFilter if scan has columns, instead use
-    // FirstKeyValueMatchingQualifiersFilter.
+    // FirstKeyValueMatchingQualifiersFilter. The values are not counted, so
+    // the KeyOnlyFilter lets the region servers leave them out.
     if (qualifiers.size() == 0) {
-      scan.setFilter(new FirstKeyOnlyFilter());
+      scan.setFilter(new FilterList(new FirstKeyOnlyFilter(), new KeyOnlyFilter()));
     } else {
-      scan.setFilter(new FirstKeyValueMatchingQualifiersFilter(qualifiers));
+      scan.setFilter(new FilterList(new FirstKeyValueMatchingQualifiersFilter(qualifiers),
+          new KeyOnlyFilter()));
     }
     job.setOutputFormatClass(NullOutputFormat.class);
     TableMapReduceUtil.initTableMapperJob(tableName, scan,
@@ -37,6 +37,8 @@ import org.apache.hadoop.hbase.HRegionLocation;
 import org.apache.hadoop.hbase.client.HTable;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
 import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
 import org.apache.hadoop.hbase.util.Addressing;
 import org.apache.hadoop.hbase.util.Bytes;
@@ -172,6 +174,9 @@ extends InputFormat<ImmutableBytesWritable, Result> {
       if ( !includeRegionInSplit(keys.getFirst()[i], keys.getSecond()[i])) {
         continue;
       }
+      if (!intersectsRowRanges(keys.getFirst()[i], keys.getSecond()[i])) {
+        continue;
+      }
       HRegionLocation location = table.getRegionLocation(keys.getFirst()[i], false);
       // The below InetSocketAddress creation does a name resolution.
       InetSocketAddress isa = new InetSocketAddress(location.getHostname(), location.getPort());
@@ -212,6 +217,16 @@ extends InputFormat<ImmutableBytesWritable, Result> {
     return splits;
   }
   
+  /**
+   * @return false if the scan has a {@link MultiRowRangeFilter} and none of its
+   *         row ranges is in the region with the given keys
+   */
+  private boolean intersectsRowRanges(byte[] startKey, byte[] endKey) {
+    Filter filter = scan.getFilter();
+    return !(filter instanceof MultiRowRangeFilter)
+        || ((MultiRowRangeFilter) filter).intersects(startKey, endKey);
+  }
+
   private String reverseDNS(InetAddress ipAddress) throws NamingException {
     String hostName = this.reverseDNSCacheMap.get(ipAddress);
     if (hostName == null) {
@@ -50,6 +50,8 @@ import org.apache.hadoop.hbase.Abortable;
 import org.apache.hadoop.hbase.Chore;
 import org.apache.hadoop.hbase.ClusterId;
 import org.apache.hadoop.hbase.ClusterStatus;
+import org.apache.hadoop.hbase.CompoundConfiguration;
+import org.apache.hadoop.hbase.DoNotRetryIOException;
 import org.apache.hadoop.hbase.HBaseIOException;
 import org.apache.hadoop.hbase.HColumnDescriptor;
 import org.apache.hadoop.hbase.HConstants;
@@ -81,6 +83,7 @@ import org.apache.hadoop.hbase.exceptions.MergeRegionException;
 import org.apache.hadoop.hbase.exceptions.UnknownProtocolException;
 import org.apache.hadoop.hbase.executor.ExecutorService;
 import org.apache.hadoop.hbase.executor.ExecutorType;
+import org.apache.hadoop.hbase.io.hfile.HFile;
 import org.apache.hadoop.hbase.ipc.FifoRpcScheduler;
 import org.apache.hadoop.hbase.ipc.RequestContext;
 import org.apache.hadoop.hbase.ipc.RpcServer;
@@ -1745,6 +1748,7 @@ MasterServices, Server {
     HRegionInfo[] newRegions = getHRegionInfos(hTableDescriptor, splitKeys);
     checkInitialized();
     checkCompression(hTableDescriptor);
+    checkBlobThreshold(hTableDescriptor);
     if (cpHost != null) {
       cpHost.preCreateTable(hTableDescriptor, newRegions);
     }
@@ -1773,6 +1777,32 @@ MasterServices, Server {
     CompressionTest.testCompression(hcd.getCompactionCompression());
   }
 
+  private void checkBlobThreshold(final HTableDescriptor htd)
+  throws IOException {
+    for (HColumnDescriptor hcd : htd.getColumnFamilies()) {
+      checkBlobThreshold(htd, hcd);
+    }
+  }
+
+  /**
+   * Blob references are tags, so the stores of a family keeping blobs fail to open
+   * unless the configuration they are opened with writes HFile format version 3.
+   * @param htd the descriptor of the table of the family, null if unknown
+   */
+  private void checkBlobThreshold(final HTableDescriptor htd, final HColumnDescriptor hcd)
+  throws IOException {
+    if (hcd.getBlobThreshold() <= 0) return;
+    CompoundConfiguration storeConf = new CompoundConfiguration().add(conf);
+    if (htd != null) {
+      storeConf.addStringMap(htd.getConfiguration());
+    }
+    storeConf.addStringMap(hcd.getConfiguration()).addWritableMap(hcd.getValues());
+    if (HFile.getFormatVersion(storeConf) < 3) {
+      throw new DoNotRetryIOException("Family " + hcd.getNameAsString()
+          + " sets a blob threshold, which needs " + HFile.FORMAT_VERSION_KEY + " 3 or more");
+    }
+  }
+
   @Override
   public CreateTableResponse createTable(RpcController controller, CreateTableRequest req)
   throws ServiceException {
@@ -1867,6 +1897,7 @@ MasterServices, Server {
   public void addColumn(final TableName tableName, final HColumnDescriptor column)
       throws IOException {
     checkInitialized();
+    checkBlobThreshold(this.tableDescriptors.get(tableName), column);
     if (cpHost != null) {
       if (cpHost.preAddColumn(tableName, column)) {
         return;
@@ -1896,6 +1927,7 @@ MasterServices, Server {
       throws IOException {
     checkInitialized();
     checkCompression(descriptor);
+    checkBlobThreshold(this.tableDescriptors.get(tableName), descriptor);
     if (cpHost != null) {
       if (cpHost.preModifyColumn(tableName, descriptor)) {
         return;
@@ -2039,6 +2071,7 @@ MasterServices, Server {
       throws IOException {
     checkInitialized();
     checkCompression(descriptor);
+    checkBlobThreshold(descriptor);
     if (cpHost != null) {
       cpHost.preModifyTable(tableName, descriptor);
     }
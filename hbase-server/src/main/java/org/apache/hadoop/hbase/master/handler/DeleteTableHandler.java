@@ -105,6 +105,9 @@ public class DeleteTableHandler extends TableEventHandler {
         HFileArchiver.archiveRegion(fs, mfs.getRootDir(),
             tempTableDir, new Path(tempTableDir, hri.getEncodedName()));
       }
+      // The blob files are shared by the regions, and by the tables cloned
+      // from a snapshot of this one
+      HFileArchiver.archiveBlobs(fs, mfs.getRootDir(), tempTableDir);
 
       // 5. Delete table from FS (temp directory)
       if (!fs.delete(tempTableDir, true)) {
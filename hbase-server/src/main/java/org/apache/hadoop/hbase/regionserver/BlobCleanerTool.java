@@ -0,0 +1,197 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hbase.regionserver;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.classification.InterfaceAudience;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.HBaseConfiguration;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.io.hfile.CacheConfig;
+import org.apache.hadoop.hbase.io.hfile.HFile;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.EnvironmentEdgeManager;
+import org.apache.hadoop.hbase.util.FSUtils;
+import org.apache.hadoop.hbase.util.HFileArchiveUtil;
+import org.apache.hadoop.util.Tool;
+import org.apache.hadoop.util.ToolRunner;
+
+/**
+ * Deletes the blob files of a column family that no store file refers to any
+ * more, because the cells referring to them were deleted or expired and then
+ * compacted away. See {@link BlobStore}.
+ * <p>
+ * The references are taken from the file info of the store files of the
+ * family, in the table directories and in the archive, so that blob files
+ * still referenced from a snapshot are kept. The store files of all the tables
+ * are read, since the tables cloned from a snapshot refer to the blob files of
+ * the snapshotted table. The blob files of a deleted table, in the archive,
+ * are cleaned as well. Blob files younger than
+ * {@value #MIN_AGE_KEY} are kept as well, since the flush or compaction
+ * writing them may not have committed its store files yet.
+ */
+@InterfaceAudience.Public
+public class BlobCleanerTool extends Configured implements Tool {
+  private static final Log LOG = LogFactory.getLog(BlobCleanerTool.class);
+
+  /** Minimum age in milliseconds of the blob files to delete */
+  public static final String MIN_AGE_KEY = "hbase.blob.cleaner.min.age";
+  public static final long DEFAULT_MIN_AGE = 24 * 60 * 60 * 1000L;
+
+  /**
+   * Deletes the unreferenced blob files of the given family.
+   * @param dryRun only log the blob files which would be deleted
+   * @return the number of blob files deleted, or which would be deleted
+   */
+  public int clean(TableName tableName, String family, boolean dryRun) throws IOException {
+    Configuration conf = getConf();
+    Path rootDir = FSUtils.getRootDir(conf);
+    FileSystem fs = rootDir.getFileSystem(conf);
+    Path archiveDir = HFileArchiveUtil.getArchivePath(conf);
+
+    // List the blob files first, anything written afterwards is left alone
+    List<FileStatus> blobFiles = new ArrayList<FileStatus>();
+    for (Path dir : new Path[] { FSUtils.getTableDir(rootDir, tableName),
+        FSUtils.getTableDir(archiveDir, tableName) }) {
+      FileStatus[] files = FSUtils.listStatus(fs, BlobStore.getBlobDir(dir, family));
+      if (files != null) {
+        blobFiles.addAll(Arrays.asList(files));
+      }
+    }
+    if (blobFiles.isEmpty()) {
+      return 0;
+    }
+    long maxModificationTime = EnvironmentEdgeManager.currentTimeMillis()
+        - conf.getLong(MIN_AGE_KEY, DEFAULT_MIN_AGE);
+
+    // The archive goes last, a store file archived by a compaction meanwhile
+    // is found there
+    Set<String> referenced = new HashSet<String>();
+    CacheConfig cacheConf = new CacheConfig(conf);
+    addReferences(fs, rootDir, family, cacheConf, referenced);
+    addReferences(fs, archiveDir, family, cacheConf, referenced);
+
+    int deleted = 0;
+    for (FileStatus blobFile : blobFiles) {
+      Path path = blobFile.getPath();
+      if (referenced.contains(tableName.getNameAsString() + '/' + path.getName())
+          || blobFile.getModificationTime() > maxModificationTime) {
+        continue;
+      }
+      if (dryRun) {
+        LOG.info("Would delete unreferenced blob file " + path);
+      } else {
+        LOG.info("Deleting unreferenced blob file " + path);
+        if (!fs.delete(path, false)) {
+          LOG.warn("Failed to delete " + path);
+          continue;
+        }
+      }
+      deleted++;
+    }
+    LOG.info((dryRun ? "Found " : "Deleted ") + deleted + " of " + blobFiles.size()
+        + " blob files of " + tableName + ", family " + family);
+    return deleted;
+  }
+
+  private void addReferences(FileSystem fs, Path rootDir, String family,
+      CacheConfig cacheConf, Set<String> referenced) throws IOException {
+    if (!fs.exists(new Path(rootDir, HConstants.BASE_NAMESPACE_DIR))) {
+      return;
+    }
+    for (Path tableDir : FSUtils.getTableDirs(fs, rootDir)) {
+      addTableReferences(fs, tableDir, family, cacheConf, referenced);
+    }
+  }
+
+  private void addTableReferences(FileSystem fs, Path tableDir, String family,
+      CacheConfig cacheConf, Set<String> referenced) throws IOException {
+    for (Path regionDir : FSUtils.getRegionDirs(fs, tableDir)) {
+      FileStatus[] files = FSUtils.listStatus(fs, new Path(regionDir, family));
+      if (files == null) {
+        continue;
+      }
+      for (FileStatus file : files) {
+        // References and links point to files which are checked themselves
+        if (!StoreFileInfo.isHFile(file.getPath())) {
+          continue;
+        }
+        HFile.Reader reader;
+        try {
+          reader = HFile.createReader(fs, file.getPath(), cacheConf, getConf());
+        } catch (FileNotFoundException e) {
+          LOG.debug("Store file " + file.getPath() + " moved, looking for it in the archive");
+          continue;
+        }
+        try {
+          byte[] blobReferences = reader.loadFileInfo().get(StoreFile.BLOB_REFERENCES_KEY);
+          if (blobReferences != null) {
+            referenced.addAll(Arrays.asList(Bytes.toString(blobReferences).split(",")));
+          }
+        } finally {
+          reader.close(false);
+        }
+      }
+    }
+  }
+
+  @Override
+  public int run(String[] args) throws Exception {
+    boolean dryRun = false;
+    int i = 0;
+    if (args.length > 0 && args[0].equals("-dryrun")) {
+      dryRun = true;
+      i++;
+    }
+    if (args.length - i != 2) {
+      printUsage();
+      return 1;
+    }
+    clean(TableName.valueOf(args[i]), args[i + 1], dryRun);
+    return 0;
+  }
+
+  private void printUsage() {
+    System.err.println("Usage: java " + this.getClass().getName() + " [-dryrun] table family");
+    System.err.println();
+    System.err.println("Options:");
+    System.err.println(" dryrun         Only log the blob files which would be deleted.");
+    System.err.println();
+    System.err.println("Blob files modified within the last " + MIN_AGE_KEY
+        + " milliseconds are kept (default: " + DEFAULT_MIN_AGE + ").");
+  }
+
+  public static void main(String[] args) throws Exception {
+    System.exit(ToolRunner.run(HBaseConfiguration.create(), new BlobCleanerTool(), args));
+  }
+}
@@ -0,0 +1,328 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.classification.InterfaceAudience;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.Tag;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.TagType;
+import org.apache.hadoop.hbase.io.FileLink;
+import org.apache.hadoop.hbase.io.hfile.HFile;
+import org.apache.hadoop.hbase.regionserver.compactions.Compactor;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.FSUtils;
+import org.apache.hadoop.hbase.util.HFileArchiveUtil;
+
+/**
+ * Keeps the large values of a column family out of its store files. Values of
+ * at least {@link org.apache.hadoop.hbase.HColumnDescriptor#getBlobThreshold()}
+ * bytes are appended to a blob file when they are flushed or compacted, and the
+ * store file gets a reference cell instead: the same key, the offset and length
+ * of the value as value, and a tag naming the table and the blob file, as
+ * <code>&lt;table&gt;/&lt;file&gt;</code>. Compactions then only rewrite the
+ * references. User scans resolve the references through a cache shared by all
+ * the stores of the server.
+ * <p>
+ * The blob files of a family are shared by all the regions of the table, in
+ * <code>&lt;table dir&gt;/.blobs/&lt;family&gt;</code>, so that daughter
+ * regions keep resolving the references of their parent. Deleting the table
+ * moves them to the same place under the archive, where references are
+ * resolved as well. Since references name their table, the store files of a
+ * table cloned or restored from a snapshot resolve against the blob files of
+ * the snapshotted table. Blob files are never modified; {@link BlobCleanerTool}
+ * deletes the ones no store file refers to.
+ */
+@InterfaceAudience.Private
+public class BlobStore {
+  static final Log LOG = LogFactory.getLog(BlobStore.class);
+
+  /** Directory of the table holding the blob files, one subdirectory per family */
+  public static final String BLOB_DIR = ".blobs";
+
+  /** Size in bytes of the cache of blob values, shared by all the stores of the server */
+  public static final String BLOB_CACHE_SIZE_KEY = "hbase.blob.cache.size";
+  public static final long DEFAULT_BLOB_CACHE_SIZE = 64 * 1024 * 1024;
+
+  /** Offset and length of the value in the blob file */
+  private static final int REFERENCE_LENGTH = Bytes.SIZEOF_LONG + Bytes.SIZEOF_INT;
+
+  private static BlobCache globalBlobCache;
+
+  private final Configuration conf;
+  private final FileSystem fs;
+  private final TableName tableName;
+  private final String family;
+  private final Path blobDir;
+  private final long threshold;
+  private final BlobCache cache;
+
+  BlobStore(Configuration conf, FileSystem fs, TableName tableName, Path tableDir,
+      String family, long threshold) {
+    if (HFile.getFormatVersion(conf) < 3) {
+      throw new IllegalArgumentException("Blob storage of family " + family
+          + " needs tags, set " + HFile.FORMAT_VERSION_KEY + " to 3 or more");
+    }
+    this.conf = conf;
+    this.fs = fs;
+    this.tableName = tableName;
+    this.family = family;
+    this.blobDir = getBlobDir(tableDir, family);
+    this.threshold = threshold;
+    this.cache = getBlobCache(conf);
+  }
+
+  /**
+   * @return the directory of the blob files of the given family
+   */
+  public static Path getBlobDir(Path tableDir, String family) {
+    return new Path(new Path(tableDir, BLOB_DIR), family);
+  }
+
+  /**
+   * @return whether the given path is a file in the blob directory of a family
+   */
+  public static boolean isBlobFile(Path path) {
+    Path familyDir = path.getParent();
+    return familyDir != null && familyDir.getParent() != null
+        && familyDir.getParent().getName().equals(BLOB_DIR);
+  }
+
+  /**
+   * @param rootDir the root directory the table directories are under, either
+   * the root of HBase or the archive
+   * @param reference a blob reference, as returned by {@link #getReferencedFile(KeyValue)}
+   * @return the path of the referenced blob file of the given family
+   */
+  public static Path getBlobPath(Path rootDir, String family, String reference) {
+    int separator = reference.lastIndexOf('/');
+    TableName table = TableName.valueOf(reference.substring(0, separator));
+    return new Path(getBlobDir(FSUtils.getTableDir(rootDir, table), family),
+        reference.substring(separator + 1));
+  }
+
+  /**
+   * @return a link to the referenced blob file, in the table directory or, once
+   * the table is deleted, in the archive
+   */
+  public static FileLink getBlobLink(Path rootDir, String family, String reference) {
+    return new FileLink(getBlobPath(rootDir, family, reference),
+        getBlobPath(new Path(rootDir, HConstants.HFILE_ARCHIVE_DIRECTORY), family, reference));
+  }
+
+  private static synchronized BlobCache getBlobCache(Configuration conf) {
+    if (globalBlobCache == null) {
+      globalBlobCache = new BlobCache(conf.getLong(BLOB_CACHE_SIZE_KEY, DEFAULT_BLOB_CACHE_SIZE));
+    }
+    return globalBlobCache;
+  }
+
+  /**
+   * @return the table and the name of the blob file referenced by the given
+   * cell, as <code>&lt;table&gt;/&lt;file&gt;</code>, or null if it is not a
+   * reference
+   */
+  public static String getReferencedFile(KeyValue kv) {
+    if (kv.getTagsLength() == 0) {
+      return null;
+    }
+    Iterator<Tag> tags = CellUtil.tagsIterator(kv.getTagsArray(), kv.getTagsOffset(),
+        kv.getTagsLength());
+    while (tags.hasNext()) {
+      Tag tag = tags.next();
+      if (tag.getType() == TagType.BLOB_REFERENCE_TAG_TYPE) {
+        return Bytes.toString(tag.getBuffer(), tag.getTagOffset(), tag.getTagLength());
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns a writer which moves the large values appended to it to a new
+   * blob file and passes the other cells, and references to the moved values,
+   * to the given sink. It must be closed before the files of the sink are
+   * committed.
+   */
+  public Writer createWriter(Compactor.CellSink sink) {
+    return new Writer(sink);
+  }
+
+  /**
+   * @return the given cell if it is not a reference, otherwise a copy of the
+   * referenced cell with its value read from the blob file
+   */
+  public KeyValue resolve(KeyValue kv) throws IOException {
+    String file = getReferencedFile(kv);
+    if (file == null) {
+      return kv;
+    }
+    if (kv.getValueLength() != REFERENCE_LENGTH || file.lastIndexOf('/') <= 0) {
+      throw new IOException("Corrupt blob reference in " + kv);
+    }
+    long offset = Bytes.toLong(kv.getValueArray(), kv.getValueOffset());
+    int length = Bytes.toInt(kv.getValueArray(), kv.getValueOffset() + Bytes.SIZEOF_LONG);
+    String cacheKey = file + ':' + offset;
+    byte[] value = cache.get(cacheKey);
+    if (value == null) {
+      value = new byte[length];
+      // A stream per read, the values are large and repeated reads hit the cache
+      FSDataInputStream in = getLink(file).open(fs);
+      try {
+        in.readFully(offset, value);
+      } finally {
+        in.close();
+      }
+      cache.put(cacheKey, value);
+    }
+
+    List<Tag> tags = new ArrayList<Tag>();
+    for (Tag tag : kv.getTags()) {
+      if (tag.getType() != TagType.BLOB_REFERENCE_TAG_TYPE) {
+        tags.add(tag);
+      }
+    }
+    KeyValue resolved = new KeyValue(kv.getRowArray(), kv.getRowOffset(), kv.getRowLength(),
+        kv.getFamilyArray(), kv.getFamilyOffset(), kv.getFamilyLength(),
+        kv.getQualifierArray(), kv.getQualifierOffset(), kv.getQualifierLength(),
+        kv.getTimestamp(), KeyValue.Type.codeToType(kv.getTypeByte()),
+        value, 0, value.length, tags.isEmpty() ? null : tags);
+    resolved.setMvccVersion(kv.getMvccVersion());
+    return resolved;
+  }
+
+  private FileLink getLink(String reference) throws IOException {
+    int separator = reference.lastIndexOf('/');
+    if (!reference.substring(0, separator).equals(tableName.getNameAsString())) {
+      return getBlobLink(FSUtils.getRootDir(conf), family, reference);
+    }
+    // The table directory of the store may not be under the root dir, as in tests
+    return new FileLink(new Path(blobDir, reference.substring(separator + 1)),
+        getBlobPath(HFileArchiveUtil.getArchivePath(conf), family, reference));
+  }
+
+  /**
+   * Moves large values to a blob file, created on the first of them.
+   */
+  public class Writer implements Compactor.CellSink {
+    private final Compactor.CellSink sink;
+    private Path path;
+    private FSDataOutputStream out;
+    private List<Tag> referenceTag;
+
+    private Writer(Compactor.CellSink sink) {
+      this.sink = sink;
+    }
+
+    @Override
+    public void append(KeyValue kv) throws IOException {
+      if (kv.getTypeByte() != KeyValue.Type.Put.getCode() || kv.getValueLength() < threshold
+          || getReferencedFile(kv) != null) {
+        sink.append(kv);
+        return;
+      }
+      if (out == null) {
+        path = new Path(blobDir, UUID.randomUUID().toString().replaceAll("-", ""));
+        out = fs.create(path, false);
+        referenceTag = new ArrayList<Tag>(1);
+        referenceTag.add(new Tag(TagType.BLOB_REFERENCE_TAG_TYPE,
+            tableName.getNameAsString() + '/' + path.getName()));
+      }
+      long offset = out.getPos();
+      out.write(kv.getValueArray(), kv.getValueOffset(), kv.getValueLength());
+
+      List<Tag> tags = referenceTag;
+      if (kv.getTagsLength() > 0) {
+        tags = new ArrayList<Tag>(kv.getTags());
+        tags.addAll(referenceTag);
+      }
+      byte[] reference = Bytes.add(Bytes.toBytes(offset), Bytes.toBytes(kv.getValueLength()));
+      KeyValue ref = new KeyValue(kv.getRowArray(), kv.getRowOffset(), kv.getRowLength(),
+          kv.getFamilyArray(), kv.getFamilyOffset(), kv.getFamilyLength(),
+          kv.getQualifierArray(), kv.getQualifierOffset(), kv.getQualifierLength(),
+          kv.getTimestamp(), KeyValue.Type.Put, reference, 0, reference.length, tags);
+      ref.setMvccVersion(kv.getMvccVersion());
+      sink.append(ref);
+    }
+
+    /**
+     * @return the blob file written to, or null if no value was large enough
+     */
+    public Path getPath() {
+      return path;
+    }
+
+    /**
+     * Closes the blob file, so that the references to it can be committed.
+     */
+    public void close() throws IOException {
+      if (out != null) {
+        out.close();
+        out = null;
+        LOG.debug("Wrote blob file " + path);
+      }
+    }
+  }
+
+  /**
+   * Least recently used values read from the blob files, up to a total size.
+   */
+  static class BlobCache {
+    private final long maxSize;
+    private long size = 0;
+    private final LinkedHashMap<String, byte[]> values =
+        new LinkedHashMap<String, byte[]>(16, 0.75f, true);
+
+    BlobCache(long maxSize) {
+      this.maxSize = maxSize;
+    }
+
+    synchronized byte[] get(String key) {
+      return values.get(key);
+    }
+
+    synchronized void put(String key, byte[] value) {
+      if (value.length > maxSize) {
+        return;
+      }
+      byte[] previous = values.put(key, value);
+      size += value.length - (previous == null ? 0 : previous.length);
+      Iterator<Map.Entry<String, byte[]>> it = values.entrySet().iterator();
+      while (size > maxSize && it.hasNext()) {
+        size -= it.next().getValue().length;
+        it.remove();
+      }
+    }
+  }
+}
@@ -30,8 +30,10 @@ public interface FlushRequester {
    * Tell the listener the cache needs to be flushed.
    *
    * @param region the HRegion requesting the cache flush
+   * @param forceFlushAllStores whether all stores must be flushed, or only those
+   * selected by {@link HRegion#selectStoresToFlush()}
    */
-  void requestFlush(HRegion region);
+  void requestFlush(HRegion region, boolean forceFlushAllStores);
   /**
    * Tell the listener the cache needs to be flushed after a delay
    *
@@ -40,6 +40,8 @@ import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
@@ -102,6 +104,7 @@ import org.apache.hadoop.hbase.exceptions.RegionInRecoveryException;
 import org.apache.hadoop.hbase.exceptions.UnknownProtocolException;
 import org.apache.hadoop.hbase.filter.ByteArrayComparable;
 import org.apache.hadoop.hbase.filter.CompareFilter.CompareOp;
+import org.apache.hadoop.hbase.filter.CompiledFilter;
 import org.apache.hadoop.hbase.filter.Filter;
 import org.apache.hadoop.hbase.filter.FilterWrapper;
 import org.apache.hadoop.hbase.filter.IncompatibleFilterException;
@@ -195,6 +198,31 @@ public class HRegion implements HeapSize { // , Writable{
   public static final String LOAD_CFS_ON_DEMAND_CONFIG_KEY =
       "hbase.hregion.scan.loadColumnFamiliesOnDemand";
 
+  /**
+   * Whether filter lists of scans are replaced by a {@link CompiledFilter} when
+   * possible.
+   */
+  public static final String COMPILE_FILTERS_CONFIG_KEY =
+      "hbase.hregion.scan.compileFilters";
+
+  /**
+   * Whether concurrent increments of the same row are applied together, with
+   * one read, one WAL sync and one MVCC transaction. Increments of families
+   * keeping more than one version are never combined.
+   */
+  public static final String COMBINE_INCREMENTS_CONFIG_KEY =
+      "hbase.hregion.increment.combine";
+
+  /**
+   * Flushes that do not have to flush all stores only flush the stores whose memstore
+   * is bigger than this, plus the stores holding edits older than the periodic flush
+   * interval. If no store qualifies, all are flushed. Defaults to the region flush
+   * size divided by the number of families; set it to Long.MAX_VALUE to always flush
+   * all stores.
+   */
+  public static final String FAMILY_FLUSH_SIZE_LOWER_BOUND_KEY =
+      "hbase.hregion.percolumnfamilyflush.size.lower.bound";
+
   /**
    * This is the global default value for durability. All tables/mutations not
    * defining a durability or using USE_DEFAULT will default to this value.
@@ -218,6 +246,13 @@ public class HRegion implements HeapSize { // , Writable{
    */
   private final AtomicLong sequenceId = new AtomicLong(-1L);
 
+  /**
+   * Sequence id of the last flush of each store, by family. All edits in the memstore
+   * of a store have a higher sequence id.
+   */
+  private final ConcurrentMap<byte[], Long> storeFlushSeqIds =
+      new ConcurrentSkipListMap<byte[], Long>(Bytes.BYTES_COMPARATOR);
+
   /**
    * Operation enum is used in {@link HRegion#startRegionOperation} to provide operation context for
    * startRegionOperation to possibly invoke different checks before any region operations. Not all
@@ -261,6 +296,9 @@ public class HRegion implements HeapSize { // , Writable{
   final Counter readRequestsCount = new Counter();
   final Counter writeRequestsCount = new Counter();
 
+  // Milliseconds spent waiting for row locks held by other threads
+  final Counter rowLockWaitTime = new Counter();
+
   // Compaction counters
   final AtomicLong compactionsFinished = new AtomicLong(0L);
   final AtomicLong compactionNumFilesCompacted = new AtomicLong(0L);
@@ -274,6 +312,8 @@ public class HRegion implements HeapSize { // , Writable{
   private final KeyValue.KVComparator comparator;
   private final int rowLockWaitDuration;
   static final int DEFAULT_ROWLOCK_WAIT_DURATION = 30000;
+  // Whether row locks are granted in arrival order
+  private final boolean rowLockFair;
 
   // The internal wait duration to acquire a lock before read/update
   // from the region. It is not per row. The purpose of this wait time
@@ -310,6 +350,21 @@ public class HRegion implements HeapSize { // , Writable{
    */
   private boolean isLoadingCfsOnDemandDefault = false;
 
+  /**
+   * Whether to compile the filters of scan requests to this region.
+   */
+  private boolean isCompilingFilters = true;
+
+  /**
+   * Whether to combine concurrent increments of the same row.
+   */
+  private boolean isCombiningIncrements = true;
+
+  // Increments waiting to be applied, by row
+  private final ConcurrentHashMap<HashedBytes, ConcurrentLinkedQueue<PendingIncrement>>
+      pendingIncrements = new ConcurrentHashMap<HashedBytes,
+          ConcurrentLinkedQueue<PendingIncrement>>();
+
   private final AtomicInteger majorInProgress = new AtomicInteger(0);
   private final AtomicInteger minorInProgress = new AtomicInteger(0);
 
@@ -398,6 +453,7 @@ public class HRegion implements HeapSize { // , Writable{
   private RegionServerAccounting rsAccounting;
   private List<Pair<Long, Long>> recentFlushes = new ArrayList<Pair<Long,Long>>();
   private long flushCheckInterval;
+  private final long familyFlushSizeLowerBound;
   private long blockingMemStoreSize;
   final long threadWakeFrequency;
   // Used to guard closes
@@ -492,10 +548,14 @@ public class HRegion implements HeapSize { // , Writable{
       .addWritableMap(htd.getValues());
     this.flushCheckInterval = conf.getInt(MEMSTORE_PERIODIC_FLUSH_INTERVAL,
         DEFAULT_CACHE_FLUSH_INTERVAL);
+    this.familyFlushSizeLowerBound = conf.getLong(FAMILY_FLUSH_SIZE_LOWER_BOUND_KEY, -1);
     this.rowLockWaitDuration = conf.getInt("hbase.rowlock.wait.duration",
                     DEFAULT_ROWLOCK_WAIT_DURATION);
+    this.rowLockFair = conf.getBoolean("hbase.rowlock.fair", false);
 
     this.isLoadingCfsOnDemandDefault = conf.getBoolean(LOAD_CFS_ON_DEMAND_CONFIG_KEY, true);
+    this.isCompilingFilters = conf.getBoolean(COMPILE_FILTERS_CONFIG_KEY, true);
+    this.isCombiningIncrements = conf.getBoolean(COMBINE_INCREMENTS_CONFIG_KEY, true);
     this.htableDescriptor = htd;
     this.rsServices = rsServices;
     this.threadWakeFrequency = conf.getLong(HConstants.THREAD_WAKE_FREQUENCY, 10 * 1000);
@@ -830,6 +890,13 @@ public class HRegion implements HeapSize { // , Writable{
     return this.writeRequestsCount.get();
   }
 
+  /**
+   * @return milliseconds spent waiting for row locks of this region
+   */
+  long getRowLockWaitTime() {
+    return this.rowLockWaitTime.get();
+  }
+
   MetricsRegion getMetrics() {
     return metricsRegion;
   }
@@ -914,6 +981,31 @@ public class HRegion implements HeapSize { // , Writable{
      return this.isLoadingCfsOnDemandDefault;
    }
 
+  /**
+   * @return the memstore size as a percentage of the size that blocks the updates, at most 100
+   */
+  int getMemstoreLoad() {
+    if (this.blockingMemStoreSize <= 0) {
+      return 0;
+    }
+    return (int) Math.min(100, this.memstoreSize.get() * 100 / this.blockingMemStoreSize);
+  }
+
+  /**
+   * @return the highest store file count of the stores as a percentage of the count that
+   * blocks the flushes, at most 100
+   */
+  int getCompactionLoad() {
+    long load = 0;
+    for (Store store : this.stores.values()) {
+      long blockingFileCount = store.getBlockingFileCount();
+      if (blockingFileCount > 0) {
+        load = Math.max(load, store.getStorefilesCount() * 100L / blockingFileCount);
+      }
+    }
+    return (int) Math.min(100, load);
+  }
+
   /**
    * Close down this HRegion.  Flush the cache, shut down each HStore, don't
    * service any more calls.
@@ -1374,6 +1466,21 @@ public class HRegion implements HeapSize { // , Writable{
    * because a Snapshot was not properly persisted.
    */
   public boolean flushcache() throws IOException {
+    return flushcache(true);
+  }
+
+  /**
+   * Flush the cache, see {@link #flushcache()}.
+   *
+   * @param forceFlushAllStores whether to flush all stores, or only those selected by
+   * {@link #selectStoresToFlush()}
+   * @return true if the region needs compacting
+   *
+   * @throws IOException general io exceptions
+   * @throws DroppedSnapshotException Thrown when replay of hlog is required
+   * because a Snapshot was not properly persisted.
+   */
+  public boolean flushcache(boolean forceFlushAllStores) throws IOException {
     // fail-fast instead of waiting on the lock
     if (this.closing.get()) {
       LOG.debug("Skipping flush on " + this + " because closing");
@@ -1413,7 +1520,8 @@ public class HRegion implements HeapSize { // , Writable{
         }
       }
       try {
-        boolean result = internalFlushcache(status);
+        boolean result = forceFlushAllStores ? internalFlushcache(status) :
+            internalFlushcache(this.log, -1, selectStoresToFlush(), status);
 
         if (coprocessorHost != null) {
           status.setStatus("Running post-flush coprocessor hooks");
@@ -1458,6 +1566,41 @@ public class HRegion implements HeapSize { // , Writable{
     return false;
   }
 
+  /**
+   * Selects the stores a flush that does not have to flush all stores flushes: those
+   * whose memstore is bigger than {@link #FAMILY_FLUSH_SIZE_LOWER_BOUND_KEY}, and those
+   * holding edits older than the periodic flush interval. Small stores are left to
+   * accumulate, instead of being written out as tiny files whenever a big store fills up
+   * the region.
+   * @return the stores to flush, all of them if no store qualifies
+   */
+  Collection<Store> selectStoresToFlush() {
+    Collection<Store> stores = this.stores.values();
+    long lowerBound = this.familyFlushSizeLowerBound > 0 ? this.familyFlushSizeLowerBound :
+        this.memstoreFlushSize / Math.max(1, stores.size());
+    long oldestEditAllowed = flushCheckInterval > 0 ?
+        EnvironmentEdgeManager.currentTimeMillis() - flushCheckInterval : Long.MIN_VALUE;
+    List<Store> selected = new ArrayList<Store>(stores.size());
+    for (Store store : stores) {
+      if (store.getFlushableSize() > lowerBound || store.timeOfOldestEdit() < oldestEditAllowed) {
+        selected.add(store);
+      }
+    }
+    return selected.isEmpty() ? stores : selected;
+  }
+
+  /**
+   * @return the memstore size a flush of the stores selected by
+   * {@link #selectStoresToFlush()} frees
+   */
+  long getSelectedStoresFlushableSize() {
+    long size = 0;
+    for (Store store : selectStoresToFlush()) {
+      size += store.getFlushableSize();
+    }
+    return size;
+  }
+
   /**
    * Flush the memstore.
    *
@@ -1510,6 +1653,24 @@ public class HRegion implements HeapSize { // , Writable{
   protected boolean internalFlushcache(
       final HLog wal, final long myseqid, MonitoredTask status)
   throws IOException {
+    return internalFlushcache(wal, myseqid, this.stores.values(), status);
+  }
+
+  /**
+   * Flush some of the stores of the region. The edits of the other stores stay in the
+   * memstore, so the WAL keeps the oldest of their sequence ids as the oldest unflushed
+   * one of the region, and the region does not report the flush sequence id as flushed.
+   * @param wal Null if we're NOT to go via hlog/wal.
+   * @param myseqid The seqid to use if <code>wal</code> is null writing out
+   * flush file.
+   * @param storesToFlush the stores to flush
+   * @param status
+   * @return true if the region needs compacting
+   * @throws IOException
+   * @see #internalFlushcache(MonitoredTask)
+   */
+  protected boolean internalFlushcache(final HLog wal, final long myseqid,
+      final Collection<Store> storesToFlush, MonitoredTask status) throws IOException {
     if (this.rsServices != null && this.rsServices.isAborted()) {
       // Don't flush when server aborting, it's unsafe
       throw new IOException("Aborting flush because server is abortted...");
@@ -1520,10 +1681,13 @@ public class HRegion implements HeapSize { // , Writable{
     if (this.memstoreSize.get() <= 0) {
       return false;
     }
+    boolean flushAllStores = storesToFlush.size() == this.stores.size();
     if (LOG.isDebugEnabled()) {
       LOG.debug("Started memstore flush for " + this +
         ", current region memstore size " +
         StringUtils.humanReadableInt(this.memstoreSize.get()) +
+        (flushAllStores ? "" : ", flushing " + storesToFlush.size() + " of " +
+          this.stores.size() + " stores") +
         ((wal != null)? "": "; wal is null, using passed sequenceid=" + myseqid));
     }
 
@@ -1546,10 +1710,21 @@ public class HRegion implements HeapSize { // , Writable{
     status.setStatus("Preparing to flush by snapshotting stores");
     List<StoreFlushContext> storeFlushCtxs = new ArrayList<StoreFlushContext>(stores.size());
     long flushSeqId = -1L;
+    // Lower bound of the sequence ids of the edits left in the stores not flushed
+    long oldestUnflushedSeqId = HConstants.NO_SEQNUM;
     try {
       // Record the mvcc for all transactions in progress.
       w = mvcc.beginMemstoreInsert();
       mvcc.advanceMemstore(w);
+      if (!flushAllStores) {
+        flushsize = 0;
+        for (Store s : storesToFlush) {
+          flushsize += s.getFlushableSize();
+        }
+        if (wal != null) {
+          oldestUnflushedSeqId = getOldestUnflushedSeqId(wal, storesToFlush);
+        }
+      }
       // check if it is not closing.
       if (wal != null) {
         if (!wal.startCacheFlush(this.getRegionInfo().getEncodedNameAsBytes())) {
@@ -1563,8 +1738,9 @@ public class HRegion implements HeapSize { // , Writable{
         flushSeqId = myseqid;
       }
 
-      for (Store s : stores.values()) {
+      for (Store s : storesToFlush) {
         storeFlushCtxs.add(s.createFlushContext(flushSeqId));
+        this.storeFlushSeqIds.put(s.getFamily().getName(), flushSeqId);
       }
 
       // prepare flush (take a snapshot)
@@ -1642,15 +1818,22 @@ public class HRegion implements HeapSize { // , Writable{
 
     // If we get to here, the HStores have been written.
     if (wal != null) {
-      wal.completeCacheFlush(this.getRegionInfo().getEncodedNameAsBytes());
+      if (oldestUnflushedSeqId == HConstants.NO_SEQNUM) {
+        wal.completeCacheFlush(this.getRegionInfo().getEncodedNameAsBytes());
+      } else {
+        wal.completeCacheFlush(this.getRegionInfo().getEncodedNameAsBytes(),
+          oldestUnflushedSeqId);
+      }
     }
 
     // Record latest flush time
     this.lastFlushTime = EnvironmentEdgeManager.currentTimeMillis();
 
-    // Update the last flushed sequence id for region
+    // Update the last flushed sequence id for region. Edits of the stores that were
+    // not flushed must still be replayed from the WAL.
     if (this.rsServices != null) {
-      completeSequenceId = flushSeqId;
+      completeSequenceId = oldestUnflushedSeqId == HConstants.NO_SEQNUM ? flushSeqId :
+        Math.min(flushSeqId, oldestUnflushedSeqId - 1);
     }
 
     // C. Finally notify anyone waiting on memstore to clear:
@@ -1675,6 +1858,34 @@ public class HRegion implements HeapSize { // , Writable{
     return compactionRequested;
   }
 
+  /**
+   * Must be called under the updates write lock, before the flush is started in the WAL.
+   * @return lower bound of the sequence ids of the edits in the stores that are not
+   * flushed, or {@link HConstants#NO_SEQNUM} if they have none
+   */
+  private long getOldestUnflushedSeqId(HLog wal, Collection<Store> storesToFlush) {
+    // All unflushed edits of the region are at least as new as the oldest one the WAL
+    // knows of, and the edits of a store are newer than its last flush.
+    long regionOldest = wal.getEarliestMemstoreSeqNum(this.getRegionInfo().getEncodedNameAsBytes());
+    long oldest = HConstants.NO_SEQNUM;
+    for (Store s : this.stores.values()) {
+      if (storesToFlush.contains(s) || s.getFlushableSize() <= 0) {
+        continue;
+      }
+      Long lastFlushSeqId = this.storeFlushSeqIds.get(s.getFamily().getName());
+      long storeOldest = lastFlushSeqId == null ? regionOldest :
+          Math.max(regionOldest, lastFlushSeqId + 1);
+      if (storeOldest == HConstants.NO_SEQNUM) {
+        // Nothing of the region is in the WAL, e.g. all edits skipped it
+        continue;
+      }
+      if (oldest == HConstants.NO_SEQNUM || storeOldest < oldest) {
+        oldest = storeOldest;
+      }
+    }
+    return oldest;
+  }
+
   //////////////////////////////////////////////////////////////////////////////
   // get() methods for client use.
   //////////////////////////////////////////////////////////////////////////////
@@ -2040,6 +2251,23 @@ public class HRegion implements HeapSize { // , Writable{
     return batchMutate(mutations, HConstants.NO_NONCE, HConstants.NO_NONCE);
   }
 
+  /**
+   * Perform a batch of mutations without syncing the WAL. The mutations are written
+   * to the memstore and appended to the WAL, but they only become visible once the
+   * caller has synced the passed group, see {@link WALGroupCommit#sync()}. The returned
+   * status of successful mutations is only final after the sync succeeded.
+   * @param mutations the list of mutations
+   * @param groupCommit the group the WAL sync is left to
+   * @return an array of OperationStatus which internally contains the
+   *         OperationStatusCode and the exceptionMessage if any.
+   * @throws IOException
+   */
+  public OperationStatus[] batchMutate(Mutation[] mutations, WALGroupCommit groupCommit)
+      throws IOException {
+    return batchMutate(new MutationBatch(mutations, HConstants.NO_NONCE, HConstants.NO_NONCE),
+        groupCommit);
+  }
+
   /**
    * Replay a batch of mutations.
    * @param mutations mutations to replay.
@@ -2061,11 +2289,21 @@ public class HRegion implements HeapSize { // , Writable{
    * @throws IOException
    */
   OperationStatus[] batchMutate(BatchOperationInProgress<?> batchOp) throws IOException {
+    return batchMutate(batchOp, null);
+  }
+
+  private OperationStatus[] batchMutate(BatchOperationInProgress<?> batchOp,
+      WALGroupCommit groupCommit) throws IOException {
     boolean initialized = false;
     while (!batchOp.isDone()) {
       if (!batchOp.isInReplay()) {
         checkReadOnly();
       }
+      if (groupCommit != null && !groupCommit.isEmpty() && !getRegionInfo().isMetaRegion()
+          && this.memstoreSize.get() > this.blockingMemStoreSize) {
+        // The flush requested below waits for the pending mvcc transactions of the group
+        groupCommit.sync();
+      }
       checkResources();
 
       long newSize;
@@ -2083,7 +2321,7 @@ public class HRegion implements HeapSize { // , Writable{
           }
           initialized = true;
         }
-        long addedSize = doMiniBatchMutation(batchOp);
+        long addedSize = doMiniBatchMutation(batchOp, groupCommit);
         newSize = this.addAndGetGlobalMemstoreSize(addedSize);
       } finally {
         closeRegionOperation();
@@ -2131,7 +2369,8 @@ public class HRegion implements HeapSize { // , Writable{
   }
 
   @SuppressWarnings("unchecked")
-  private long doMiniBatchMutation(BatchOperationInProgress<?> batchOp) throws IOException {
+  private long doMiniBatchMutation(BatchOperationInProgress<?> batchOp,
+      WALGroupCommit groupCommit) throws IOException {
     boolean isInReplay = batchOp.isInReplay();
     // variable to note if all Put items are for the same CF -- metrics related
     boolean putsCfSetConsistent = true;
@@ -2211,7 +2450,17 @@ public class HRegion implements HeapSize { // , Writable{
         boolean shouldBlock = numReadyToWrite == 0;
         RowLock rowLock = null;
         try {
-          rowLock = getRowLock(mutation.getRow(), shouldBlock);
+          if (shouldBlock && groupCommit != null && !groupCommit.isEmpty()) {
+            // Writers holding the row may wait for the pending mvcc transactions
+            // of the group, so sync them before blocking
+            rowLock = getRowLock(mutation.getRow(), false);
+            if (rowLock == null) {
+              groupCommit.sync();
+            }
+          }
+          if (rowLock == null) {
+            rowLock = getRowLock(mutation.getRow(), shouldBlock);
+          }
         } catch (IOException ioe) {
           LOG.warn("Failed getting lock in batch put, row="
             + Bytes.toStringBinary(mutation.getRow()), ioe);
@@ -2275,7 +2524,7 @@ public class HRegion implements HeapSize { // , Writable{
         }
       }
 
-      lock(this.updatesLock.readLock(), numReadyToWrite);
+      lockUpdates(numReadyToWrite, groupCommit);
       locked = true;
 
       //
@@ -2383,45 +2632,22 @@ public class HRegion implements HeapSize { // , Writable{
       // -------------------------
       // STEP 7. Sync wal.
       // -------------------------
+      if (groupCommit != null) {
+        // The owner of the group syncs the WAL and runs steps 8 and 9
+        groupCommit.add(new PendingMiniBatchMutation(batchOp, familyMaps, walEdit, firstIndex,
+            lastIndexExclusive, w, addedSize, txid, hasWalAppends && isSyncRequired(durability)));
+        w = null;
+        doRollBackMemstore = false;
+        success = true;
+        return addedSize;
+      }
       if (hasWalAppends) {
         syncOrDefer(txid, durability);
       }
       doRollBackMemstore = false;
-      // calling the post CP hook for batch mutation
-      if (!isInReplay && coprocessorHost != null) {
-        MiniBatchOperationInProgress<Mutation> miniBatchOp =
-          new MiniBatchOperationInProgress<Mutation>(batchOp.getMutationsForCoprocs(),
-          batchOp.retCodeDetails, batchOp.walEditsFromCoprocessors, firstIndex, lastIndexExclusive);
-        coprocessorHost.postBatchMutate(miniBatchOp);
-      }
-
-      // ------------------------------------------------------------------
-      // STEP 8. Advance mvcc. This will make this put visible to scanners and getters.
-      // ------------------------------------------------------------------
-      if (w != null) {
-        mvcc.completeMemstoreInsert(w);
-        w = null;
-      }
-
-      // ------------------------------------
-      // STEP 9. Run coprocessor post hooks. This should be done after the wal is
-      // synced so that the coprocessor contract is adhered to.
-      // ------------------------------------
-      if (!isInReplay && coprocessorHost != null) {
-        for (int i = firstIndex; i < lastIndexExclusive; i++) {
-          // only for successful puts
-          if (batchOp.retCodeDetails[i].getOperationStatusCode()
-              != OperationStatusCode.SUCCESS) {
-            continue;
-          }
-          Mutation m = batchOp.getMutation(i);
-          if (m instanceof Put) {
-            coprocessorHost.postPut((Put) m, walEdit, m.getDurability());
-          } else {
-            coprocessorHost.postDelete((Delete) m, walEdit, m.getDurability());
-          }
-        }
-      }
+      MultiVersionConsistencyControl.WriteEntry toComplete = w;
+      w = null;
+      completeMiniBatchMutation(batchOp, walEdit, firstIndex, lastIndexExclusive, toComplete);
 
       success = true;
       return addedSize;
@@ -2467,6 +2693,116 @@ public class HRegion implements HeapSize { // , Writable{
     }
   }
 
+  /**
+   * Makes a mini-batch visible once its WAL edit is synced, and runs the coprocessor
+   * post hooks.
+   */
+  private void completeMiniBatchMutation(BatchOperationInProgress<?> batchOp, WALEdit walEdit,
+      int firstIndex, int lastIndexExclusive, MultiVersionConsistencyControl.WriteEntry w)
+      throws IOException {
+    boolean isInReplay = batchOp.isInReplay();
+    try {
+      // calling the post CP hook for batch mutation
+      if (!isInReplay && coprocessorHost != null) {
+        MiniBatchOperationInProgress<Mutation> miniBatchOp =
+          new MiniBatchOperationInProgress<Mutation>(batchOp.getMutationsForCoprocs(),
+          batchOp.retCodeDetails, batchOp.walEditsFromCoprocessors, firstIndex, lastIndexExclusive);
+        coprocessorHost.postBatchMutate(miniBatchOp);
+      }
+    } finally {
+      // ------------------------------------------------------------------
+      // STEP 8. Advance mvcc. This will make this put visible to scanners and getters.
+      // ------------------------------------------------------------------
+      mvcc.completeMemstoreInsert(w);
+    }
+
+    // ------------------------------------
+    // STEP 9. Run coprocessor post hooks. This should be done after the wal is
+    // synced so that the coprocessor contract is adhered to.
+    // ------------------------------------
+    if (!isInReplay && coprocessorHost != null) {
+      for (int i = firstIndex; i < lastIndexExclusive; i++) {
+        // only for successful puts
+        if (batchOp.retCodeDetails[i].getOperationStatusCode()
+            != OperationStatusCode.SUCCESS) {
+          continue;
+        }
+        Mutation m = batchOp.getMutation(i);
+        if (m instanceof Put) {
+          coprocessorHost.postPut((Put) m, walEdit, m.getDurability());
+        } else {
+          coprocessorHost.postDelete((Delete) m, walEdit, m.getDurability());
+        }
+      }
+    }
+  }
+
+  /**
+   * A mini-batch of a {@link #batchMutate(Mutation[], WALGroupCommit)} call waiting
+   * for the WAL sync of its group.
+   */
+  private class PendingMiniBatchMutation implements WALGroupCommit.PendingMiniBatch {
+    private final BatchOperationInProgress<?> batchOp;
+    private final Map<byte[], List<Cell>>[] familyMaps;
+    private final WALEdit walEdit;
+    private final int firstIndex;
+    private final int lastIndexExclusive;
+    private final MultiVersionConsistencyControl.WriteEntry writeEntry;
+    private final long addedSize;
+    private final long txid;
+    private final boolean syncRequired;
+
+    PendingMiniBatchMutation(BatchOperationInProgress<?> batchOp,
+        Map<byte[], List<Cell>>[] familyMaps, WALEdit walEdit, int firstIndex,
+        int lastIndexExclusive, MultiVersionConsistencyControl.WriteEntry writeEntry,
+        long addedSize, long txid, boolean syncRequired) {
+      this.batchOp = batchOp;
+      this.familyMaps = familyMaps;
+      this.walEdit = walEdit;
+      this.firstIndex = firstIndex;
+      this.lastIndexExclusive = lastIndexExclusive;
+      this.writeEntry = writeEntry;
+      this.addedSize = addedSize;
+      this.txid = txid;
+      this.syncRequired = syncRequired;
+    }
+
+    @Override
+    public HLog getWAL() {
+      return log;
+    }
+
+    @Override
+    public long getTxid() {
+      return txid;
+    }
+
+    @Override
+    public boolean isSyncRequired() {
+      return syncRequired;
+    }
+
+    @Override
+    public void complete() throws IOException {
+      completeMiniBatchMutation(batchOp, walEdit, firstIndex, lastIndexExclusive, writeEntry);
+    }
+
+    @Override
+    public void rollback() {
+      try {
+        rollbackMemstore(batchOp, familyMaps, firstIndex, lastIndexExclusive);
+        addAndGetGlobalMemstoreSize(-addedSize);
+      } finally {
+        mvcc.completeMemstoreInsert(writeEntry);
+      }
+      for (int i = firstIndex; i < lastIndexExclusive; i++) {
+        if (batchOp.retCodeDetails[i].getOperationStatusCode() == OperationStatusCode.SUCCESS) {
+          batchOp.retCodeDetails[i] = OperationStatus.FAILURE;
+        }
+      }
+    }
+  }
+
   /**
    * Returns effective durability from the passed durability and
    * the table descriptor.
@@ -2514,51 +2850,29 @@ public class HRegion implements HeapSize { // , Writable{
       checkFamily(family);
       get.addColumn(family, qualifier);
 
+      // Check under a shared lock first, so that failing checks of a row do not
+      // queue behind each other. The exclusive lock cannot be taken while holding
+      // the shared one, so a passing check is repeated under the exclusive lock.
+      RowLock rowLock = getRowLock(get.getRow(), true, true);
+      boolean matches;
+      try {
+        // wait for all previous transactions to complete (with lock held)
+        mvcc.completeMemstoreInsert(mvcc.beginMemstoreInsert());
+        matches = checkMatches(get, compareOp, comparator);
+      } finally {
+        rowLock.release();
+      }
+      if (!matches) {
+        this.checkAndMutateChecksFailed.increment();
+        return false;
+      }
+
       // Lock row - note that doBatchMutate will relock this row if called
-      RowLock rowLock = getRowLock(get.getRow());
-      // wait for all previous transactions to complete (with lock held)
-      mvcc.completeMemstoreInsert(mvcc.beginMemstoreInsert());
-      List<Cell> result;
+      rowLock = getRowLock(get.getRow());
       try {
-        result = get(get, false);
-
-        boolean valueIsNull = comparator.getValue() == null ||
-          comparator.getValue().length == 0;
-        boolean matches = false;
-        if (result.size() == 0 && valueIsNull) {
-          matches = true;
-        } else if (result.size() > 0 && result.get(0).getValueLength() == 0 &&
-            valueIsNull) {
-          matches = true;
-        } else if (result.size() == 1 && !valueIsNull) {
-          Cell kv = result.get(0);
-          int compareResult = comparator.compareTo(kv.getValueArray(),
-              kv.getValueOffset(), kv.getValueLength());
-          switch (compareOp) {
-          case LESS:
-            matches = compareResult <= 0;
-            break;
-          case LESS_OR_EQUAL:
-            matches = compareResult < 0;
-            break;
-          case EQUAL:
-            matches = compareResult == 0;
-            break;
-          case NOT_EQUAL:
-            matches = compareResult != 0;
-            break;
-          case GREATER_OR_EQUAL:
-            matches = compareResult > 0;
-            break;
-          case GREATER:
-            matches = compareResult >= 0;
-            break;
-          default:
-            throw new RuntimeException("Unknown Compare op " + compareOp.name());
-          }
-        }
+        mvcc.completeMemstoreInsert(mvcc.beginMemstoreInsert());
         //If matches put the new put or delete the new delete
-        if (matches) {
+        if (checkMatches(get, compareOp, comparator)) {
           // All edits for the given row (across all column families) must
           // happen atomically.
           doBatchMutate((Mutation)w);
@@ -2575,6 +2889,52 @@ public class HRegion implements HeapSize { // , Writable{
     }
   }
 
+  /**
+   * @return whether the value read by the given get passes the check of a
+   * checkAndMutate
+   */
+  private boolean checkMatches(Get get, CompareOp compareOp, ByteArrayComparable comparator)
+      throws IOException {
+    List<Cell> result = get(get, false);
+
+    boolean valueIsNull = comparator.getValue() == null ||
+      comparator.getValue().length == 0;
+    boolean matches = false;
+    if (result.size() == 0 && valueIsNull) {
+      matches = true;
+    } else if (result.size() > 0 && result.get(0).getValueLength() == 0 &&
+        valueIsNull) {
+      matches = true;
+    } else if (result.size() == 1 && !valueIsNull) {
+      Cell kv = result.get(0);
+      int compareResult = comparator.compareTo(kv.getValueArray(),
+          kv.getValueOffset(), kv.getValueLength());
+      switch (compareOp) {
+      case LESS:
+        matches = compareResult <= 0;
+        break;
+      case LESS_OR_EQUAL:
+        matches = compareResult < 0;
+        break;
+      case EQUAL:
+        matches = compareResult == 0;
+        break;
+      case NOT_EQUAL:
+        matches = compareResult != 0;
+        break;
+      case GREATER_OR_EQUAL:
+        matches = compareResult > 0;
+        break;
+      case GREATER:
+        matches = compareResult >= 0;
+        break;
+      default:
+        throw new RuntimeException("Unknown Compare op " + compareOp.name());
+      }
+    }
+    return matches;
+  }
+
   private void doBatchMutate(Mutation mutation) throws IOException, DoNotRetryIOException {
     // Currently this is only called for puts and deletes, so no nonces.
     OperationStatus[] batchMutate = this.batchMutate(new Mutation[] { mutation },
@@ -2879,7 +3239,7 @@ public class HRegion implements HeapSize { // , Writable{
       writestate.flushRequested = true;
     }
     // Make request outside of synchronize block; HBASE-818.
-    this.rsServices.getFlushRequester().requestFlush(this);
+    this.rsServices.getFlushRequester().requestFlush(this, false);
     if (LOG.isDebugEnabled()) {
       LOG.debug("Flush requested on " + this);
     }
@@ -3290,7 +3650,7 @@ public class HRegion implements HeapSize { // , Writable{
   }
 
   /**
-   * Tries to acquire a lock on the given row.
+   * Tries to acquire an exclusive lock on the given row.
    * @param waitForLock if true, will block until the lock is available.
    *        Otherwise, just tries to obtain the lock and returns
    *        false if unavailable.
@@ -3299,49 +3659,90 @@ public class HRegion implements HeapSize { // , Writable{
    * @throws IOException if waitForLock was true and the lock could not be acquired after waiting
    */
   public RowLock getRowLock(byte[] row, boolean waitForLock) throws IOException {
+    return getRowLock(row, waitForLock, false);
+  }
+
+  /**
+   * Tries to acquire a lock on the given row. Any number of threads may hold
+   * shared locks on a row at the same time, but an exclusive lock excludes all
+   * other locks. All mutations of the region, batch puts and deletes included,
+   * take exclusive locks; shared locks are for callers that only need to keep
+   * those out while they look at the row, like the check of checkAndMutate.
+   * A thread holding the exclusive lock of a row may also take shared locks on
+   * it, but not the other way round.
+   * @param waitForLock if true, will block until the lock is available.
+   *        Otherwise, just tries to obtain the lock and returns
+   *        false if unavailable.
+   * @param readLock whether to take a shared lock instead of an exclusive one
+   * @return the row lock if acquired,
+   *   null if waitForLock was false and the lock was not acquired
+   * @throws IOException if waitForLock was true and the lock could not be acquired after waiting
+   */
+  public RowLock getRowLock(byte[] row, boolean waitForLock, boolean readLock)
+      throws IOException {
     checkRow(row, "row lock");
     startRegionOperation();
     try {
-      HashedBytes rowKey = new HashedBytes(row);
-      RowLockContext rowLockContext = new RowLockContext(rowKey);
+      RowKeyProbe probe = ROW_KEY_PROBE.get();
+      probe.set(row);
+      RowLockContext rowLockContext;
+      try {
+        // loop until we hold a reference to a context that is in lockedRows
+        do {
+          rowLockContext = lockedRows.get(probe);
+          if (rowLockContext == null) {
+            // Only a row nobody holds a lock on gets a key of its own
+            RowLockContext newContext = new RowLockContext(new HashedBytes(row));
+            rowLockContext = lockedRows.putIfAbsent(newContext.row, newContext);
+            if (rowLockContext == null) {
+              rowLockContext = newContext;
+            }
+          }
+        } while (!rowLockContext.reference());
+      } finally {
+        probe.set(null);
+      }
+      HashedBytes rowKey = rowLockContext.row;
 
-      // loop until we acquire the row lock (unless !waitForLock)
-      while (true) {
-        RowLockContext existingContext = lockedRows.putIfAbsent(rowKey, rowLockContext);
-        if (existingContext == null) {
-          // Row is not already locked by any thread, use newly created context.
-          break;
-        } else if (existingContext.ownedByCurrentThread()) {
-          // Row is already locked by current thread, reuse existing context instead.
-          rowLockContext = existingContext;
-          break;
-        } else {
-          // Row is already locked by some other thread, give up or wait for it
+      ReentrantReadWriteLock rwLock = rowLockContext.readWriteLock;
+      Lock lock = readLock ? rwLock.readLock() : rwLock.writeLock();
+      boolean locked = false;
+      try {
+        // A timed try keeps the lock fair, unlike tryLock()
+        locked = lock.tryLock(0, TimeUnit.MILLISECONDS);
+        if (!locked) {
+          // Row is locked by some other thread, give up or wait for it
           if (!waitForLock) {
             return null;
           }
+          long start = EnvironmentEdgeManager.currentTimeMillis();
           try {
-            if (!existingContext.latch.await(this.rowLockWaitDuration, TimeUnit.MILLISECONDS)) {
-              throw new IOException("Timed out waiting for lock for row: " + rowKey);
-            }
-          } catch (InterruptedException ie) {
-            LOG.warn("Thread interrupted waiting for lock on row: " + rowKey);
-            InterruptedIOException iie = new InterruptedIOException();
-            iie.initCause(ie);
-            throw iie;
+            locked = lock.tryLock(this.rowLockWaitDuration, TimeUnit.MILLISECONDS);
+          } finally {
+            rowLockWaitTime.add(EnvironmentEdgeManager.currentTimeMillis() - start);
+          }
+          if (!locked) {
+            throw new IOException("Timed out waiting for lock for row: " + rowKey);
           }
         }
+      } catch (InterruptedException ie) {
+        LOG.warn("Thread interrupted waiting for lock on row: " + rowKey);
+        InterruptedIOException iie = new InterruptedIOException();
+        iie.initCause(ie);
+        throw iie;
+      } finally {
+        if (!locked) {
+          rowLockContext.dereference();
+        }
       }
-
-      // allocate new lock for this thread
-      return rowLockContext.newLock();
+      return new RowLock(rowLockContext, lock);
     } finally {
       closeRegionOperation();
     }
   }
 
   /**
-   * Acqures a lock on the given row.
+   * Acqures an exclusive lock on the given row.
    * The same thread may acquire multiple locks on the same row.
    * @return the acquired row lock
    * @throws IOException if the lock could not be acquired after waiting
@@ -3350,6 +3751,35 @@ public class HRegion implements HeapSize { // , Writable{
     return getRowLock(row, true);
   }
 
+  /**
+   * Acquires exclusive locks on all the given rows. The rows are locked in
+   * sorted order, so threads locking overlapping sets of rows this way cannot
+   * deadlock. A row that is given more than once is locked once.
+   * @return the acquired row locks
+   * @throws IOException if a lock could not be acquired after waiting; no
+   *         locks are held then
+   */
+  public List<RowLock> getRowLocks(Collection<byte[]> rows) throws IOException {
+    byte[][] sortedRows = rows.toArray(new byte[rows.size()][]);
+    Arrays.sort(sortedRows, Bytes.BYTES_COMPARATOR);
+    List<RowLock> rowLocks = new ArrayList<RowLock>(sortedRows.length);
+    boolean success = false;
+    try {
+      for (int i = 0; i < sortedRows.length; i++) {
+        if (i > 0 && Bytes.equals(sortedRows[i - 1], sortedRows[i])) {
+          continue;
+        }
+        rowLocks.add(getRowLock(sortedRows[i]));
+      }
+      success = true;
+    } finally {
+      if (!success) {
+        releaseRowLocks(rowLocks);
+      }
+    }
+    return rowLocks;
+  }
+
   /**
    * If the given list of row locks is not null, releases all locks.
    */
@@ -3532,6 +3962,8 @@ public class HRegion implements HeapSize { // , Writable{
     private long readPt;
     private long maxResultSize;
     protected HRegion region;
+    /** Row skipped when nextRaw stopped because of its time limit */
+    private byte[] lastFilteredRow = null;
 
     @Override
     public HRegionInfo getRegionInfo() {
@@ -3543,7 +3975,11 @@ public class HRegion implements HeapSize { // , Writable{
 
       this.region = region;
       this.maxResultSize = scan.getMaxResultSize();
+      Filter scanFilter = scan.getFilter();
       if (scan.hasFilter()) {
+        if (region.isCompilingFilters) {
+          scan.setFilter(CompiledFilter.compile(scanFilter));
+        }
         this.filter = new FilterWrapper(scan.getFilter());
       } else {
         this.filter = null;
@@ -3575,16 +4011,23 @@ public class HRegion implements HeapSize { // , Writable{
         scanners.addAll(additionalScanners);
       }
 
-      for (Map.Entry<byte[], NavigableSet<byte[]>> entry :
-          scan.getFamilyMap().entrySet()) {
-        Store store = stores.get(entry.getKey());
-        KeyValueScanner scanner = store.getScanner(scan, entry.getValue(), this.readPt);
-        if (this.filter == null || !scan.doLoadColumnFamiliesOnDemand()
-          || this.filter.isFamilyEssential(entry.getKey())) {
-          scanners.add(scanner);
-        } else {
-          joinedScanners.add(scanner);
+      // The store scanners take the filter from the scan, so they share the
+      // compiled filter with this scanner. The scan gets its own filter back
+      // once they are created.
+      try {
+        for (Map.Entry<byte[], NavigableSet<byte[]>> entry :
+            scan.getFamilyMap().entrySet()) {
+          Store store = stores.get(entry.getKey());
+          KeyValueScanner scanner = store.getScanner(scan, entry.getValue(), this.readPt);
+          if (this.filter == null || !scan.doLoadColumnFamiliesOnDemand()
+            || this.filter.isFamilyEssential(entry.getKey())) {
+            scanners.add(scanner);
+          } else {
+            joinedScanners.add(scanner);
+          }
         }
+      } finally {
+        scan.setFilter(scanFilter);
       }
       initializeKVHeap(scanners, joinedScanners, region);
     }
@@ -3654,14 +4097,31 @@ public class HRegion implements HeapSize { // , Writable{
 
     @Override
     public boolean nextRaw(List<Cell> outResults, int limit) throws IOException {
+      return nextRaw(outResults, limit, Long.MAX_VALUE);
+    }
+
+    @Override
+    public boolean nextRawWithinTime(List<Cell> outResults, long timeLimit)
+        throws IOException {
+      return nextRaw(outResults, batch, timeLimit);
+    }
+
+    @Override
+    public byte[] getLastFilteredRow() {
+      return lastFilteredRow;
+    }
+
+    private boolean nextRaw(List<Cell> outResults, int limit, long timeLimit)
+        throws IOException {
       boolean returnResult;
+      lastFilteredRow = null;
       if (outResults.isEmpty()) {
         // Usually outResults is empty. This is true when next is called
         // to handle scan or get operation.
-        returnResult = nextInternal(outResults, limit);
+        returnResult = nextInternal(outResults, limit, timeLimit);
       } else {
         List<Cell> tmpList = new ArrayList<Cell>();
-        returnResult = nextInternal(tmpList, limit);
+        returnResult = nextInternal(tmpList, limit, timeLimit);
         outResults.addAll(tmpList);
       }
       resetFilters();
@@ -3728,7 +4188,21 @@ public class HRegion implements HeapSize { // , Writable{
       return this.filter != null && this.filter.filterAllRemaining();
     }
 
-    private boolean nextInternal(List<Cell> results, int limit)
+    /**
+     * @return true if the time limit is reached. Then the given row, which
+     *         was just filtered out, is kept as the last filtered row.
+     */
+    private boolean isTimeLimitReached(long timeLimit, byte[] currentRow, int offset,
+        short length) {
+      if (timeLimit == Long.MAX_VALUE
+          || EnvironmentEdgeManager.currentTimeMillis() < timeLimit) {
+        return false;
+      }
+      lastFilteredRow = Arrays.copyOfRange(currentRow, offset, offset + length);
+      return true;
+    }
+
+    private boolean nextInternal(List<Cell> results, int limit, long timeLimit)
     throws IOException {
       if (!results.isEmpty()) {
         throw new IllegalArgumentException("First parameter should be an empty list");
@@ -3777,6 +4251,7 @@ public class HRegion implements HeapSize { // , Writable{
             boolean moreRows = nextRow(currentRow, offset, length);
             if (!moreRows) return false;
             results.clear();
+            if (isTimeLimitReached(timeLimit, currentRow, offset, length)) return true;
             continue;
           }
 
@@ -3807,8 +4282,9 @@ public class HRegion implements HeapSize { // , Writable{
             results.clear();
             // This row was totally filtered out, if this is NOT the last row,
             // we should continue on. Otherwise, nothing else to do.
-            if (!stopRow) continue;
-            return false;
+            if (stopRow) return false;
+            if (isTimeLimitReached(timeLimit, currentRow, offset, length)) return true;
+            continue;
           }
 
           // Ok, we are done with storeHeap for this row.
@@ -3846,7 +4322,10 @@ public class HRegion implements HeapSize { // , Writable{
         if (results.isEmpty()) {
           boolean moreRows = nextRow(currentRow, offset, length);
           if (!moreRows) return false;
-          if (!stopRow) continue;
+          if (!stopRow) {
+            if (isTimeLimitReached(timeLimit, currentRow, offset, length)) return true;
+            continue;
+          }
         }
 
         // We are done. Return the result.
@@ -4689,11 +5168,8 @@ public class HRegion implements HeapSize { // , Writable{
     Collection<byte[]> rowsToLock = processor.getRowsToLock();
     try {
       // 2. Acquire the row lock(s)
-      acquiredRowLocks = new ArrayList<RowLock>(rowsToLock.size());
-      for (byte[] row : rowsToLock) {
-        // Attempt to lock all involved rows, throw if any lock times out
-        acquiredRowLocks.add(getRowLock(row));
-      }
+      // Attempt to lock all involved rows, throw if any lock times out
+      acquiredRowLocks = getRowLocks(rowsToLock);
       // 3. Region lock
       lock(this.updatesLock.readLock(), acquiredRowLocks.size());
       locked = true;
@@ -5033,6 +5509,10 @@ public class HRegion implements HeapSize { // , Writable{
    */
   public Result increment(Increment increment, long nonceGroup, long nonce)
   throws IOException {
+    if (isCombiningIncrements && increment.getTimeRange().isAllTime()
+        && !keepsVersions(increment)) {
+      return combinedIncrement(increment, nonceGroup, nonce);
+    }
     byte [] row = increment.getRow();
     checkRow(row, "increment");
     TimeRange tr = increment.getTimeRange();
@@ -5098,33 +5578,8 @@ public class HRegion implements HeapSize { // , Writable{
               }
 
               // Append new incremented KeyValue to list
-              byte[] q = CellUtil.cloneQualifier(kv);
-              byte[] val = Bytes.toBytes(amount);
-              int oldCellTagsLen = (c == null) ? 0 : c.getTagsLength();
-              int incCellTagsLen = kv.getTagsLength();
-              KeyValue newKV = new KeyValue(row.length, family.getKey().length, q.length, now,
-                  KeyValue.Type.Put, val.length, oldCellTagsLen + incCellTagsLen);
-              System.arraycopy(row, 0, newKV.getBuffer(), newKV.getRowOffset(), row.length);
-              System.arraycopy(family.getKey(), 0, newKV.getBuffer(), newKV.getFamilyOffset(),
-                  family.getKey().length);
-              System.arraycopy(q, 0, newKV.getBuffer(), newKV.getQualifierOffset(), q.length);
-              // copy in the value
-              System.arraycopy(val, 0, newKV.getBuffer(), newKV.getValueOffset(), val.length);
-              // copy tags
-              if (oldCellTagsLen > 0) {
-                System.arraycopy(c.getTagsArray(), c.getTagsOffset(), newKV.getBuffer(),
-                    newKV.getTagsOffset(), oldCellTagsLen);
-              }
-              if (incCellTagsLen > 0) {
-                System.arraycopy(kv.getTagsArray(), kv.getTagsOffset(), newKV.getBuffer(),
-                    newKV.getTagsOffset() + oldCellTagsLen, incCellTagsLen);
-              }
-              newKV.setMvccVersion(w.getWriteNumber());
-              // Give coprocessors a chance to update the new cell
-              if (coprocessorHost != null) {
-                newKV = KeyValueUtil.ensureKeyValue(coprocessorHost.postMutationBeforeWAL(
-                    RegionObserver.MutationType.INCREMENT, increment, c, (Cell) newKV));
-              }
+              KeyValue newKV = newIncrementedKeyValue(increment, family.getKey(), c, kv,
+                  amount, now, w);
               kvs.add(newKV);
 
               // Prepare WAL updates
@@ -5197,6 +5652,362 @@ public class HRegion implements HeapSize { // , Writable{
     return Result.create(allKVs);
   }
 
+  /**
+   * @return the cell holding the given amount for the incremented cell, with
+   *         the tags of both the old cell, if any, and the incremented cell
+   */
+  private KeyValue newIncrementedKeyValue(Increment increment, byte[] family, Cell c,
+      Cell kv, long amount, long now, WriteEntry w) throws IOException {
+    byte[] row = increment.getRow();
+    byte[] q = CellUtil.cloneQualifier(kv);
+    byte[] val = Bytes.toBytes(amount);
+    int oldCellTagsLen = (c == null) ? 0 : c.getTagsLength();
+    int incCellTagsLen = kv.getTagsLength();
+    KeyValue newKV = new KeyValue(row.length, family.length, q.length, now,
+        KeyValue.Type.Put, val.length, oldCellTagsLen + incCellTagsLen);
+    System.arraycopy(row, 0, newKV.getBuffer(), newKV.getRowOffset(), row.length);
+    System.arraycopy(family, 0, newKV.getBuffer(), newKV.getFamilyOffset(), family.length);
+    System.arraycopy(q, 0, newKV.getBuffer(), newKV.getQualifierOffset(), q.length);
+    // copy in the value
+    System.arraycopy(val, 0, newKV.getBuffer(), newKV.getValueOffset(), val.length);
+    // copy tags
+    if (oldCellTagsLen > 0) {
+      System.arraycopy(c.getTagsArray(), c.getTagsOffset(), newKV.getBuffer(),
+          newKV.getTagsOffset(), oldCellTagsLen);
+    }
+    if (incCellTagsLen > 0) {
+      System.arraycopy(kv.getTagsArray(), kv.getTagsOffset(), newKV.getBuffer(),
+          newKV.getTagsOffset() + oldCellTagsLen, incCellTagsLen);
+    }
+    newKV.setMvccVersion(w.getWriteNumber());
+    // Give coprocessors a chance to update the new cell
+    if (coprocessorHost != null) {
+      newKV = KeyValueUtil.ensureKeyValue(coprocessorHost.postMutationBeforeWAL(
+          RegionObserver.MutationType.INCREMENT, increment, c, (Cell) newKV));
+    }
+    return newKV;
+  }
+
+  /**
+   * An increment waiting to be applied together with the other increments of
+   * its row, see {@link #combinedIncrement(Increment, long, long)}.
+   */
+  private static class PendingIncrement {
+    private final Increment increment;
+    private final Durability durability;
+    private final long nonceGroup;
+    private final long nonce;
+    // Set by the thread that took the increment off the queue to apply it
+    private volatile boolean taken = false;
+    private final CountDownLatch done = new CountDownLatch(1);
+    // Set before done is counted down
+    private List<Cell> result = null;
+    private IOException error = null;
+
+    PendingIncrement(Increment increment, Durability durability, long nonceGroup, long nonce) {
+      this.increment = increment;
+      this.durability = durability;
+      this.nonceGroup = nonceGroup;
+      this.nonce = nonce;
+    }
+  }
+
+  /**
+   * @return whether a family of the mutation keeps more than one version. Combined
+   * increments only write the last value of each column, dropping the versions that
+   * the increments in between would have left.
+   */
+  private boolean keepsVersions(Mutation mutation) {
+    for (byte[] family : mutation.getFamilyCellMap().keySet()) {
+      HColumnDescriptor hcd = this.htableDescriptor.getFamily(family);
+      if (hcd != null && hcd.getMaxVersions() > 1) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Performs an increment like {@link #increment(Increment, long, long)}, but
+   * together with the increments of the same row that other threads are
+   * waiting to apply. The first thread to get the row lock takes all waiting
+   * increments of the row and applies them one after the other on one read
+   * of the current values. They are written to the memstore with one MVCC
+   * transaction and to the WAL with one sync, and each caller gets the values
+   * right after its own increment.
+   */
+  private Result combinedIncrement(Increment increment, long nonceGroup, long nonce)
+      throws IOException {
+    byte [] row = increment.getRow();
+    checkRow(row, "increment");
+    for (byte[] family : increment.getFamilyCellMap().keySet()) {
+      checkFamily(family);
+    }
+    checkReadOnly();
+    checkResources();
+    startRegionOperation(Operation.INCREMENT);
+    this.writeRequestsCount.increment();
+    try {
+      PendingIncrement pending = new PendingIncrement(increment,
+          getEffectiveDurability(increment.getDurability()), nonceGroup, nonce);
+      HashedBytes rowKey = new HashedBytes(row);
+      ConcurrentLinkedQueue<PendingIncrement> queue = pendingIncrements.get(rowKey);
+      if (queue == null) {
+        queue = new ConcurrentLinkedQueue<PendingIncrement>();
+        ConcurrentLinkedQueue<PendingIncrement> existing =
+            pendingIncrements.putIfAbsent(rowKey, queue);
+        if (existing != null) {
+          queue = existing;
+        }
+      }
+      queue.add(pending);
+
+      if (!pending.taken) {
+        RowLock rowLock = null;
+        try {
+          rowLock = getRowLock(row);
+        } catch (IOException e) {
+          // Unless someone took it meanwhile, give up on our increment
+          if (queue.remove(pending)) {
+            if (queue.isEmpty()) {
+              pendingIncrements.remove(rowKey, queue);
+            }
+            throw e;
+          }
+        }
+        if (rowLock != null) {
+          if (pending.taken) {
+            // Applied, or being synced, by the thread that had the lock before
+            rowLock.release();
+          } else {
+            List<PendingIncrement> batch = new ArrayList<PendingIncrement>();
+            PendingIncrement next;
+            while ((next = queue.poll()) != null) {
+              next.taken = true;
+              batch.add(next);
+            }
+            if (queue.isEmpty()) {
+              // Threads still adding to the queue take their own increments
+              pendingIncrements.remove(rowKey, queue);
+            }
+            applyIncrements(row, batch, rowLock);
+          }
+        }
+      }
+
+      boolean interrupted = false;
+      while (true) {
+        try {
+          pending.done.await();
+          break;
+        } catch (InterruptedException ie) {
+          // Our increment may be in the WAL already; wait for the outcome
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+      if (pending.error != null) {
+        throw pending.error;
+      }
+      return Result.create(pending.result);
+    } finally {
+      closeRegionOperation();
+      if (this.metricsRegion != null) {
+        this.metricsRegion.updateIncrement();
+      }
+    }
+  }
+
+  /**
+   * Applies the given increments of one row in order, releases the row lock
+   * and marks them done once they are synced and visible.
+   */
+  private void applyIncrements(byte[] row, List<PendingIncrement> batch, RowLock rowLock) {
+    Durability durability = Durability.SKIP_WAL;
+    boolean withNonces = false;
+    for (PendingIncrement pending : batch) {
+      if (pending.durability.ordinal() > durability.ordinal()) {
+        durability = pending.durability;
+      }
+      withNonces |= pending.nonceGroup != HConstants.NO_NONCE
+          || pending.nonce != HConstants.NO_NONCE;
+    }
+    boolean writeToWAL = durability != Durability.SKIP_WAL;
+    Map<PendingIncrement, List<Cell>> results = new HashMap<PendingIncrement, List<Cell>>();
+    IOException error = null;
+    boolean applied = false;
+    boolean flush = false;
+    WriteEntry w = null;
+    try {
+      long txid = 0;
+      try {
+        lock(this.updatesLock.readLock());
+        try {
+          // wait for all prior MVCC transactions to finish - while we hold the row lock
+          // (so that we are guaranteed to see the latest state)
+          mvcc.completeMemstoreInsert(mvcc.beginMemstoreInsert());
+          // now start my own transaction
+          w = mvcc.beginMemstoreInsert();
+          long now = EnvironmentEdgeManager.currentTimeMillis();
+
+          // Current values of all columns of the batch, updated as we go
+          Get get = new Get(row);
+          for (PendingIncrement pending : batch) {
+            for (Map.Entry<byte[], List<Cell>> family :
+                pending.increment.getFamilyCellMap().entrySet()) {
+              for (Cell cell : family.getValue()) {
+                get.addColumn(family.getKey(), CellUtil.cloneQualifier(cell));
+              }
+            }
+          }
+          Map<byte[], NavigableMap<byte[], Cell>> current =
+              new TreeMap<byte[], NavigableMap<byte[], Cell>>(Bytes.BYTES_COMPARATOR);
+          for (byte[] family : get.familySet()) {
+            current.put(family, new TreeMap<byte[], Cell>(Bytes.BYTES_COMPARATOR));
+          }
+          for (Cell cell : get(get, false)) {
+            current.get(CellUtil.cloneFamily(cell)).put(CellUtil.cloneQualifier(cell), cell);
+          }
+          // The cells to write, by family
+          Map<byte[], NavigableMap<byte[], Cell>> updated =
+              new TreeMap<byte[], NavigableMap<byte[], Cell>>(Bytes.BYTES_COMPARATOR);
+
+          for (PendingIncrement pending : batch) {
+            List<Cell> kvs = new ArrayList<Cell>(pending.increment.size());
+            try {
+              for (Map.Entry<byte[], List<Cell>> family :
+                  pending.increment.getFamilyCellMap().entrySet()) {
+                NavigableMap<byte[], Cell> values = current.get(family.getKey());
+                for (Cell kv : family.getValue()) {
+                  long amount = Bytes.toLong(CellUtil.cloneValue(kv));
+                  Cell c = values.get(CellUtil.cloneQualifier(kv));
+                  if (c != null) {
+                    if (c.getValueLength() == Bytes.SIZEOF_LONG) {
+                      amount += Bytes.toLong(c.getValueArray(), c.getValueOffset(),
+                          Bytes.SIZEOF_LONG);
+                    } else {
+                      throw new DoNotRetryIOException(
+                          "Attempted to increment field that isn't 64 bits wide");
+                    }
+                  }
+                  kvs.add(newIncrementedKeyValue(pending.increment, family.getKey(), c, kv,
+                      amount, now, w));
+                }
+              }
+            } catch (DoNotRetryIOException e) {
+              // Only fails this increment; the others do not see any of it
+              pending.error = e;
+              continue;
+            }
+            for (Cell kv : kvs) {
+              byte[] family = CellUtil.cloneFamily(kv);
+              byte[] qualifier = CellUtil.cloneQualifier(kv);
+              current.get(family).put(qualifier, kv);
+              NavigableMap<byte[], Cell> familyUpdates = updated.get(family);
+              if (familyUpdates == null) {
+                familyUpdates = new TreeMap<byte[], Cell>(Bytes.BYTES_COMPARATOR);
+                updated.put(family, familyUpdates);
+              }
+              familyUpdates.put(qualifier, kv);
+            }
+            results.put(pending, kvs);
+          }
+
+          // Actually write to WAL now. The nonces have to be in the WAL to be
+          // recovered, so increments with nonces are written one by one.
+          if (writeToWAL && withNonces) {
+            for (PendingIncrement pending : batch) {
+              List<Cell> kvs = results.get(pending);
+              if (kvs == null) {
+                continue;
+              }
+              WALEdit walEdits = new WALEdit();
+              for (Cell kv : kvs) {
+                walEdits.add(KeyValueUtil.ensureKeyValue(kv));
+              }
+              txid = this.log.appendNoSync(this.getRegionInfo(),
+                this.htableDescriptor.getTableName(), walEdits, new ArrayList<UUID>(),
+                EnvironmentEdgeManager.currentTimeMillis(), this.htableDescriptor,
+                this.sequenceId, true, pending.nonceGroup, pending.nonce);
+            }
+          } else if (writeToWAL && !updated.isEmpty()) {
+            // The last value of each column is enough
+            WALEdit walEdits = new WALEdit();
+            for (NavigableMap<byte[], Cell> familyUpdates : updated.values()) {
+              for (Cell kv : familyUpdates.values()) {
+                walEdits.add(KeyValueUtil.ensureKeyValue(kv));
+              }
+            }
+            txid = this.log.appendNoSync(this.getRegionInfo(),
+              this.htableDescriptor.getTableName(), walEdits, new ArrayList<UUID>(),
+              EnvironmentEdgeManager.currentTimeMillis(), this.htableDescriptor, this.sequenceId,
+              true, HConstants.NO_NONCE, HConstants.NO_NONCE);
+          } else if (!writeToWAL) {
+            for (PendingIncrement pending : batch) {
+              if (results.containsKey(pending)) {
+                recordMutationWithoutWal(pending.increment.getFamilyCellMap());
+              }
+            }
+          }
+
+          //Actually write to Memstore now
+          long size = 0;
+          for (Map.Entry<byte[], NavigableMap<byte[], Cell>> entry : updated.entrySet()) {
+            Store store = stores.get(entry.getKey());
+            List<Cell> cells = new ArrayList<Cell>(entry.getValue().values());
+            if (store.getFamily().getMaxVersions() == 1) {
+              // upsert if VERSIONS for this CF == 1
+              size += store.upsert(cells, getSmallestReadPoint());
+            } else {
+              // otherwise keep older versions around
+              for (Cell cell : cells) {
+                size += store.add(KeyValueUtil.ensureKeyValue(cell));
+              }
+            }
+          }
+          size = this.addAndGetGlobalMemstoreSize(size);
+          flush = isFlushSize(size);
+        } finally {
+          this.updatesLock.readLock().unlock();
+        }
+      } finally {
+        rowLock.release();
+      }
+      if (writeToWAL && txid != 0) {
+        // sync the transaction log outside the rowlock
+        syncOrDefer(txid, durability);
+      }
+      applied = true;
+    } catch (IOException e) {
+      error = e;
+    } finally {
+      if (w != null) {
+        mvcc.completeMemstoreInsert(w);
+      }
+      if (!applied && error == null) {
+        error = new IOException("Failed to apply increments of row " + Bytes.toStringBinary(row));
+      }
+      for (PendingIncrement pending : batch) {
+        if (error != null) {
+          pending.error = error;
+        } else if (pending.error == null) {
+          pending.result = results.get(pending);
+          if (pending.result == null) {
+            pending.error = new IOException("Increment was not applied");
+          }
+        }
+        pending.done.countDown();
+      }
+    }
+
+    if (flush) {
+      // Request a cache flush.  Do it outside update lock.
+      requestFlush();
+    }
+  }
+
   //
   // New HBASE-880 Helpers
   //
@@ -5213,9 +6024,9 @@ public class HRegion implements HeapSize { // , Writable{
   public static final long FIXED_OVERHEAD = ClassSize.align(
       ClassSize.OBJECT +
       ClassSize.ARRAY +
-      41 * ClassSize.REFERENCE + 2 * Bytes.SIZEOF_INT +
-      (11 * Bytes.SIZEOF_LONG) +
-      5 * Bytes.SIZEOF_BOOLEAN);
+      44 * ClassSize.REFERENCE + 2 * Bytes.SIZEOF_INT +
+      (12 * Bytes.SIZEOF_LONG) +
+      8 * Bytes.SIZEOF_BOOLEAN);
 
   // woefully out of date - currently missing:
   // 1 x HashMap - coprocessorServiceHandlers
@@ -5231,9 +6042,10 @@ public class HRegion implements HeapSize { // , Writable{
       ClassSize.OBJECT + // closeLock
       (2 * ClassSize.ATOMIC_BOOLEAN) + // closed, closing
       (3 * ClassSize.ATOMIC_LONG) + // memStoreSize, numPutsWithoutWAL, dataInMemoryWithoutWAL
-      (2 * ClassSize.CONCURRENT_HASHMAP) +  // lockedRows, scannerReadPoints
+      (3 * ClassSize.CONCURRENT_HASHMAP) +  // lockedRows, scannerReadPoints, pendingIncrements
       WriteState.HEAP_SIZE + // writestate
       ClassSize.CONCURRENT_SKIPLISTMAP + ClassSize.CONCURRENT_SKIPLISTMAP_ENTRY + // stores
+      ClassSize.CONCURRENT_SKIPLISTMAP + // storeFlushSeqIds
       (2 * ClassSize.REENTRANT_LOCK) + // lock, updatesLock
       ClassSize.ARRAYLIST + // recentFlushes
       MultiVersionConsistencyControl.FIXED_SIZE // mvcc
@@ -5625,6 +6437,23 @@ public class HRegion implements HeapSize { // , Writable{
     lock(lock, 1);
   }
 
+  /**
+   * Acquires the read lock of the updates lock. If the passed group has pending
+   * mini-batches, they are synced first whenever the lock is not free: a flush holding
+   * or waiting for the write lock goes on to wait for their mvcc transactions.
+   * @param groupCommit Could be null.
+   */
+  private void lockUpdates(final int multiplier, final WALGroupCommit groupCommit)
+      throws RegionTooBusyException, InterruptedIOException {
+    if (groupCommit != null && !groupCommit.isEmpty()) {
+      if (this.updatesLock.readLock().tryLock()) {
+        return;
+      }
+      groupCommit.sync();
+    }
+    lock(this.updatesLock.readLock(), multiplier);
+  }
+
   /**
    * Try to acquire a lock.  Throw RegionTooBusyException
    * if failed to get the lock in time. Throw InterruptedIOException
@@ -5658,34 +6487,37 @@ public class HRegion implements HeapSize { // , Writable{
    * @throws IOException If anything goes wrong with DFS
    */
   private void syncOrDefer(long txid, Durability durability) throws IOException {
-    if (this.getRegionInfo().isMetaRegion()) {
+    if (isSyncRequired(durability)) {
       this.log.sync(txid);
-    } else {
-      switch(durability) {
-      case USE_DEFAULT:
-        // do what table defaults to
-        if (shouldSyncLog()) {
-          this.log.sync(txid);
-        }
-        break;
-      case SKIP_WAL:
-        // nothing do to
-        break;
-      case ASYNC_WAL:
-        // defer the sync, unless we globally can't
-        if (this.deferredLogSyncDisabled) {
-          this.log.sync(txid);
-        }
-        break;
-      case SYNC_WAL:
-      case FSYNC_WAL:
-        // sync the WAL edit (SYNC and FSYNC treated the same for now)
-        this.log.sync(txid);
-        break;
-      }
     }
   }
 
+  /**
+   * @return whether edits with the given durability have to be synced before they
+   * are acknowledged
+   */
+  private boolean isSyncRequired(Durability durability) {
+    if (this.getRegionInfo().isMetaRegion()) {
+      return true;
+    }
+    switch(durability) {
+    case USE_DEFAULT:
+      // do what table defaults to
+      return shouldSyncLog();
+    case SKIP_WAL:
+      // nothing do to
+      return false;
+    case ASYNC_WAL:
+      // defer the sync, unless we globally can't
+      return this.deferredLogSyncDisabled;
+    case SYNC_WAL:
+    case FSYNC_WAL:
+      // sync the WAL edit (SYNC and FSYNC treated the same for now)
+      return true;
+    }
+    return true;
+  }
+
   /**
    * Check whether we should sync the log from the table's durability settings
    */
@@ -5845,40 +6677,70 @@ public class HRegion implements HeapSize { // , Writable{
     void failedBulkLoad(byte[] family, String srcPath) throws IOException;
   }
 
-  @VisibleForTesting class RowLockContext {
-    private final HashedBytes row;
-    private final CountDownLatch latch = new CountDownLatch(1);
-    private final Thread thread;
-    private int lockCount = 0;
+  private static final ThreadLocal<RowKeyProbe> ROW_KEY_PROBE = new ThreadLocal<RowKeyProbe>() {
+    @Override
+    protected RowKeyProbe initialValue() {
+      return new RowKeyProbe();
+    }
+  };
 
-    RowLockContext(HashedBytes row) {
+  /**
+   * Looks up a row in lockedRows without allocating a key for it. Maps compare
+   * the key looked up with the keys they hold through the equals() of the former,
+   * see {@link Map#get(Object)}, so this equals the {@link HashedBytes} of its row.
+   */
+  private static class RowKeyProbe {
+    private byte[] row;
+    private int hashCode;
+
+    void set(byte[] row) {
       this.row = row;
-      this.thread = Thread.currentThread();
+      this.hashCode = row == null ? 0 : Bytes.hashCode(row);
     }
 
-    boolean ownedByCurrentThread() {
-      return thread == Thread.currentThread();
+    @Override
+    public int hashCode() {
+      return hashCode;
     }
 
-    RowLock newLock() {
-      lockCount++;
-      return new RowLock(this);
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof HashedBytes && Bytes.equals(row, ((HashedBytes) obj).getBytes());
+    }
+  }
+
+  @VisibleForTesting class RowLockContext {
+    private final HashedBytes row;
+    final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock(rowLockFair);
+    // Number of locks held or being acquired through this context. Once it
+    // drops to zero the context is removed from lockedRows and not used again.
+    private int count = 0;
+    private boolean usable = true;
+
+    RowLockContext(HashedBytes row) {
+      this.row = row;
     }
 
-    void releaseLock() {
-      if (!ownedByCurrentThread()) {
-        throw new IllegalArgumentException("Lock held by thread: " + thread
-          + " cannot be released by different thread: " + Thread.currentThread());
+    /**
+     * @return false if the context was removed from lockedRows already
+     */
+    synchronized boolean reference() {
+      if (!usable) {
+        return false;
       }
-      lockCount--;
-      if (lockCount == 0) {
-        // no remaining locks by the thread, unlock and allow other threads to access
-        RowLockContext existingContext = lockedRows.remove(row);
-        if (existingContext != this) {
+      count++;
+      return true;
+    }
+
+    synchronized void dereference() {
+      count--;
+      if (count == 0) {
+        // no remaining locks, the next thread locking the row uses a new context
+        usable = false;
+        if (!lockedRows.remove(row, this)) {
           throw new RuntimeException(
               "Internal row lock state inconsistent, should not happen, row: " + row);
         }
-        latch.countDown();
       }
     }
   }
@@ -5890,20 +6752,24 @@ public class HRegion implements HeapSize { // , Writable{
    */
   public static class RowLock {
     @VisibleForTesting final RowLockContext context;
+    @VisibleForTesting final Lock lock;
     private boolean released = false;
 
-    @VisibleForTesting RowLock(RowLockContext context) {
+    @VisibleForTesting RowLock(RowLockContext context, Lock lock) {
       this.context = context;
+      this.lock = lock;
     }
 
     /**
      * Release the given lock.  If there are no remaining locks held by the current thread
      * then unlock the row and allow other threads to acquire the lock.
-     * @throws IllegalArgumentException if called by a different thread than the lock owning thread
+     * @throws IllegalMonitorStateException if called by a different thread than the lock
+     *           owning thread
      */
     public void release() {
       if (!released) {
-        context.releaseLock();
+        lock.unlock();
+        context.dereference();
         released = true;
       }
     }
@@ -109,6 +109,7 @@ import org.apache.hadoop.hbase.ipc.PayloadCarryingRpcController;
 import org.apache.hadoop.hbase.ipc.PriorityFunction;
 import org.apache.hadoop.hbase.ipc.RpcCallContext;
 import org.apache.hadoop.hbase.ipc.RpcClient;
+import org.apache.hadoop.hbase.ipc.RpcScheduler;
 import org.apache.hadoop.hbase.ipc.RpcServer;
 import org.apache.hadoop.hbase.ipc.RpcServer.BlockingServiceAndInterface;
 import org.apache.hadoop.hbase.ipc.RpcServerInterface;
@@ -171,6 +172,7 @@ import org.apache.hadoop.hbase.protobuf.generated.ClientProtos.RegionActionResul
 import org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ResultOrException;
 import org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ScanRequest;
 import org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ScanResponse;
+import org.apache.hadoop.hbase.protobuf.generated.ClientProtos.ServerLoadStats;
 import org.apache.hadoop.hbase.protobuf.generated.ClusterStatusProtos;
 import org.apache.hadoop.hbase.protobuf.generated.ClusterStatusProtos.RegionLoad;
 import org.apache.hadoop.hbase.protobuf.generated.HBaseProtos.Coprocessor;
@@ -271,6 +273,27 @@ public class HRegionServer implements ClientProtos.ClientService.BlockingInterfa
 
   protected long maxScannerResultSize;
 
+  /**
+   * Time in milliseconds a scan call may spend skipping filtered rows before it returns
+   * a heartbeat to clients that handle them. Defaults to half of the smaller of the
+   * scanner lease period and the RPC timeout.
+   */
+  public static final String SCANNER_TIME_LIMIT_KEY = "hbase.regionserver.scanner.time.limit";
+
+  private final long scannerTimeLimit;
+
+  /**
+   * Whether the puts and deletes of a multi request spanning several regions are
+   * synced to the WAL with a single sync. Defaults to true.
+   */
+  public static final String MULTI_GROUP_COMMIT_KEY = "hbase.regionserver.multi.groupcommit";
+
+  private final boolean multiGroupCommit;
+
+  // The scheduler of the rpc server and its queue bound, for the load reported to the clients
+  private RpcScheduler rpcScheduler;
+  private int maxCallQueueLength;
+
   // Cache flushing
   protected MemStoreFlusher cacheFlusher;
 
@@ -563,6 +586,12 @@ public class HRegionServer implements ClientProtos.ClientService.BlockingInterfa
       HConstants.HBASE_REGIONSERVER_LEASE_PERIOD_KEY,
       HConstants.DEFAULT_HBASE_CLIENT_SCANNER_TIMEOUT_PERIOD);
 
+    this.scannerTimeLimit = conf.getLong(SCANNER_TIME_LIMIT_KEY,
+      Math.min(this.scannerLeaseTimeoutPeriod,
+        conf.getInt(HConstants.HBASE_RPC_TIMEOUT_KEY, HConstants.DEFAULT_HBASE_RPC_TIMEOUT)) / 2);
+
+    this.multiGroupCommit = conf.getBoolean(MULTI_GROUP_COMMIT_KEY, true);
+
     // Server to handle client requests.
     String hostname = conf.get("hbase.regionserver.ipc.address",
       Strings.domainNamePointerToHostName(DNS.getDefaultHost(
@@ -591,11 +620,16 @@ public class HRegionServer implements ClientProtos.ClientService.BlockingInterfa
     } catch (IllegalAccessException e) {
       throw new IllegalArgumentException(e);
     }
+    this.rpcScheduler = rpcSchedulerFactory.create(conf, this);
+    this.maxCallQueueLength = conf.getInt("ipc.server.max.callqueue.length",
+      conf.getInt(HConstants.REGION_SERVER_HANDLER_COUNT,
+        HConstants.DEFAULT_REGION_SERVER_HANDLER_COUNT)
+        * RpcServer.DEFAULT_MAX_CALLQUEUE_LENGTH_PER_HANDLER);
     this.rpcServer = new RpcServer(this, name, getServices(),
       /*HBaseRPCErrorHandler.class, OnlineRegions.class},*/
       initialIsa, // BindAddress is IP we got for this server.
       conf,
-      rpcSchedulerFactory.create(conf, this));
+      this.rpcScheduler);
 
     // Set our address.
     this.isa = this.rpcServer.getListenerAddress();
@@ -3018,6 +3052,10 @@ public class HRegionServer implements ClientProtos.ClientService.BlockingInterfa
       RegionScannerHolder rsh = null;
       boolean moreResults = true;
       boolean closeScanner = false;
+      long timeLimit = Long.MAX_VALUE;
+      if (request.getClientHandlesHeartbeats()) {
+        timeLimit = EnvironmentEdgeManager.currentTimeMillis() + scannerTimeLimit;
+      }
       ScanResponse.Builder builder = ScanResponse.newBuilder();
       if (request.hasCloseScanner()) {
         closeScanner = request.getCloseScanner();
@@ -3116,6 +3154,8 @@ public class HRegionServer implements ClientProtos.ClientService.BlockingInterfa
               maxResultSize = maxScannerResultSize;
             }
             List<Cell> values = new ArrayList<Cell>();
+            // Until the region says otherwise, we stopped because of the row count or size.
+            boolean moreResultsInRegion = true;
             region.startRegionOperation(Operation.SCAN);
             try {
               int i = 0;
@@ -3123,7 +3163,17 @@ public class HRegionServer implements ClientProtos.ClientService.BlockingInterfa
                 for (; i < rows
                     && currentScanResultSize < maxResultSize; i++) {
                   // Collect values to be returned here
-                  boolean moreRows = scanner.nextRaw(values);
+                  boolean moreRows = scanner.nextRawWithinTime(values, timeLimit);
+                  if (!moreRows) {
+                    moreResultsInRegion = false;
+                  } else if (values.isEmpty() && scanner.getLastFilteredRow() != null) {
+                    // Only filtered out rows until the time limit; let the client know
+                    // we are alive and where we got to.
+                    builder.setHeartbeatMessage(true);
+                    builder.setCursorRow(
+                      ZeroCopyLiteralByteString.wrap(scanner.getLastFilteredRow()));
+                    break;
+                  }
                   if (!values.isEmpty()) {
                     if (maxScannerResultSize < Long.MAX_VALUE){
                       for (Cell kv : values) {
@@ -3136,8 +3186,13 @@ public class HRegionServer implements ClientProtos.ClientService.BlockingInterfa
                     break;
                   }
                   values.clear();
+                  if (EnvironmentEdgeManager.currentTimeMillis() >= timeLimit) {
+                    builder.setHeartbeatMessage(true);
+                    break;
+                  }
                 }
               }
+              builder.setMoreResultsInRegion(moreResultsInRegion);
               region.readRequestsCount.add(i);
             } finally {
               region.closeRegionOperation();
@@ -3278,6 +3333,28 @@ public class HRegionServer implements ClientProtos.ClientService.BlockingInterfa
     }
   }
 
+  /**
+   * Builds the load reported to the clients in the multi responses, so that they can back off
+   * before the server starts to block or reject their updates. All loads are percentages.
+   * @param memstoreLoad the highest memstore load of the regions in the request
+   * @param compactionLoad the highest compaction load of the regions in the request
+   */
+  private ServerLoadStats getLoadStats(int memstoreLoad, int compactionLoad) {
+    ServerLoadStats.Builder builder = ServerLoadStats.newBuilder();
+    if (this.cacheFlusher != null && this.cacheFlusher.globalMemStoreLimit > 0) {
+      memstoreLoad = (int) Math.max(memstoreLoad, Math.min(100,
+        getRegionServerAccounting().getGlobalMemstoreSize() * 100
+          / this.cacheFlusher.globalMemStoreLimit));
+    }
+    builder.setMemstoreLoad(memstoreLoad);
+    if (this.rpcScheduler != null && this.maxCallQueueLength > 0) {
+      builder.setCallQueueLoad(Math.min(100,
+        this.rpcScheduler.getGeneralQueueLength() * 100 / this.maxCallQueueLength));
+    }
+    builder.setCompactionLoad(compactionLoad);
+    return builder.build();
+  }
+
   /**
    * Execute multiple actions on a table: get, mutate, and/or execCoprocessor
    *
@@ -3300,36 +3377,76 @@ public class HRegionServer implements ClientProtos.ClientService.BlockingInterfa
     // this will contain all the cells that we need to return. It's created later, if needed.
     List<CellScannable> cellsToReturn = null;
     MultiResponse.Builder responseBuilder = MultiResponse.newBuilder();
+    // With several regions, the puts and deletes of all of them are synced to the WAL
+    // together, so the results of a region are only complete after the group sync.
+    WALGroupCommit groupCommit = null;
+    List<RegionActionResult.Builder> regionActionResultBuilders = null;
+    if (this.multiGroupCommit && request.getRegionActionCount() > 1) {
+      groupCommit = new WALGroupCommit();
+      regionActionResultBuilders =
+        new ArrayList<RegionActionResult.Builder>(request.getRegionActionCount());
+    }
     RegionActionResult.Builder regionActionResultBuilder = RegionActionResult.newBuilder();
+    int memstoreLoad = 0;
+    int compactionLoad = 0;
 
-    for (RegionAction regionAction : request.getRegionActionList()) {
-      this.requestCount.add(regionAction.getActionCount());
-      HRegion region;
-      regionActionResultBuilder.clear();
-      try {
-        region = getRegion(regionAction.getRegion());
-      } catch (IOException e) {
-        regionActionResultBuilder.setException(ResponseConverter.buildException(e));
-        responseBuilder.addRegionActionResult(regionActionResultBuilder.build());
-        continue;  // For this region it's a failure.
-      }
-
-      if (regionAction.hasAtomic() && regionAction.getAtomic()) {
-        // How does this call happen?  It may need some work to play well w/ the surroundings.
-        // Need to return an item per Action along w/ Action index.  TODO.
+    try {
+      for (RegionAction regionAction : request.getRegionActionList()) {
+        this.requestCount.add(regionAction.getActionCount());
+        HRegion region;
+        if (groupCommit != null) {
+          regionActionResultBuilder = RegionActionResult.newBuilder();
+          regionActionResultBuilders.add(regionActionResultBuilder);
+        } else {
+          regionActionResultBuilder.clear();
+        }
         try {
-          mutateRows(region, regionAction.getActionList(), cellScanner);
+          region = getRegion(regionAction.getRegion());
         } catch (IOException e) {
-          // As it's atomic, we may expect it's a global failure.
           regionActionResultBuilder.setException(ResponseConverter.buildException(e));
+          if (groupCommit == null) {
+            responseBuilder.addRegionActionResult(regionActionResultBuilder.build());
+          }
+          continue;  // For this region it's a failure.
         }
-      } else {
-        // doNonAtomicRegionMutation manages the exception internally
-        cellsToReturn = doNonAtomicRegionMutation(region, regionAction, cellScanner,
-            regionActionResultBuilder, cellsToReturn, nonceGroup);
+        memstoreLoad = Math.max(memstoreLoad, region.getMemstoreLoad());
+        compactionLoad = Math.max(compactionLoad, region.getCompactionLoad());
+
+        if (regionAction.hasAtomic() && regionAction.getAtomic()) {
+          // How does this call happen?  It may need some work to play well w/ the surroundings.
+          // Need to return an item per Action along w/ Action index.  TODO.
+          if (groupCommit != null) {
+            // Row mutations wait for the pending mvcc transactions of the region
+            groupCommit.sync();
+          }
+          try {
+            mutateRows(region, regionAction.getActionList(), cellScanner);
+          } catch (IOException e) {
+            // As it's atomic, we may expect it's a global failure.
+            regionActionResultBuilder.setException(ResponseConverter.buildException(e));
+          }
+        } else {
+          // doNonAtomicRegionMutation manages the exception internally
+          cellsToReturn = doNonAtomicRegionMutation(region, regionAction, cellScanner,
+              regionActionResultBuilder, cellsToReturn, nonceGroup, groupCommit);
+        }
+        if (groupCommit == null) {
+          responseBuilder.addRegionActionResult(regionActionResultBuilder.build());
+        }
+      }
+    } finally {
+      if (groupCommit != null) {
+        // Always sync or roll back the pending mini-batches, even if the loop failed,
+        // their mvcc transactions hold back the read point of their regions
+        groupCommit.sync();
       }
-      responseBuilder.addRegionActionResult(regionActionResultBuilder.build());
     }
+    if (groupCommit != null) {
+      for (RegionActionResult.Builder builder : regionActionResultBuilders) {
+        responseBuilder.addRegionActionResult(builder.build());
+      }
+    }
+    responseBuilder.setLoadStats(getLoadStats(memstoreLoad, compactionLoad));
     // Load the controller with the Cells to return.
     if (cellsToReturn != null && !cellsToReturn.isEmpty() && controller != null) {
       controller.setCellScanner(CellUtil.createCellScanner(cellsToReturn));
@@ -3346,11 +3463,14 @@ public class HRegionServer implements ClientProtos.ClientService.BlockingInterfa
    * @param builder
    * @param cellsToReturn  Could be null. May be allocated in this method.  This is what this
    * method returns as a 'result'.
+   * @param groupCommit Could be null. If set, Puts and Deletes are left to be synced with the
+   * group, and their results are added once it is synced.
    * @return Return the <code>cellScanner</code> passed
    */
   private List<CellScannable> doNonAtomicRegionMutation(final HRegion region,
       final RegionAction actions, final CellScanner cellScanner,
-      final RegionActionResult.Builder builder, List<CellScannable> cellsToReturn, long nonceGroup) {
+      final RegionActionResult.Builder builder, List<CellScannable> cellsToReturn, long nonceGroup,
+      final WALGroupCommit groupCommit) {
     // Gather up CONTIGUOUS Puts and Deletes in this mutations List.  Idea is that rather than do
     // one at a time, we instead pass them in batch.  Be aware that the corresponding
     // ResultOrException instance that matches each Put or Delete is then added down in the
@@ -3360,6 +3480,16 @@ public class HRegionServer implements ClientProtos.ClientService.BlockingInterfa
       ClientProtos.ResultOrException.Builder resultOrExceptionBuilder = null;
       try {
         Result r = null;
+        if (groupCommit != null && !groupCommit.isEmpty() && (action.hasGet() ||
+            (action.hasMutation() && action.getMutation().getMutateType() != MutationType.PUT &&
+             action.getMutation().getMutateType() != MutationType.DELETE))) {
+          // Reads have to see the pending Puts and Deletes, and wait for their mvcc
+          if (mutations != null && !mutations.isEmpty()) {
+            doBatchOp(builder, region, mutations, cellScanner, groupCommit);
+            mutations.clear();
+          }
+          groupCommit.sync();
+        }
         if (action.hasGet()) {
           Get get = ProtobufUtil.toGet(action.getGet());
           r = region.get(get);
@@ -3368,7 +3498,7 @@ public class HRegionServer implements ClientProtos.ClientService.BlockingInterfa
           if (type != MutationType.PUT && type != MutationType.DELETE && mutations != null &&
               !mutations.isEmpty()) {
             // Flush out any Puts or Deletes already collected.
-            doBatchOp(builder, region, mutations, cellScanner);
+            doBatchOp(builder, region, mutations, cellScanner, groupCommit);
             mutations.clear();
           }
           switch (type) {
@@ -3421,7 +3551,7 @@ public class HRegionServer implements ClientProtos.ClientService.BlockingInterfa
     }
     // Finish up any outstanding mutations
     if (mutations != null && !mutations.isEmpty()) {
-      doBatchOp(builder, region, mutations, cellScanner);
+      doBatchOp(builder, region, mutations, cellScanner, groupCommit);
     }
     return cellsToReturn;
   }
@@ -4149,8 +4279,23 @@ public class HRegionServer implements ClientProtos.ClientService.BlockingInterfa
    */
   protected void doBatchOp(final RegionActionResult.Builder builder, final HRegion region,
       final List<ClientProtos.Action> mutations, final CellScanner cells) {
+    doBatchOp(builder, region, mutations, cells, null);
+  }
+
+  /**
+   * Execute a list of Put/Delete mutations. If a group is passed, the WAL sync is left to
+   * the group, and the results are added to the builder once the group is synced.
+   * @param builder
+   * @param region
+   * @param mutations
+   * @param cells
+   * @param groupCommit Could be null.
+   */
+  private void doBatchOp(final RegionActionResult.Builder builder, final HRegion region,
+      final List<ClientProtos.Action> mutations, final CellScanner cells,
+      final WALGroupCommit groupCommit) {
     Mutation[] mArray = new Mutation[mutations.size()];
-    long before = EnvironmentEdgeManager.currentTimeMillis();
+    final long before = EnvironmentEdgeManager.currentTimeMillis();
     boolean batchContainsPuts = false, batchContainsDelete = false;
     try {
       int i = 0;
@@ -4169,39 +4314,97 @@ public class HRegionServer implements ClientProtos.ClientService.BlockingInterfa
 
       requestCount.add(mutations.size());
       if (!region.getRegionInfo().isMetaTable()) {
+        if (groupCommit != null && !groupCommit.isEmpty() && cacheFlusher.isAboveHighWaterMark()) {
+          // Flushes wait for the pending mvcc transactions of the group
+          groupCommit.sync();
+        }
         cacheFlusher.reclaimMemStoreMemory();
       }
 
+      if (groupCommit != null) {
+        final OperationStatus codes[];
+        try {
+          codes = region.batchMutate(mArray, groupCommit);
+        } catch (IOException ie) {
+          // The mini-batches applied before the failure are still synced with the group,
+          // but the whole batch is reported as failed, as without a group
+          groupCommit.addListener(IGNORING_LISTENER);
+          throw ie;
+        }
+        // The mutations of the list are reused for the next batch
+        final List<ClientProtos.Action> actions = new ArrayList<ClientProtos.Action>(mutations);
+        final boolean containsPuts = batchContainsPuts, containsDelete = batchContainsDelete;
+        groupCommit.addListener(new WALGroupCommit.Listener() {
+          @Override
+          public void synced() {
+            addBatchResults(builder, actions, codes);
+            updateBatchMetrics(before, containsPuts, containsDelete);
+          }
+
+          @Override
+          public void failed(IOException e) {
+            addBatchException(builder, actions, e);
+            updateBatchMetrics(before, containsPuts, containsDelete);
+          }
+        });
+        return;
+      }
       OperationStatus codes[] = region.batchMutate(mArray);
-      for (i = 0; i < codes.length; i++) {
-        int index = mutations.get(i).getIndex();
-        Exception e = null;
-        switch (codes[i].getOperationStatusCode()) {
-          case BAD_FAMILY:
-            e = new NoSuchColumnFamilyException(codes[i].getExceptionMsg());
-            builder.addResultOrException(getResultOrException(e, index));
-            break;
+      addBatchResults(builder, mutations, codes);
+    } catch (IOException ie) {
+      addBatchException(builder, mutations, ie);
+    }
+    updateBatchMetrics(before, batchContainsPuts, batchContainsDelete);
+  }
 
-          case SANITY_CHECK_FAILURE:
-            e = new FailedSanityCheckException(codes[i].getExceptionMsg());
-            builder.addResultOrException(getResultOrException(e, index));
-            break;
+  /** Closes the mini-batches of a failed batch, whose results are already reported */
+  private static final WALGroupCommit.Listener IGNORING_LISTENER = new WALGroupCommit.Listener() {
+    @Override
+    public void synced() {
+    }
 
-          default:
-            e = new DoNotRetryIOException(codes[i].getExceptionMsg());
-            builder.addResultOrException(getResultOrException(e, index));
-            break;
+    @Override
+    public void failed(IOException e) {
+    }
+  };
+
+  private static void addBatchResults(final RegionActionResult.Builder builder,
+      final List<ClientProtos.Action> mutations, final OperationStatus[] codes) {
+    for (int i = 0; i < codes.length; i++) {
+      int index = mutations.get(i).getIndex();
+      Exception e = null;
+      switch (codes[i].getOperationStatusCode()) {
+        case BAD_FAMILY:
+          e = new NoSuchColumnFamilyException(codes[i].getExceptionMsg());
+          builder.addResultOrException(getResultOrException(e, index));
+          break;
 
-          case SUCCESS:
-            builder.addResultOrException(getResultOrException(ClientProtos.Result.getDefaultInstance(), index));
-            break;
-        }
-      }
-    } catch (IOException ie) {
-      for (int i = 0; i < mutations.size(); i++) {
-        builder.addResultOrException(getResultOrException(ie, mutations.get(i).getIndex()));
+        case SANITY_CHECK_FAILURE:
+          e = new FailedSanityCheckException(codes[i].getExceptionMsg());
+          builder.addResultOrException(getResultOrException(e, index));
+          break;
+
+        default:
+          e = new DoNotRetryIOException(codes[i].getExceptionMsg());
+          builder.addResultOrException(getResultOrException(e, index));
+          break;
+
+        case SUCCESS:
+          builder.addResultOrException(getResultOrException(ClientProtos.Result.getDefaultInstance(), index));
+          break;
       }
     }
+  }
+
+  private static void addBatchException(final RegionActionResult.Builder builder,
+      final List<ClientProtos.Action> mutations, final IOException ie) {
+    for (int i = 0; i < mutations.size(); i++) {
+      builder.addResultOrException(getResultOrException(ie, mutations.get(i).getIndex()));
+    }
+  }
+
+  private void updateBatchMetrics(long before, boolean batchContainsPuts,
+      boolean batchContainsDelete) {
     long after = EnvironmentEdgeManager.currentTimeMillis();
     if (batchContainsPuts) {
       metricsRegionServer.updatePut(after - before);
@@ -4250,7 +4453,8 @@ public class HRegionServer implements ClientProtos.ClientService.BlockingInterfa
       }
       requestCount.add(mutations.size());
       if (!region.getRegionInfo().isMetaTable()) {
-        cacheFlusher.reclaimMemStoreMemory();
+        // The edits of a recovering region are not rejected, they wait for the flushes
+        cacheFlusher.reclaimMemStoreMemory(false);
       }
       return region.batchReplay(mArray);
     } finally {
@@ -182,6 +182,8 @@ public class HStore implements Store {
 
   private Encryption.Context cryptoContext = Encryption.Context.NONE;
 
+  private final BlobStore blobStore;
+
   /**
    * Constructor
    * @param region
@@ -247,6 +249,11 @@ public class HStore implements Store {
           "hbase.hstore.close.check.interval", 10*1000*1000 /* 10 MB */);
     }
 
+    long blobThreshold = family.getBlobThreshold();
+    this.blobStore = blobThreshold > 0 ? new BlobStore(conf, getFileSystem(),
+        region.getTableDesc().getTableName(), fs.getTableDir(), family.getNameAsString(),
+        blobThreshold) : null;
+
     this.storeEngine = StoreEngine.create(this, this.conf, this.comparator);
     this.storeEngine.getStoreFileManager().loadFiles(loadStoreFiles());
 
@@ -877,6 +884,7 @@ public class HStore implements Store {
             .withFilePath(fs.createTempName())
             .withComparator(comparator)
             .withBloomType(family.getBloomFilterType())
+            .withBloomPrefixLength(family.getBloomFilterPrefixLength())
             .withMaxKeyCount(maxKeyCount)
             .withFavoredNodes(favoredNodes)
             .withFileContext(hFileContext)
@@ -1828,6 +1836,11 @@ public class HStore implements Store {
     return this.memstore.heapSize();
   }
 
+  @Override
+  public long getFlushableSize() {
+    return this.memstore.keySize();
+  }
+
   @Override
   public int getCompactPriority() {
     int priority = this.storeEngine.getStoreFileManager().getStoreCompactionPriority();
@@ -1979,13 +1992,18 @@ public class HStore implements Store {
     return this.storeEngine.needsCompaction(this.filesCompacting);
   }
 
+  @Override
+  public BlobStore getBlobStore() {
+    return this.blobStore;
+  }
+
   @Override
   public CacheConfig getCacheConfig() {
     return this.cacheConf;
   }
 
   public static final long FIXED_OVERHEAD =
-      ClassSize.align(ClassSize.OBJECT + (16 * ClassSize.REFERENCE) + (4 * Bytes.SIZEOF_LONG)
+      ClassSize.align(ClassSize.OBJECT + (17 * ClassSize.REFERENCE) + (4 * Bytes.SIZEOF_LONG)
               + (5 * Bytes.SIZEOF_INT) + (2 * Bytes.SIZEOF_BOOLEAN));
 
   public static final long DEEP_OVERHEAD = ClassSize.align(FIXED_OVERHEAD
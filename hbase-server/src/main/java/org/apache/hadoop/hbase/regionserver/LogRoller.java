@@ -129,7 +129,8 @@ class LogRoller extends HasThread implements WALActionsListener {
     if (r != null) {
       requester = this.services.getFlushRequester();
       if (requester != null) {
-        requester.requestFlush(r);
+        // Only a flush of all stores lets the oldest log go
+        requester.requestFlush(r, true);
         scheduled = true;
       }
     }
@@ -32,7 +32,8 @@ import java.util.concurrent.DelayQueue;
 import java.util.concurrent.Delayed;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.apache.commons.logging.Log;
@@ -41,6 +42,7 @@ import org.apache.hadoop.classification.InterfaceAudience;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hbase.DroppedSnapshotException;
 import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.RegionTooBusyException;
 import org.apache.hadoop.hbase.RemoteExceptionHandler;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.hadoop.hbase.util.EnvironmentEdgeManager;
@@ -59,6 +61,13 @@ import org.cloudera.htrace.TraceScope;
  * NOTE: This class extends Thread rather than Chore because the sleep time
  * can be interrupted when there is something to do, rather than the Chore
  * sleep time which is invariant.
+ * <p>
+ * Flushes for global memstore pressure start before the low water mark is reached
+ * when, at the current ingest rate, the global memstore would reach the high water
+ * mark within {@link #FLUSH_LOOKAHEAD_KEY} ms. Above the high water mark, the flush
+ * handlers flush several regions in parallel, and updates are rejected with a
+ * {@link RegionTooBusyException} telling the client how long to back off, rather
+ * than blocked until enough memory is freed.
  *
  * @see FlushRequester
  */
@@ -71,7 +80,7 @@ class MemStoreFlusher implements FlushRequester {
     new DelayQueue<FlushQueueEntry>();
   private final Map<HRegion, FlushRegionEntry> regionsInQueue =
     new HashMap<HRegion, FlushRegionEntry>();
-  private AtomicBoolean wakeupPending = new AtomicBoolean();
+  private final AtomicInteger wakeupsPending = new AtomicInteger();
 
   private final long threadWakeFrequency;
   private final HRegionServer server;
@@ -87,8 +96,42 @@ class MemStoreFlusher implements FlushRequester {
     "hbase.regionserver.global.memstore.upperLimit";
   private static final String LOWER_KEY =
     "hbase.regionserver.global.memstore.lowerLimit";
+  /**
+   * How far ahead, in ms, the flusher looks for the global memstore reaching the high
+   * water mark at the current ingest rate. If it would, and the flushes could not get
+   * back down to the low water mark before, flushes start right away.
+   * 0, the default, disables the prediction.
+   */
+  static final String FLUSH_LOOKAHEAD_KEY =
+    "hbase.regionserver.global.memstore.flush.lookahead";
+  static final long DEFAULT_FLUSH_LOOKAHEAD = 0;
+  /**
+   * If true, updates above the high water mark are rejected with a
+   * {@link RegionTooBusyException} instead of being blocked. Defaults to false.
+   */
+  static final String REJECT_UPDATES_KEY =
+    "hbase.regionserver.global.memstore.reject.updates";
+  static final boolean DEFAULT_REJECT_UPDATES = false;
+  /** The longest a rejected client is asked to back off, in ms */
+  static final String MAX_RETRY_AFTER_KEY =
+    "hbase.regionserver.global.memstore.max.retry.after";
+  static final long DEFAULT_MAX_RETRY_AFTER = 5000;
+  static final long MIN_RETRY_AFTER = 100;
+  private static final long INGEST_SAMPLE_INTERVAL = 1000;
+
   private long blockingWaitTime;
+  private final long flushLookahead;
+  private final boolean rejectUpdates;
+  private final long maxRetryAfter;
   private final Counter updatesBlockedMsHighWater = new Counter();
+  private final Counter updatesBlockedCount = new Counter();
+  private final Counter updatesRejectedCount = new Counter();
+
+  // The ingest rate and the flush throughput, in bytes per ms
+  private final AtomicLong lastIngestSampleTime = new AtomicLong();
+  private volatile long lastIngestSize;
+  private volatile double ingestRate;
+  private volatile double flushThroughput;
 
   private final FlushHandler[] flushHandlers;
 
@@ -114,13 +157,19 @@ class MemStoreFlusher implements FlushRequester {
     this.globalMemStoreLimitLowMark = lower;
     this.blockingWaitTime = conf.getInt("hbase.hstore.blockingWaitTime",
       90000);
+    this.flushLookahead = conf.getLong(FLUSH_LOOKAHEAD_KEY, DEFAULT_FLUSH_LOOKAHEAD);
+    this.rejectUpdates = conf.getBoolean(REJECT_UPDATES_KEY, DEFAULT_REJECT_UPDATES);
+    this.maxRetryAfter = Math.max(MIN_RETRY_AFTER,
+      conf.getLong(MAX_RETRY_AFTER_KEY, DEFAULT_MAX_RETRY_AFTER));
     int handlerCount = conf.getInt("hbase.hstore.flusher.count", 1);
     this.flushHandlers = new FlushHandler[handlerCount];
     LOG.info("globalMemStoreLimit=" +
       StringUtils.humanReadableInt(this.globalMemStoreLimit) +
       ", globalMemStoreLimitLowMark=" +
       StringUtils.humanReadableInt(this.globalMemStoreLimitLowMark) +
-      ", maxHeap=" + StringUtils.humanReadableInt(max));
+      ", maxHeap=" + StringUtils.humanReadableInt(max) +
+      ", flushLookahead=" + this.flushLookahead + "ms" +
+      ", rejectUpdates=" + this.rejectUpdates);
   }
 
   /**
@@ -153,6 +202,20 @@ class MemStoreFlusher implements FlushRequester {
     return this.updatesBlockedMsHighWater;
   }
 
+  /**
+   * @return the number of times updates have been blocked above the high water mark
+   */
+  public Counter getUpdatesBlockedCount() {
+    return this.updatesBlockedCount;
+  }
+
+  /**
+   * @return the number of updates rejected above the high water mark
+   */
+  public Counter getUpdatesRejectedCount() {
+    return this.updatesRejectedCount;
+  }
+
   /**
    * The memstore across all regions has exceeded the low water mark. Pick
    * one region to flush and flush it synchronously (this is called from the
@@ -182,7 +245,8 @@ class MemStoreFlusher implements FlushRequester {
 
       HRegion regionToFlush;
       if (bestFlushableRegion != null &&
-          bestAnyRegion.memstoreSize.get() > 2 * bestFlushableRegion.memstoreSize.get()) {
+          bestAnyRegion.getSelectedStoresFlushableSize() >
+            2 * bestFlushableRegion.getSelectedStoresFlushableSize()) {
         // Even if it's not supposed to be flushed, pick a region if it's more than twice
         // as big as the best flushable one - otherwise when we're under pressure we make
         // lots of little flushes and cause lots of compactions, etc, which just makes
@@ -190,10 +254,10 @@ class MemStoreFlusher implements FlushRequester {
         if (LOG.isDebugEnabled()) {
           LOG.debug("Under global heap pressure: " +
             "Region " + bestAnyRegion.getRegionNameAsString() + " has too many " +
-            "store files, but is " +
-            StringUtils.humanReadableInt(bestAnyRegion.memstoreSize.get()) +
+            "store files, but flushing it frees " +
+            StringUtils.humanReadableInt(bestAnyRegion.getSelectedStoresFlushableSize()) +
             " vs best flushable region's " +
-            StringUtils.humanReadableInt(bestFlushableRegion.memstoreSize.get()) +
+            StringUtils.humanReadableInt(bestFlushableRegion.getSelectedStoresFlushableSize()) +
             ". Choosing the bigger.");
         }
         regionToFlush = bestAnyRegion;
@@ -208,7 +272,7 @@ class MemStoreFlusher implements FlushRequester {
       Preconditions.checkState(regionToFlush.memstoreSize.get() > 0);
 
       LOG.info("Flush of region " + regionToFlush + " due to global heap pressure");
-      flushedOne = flushRegion(regionToFlush, true);
+      flushedOne = flushRegion(regionToFlush, true, false);
       if (!flushedOne) {
         LOG.info("Excluding unflushable region " + regionToFlush +
           " - trying to find a different region to flush.");
@@ -224,12 +288,18 @@ class MemStoreFlusher implements FlushRequester {
       while (!server.isStopped()) {
         FlushQueueEntry fqe = null;
         try {
-          wakeupPending.set(false); // allow someone to wake us up again
           fqe = flushQueue.poll(threadWakeFrequency, TimeUnit.MILLISECONDS);
+          if (fqe instanceof WakeupFlushThread) {
+            wakeupsPending.decrementAndGet(); // allow someone to wake us up again
+          }
           if (fqe == null || fqe instanceof WakeupFlushThread) {
-            if (isAboveLowWaterMark()) {
+            updateIngestRate();
+            if (isAboveLowWaterMark() || isHighWaterMarkPredicted()) {
               LOG.debug("Flush thread woke up because memory above low water="
-                  + StringUtils.humanReadableInt(globalMemStoreLimitLowMark));
+                  + StringUtils.humanReadableInt(globalMemStoreLimitLowMark)
+                  + " or expected to reach high water="
+                  + StringUtils.humanReadableInt(globalMemStoreLimit)
+                  + " within " + flushLookahead + "ms");
               if (!flushOneForGlobalPressure()) {
                 // Wasn't able to flush any region, but we're above low water mark
                 // This is unlikely to happen, but might happen when closing the
@@ -239,8 +309,13 @@ class MemStoreFlusher implements FlushRequester {
                 Thread.sleep(1000);
                 wakeUpIfBlocking();
               }
-              // Enqueue another one of these tokens so we'll wake up again
-              wakeupFlushThread();
+              // Enqueue another one of these tokens so we'll wake up again, more
+              // if the updates are held back so that regions get flushed in parallel
+              if (isAboveHighWaterMark()) {
+                wakeupFlushThreads();
+              } else {
+                wakeupFlushThread();
+              }
             }
             continue;
           }
@@ -262,6 +337,7 @@ class MemStoreFlusher implements FlushRequester {
       synchronized (regionsInQueue) {
         regionsInQueue.clear();
         flushQueue.clear();
+        wakeupsPending.set(0);
       }
 
       // Signal anyone waiting, so they see the close flag
@@ -272,17 +348,47 @@ class MemStoreFlusher implements FlushRequester {
 
 
   private void wakeupFlushThread() {
-    if (wakeupPending.compareAndSet(false, true)) {
-      flushQueue.add(new WakeupFlushThread());
+    wakeupFlushThreads(1);
+  }
+
+  /**
+   * Wakes up all the flush handlers to flush for global pressure in parallel.
+   */
+  private void wakeupFlushThreads() {
+    wakeupFlushThreads(flushHandlers.length);
+  }
+
+  private void wakeupFlushThreads(int count) {
+    while (true) {
+      int pending = wakeupsPending.get();
+      if (pending >= count) {
+        return;
+      }
+      if (wakeupsPending.compareAndSet(pending, pending + 1)) {
+        flushQueue.add(new WakeupFlushThread());
+      }
     }
   }
 
+  /**
+   * Finds the region whose flush frees the most memory. Flushes for global pressure only
+   * flush the stores selected by {@link HRegion#selectStoresToFlush()}, so a region whose
+   * memstore is spread over many small stores may free less than a smaller region.
+   * @return the region, or null if there is no flushable region
+   */
   private HRegion getBiggestMemstoreRegion(
       SortedMap<Long, HRegion> regionsBySize,
       Set<HRegion> excludedRegions,
       boolean checkStoreFileCount) {
+    HRegion biggest = null;
+    long biggestFlushableSize = 0;
     synchronized (regionsInQueue) {
       for (HRegion region : regionsBySize.values()) {
+        // Regions come by decreasing memstore size, which bounds what their flush frees
+        if (biggest != null && region.memstoreSize.get() <= biggestFlushableSize) {
+          break;
+        }
+
         if (excludedRegions.contains(region)) {
           continue;
         }
@@ -294,36 +400,125 @@ class MemStoreFlusher implements FlushRequester {
         if (checkStoreFileCount && isTooManyStoreFiles(region)) {
           continue;
         }
-        return region;
+
+        long flushableSize = region.getSelectedStoresFlushableSize();
+        if (biggest == null || flushableSize > biggestFlushableSize) {
+          biggest = region;
+          biggestFlushableSize = flushableSize;
+        }
       }
     }
-    return null;
+    return biggest;
   }
 
   /**
    * Return true if global memory usage is above the high watermark
    */
-  private boolean isAboveHighWaterMark() {
+  boolean isAboveHighWaterMark() {
     return server.getRegionServerAccounting().
       getGlobalMemstoreSize() >= globalMemStoreLimit;
   }
 
   /**
-   * Return true if we're above the high watermark
+   * Return true if we're above the low watermark
    */
   private boolean isAboveLowWaterMark() {
     return server.getRegionServerAccounting().
       getGlobalMemstoreSize() >= globalMemStoreLimitLowMark;
   }
 
-  public void requestFlush(HRegion r) {
+  /**
+   * Return true if, at the current ingest rate, global memory usage will reach the
+   * high watermark within the flush lookahead, sooner than flushes started now could
+   * free what lies between the low and the high watermark at the measured flush
+   * throughput
+   */
+  boolean isHighWaterMarkPredicted() {
+    if (flushLookahead <= 0 || ingestRate <= 0) {
+      return false;
+    }
+    long globalMemstoreSize = server.getRegionServerAccounting().getGlobalMemstoreSize();
+    if (globalMemstoreSize <= 0) {
+      return false;
+    }
+    double timeToHighWaterMark = (globalMemStoreLimit - globalMemstoreSize) / ingestRate;
+    if (timeToHighWaterMark > flushLookahead) {
+      return false;
+    }
+    double throughput = flushThroughput * flushHandlers.length;
+    if (throughput <= 0) {
+      // Nothing flushed yet, go by the lookahead alone
+      return true;
+    }
+    return timeToHighWaterMark <= (globalMemStoreLimit - globalMemStoreLimitLowMark) / throughput;
+  }
+
+  /**
+   * Samples the memstore ingest rate, at most once every
+   * {@link #INGEST_SAMPLE_INTERVAL} ms.
+   */
+  void updateIngestRate() {
+    long now = EnvironmentEdgeManager.currentTimeMillis();
+    long last = lastIngestSampleTime.get();
+    if (now - last < INGEST_SAMPLE_INTERVAL || !lastIngestSampleTime.compareAndSet(last, now)) {
+      return;
+    }
+    long ingestSize = server.getRegionServerAccounting().getMemstoreIngestSize();
+    if (last > 0) {
+      ingestRate = average(ingestRate, (double) (ingestSize - lastIngestSize) / (now - last));
+    }
+    lastIngestSize = ingestSize;
+  }
+
+  double getIngestRate() {
+    return ingestRate;
+  }
+
+  /**
+   * Samples the throughput of a flush handler.
+   * @param flushed the bytes flushed
+   * @param took how long it took, in ms
+   */
+  void updateFlushThroughput(long flushed, long took) {
+    flushThroughput = average(flushThroughput, (double) flushed / took);
+  }
+
+  private static double average(double average, double sample) {
+    return average == 0 ? sample : (average + sample) / 2;
+  }
+
+  /**
+   * Estimates how long the flushes for global pressure, which go on down to the low
+   * water mark, will take. The further above the marks, the longer the clients have
+   * to back off.
+   * @param globalMemstoreSize the current global memstore size
+   * @return how long a rejected client should wait before retrying, in ms
+   */
+  long getRetryAfter(long globalMemstoreSize) {
+    long excess = globalMemstoreSize - globalMemStoreLimitLowMark;
+    double throughput = flushThroughput * flushHandlers.length;
+    long retryAfter;
+    if (throughput > 0) {
+      retryAfter = (long) (excess / throughput);
+    } else {
+      // Nothing flushed yet, back off longer the closer we are to the high water mark
+      long band = Math.max(1, globalMemStoreLimit - globalMemStoreLimitLowMark);
+      retryAfter = (long) ((double) maxRetryAfter * excess / band);
+    }
+    return Math.max(MIN_RETRY_AFTER, Math.min(maxRetryAfter, retryAfter));
+  }
+
+  public void requestFlush(HRegion r, boolean forceFlushAllStores) {
     synchronized (regionsInQueue) {
-      if (!regionsInQueue.containsKey(r)) {
+      FlushRegionEntry queued = regionsInQueue.get(r);
+      if (queued == null) {
         // This entry has no delay so it will be added at the top of the flush
         // queue.  It'll come out near immediately.
-        FlushRegionEntry fqe = new FlushRegionEntry(r);
+        FlushRegionEntry fqe = new FlushRegionEntry(r, forceFlushAllStores);
         this.regionsInQueue.put(r, fqe);
         this.flushQueue.add(fqe);
+      } else if (forceFlushAllStores) {
+        queued.forceFlushAllStores();
       }
     }
   }
@@ -332,7 +527,7 @@ class MemStoreFlusher implements FlushRequester {
     synchronized (regionsInQueue) {
       if (!regionsInQueue.containsKey(r)) {
         // This entry has some delay
-        FlushRegionEntry fqe = new FlushRegionEntry(r);
+        FlushRegionEntry fqe = new FlushRegionEntry(r, false);
         fqe.requeue(delay);
         this.regionsInQueue.put(r, fqe);
         this.flushQueue.add(fqe);
@@ -427,7 +622,7 @@ class MemStoreFlusher implements FlushRequester {
         return true;
       }
     }
-    return flushRegion(region, false);
+    return flushRegion(region, false, fqe.isForceFlushAllStores());
   }
 
   /*
@@ -437,12 +632,15 @@ class MemStoreFlusher implements FlushRequester {
    * needs to be removed from the flush queue. If false, when we were called
    * from the main flusher run loop and we got the entry to flush by calling
    * poll on the flush queue (which removed it).
+   * @param forceFlushAllStores Set to flush all stores of the region, rather than
+   * only those selected by {@link HRegion#selectStoresToFlush()}.
    *
    * @return true if the region was successfully flushed, false otherwise. If
    * false, there will be accompanying log messages explaining why the log was
    * not flushed.
    */
-  private boolean flushRegion(final HRegion region, final boolean emergencyFlush) {
+  private boolean flushRegion(final HRegion region, final boolean emergencyFlush,
+      final boolean forceFlushAllStores) {
     synchronized (this.regionsInQueue) {
       FlushRegionEntry fqe = this.regionsInQueue.remove(region);
       if (fqe != null && emergencyFlush) {
@@ -453,7 +651,14 @@ class MemStoreFlusher implements FlushRequester {
     }
     lock.readLock().lock();
     try {
-      boolean shouldCompact = region.flushcache();
+      long sizeBefore = region.memstoreSize.get();
+      long start = EnvironmentEdgeManager.currentTimeMillis();
+      boolean shouldCompact = region.flushcache(forceFlushAllStores);
+      long flushed = sizeBefore - region.memstoreSize.get();
+      if (flushed > 0) {
+        updateFlushThroughput(flushed,
+            Math.max(1, EnvironmentEdgeManager.currentTimeMillis() - start));
+      }
       // We just want to check the size
       boolean shouldSplit = region.checkSplit() != null;
       if (shouldSplit) {
@@ -503,53 +708,90 @@ class MemStoreFlusher implements FlushRequester {
   /**
    * Check if the regionserver's memstore memory usage is greater than the
    * limit. If so, flush regions with the biggest memstores until we're down
-   * to the lower limit. This method blocks callers until we're down to a safe
-   * amount of memstore consumption.
+   * to the lower limit. Depending on {@link #REJECT_UPDATES_KEY}, this method
+   * either rejects callers or blocks them until we're down to a safe amount of
+   * memstore consumption.
+   * @throws RegionTooBusyException if updates are rejected
    */
-  public void reclaimMemStoreMemory() {
+  public void reclaimMemStoreMemory() throws RegionTooBusyException {
+    reclaimMemStoreMemory(this.rejectUpdates);
+  }
+
+  /**
+   * Check if the regionserver's memstore memory usage is greater than the
+   * limit. If so, flush regions with the biggest memstores until we're down
+   * to the lower limit.
+   * @param rejectUpdates if true, callers are rejected with a retry hint instead
+   * of being blocked until we're down to a safe amount of memstore consumption
+   * @throws RegionTooBusyException if above the limit and <code>rejectUpdates</code>
+   */
+  public void reclaimMemStoreMemory(boolean rejectUpdates) throws RegionTooBusyException {
     TraceScope scope = Trace.startSpan("MemStoreFluser.reclaimMemStoreMemory");
-    if (isAboveHighWaterMark()) {
-      if (Trace.isTracing()) {
-        scope.getSpan().addTimelineAnnotation("Force Flush. We're above high water mark.");
+    try {
+      updateIngestRate();
+      if (isAboveHighWaterMark()) {
+        if (Trace.isTracing()) {
+          scope.getSpan().addTimelineAnnotation("Force Flush. We're above high water mark.");
+        }
+        if (rejectUpdates) {
+          rejectUpdates();
+        } else {
+          blockUpdates();
+        }
+      } else if (isAboveLowWaterMark() || isHighWaterMarkPredicted()) {
+        wakeupFlushThread();
       }
-      long start = System.currentTimeMillis();
-      synchronized (this.blockSignal) {
-        boolean blocked = false;
-        long startTime = 0;
-        while (isAboveHighWaterMark() && !server.isStopped()) {
-          if (!blocked) {
-            startTime = EnvironmentEdgeManager.currentTimeMillis();
-            LOG.info("Blocking updates on " + server.toString() +
-            ": the global memstore size " +
-            StringUtils.humanReadableInt(server.getRegionServerAccounting().getGlobalMemstoreSize()) +
-            " is >= than blocking " +
-            StringUtils.humanReadableInt(globalMemStoreLimit) + " size");
-          }
-          blocked = true;
-          wakeupFlushThread();
-          try {
-            // we should be able to wait forever, but we've seen a bug where
-            // we miss a notify, so put a 5 second bound on it at least.
-            blockSignal.wait(5 * 1000);
-          } catch (InterruptedException ie) {
-            Thread.currentThread().interrupt();
-          }
-          long took = System.currentTimeMillis() - start;
-          LOG.warn("Memstore is above high water mark and block " + took + "ms");
+    } finally {
+      scope.close();
+    }
+  }
+
+  private void rejectUpdates() throws RegionTooBusyException {
+    long globalMemstoreSize = server.getRegionServerAccounting().getGlobalMemstoreSize();
+    wakeupFlushThreads();
+    this.updatesRejectedCount.increment();
+    throw new RegionTooBusyException("Above global memstore limit, server=" + server +
+      ", globalMemstoreSize=" + globalMemstoreSize +
+      ", globalMemStoreLimit=" + globalMemStoreLimit, getRetryAfter(globalMemstoreSize));
+  }
+
+  private void blockUpdates() {
+    long start = System.currentTimeMillis();
+    synchronized (this.blockSignal) {
+      boolean blocked = false;
+      long startTime = 0;
+      while (isAboveHighWaterMark() && !server.isStopped()) {
+        if (!blocked) {
+          startTime = EnvironmentEdgeManager.currentTimeMillis();
+          this.updatesBlockedCount.increment();
+          LOG.info("Blocking updates on " + server.toString() +
+          ": the global memstore size " +
+          StringUtils.humanReadableInt(server.getRegionServerAccounting().getGlobalMemstoreSize()) +
+          " is >= than blocking " +
+          StringUtils.humanReadableInt(globalMemStoreLimit) + " size");
         }
-        if(blocked){
-          final long totalTime = EnvironmentEdgeManager.currentTimeMillis() - startTime;
-          if(totalTime > 0){
-            this.updatesBlockedMsHighWater.add(totalTime);
-          }
-          LOG.info("Unblocking updates for server " + server.toString());
+        blocked = true;
+        wakeupFlushThreads();
+        try {
+          // we should be able to wait forever, but we've seen a bug where
+          // we miss a notify, so put a 5 second bound on it at least.
+          blockSignal.wait(5 * 1000);
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
         }
+        long took = System.currentTimeMillis() - start;
+        LOG.warn("Memstore is above high water mark and block " + took + "ms");
+      }
+      if(blocked){
+        final long totalTime = EnvironmentEdgeManager.currentTimeMillis() - startTime;
+        if(totalTime > 0){
+          this.updatesBlockedMsHighWater.add(totalTime);
+        }
+        LOG.info("Unblocking updates for server " + server.toString());
       }
-    } else if (isAboveLowWaterMark()) {
-      wakeupFlushThread();
     }
-    scope.close();
   }
+
   @Override
   public String toString() {
     return "flush_queue="
@@ -607,11 +849,27 @@ class MemStoreFlusher implements FlushRequester {
     private final long createTime;
     private long whenToExpire;
     private int requeueCount = 0;
+    private volatile boolean forceFlushAllStores;
 
-    FlushRegionEntry(final HRegion r) {
+    FlushRegionEntry(final HRegion r, final boolean forceFlushAllStores) {
       this.region = r;
       this.createTime = System.currentTimeMillis();
       this.whenToExpire = this.createTime;
+      this.forceFlushAllStores = forceFlushAllStores;
+    }
+
+    /**
+     * @return True if all stores of the region have to be flushed.
+     */
+    public boolean isForceFlushAllStores() {
+      return this.forceFlushAllStores;
+    }
+
+    /**
+     * Makes the flush of this entry flush all stores of the region.
+     */
+    public void forceFlushAllStores() {
+      this.forceFlushAllStores = true;
     }
 
     /**
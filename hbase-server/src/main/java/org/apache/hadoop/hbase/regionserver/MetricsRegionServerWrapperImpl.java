@@ -59,6 +59,7 @@ class MetricsRegionServerWrapperImpl
   private volatile long checkAndMutateChecksFailed = 0;
   private volatile long checkAndMutateChecksPassed = 0;
   private volatile long storefileIndexSize = 0;
+  private volatile long averageStorefileIndexSize = 0;
   private volatile long totalStaticIndexSize = 0;
   private volatile long totalStaticBloomSize = 0;
   private volatile long numMutationsWithoutWAL = 0;
@@ -308,6 +309,11 @@ class MetricsRegionServerWrapperImpl
     return storefileIndexSize;
   }
 
+  @Override
+  public long getAverageStoreFileIndexSize() {
+    return averageStorefileIndexSize;
+  }
+
   @Override
   public long getTotalStaticIndexSize() {
     return totalStaticIndexSize;
@@ -341,6 +347,22 @@ class MetricsRegionServerWrapperImpl
     return this.regionServer.cacheFlusher.getUpdatesBlockedMsHighWater().get();
   }
 
+  @Override
+  public long getUpdatesBlockedCount() {
+    if (this.regionServer.cacheFlusher == null) {
+      return 0;
+    }
+    return this.regionServer.cacheFlusher.getUpdatesBlockedCount().get();
+  }
+
+  @Override
+  public long getUpdatesRejectedCount() {
+    if (this.regionServer.cacheFlusher == null) {
+      return 0;
+    }
+    return this.regionServer.cacheFlusher.getUpdatesRejectedCount().get();
+  }
+
 
   /**
    * This is the runnable that will be executed on the executor every PERIOD number of seconds
@@ -429,6 +451,8 @@ class MetricsRegionServerWrapperImpl
       checkAndMutateChecksFailed = tempCheckAndMutateChecksFailed;
       checkAndMutateChecksPassed = tempCheckAndMutateChecksPassed;
       storefileIndexSize = tempStorefileIndexSize;
+      averageStorefileIndexSize =
+          tempNumStoreFiles == 0 ? 0 : tempStorefileIndexSize / tempNumStoreFiles;
       totalStaticIndexSize = tempTotalStaticIndexSize;
       totalStaticBloomSize = tempTotalStaticBloomSize;
       numMutationsWithoutWAL = tempNumMutationsWithoutWAL;
@@ -129,6 +129,11 @@ public class MetricsRegionWrapperImpl implements MetricsRegionWrapper, Closeable
     return this.region.compactionsFinished.get();
   }
 
+  @Override
+  public long getRowLockWaitTime() {
+    return this.region.getRowLockWaitTime();
+  }
+
   public class HRegionMetricsWrapperRunnable implements Runnable {
 
     @Override
@@ -18,10 +18,11 @@
  */
 package org.apache.hadoop.hbase.regionserver;
 
-import java.util.LinkedList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 import org.apache.hadoop.classification.InterfaceAudience;
-import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.hadoop.hbase.util.ClassSize;
 
 /**
@@ -29,23 +30,37 @@ import org.apache.hadoop.hbase.util.ClassSize;
  * an interface for readers to determine what entries to ignore, and
  * a mechanism for writers to obtain new write numbers, then "commit"
  * the new writes for readers to read (thus forming atomic transactions).
+ * <p>
+ * No locks are taken. Pending writes form a singly linked queue in write
+ * number order: a new entry is appended by a compare-and-set on the tail,
+ * and the head is the last entry that is visible to readers. Whoever
+ * completes a write moves the head past all completed entries, and wakes
+ * up the writers waiting on the entries it passed. Each waiting writer is
+ * parked on its own, so a completed write only wakes up the writers whose
+ * entries became visible.
  */
 @InterfaceAudience.Private
 public class MultiVersionConsistencyControl {
-  private volatile long memstoreRead = 0;
-  private volatile long memstoreWrite = 0;
+  private final AtomicLong memstoreRead = new AtomicLong(0);
 
-  private final Object readWaiters = new Object();
-
-  // This is the pending queue of writes.
-  private final LinkedList<WriteEntry> writeQueue =
-      new LinkedList<WriteEntry>();
+  // The last entry visible to readers, and the last entry of the queue.
+  // Both start with a completed entry for the initial read point.
+  private final AtomicReference<WriteEntry> head;
+  private final AtomicReference<WriteEntry> tail;
 
   /**
    * Default constructor. Initializes the memstoreRead/Write points to 0.
    */
   public MultiVersionConsistencyControl() {
-    this.memstoreRead = this.memstoreWrite = 0;
+    WriteEntry start = newStartEntry(0);
+    this.head = new AtomicReference<WriteEntry>(start);
+    this.tail = new AtomicReference<WriteEntry>(start);
+  }
+
+  private static WriteEntry newStartEntry(long startPoint) {
+    WriteEntry e = new WriteEntry(startPoint);
+    e.markCompleted();
+    return e;
   }
 
   /**
@@ -53,13 +68,16 @@ public class MultiVersionConsistencyControl {
    * @param startPoint
    */
   public void initialize(long startPoint) {
-    synchronized (writeQueue) {
-      if (this.memstoreWrite != this.memstoreRead) {
-        throw new RuntimeException("Already used this mvcc. Too late to initialize");
-      }
-
-      this.memstoreRead = this.memstoreWrite = startPoint;
+    WriteEntry current = this.tail.get();
+    if (this.head.get() != current) {
+      throw new RuntimeException("Already used this mvcc. Too late to initialize");
     }
+    WriteEntry start = newStartEntry(startPoint);
+    if (!this.tail.compareAndSet(current, start)) {
+      throw new RuntimeException("Already used this mvcc. Too late to initialize");
+    }
+    this.head.set(start);
+    this.memstoreRead.set(startPoint);
   }
 
   /**
@@ -68,11 +86,15 @@ public class MultiVersionConsistencyControl {
    * call {@link #completeMemstoreInsert(WriteEntry)}.
    */
   public WriteEntry beginMemstoreInsert() {
-    synchronized (writeQueue) {
-      long nextWriteNumber = ++memstoreWrite;
-      WriteEntry e = new WriteEntry(nextWriteNumber);
-      writeQueue.add(e);
-      return e;
+    while (true) {
+      WriteEntry last = this.tail.get();
+      WriteEntry e = new WriteEntry(last.getWriteNumber() + 1);
+      if (this.tail.compareAndSet(last, e)) {
+        // Nobody can complete e before we return it, so the queue is linked
+        // up to e by the time anyone looks for its successor.
+        last.next = e;
+        return e;
+      }
     }
   }
 
@@ -99,44 +121,38 @@ public class MultiVersionConsistencyControl {
    * @return true if e is visible to MVCC readers (that is, readpoint >= e.writeNumber)
    */
   boolean advanceMemstore(WriteEntry e) {
-    synchronized (writeQueue) {
-      e.markCompleted();
-
-      long nextReadValue = -1;
-      boolean ranOnce=false;
-      while (!writeQueue.isEmpty()) {
-        ranOnce=true;
-        WriteEntry queueFirst = writeQueue.getFirst();
-
-        if (nextReadValue > 0) {
-          if (nextReadValue+1 != queueFirst.getWriteNumber()) {
-            throw new RuntimeException("invariant in completeMemstoreInsert violated, prev: "
-                + nextReadValue + " next: " + queueFirst.getWriteNumber());
-          }
-        }
-
-        if (queueFirst.isCompleted()) {
-          nextReadValue = queueFirst.getWriteNumber();
-          writeQueue.removeFirst();
-        } else {
-          break;
-        }
+    e.markCompleted();
+    // Whoever completes an entry after us will see it completed and carry on
+    // from here, so stopping at an incomplete entry is fine.
+    while (true) {
+      WriteEntry visible = this.head.get();
+      WriteEntry next = visible.next;
+      if (next == null || !next.isCompleted()) {
+        break;
       }
-
-      if (!ranOnce) {
-        throw new RuntimeException("never was a first");
+      if (next.getWriteNumber() != visible.getWriteNumber() + 1) {
+        throw new RuntimeException("invariant in completeMemstoreInsert violated, prev: "
+            + visible.getWriteNumber() + " next: " + next.getWriteNumber());
       }
-
-      if (nextReadValue > 0) {
-        synchronized (readWaiters) {
-          memstoreRead = nextReadValue;
-          readWaiters.notifyAll();
+      if (this.head.compareAndSet(visible, next)) {
+        // Only we passed next; publish the new read point and then wake up
+        // its writer, if it is waiting.
+        raiseReadPoint(next.getWriteNumber());
+        Thread waiter = next.waiter;
+        if (waiter != null) {
+          LockSupport.unpark(waiter);
         }
       }
-      if (memstoreRead >= e.getWriteNumber()) {
-        return true;
+    }
+    return memstoreRead.get() >= e.getWriteNumber();
+  }
+
+  private void raiseReadPoint(long readPoint) {
+    while (true) {
+      long current = this.memstoreRead.get();
+      if (current >= readPoint || this.memstoreRead.compareAndSet(current, readPoint)) {
+        return;
       }
-      return false;
     }
   }
 
@@ -145,29 +161,35 @@ public class MultiVersionConsistencyControl {
    * the specified transaction number.
    */
   public void waitForRead(WriteEntry e) {
+    if (memstoreRead.get() >= e.getWriteNumber()) {
+      return;
+    }
     boolean interrupted = false;
-    synchronized (readWaiters) {
-      while (memstoreRead < e.getWriteNumber()) {
-        try {
-          readWaiters.wait(0);
-        } catch (InterruptedException ie) {
-          // We were interrupted... finish the loop -- i.e. cleanup --and then
-          // on our way out, reset the interrupt flag.
-          interrupted = true;
-        }
+    e.waiter = Thread.currentThread();
+    while (memstoreRead.get() < e.getWriteNumber()) {
+      LockSupport.park(this);
+      if (Thread.interrupted()) {
+        // We were interrupted... finish the loop -- i.e. cleanup --and then
+        // on our way out, reset the interrupt flag.
+        interrupted = true;
       }
     }
+    e.waiter = null;
     if (interrupted) Thread.currentThread().interrupt();
   }
 
   public long memstoreReadPoint() {
-    return memstoreRead;
+    return memstoreRead.get();
   }
 
 
   public static class WriteEntry {
-    private long writeNumber;
-    private boolean completed = false;
+    private final long writeNumber;
+    private volatile boolean completed = false;
+    // The next entry in the queue, set right after it is appended
+    private volatile WriteEntry next = null;
+    // The thread waiting for this entry to become visible, if any
+    private volatile Thread waiter = null;
     WriteEntry(long writeNumber) {
       this.writeNumber = writeNumber;
     }
@@ -184,7 +206,8 @@ public class MultiVersionConsistencyControl {
 
   public static final long FIXED_SIZE = ClassSize.align(
       ClassSize.OBJECT +
-      2 * Bytes.SIZEOF_LONG +
-      2 * ClassSize.REFERENCE);
+      3 * ClassSize.REFERENCE +
+      ClassSize.ATOMIC_LONG +
+      2 * ClassSize.align(ClassSize.OBJECT + ClassSize.REFERENCE));
 
 }
@@ -103,4 +103,23 @@ public interface RegionScanner extends InternalScanner {
    * @throws IOException e
    */
   boolean nextRaw(List<Cell> result, int limit) throws IOException;
+
+  /**
+   * Grab the next row's worth of values like {@link #nextRaw(List)}, but stop skipping rows
+   * that are filtered out once the given time is reached. In that case the result is empty,
+   * true is returned and {@link #getLastFilteredRow()} gives the last row skipped.
+   * The same restrictions as for {@link #nextRaw(List, int)} apply.
+   * @param result return output array
+   * @param timeLimit time in milliseconds, as given by
+   *          {@link org.apache.hadoop.hbase.util.EnvironmentEdgeManager}, after which to stop
+   * @return true if more rows exist after this one, false if scanner is done
+   * @throws IOException e
+   */
+  boolean nextRawWithinTime(List<Cell> result, long timeLimit) throws IOException;
+
+  /**
+   * @return the last row skipped by the last call to {@link #nextRawWithinTime(List, long)}
+   *         if it stopped because of the time limit, else null
+   */
+  byte[] getLastFilteredRow();
 }
@@ -24,6 +24,7 @@ import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.hadoop.classification.InterfaceAudience;
 import org.apache.hadoop.hbase.util.Bytes;
+import org.cliffc.high_scale_lib.Counter;
 
 /**
  * RegionServerAccounting keeps record of some basic real time information about
@@ -33,6 +34,10 @@ import org.apache.hadoop.hbase.util.Bytes;
 public class RegionServerAccounting {
 
   private final AtomicLong atomicGlobalMemstoreSize = new AtomicLong(0);
+
+  // Everything ever added to the memstores, flushes do not take it down. Used to
+  // estimate the ingest rate.
+  private final Counter memstoreIngestSize = new Counter();
   
   // Store the edits size during replaying HLog. Use this to roll back the  
   // global memstore size once a region opening failed.
@@ -52,8 +57,18 @@ public class RegionServerAccounting {
    * @return the global Memstore size in the RegionServer 
    */
   public long addAndGetGlobalMemstoreSize(long memStoreSize) {
+    if (memStoreSize > 0) {
+      memstoreIngestSize.add(memStoreSize);
+    }
     return atomicGlobalMemstoreSize.addAndGet(memStoreSize);
   }
+
+  /**
+   * @return the total size ever added to the memstores of the RegionServer
+   */
+  public long getMemstoreIngestSize() {
+    return memstoreIngestSize.get();
+  }
   
   /***
    * Add memStoreSize to replayEditsPerRegion.
@@ -29,6 +29,10 @@ import org.apache.hadoop.hbase.KeyValue;
 import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.filter.Filter;
 import org.apache.hadoop.hbase.filter.Filter.ReturnCode;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.FirstKeyOnlyFilter;
+import org.apache.hadoop.hbase.filter.FirstKeyValueMatchingQualifiersFilter;
+import org.apache.hadoop.hbase.filter.KeyOnlyFilter;
 import org.apache.hadoop.hbase.io.TimeRange;
 import org.apache.hadoop.hbase.regionserver.DeleteTracker.DeleteResult;
 import org.apache.hadoop.hbase.util.Bytes;
@@ -50,6 +54,9 @@ public class ScanQueryMatcher {
 
   private final Filter filter;
 
+  /** Whether the filter drops the values of the cells it returns and reads none */
+  private final boolean keyOnly;
+
   /** Keeps track of deletes */
   private final DeleteTracker deletes;
 
@@ -160,6 +167,7 @@ public class ScanQueryMatcher {
 
     /* how to deal with deletes */
     this.isUserScan = scanType == ScanType.USER_SCAN;
+    this.keyOnly = isUserScan && isKeyOnly(filter);
     // keep deleted cells: if compaction or raw scan
     this.keepDeletedCells = (scanInfo.getKeepDeletedCells() && !isUserScan) || scan.isRaw();
     // retain deletes: if minor compaction or raw scan
@@ -520,6 +528,58 @@ public class ScanQueryMatcher {
     return this.filter;
   }
 
+  /**
+   * @return whether the filter of the scan drops the values of the cells it
+   *         returns and reads none, so that the store files may leave them out
+   */
+  boolean isKeyOnly() {
+    return this.keyOnly;
+  }
+
+  /**
+   * @return whether the given filter drops the values of the cells it returns
+   *         and reads none. This is the case of a {@link KeyOnlyFilter} that
+   *         does not keep the value lengths, or of a list that must pass all of
+   *         its filters, has one, and otherwise only has filters that look at
+   *         keys alone.
+   */
+  static boolean isKeyOnly(Filter filter) {
+    return filter != null && readsKeysOnly(filter) && dropsValues(filter);
+  }
+
+  private static boolean readsKeysOnly(Filter filter) {
+    // Exact classes, a subclass could look at the values
+    Class<?> c = filter.getClass();
+    if (c == KeyOnlyFilter.class || c == FirstKeyOnlyFilter.class
+        || c == FirstKeyValueMatchingQualifiersFilter.class) {
+      return true;
+    }
+    if (c != FilterList.class
+        || ((FilterList) filter).getOperator() != FilterList.Operator.MUST_PASS_ALL) {
+      return false;
+    }
+    for (Filter f : ((FilterList) filter).getFilters()) {
+      if (!readsKeysOnly(f)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean dropsValues(Filter filter) {
+    if (filter instanceof KeyOnlyFilter) {
+      return !((KeyOnlyFilter) filter).isLenAsVal();
+    }
+    if (filter instanceof FilterList) {
+      for (Filter f : ((FilterList) filter).getFilters()) {
+        if (dropsValues(f)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
   public Cell getNextKeyHint(Cell kv) throws IOException {
     if (filter == null) {
       return null;
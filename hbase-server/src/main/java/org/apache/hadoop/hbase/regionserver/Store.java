@@ -254,8 +254,20 @@ public interface Store extends HeapSize, StoreConfigInformation {
    */
   long getMemStoreSize();
 
+  /**
+   * @return The size of the edits in this store's memstore, not counting the snapshot,
+   * which is the amount of memory flushing the store frees
+   */
+  long getFlushableSize();
+
   HColumnDescriptor getFamily();
 
+  /**
+   * @return the blob store holding the large values of this store, or null if
+   * all the values are kept in the store files
+   */
+  BlobStore getBlobStore();
+
   /**
    * @return The maximum memstoreTS in all store files.
    */
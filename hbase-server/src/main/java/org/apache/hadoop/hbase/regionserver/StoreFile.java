@@ -27,7 +27,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedSet;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -42,6 +44,9 @@ import org.apache.hadoop.hbase.HDFSBlocksDistribution;
 import org.apache.hadoop.hbase.KeyValue;
 import org.apache.hadoop.hbase.KeyValue.KVComparator;
 import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.PrefixFilter;
 import org.apache.hadoop.hbase.io.FSDataInputStreamWrapper;
 import org.apache.hadoop.hbase.io.encoding.DataBlockEncoding;
 import org.apache.hadoop.hbase.io.hfile.BlockType;
@@ -60,6 +65,7 @@ import org.apache.hadoop.hbase.util.Writables;
 import org.apache.hadoop.io.WritableUtils;
 
 import com.google.common.base.Function;
+import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Ordering;
@@ -98,6 +104,10 @@ public class StoreFile {
   public static final byte[] BLOOM_FILTER_TYPE_KEY =
       Bytes.toBytes("BLOOM_FILTER_TYPE");
 
+  /** Row prefix length of a ROWPREFIX_FIXED_LENGTH Bloom filter in FileInfo */
+  public static final byte[] BLOOM_FILTER_PREFIX_LENGTH_KEY =
+      Bytes.toBytes("BLOOM_FILTER_PREFIX_LENGTH");
+
   /** Delete Family Count in FileInfo */
   public static final byte[] DELETE_FAMILY_COUNT =
       Bytes.toBytes("DELETE_FAMILY_COUNT");
@@ -111,6 +121,9 @@ public class StoreFile {
   /** Key for timestamp of earliest-put in metadata*/
   public static final byte[] EARLIEST_PUT_TS = Bytes.toBytes("EARLIEST_PUT_TS");
 
+  /** Comma separated blob files referenced by the file, as table/file, in FileInfo */
+  public static final byte[] BLOB_REFERENCES_KEY = Bytes.toBytes("BLOB_REFERENCES");
+
   // Make default block size for StoreFiles 8k while testing.  TODO: FIX!
   // Need to make it 8k for testing.
   public static final int DEFAULT_BLOCKSIZE_SMALL = 8 * 1024;
@@ -518,6 +531,7 @@ public class StoreFile {
 
     private KeyValue.KVComparator comparator = KeyValue.COMPARATOR;
     private BloomType bloomType = BloomType.NONE;
+    private int bloomPrefixLength = 0;
     private long maxKeyCount = 0;
     private Path dir;
     private Path filePath;
@@ -575,6 +589,16 @@ public class StoreFile {
       return this;
     }
 
+    /**
+     * @param bloomPrefixLength length of the row prefix used as Bloom key, only
+     *          used by {@link BloomType#ROWPREFIX_FIXED_LENGTH} Bloom filters
+     * @return this (for chained invocation)
+     */
+    public WriterBuilder withBloomPrefixLength(int bloomPrefixLength) {
+      this.bloomPrefixLength = bloomPrefixLength;
+      return this;
+    }
+
     /**
      * @param maxKeyCount estimated maximum number of keys we expect to add
      * @return this (for chained invocation)
@@ -617,8 +641,13 @@ public class StoreFile {
       if (comparator == null) {
         comparator = KeyValue.COMPARATOR;
       }
-      return new Writer(fs, filePath, 
-          conf, cacheConf, comparator, bloomType, maxKeyCount, favoredNodes, fileContext);
+      if (bloomType == BloomType.ROWPREFIX_FIXED_LENGTH && bloomPrefixLength <= 0) {
+        LOG.warn("No Bloom filter prefix length configured for " + bloomType
+            + " Bloom filter, using " + BloomType.ROW + " instead");
+        bloomType = BloomType.ROW;
+      }
+      return new Writer(fs, filePath, conf, cacheConf, comparator, bloomType,
+          bloomPrefixLength, maxKeyCount, favoredNodes, fileContext);
     }
   }
 
@@ -683,6 +712,7 @@ public class StoreFile {
     private final BloomFilterWriter generalBloomFilterWriter;
     private final BloomFilterWriter deleteFamilyBloomFilterWriter;
     private final BloomType bloomType;
+    private final int bloomPrefixLength;
     private byte[] lastBloomKey;
     private int lastBloomKeyOffset, lastBloomKeyLen;
     private KVComparator kvComparator;
@@ -690,6 +720,7 @@ public class StoreFile {
     private long earliestPutTs = HConstants.LATEST_TIMESTAMP;
     private KeyValue lastDeleteFamilyKV = null;
     private long deleteFamilyCnt = 0;
+    private final Set<String> blobReferences = new TreeSet<String>();
 
 
     /** Checksum type */
@@ -716,6 +747,8 @@ public class StoreFile {
      * @param conf user configuration
      * @param comparator key comparator
      * @param bloomType bloom filter setting
+     * @param bloomPrefixLength row prefix length for
+     *        {@link BloomType#ROWPREFIX_FIXED_LENGTH} Bloom filters
      * @param maxKeys the expected maximum number of keys to be added. Was used
      *        for Bloom filter size in {@link HFile} format version 1.
      * @param favoredNodes
@@ -725,8 +758,8 @@ public class StoreFile {
     private Writer(FileSystem fs, Path path,
         final Configuration conf,
         CacheConfig cacheConf,
-        final KVComparator comparator, BloomType bloomType, long maxKeys,
-        InetSocketAddress[] favoredNodes, HFileContext fileContext) 
+        final KVComparator comparator, BloomType bloomType, int bloomPrefixLength,
+        long maxKeys, InetSocketAddress[] favoredNodes, HFileContext fileContext)
             throws IOException {
       writer = HFile.getWriterFactory(conf, cacheConf)
           .withPath(fs, path)
@@ -749,6 +782,7 @@ public class StoreFile {
         // Not using Bloom filters.
         this.bloomType = BloomType.NONE;
       }
+      this.bloomPrefixLength = bloomPrefixLength;
 
       // initialize delete family Bloom filter when there is NO RowCol Bloom
       // filter
@@ -825,12 +859,17 @@ public class StoreFile {
           case ROWCOL:
             newKey = ! kvComparator.matchingRowColumn(kv, lastKv);
             break;
+          case ROWPREFIX_FIXED_LENGTH:
+            newKey = ! Bytes.equals(kv.getBuffer(), kv.getRowOffset(),
+                Math.min(kv.getRowLength(), bloomPrefixLength), lastKv.getBuffer(),
+                lastKv.getRowOffset(), Math.min(lastKv.getRowLength(), bloomPrefixLength));
+            break;
           case NONE:
             newKey = false;
             break;
           default:
             throw new IOException("Invalid Bloom filter type: " + bloomType +
-                " (ROW or ROWCOL expected)");
+                " (ROW, ROWCOL or ROWPREFIX_FIXED_LENGTH expected)");
           }
         }
         if (newKey) {
@@ -838,9 +877,10 @@ public class StoreFile {
            * http://2.bp.blogspot.com/_Cib_A77V54U/StZMrzaKufI/AAAAAAAAADo/ZhK7bGoJdMQ/s400/KeyValue.png
            * Key = RowLen + Row + FamilyLen + Column [Family + Qualifier] + TimeStamp
            *
-           * 2 Types of Filtering:
+           * 3 Types of Filtering:
            *  1. Row = Row
            *  2. RowCol = Row + Qualifier
+           *  3. RowPrefix = first bloomPrefixLength bytes of Row
            */
           byte[] bloomKey;
           int bloomKeyOffset, bloomKeyLen;
@@ -861,9 +901,16 @@ public class StoreFile {
             bloomKeyOffset = 0;
             bloomKeyLen = bloomKey.length;
             break;
+          case ROWPREFIX_FIXED_LENGTH:
+            // Truncating sorted rows to a fixed length keeps them sorted, so
+            // prefixes can go into the compound Bloom filter as they are.
+            bloomKey = kv.getBuffer();
+            bloomKeyOffset = kv.getRowOffset();
+            bloomKeyLen = Math.min(kv.getRowLength(), bloomPrefixLength);
+            break;
           default:
             throw new IOException("Invalid Bloom filter type: " + bloomType +
-                " (ROW or ROWCOL expected)");
+                " (ROW, ROWCOL or ROWPREFIX_FIXED_LENGTH expected)");
           }
           generalBloomFilterWriter.add(bloomKey, bloomKeyOffset, bloomKeyLen);
           if (lastBloomKey != null
@@ -910,6 +957,14 @@ public class StoreFile {
       appendDeleteFamilyBloomFilter(kv);
       writer.append(kv);
       trackTimestamps(kv);
+      trackBlobReference(kv);
+    }
+
+    private void trackBlobReference(final KeyValue kv) {
+      String blobFile = BlobStore.getReferencedFile(kv);
+      if (blobFile != null) {
+        blobReferences.add(blobFile);
+      }
     }
 
     public Path getPath() {
@@ -945,6 +1000,10 @@ public class StoreFile {
         writer.addGeneralBloomFilter(generalBloomFilterWriter);
         writer.appendFileInfo(BLOOM_FILTER_TYPE_KEY,
             Bytes.toBytes(bloomType.toString()));
+        if (bloomType == BloomType.ROWPREFIX_FIXED_LENGTH) {
+          writer.appendFileInfo(BLOOM_FILTER_PREFIX_LENGTH_KEY,
+              Bytes.toBytes(bloomPrefixLength));
+        }
         if (lastBloomKey != null) {
           writer.appendFileInfo(LAST_BLOOM_KEY, Arrays.copyOfRange(
               lastBloomKey, lastBloomKeyOffset, lastBloomKeyOffset
@@ -973,6 +1032,10 @@ public class StoreFile {
     public void close() throws IOException {
       boolean hasGeneralBloom = this.closeGeneralBloomFilter();
       boolean hasDeleteFamilyBloom = this.closeDeleteFamilyBloomFilter();
+      if (!blobReferences.isEmpty()) {
+        writer.appendFileInfo(BLOB_REFERENCES_KEY,
+            Bytes.toBytes(Joiner.on(',').join(blobReferences)));
+      }
 
       writer.close();
 
@@ -1010,6 +1073,7 @@ public class StoreFile {
     protected TimeRangeTracker timeRangeTracker = null;
     protected long sequenceID = -1;
     private byte[] lastBloomKey;
+    private int bloomPrefixLength = -1;
     private long deleteFamilyCnt = -1;
 
     public Reader(FileSystem fs, Path path, CacheConfig cacheConf, Configuration conf)
@@ -1123,8 +1187,9 @@ public class StoreFile {
 
     /**
      * Checks whether the given scan passes the Bloom filter (if present). Only
-     * checks Bloom filters for single-row or single-row-column scans. Bloom
-     * filter checking for multi-gets is implemented as part of the store
+     * checks Bloom filters for single-row scans, or for scans confined to a
+     * single row prefix in case of row prefix Bloom filters. Per-column Bloom
+     * filter checking for multi-gets is also implemented as part of the store
      * scanner system (see {@link StoreFileScanner#seekExactly}) and uses
      * the lower-level API {@link #passesGeneralBloomFilter(byte[], int, int, byte[],
      * int, int)}.
@@ -1139,6 +1204,13 @@ public class StoreFile {
      */
      boolean passesBloomFilter(Scan scan,
         final SortedSet<byte[]> columns) {
+      // Row prefix Bloom filters also apply to scans that are confined to
+      // a single row prefix, not only to gets.
+      if (this.bloomFilterType == BloomType.ROWPREFIX_FIXED_LENGTH) {
+        byte[] row = getRowWithCommonPrefix(scan);
+        return row == null || passesGeneralBloomFilter(row, 0, row.length, null, 0, 0);
+      }
+
       // Multi-column non-get scans will use Bloom filters through the
       // lower-level API function that this function calls.
       if (!scan.isGetScan()) {
@@ -1151,14 +1223,18 @@ public class StoreFile {
           return passesGeneralBloomFilter(row, 0, row.length, null, 0, 0);
 
         case ROWCOL:
-          if (columns != null && columns.size() == 1) {
-            byte[] column = columns.first();
-            return passesGeneralBloomFilter(row, 0, row.length, column, 0,
-                column.length);
+          if (columns != null && !columns.isEmpty()) {
+            // The file can be skipped only if none of the requested columns
+            // passes. For files that are not skipped, the Bloom filter is
+            // checked again per column from the seekExact operation.
+            for (byte[] column : columns) {
+              if (passesGeneralBloomFilter(row, 0, row.length, column, 0,
+                  column.length)) {
+                return true;
+              }
+            }
+            return false;
           }
-
-          // For multi-column queries the Bloom filter is checked from the
-          // seekExact operation.
           return true;
 
         default:
@@ -1166,6 +1242,51 @@ public class StoreFile {
       }
     }
 
+    /**
+     * Finds a row that shares its first {@link #bloomPrefixLength} bytes with
+     * every row the given scan can return.
+     *
+     * @param scan the scan specification
+     * @return the start row for gets and for scans whose start and stop rows
+     *         share a long enough prefix, the prefix of a {@link PrefixFilter}
+     *         if that is long enough, or null if the scan may cover more than
+     *         one row prefix
+     */
+    private byte[] getRowWithCommonPrefix(Scan scan) {
+      byte[] startRow = scan.getStartRow();
+      if (scan.isGetScan()) {
+        return startRow;
+      }
+      byte[] stopRow = scan.getStopRow();
+      int commonLength = 0;
+      int maxLength = Math.min(startRow.length, stopRow.length);
+      while (commonLength < maxLength && startRow[commonLength] == stopRow[commonLength]) {
+        commonLength++;
+      }
+      if (bloomPrefixLength > 0 && commonLength >= bloomPrefixLength) {
+        return startRow;
+      }
+      return getRowWithCommonPrefix(scan.getFilter());
+    }
+
+    private byte[] getRowWithCommonPrefix(Filter filter) {
+      if (filter instanceof PrefixFilter) {
+        byte[] prefix = ((PrefixFilter) filter).getPrefix();
+        if (prefix != null && bloomPrefixLength > 0 && prefix.length >= bloomPrefixLength) {
+          return prefix;
+        }
+      } else if (filter instanceof FilterList
+          && ((FilterList) filter).getOperator() == FilterList.Operator.MUST_PASS_ALL) {
+        for (Filter f : ((FilterList) filter).getFilters()) {
+          byte[] row = getRowWithCommonPrefix(f);
+          if (row != null) {
+            return row;
+          }
+        }
+      }
+      return null;
+    }
+
     public boolean passesDeleteFamilyBloomFilter(byte[] row, int rowOffset,
         int rowLen) {
       // Cache Bloom filter as a local variable in case it is set to null by
@@ -1235,6 +1356,22 @@ public class StoreFile {
               colOffset, colLen);
           break;
 
+        case ROWPREFIX_FIXED_LENGTH:
+          if (col != null) {
+            throw new RuntimeException("Row prefix Bloom filter called with " +
+                "column specified");
+          }
+          if (bloomPrefixLength <= 0) {
+            return true;
+          }
+          int keyLen = Math.min(rowLen, bloomPrefixLength);
+          if (rowOffset == 0 && keyLen == row.length) {
+            key = row;
+          } else {
+            key = Arrays.copyOfRange(row, rowOffset, rowOffset + keyLen);
+          }
+          break;
+
         default:
           return true;
       }
@@ -1339,6 +1476,10 @@ public class StoreFile {
       }
 
       lastBloomKey = fi.get(LAST_BLOOM_KEY);
+      byte[] prefixLength = fi.get(BLOOM_FILTER_PREFIX_LENGTH_KEY);
+      if (prefixLength != null) {
+        bloomPrefixLength = Bytes.toInt(prefixLength);
+      }
       byte[] cnt = fi.get(DELETE_FAMILY_COUNT);
       if (cnt != null) {
         deleteFamilyCnt = Bytes.toLong(cnt);
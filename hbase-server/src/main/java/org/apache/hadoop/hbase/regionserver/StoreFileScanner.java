@@ -62,6 +62,8 @@ public class StoreFileScanner implements KeyValueScanner {
   private static AtomicLong seekCount;
 
   private ScanQueryMatcher matcher;
+  // Whether the scan drops the values, so they need not be read
+  private boolean keyOnly = false;
   
   private long readPt;
 
@@ -135,7 +137,7 @@ public class StoreFileScanner implements KeyValueScanner {
       // only seek if we aren't at the end. cur == null implies 'end'.
       if (cur != null) {
         hfs.next();
-        cur = hfs.getKeyValue();
+        cur = getKeyValue();
         if (hasMVCCInfo)
           skipKVsNewerThanReadpoint();
       }
@@ -155,7 +157,7 @@ public class StoreFileScanner implements KeyValueScanner {
           return false;
         }
 
-        cur = hfs.getKeyValue();
+        cur = getKeyValue();
 
         return !hasMVCCInfo ? true : skipKVsNewerThanReadpoint();
       } finally {
@@ -175,7 +177,7 @@ public class StoreFileScanner implements KeyValueScanner {
           close();
           return false;
         }
-        cur = hfs.getKeyValue();
+        cur = getKeyValue();
 
         return !hasMVCCInfo ? true : skipKVsNewerThanReadpoint();
       } finally {
@@ -195,7 +197,7 @@ public class StoreFileScanner implements KeyValueScanner {
         && cur != null
         && (cur.getMvccVersion() > readPt)) {
       hfs.next();
-      cur = hfs.getKeyValue();
+      cur = getKeyValue();
       if (this.stopSkippingKVsIfNextRow
           && Bytes.compareTo(cur.getBuffer(), cur.getRowOffset(),
               cur.getRowLength(), startKV.getBuffer(), startKV.getRowOffset(),
@@ -379,6 +381,11 @@ public class StoreFileScanner implements KeyValueScanner {
 
   public void setScanQueryMatcher(ScanQueryMatcher matcher) {
     this.matcher = matcher;
+    this.keyOnly = matcher != null && matcher.isKeyOnly();
+  }
+
+  private KeyValue getKeyValue() {
+    return keyOnly ? hfs.getKeyOnlyKeyValue() : hfs.getKeyValue();
   }
 
   @Override
@@ -412,8 +419,8 @@ public class StoreFileScanner implements KeyValueScanner {
           close();
           return false;
         }
-        KeyValue firstKeyOfPreviousRow = KeyValue.createFirstOnRow(hfs
-            .getKeyValue().getRow());
+        KeyValue firstKeyOfPreviousRow = KeyValue.createFirstOnRow(
+            getKeyValue().getRow());
 
         if (seekCount != null) seekCount.incrementAndGet();
         if (!seekAtOrAfter(hfs, firstKeyOfPreviousRow)) {
@@ -421,7 +428,7 @@ public class StoreFileScanner implements KeyValueScanner {
           return false;
         }
 
-        cur = hfs.getKeyValue();
+        cur = getKeyValue();
         this.stopSkippingKVsIfNextRow = true;
         boolean resultOfSkipKVs;
         try {
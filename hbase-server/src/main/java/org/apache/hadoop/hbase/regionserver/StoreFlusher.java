@@ -119,26 +119,38 @@ abstract class StoreFlusher {
     List<Cell> kvs = new ArrayList<Cell>();
     boolean hasMore;
     long flushed = 0;
-    do {
-      hasMore = scanner.next(kvs, compactionKVMax);
-      if (!kvs.isEmpty()) {
-        for (Cell c : kvs) {
-          // If we know that this KV is going to be included always, then let us
-          // set its memstoreTS to 0. This will help us save space when writing to
-          // disk.
-          KeyValue kv = KeyValueUtil.ensureKeyValue(c);
-          if (kv.getMvccVersion() <= smallestReadPoint) {
-            // let us not change the original KV. It could be in the memstore
-            // changing its memstoreTS could affect other threads/scanners.
-            kv = kv.shallowCopy();
-            kv.setMvccVersion(0);
+    BlobStore.Writer blobWriter = null;
+    if (store.getBlobStore() != null) {
+      blobWriter = store.getBlobStore().createWriter(sink);
+      sink = blobWriter;
+    }
+    try {
+      do {
+        hasMore = scanner.next(kvs, compactionKVMax);
+        if (!kvs.isEmpty()) {
+          for (Cell c : kvs) {
+            // If we know that this KV is going to be included always, then let us
+            // set its memstoreTS to 0. This will help us save space when writing to
+            // disk.
+            KeyValue kv = KeyValueUtil.ensureKeyValue(c);
+            if (kv.getMvccVersion() <= smallestReadPoint) {
+              // let us not change the original KV. It could be in the memstore
+              // changing its memstoreTS could affect other threads/scanners.
+              kv = kv.shallowCopy();
+              kv.setMvccVersion(0);
+            }
+            sink.append(kv);
+            flushed += MemStore.heapSizeChange(kv, true);
           }
-          sink.append(kv);
-          flushed += MemStore.heapSizeChange(kv, true);
+          kvs.clear();
         }
-        kvs.clear();
+      } while (hasMore);
+    } finally {
+      // The blob file has to be complete before the flushed file refers to it
+      if (blobWriter != null) {
+        blobWriter.close();
       }
-    } while (hasMore);
+    }
     return flushed;
   }
 }
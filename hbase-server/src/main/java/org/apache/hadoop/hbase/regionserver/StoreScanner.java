@@ -102,6 +102,9 @@ public class StoreScanner extends NonReversedNonLazyKeyValueScanner
   
   private final long readPt;
 
+  // Resolves references to values kept in blob files; only set for user scans
+  private BlobStore blobStore = null;
+
   // used by the injection framework to test race between StoreScanner construction and compaction
   enum StoreScannerCompactionRace {
     BEFORE_SEEK,
@@ -163,6 +166,7 @@ public class StoreScanner extends NonReversedNonLazyKeyValueScanner
     matcher = new ScanQueryMatcher(scan, scanInfo, columns,
         ScanType.USER_SCAN, Long.MAX_VALUE, HConstants.LATEST_TIMESTAMP,
         oldestUnexpiredTS);
+    this.blobStore = store.getBlobStore();
 
     this.store.addChangedReaderObserver(this);
 
@@ -468,6 +472,10 @@ public class StoreScanner extends NonReversedNonLazyKeyValueScanner
       checkScanOrder(prevKV, kv, comparator);
       prevKV = kv;
 
+      if (blobStore != null && matcher.getFilter() != null) {
+        // Filters may look at the value, so they get the one the reference points to
+        kv = blobStore.resolve(kv);
+      }
       ScanQueryMatcher.MatchCode qcode = matcher.match(kv);
       switch(qcode) {
         case INCLUDE:
@@ -494,7 +502,7 @@ public class StoreScanner extends NonReversedNonLazyKeyValueScanner
           // add to results only if we have skipped #storeOffset kvs
           // also update metric accordingly
           if (this.countPerRow > storeOffset) {
-            outResult.add(kv);
+            outResult.add(blobStore == null ? kv : blobStore.resolve(kv));
             count++;
           }
 
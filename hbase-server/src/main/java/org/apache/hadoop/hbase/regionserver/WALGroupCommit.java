@@ -0,0 +1,197 @@
+/**
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.classification.InterfaceAudience;
+import org.apache.hadoop.hbase.regionserver.wal.HLog;
+
+/**
+ * Groups the WAL syncs of batch mutations of several regions into one sync.
+ * <p>
+ * Mini-batches run through {@link HRegion#batchMutate(org.apache.hadoop.hbase.client.Mutation[],
+ * WALGroupCommit)} are written to the memstore and appended to the WAL as usual, but
+ * neither synced nor made visible. They are kept here until {@link #sync()} is called,
+ * which syncs every WAL involved once, up to the highest transaction appended to it,
+ * and then completes the MVCC transactions of all mini-batches in the order they were
+ * added. If the sync of a WAL fails, the edits of the mini-batches appended to it are
+ * rolled back.
+ * <p>
+ * Pending mini-batches hold back the read point of their regions, so the owner of a
+ * group has to sync it before doing anything that waits for the MVCC transactions of
+ * one of these regions, like a Get, an Increment or an atomic row mutation.
+ * Not thread safe, a group belongs to a single handler.
+ */
+@InterfaceAudience.Private
+public class WALGroupCommit {
+  static final Log LOG = LogFactory.getLog(WALGroupCommit.class);
+
+  /**
+   * A mini-batch that has been applied to the memstore and appended to the WAL,
+   * waiting for the group sync.
+   */
+  interface PendingMiniBatch {
+    /** @return the WAL the edits were appended to */
+    HLog getWAL();
+
+    /** @return the transaction to sync the WAL up to, or 0 if nothing was appended */
+    long getTxid();
+
+    /** @return whether the durability of the mutations requires a sync */
+    boolean isSyncRequired();
+
+    /** Makes the mutations visible and runs the coprocessor post hooks */
+    void complete() throws IOException;
+
+    /** Removes the mutations from the memstore after a failed sync */
+    void rollback();
+  }
+
+  /** Notified about the outcome of the group sync */
+  public interface Listener {
+    /** Called when all mini-batches of the group have been synced and completed */
+    void synced();
+
+    /**
+     * Called when the sync, or the completion of a mini-batch, has failed
+     * @param e the cause
+     */
+    void failed(IOException e);
+  }
+
+  private final List<PendingMiniBatch> pending = new ArrayList<PendingMiniBatch>();
+  private final List<Listener> listeners = new ArrayList<Listener>();
+  /** For each listener, the number of mini-batches added before it */
+  private final List<Integer> listenerBounds = new ArrayList<Integer>();
+
+  void add(PendingMiniBatch miniBatch) {
+    this.pending.add(miniBatch);
+  }
+
+  /**
+   * Adds a listener to be notified on the next {@link #sync()} about the mini-batches
+   * added since the previous listener, or since the last sync. Listeners are notified
+   * in the order they were added, after all mini-batches have been completed.
+   */
+  public void addListener(Listener listener) {
+    this.listeners.add(listener);
+    this.listenerBounds.add(this.pending.size());
+  }
+
+  /**
+   * @return true if there are no mini-batches waiting for the sync
+   */
+  public boolean isEmpty() {
+    return this.pending.isEmpty();
+  }
+
+  /**
+   * @return the number of mini-batches waiting for the sync
+   */
+  public int size() {
+    return this.pending.size();
+  }
+
+  /**
+   * Syncs each WAL of the pending mini-batches once, completes the mini-batches and
+   * notifies the listeners. A mini-batch whose WAL could not be synced is rolled back,
+   * the others are completed. Each listener is notified of the outcome of its own
+   * mini-batches only. The group is empty afterwards and can be reused.
+   */
+  public void sync() {
+    List<PendingMiniBatch> miniBatches = new ArrayList<PendingMiniBatch>(this.pending);
+    List<Listener> toNotify = new ArrayList<Listener>(this.listeners);
+    List<Integer> bounds = new ArrayList<Integer>(this.listenerBounds);
+    this.pending.clear();
+    this.listeners.clear();
+    this.listenerBounds.clear();
+
+    Map<HLog, IOException> syncFailures = syncWALs(miniBatches);
+    IOException[] failures = new IOException[miniBatches.size()];
+    for (int i = 0; i < miniBatches.size(); i++) {
+      PendingMiniBatch miniBatch = miniBatches.get(i);
+      IOException syncFailure = miniBatch.isSyncRequired() ?
+          syncFailures.get(miniBatch.getWAL()) : null;
+      if (syncFailure != null) {
+        failures[i] = syncFailure;
+        miniBatch.rollback();
+        continue;
+      }
+      try {
+        miniBatch.complete();
+      } catch (IOException e) {
+        // Keep completing the others, their mvcc transactions have to be finished
+        LOG.warn("Failed to complete a mini-batch of the group", e);
+        failures[i] = e;
+      } catch (RuntimeException e) {
+        LOG.warn("Failed to complete a mini-batch of the group", e);
+        failures[i] = new IOException(e);
+      }
+    }
+
+    int first = 0;
+    for (int l = 0; l < toNotify.size(); l++) {
+      int last = bounds.get(l);
+      IOException failure = null;
+      for (int i = first; i < last && failure == null; i++) {
+        failure = failures[i];
+      }
+      first = last;
+      if (failure == null) {
+        toNotify.get(l).synced();
+      } else {
+        toNotify.get(l).failed(failure);
+      }
+    }
+  }
+
+  /**
+   * @return the failure of each WAL that could not be synced
+   */
+  private static Map<HLog, IOException> syncWALs(List<PendingMiniBatch> miniBatches) {
+    // Transaction ids only grow, syncing up to the highest one syncs all appends before it.
+    Map<HLog, Long> highestTxids = new IdentityHashMap<HLog, Long>();
+    for (PendingMiniBatch miniBatch : miniBatches) {
+      if (!miniBatch.isSyncRequired()) {
+        continue;
+      }
+      Long txid = highestTxids.get(miniBatch.getWAL());
+      if (txid == null || txid < miniBatch.getTxid()) {
+        highestTxids.put(miniBatch.getWAL(), miniBatch.getTxid());
+      }
+    }
+    Map<HLog, IOException> failures = new IdentityHashMap<HLog, IOException>();
+    for (Map.Entry<HLog, Long> entry : highestTxids.entrySet()) {
+      try {
+        entry.getKey().sync(entry.getValue());
+      } catch (IOException e) {
+        LOG.warn("Failed to sync the WAL up to txid " + entry.getValue(), e);
+        failures.put(entry.getKey(), e);
+      }
+    }
+    return failures;
+  }
+}
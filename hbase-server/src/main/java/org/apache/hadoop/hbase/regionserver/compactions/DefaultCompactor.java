@@ -71,8 +71,10 @@ public class DefaultCompactor extends Compactor {
         }
         // Create the writer even if no kv(Empty store file is also ok),
         // because we need record the max seq id for the store file, see HBASE-6059
+        // Values moved to blob files are replaced by tagged references
         writer = store.createWriterInTmp(fd.maxKeyCount, this.compactionCompression, true,
-            fd.maxMVCCReadpoint >= smallestReadPoint, fd.maxTagsLength > 0);
+            fd.maxMVCCReadpoint >= smallestReadPoint,
+            fd.maxTagsLength > 0 || store.getBlobStore() != null);
         boolean finished = performCompaction(scanner, writer, smallestReadPoint);
         if (!finished) {
           writer.close();
@@ -109,12 +109,14 @@ public class StripeCompactor extends Compactor {
 
       // Create the writer factory for compactions.
       final boolean needMvcc = fd.maxMVCCReadpoint >= smallestReadPoint;
+      // Values moved to blob files are replaced by tagged references
+      final boolean needTags = fd.maxTagsLength > 0 || store.getBlobStore() != null;
       final Compression.Algorithm compression = store.getFamily().getCompactionCompression();
       StripeMultiFileWriter.WriterFactory factory = new StripeMultiFileWriter.WriterFactory() {
         @Override
         public Writer createWriter() throws IOException {
           return store.createWriterInTmp(
-              fd.maxKeyCount, compression, true, needMvcc, fd.maxTagsLength > 0);
+              fd.maxKeyCount, compression, true, needMvcc, needTags);
         }
       };
 
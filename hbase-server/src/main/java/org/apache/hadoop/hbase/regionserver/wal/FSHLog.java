@@ -1363,6 +1363,20 @@ class FSHLog implements HLog, Syncable {
     closeBarrier.endOp();
   }
 
+  @Override
+  public void completeCacheFlush(final byte[] encodedRegionName, long oldestUnflushedSeqId) {
+    synchronized (oldestSeqNumsLock) {
+      this.oldestFlushingSeqNums.remove(encodedRegionName);
+      // Edits appended since the flush started have higher sequence ids than the
+      // unflushed stores, which were last flushed before it.
+      Long current = this.oldestUnflushedSeqNums.get(encodedRegionName);
+      if (current == null || current.longValue() > oldestUnflushedSeqId) {
+        this.oldestUnflushedSeqNums.put(encodedRegionName, oldestUnflushedSeqId);
+      }
+    }
+    closeBarrier.endOp();
+  }
+
   @Override
   public void abortCacheFlush(byte[] encodedRegionName) {
     Long currentSeqNum = null, seqNumBeforeFlushStarts = null;
@@ -314,6 +314,16 @@ public interface HLog {
    */
   void completeCacheFlush(final byte[] encodedRegionName);
 
+  /**
+   * Complete a cache flush that left some stores of the region unflushed. Their edits
+   * are still only in the WAL, so the passed sequence id becomes the oldest seqNum for
+   * the region unless an older one is already recorded.
+   * @param encodedRegionName Encoded region name.
+   * @param oldestUnflushedSeqId Lower bound of the sequence ids of the edits in the stores
+   * that were not flushed.
+   */
+  void completeCacheFlush(final byte[] encodedRegionName, long oldestUnflushedSeqId);
+
   /**
    * Abort a cache flush. Call if the flush fails. Note that the only recovery
    * for an aborted flush currently is a restart of the regionserver so the
@@ -22,8 +22,10 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -41,14 +43,23 @@ import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.fs.permission.FsPermission;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.HBaseConfiguration;
+import org.apache.hadoop.hbase.HColumnDescriptor;
 import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.io.FileLink;
 import org.apache.hadoop.hbase.io.HFileLink;
 import org.apache.hadoop.hbase.io.HLogLink;
+import org.apache.hadoop.hbase.io.hfile.CacheConfig;
+import org.apache.hadoop.hbase.io.hfile.HFile;
 import org.apache.hadoop.hbase.mapreduce.JobUtil;
 import org.apache.hadoop.hbase.mapreduce.TableMapReduceUtil;
 import org.apache.hadoop.hbase.protobuf.generated.HBaseProtos.SnapshotDescription;
+import org.apache.hadoop.hbase.regionserver.BlobStore;
+import org.apache.hadoop.hbase.regionserver.StoreFile;
 import org.apache.hadoop.hbase.regionserver.StoreFileInfo;
+import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.hadoop.hbase.util.EnvironmentEdgeManager;
+import org.apache.hadoop.hbase.util.FSTableDescriptors;
 import org.apache.hadoop.hbase.util.FSUtils;
 import org.apache.hadoop.hbase.util.Pair;
 import org.apache.hadoop.io.NullWritable;
@@ -146,6 +157,7 @@ public final class ExportSnapshot extends Configured implements Tool {
      * Returns the location where the inputPath will be copied.
      *  - hfiles are encoded as hfile links hfile-region-table
      *  - logs are encoded as serverName/logName
+     *  - blob files are encoded as their path relative to the root, and copied to the archive
      */
     private Path getOutputPath(final Path inputPath) throws IOException {
       Path path;
@@ -296,7 +308,9 @@ public final class ExportSnapshot extends Configured implements Tool {
 
     private FSDataInputStream openSourceFile(final Path path) {
       try {
-        if (HFileLink.isHFileLink(path) || StoreFileInfo.isReference(path)) {
+        if (BlobStore.isBlobFile(path)) {
+          return getBlobLink(path).open(inputFs);
+        } else if (HFileLink.isHFileLink(path) || StoreFileInfo.isReference(path)) {
           return new HFileLink(inputRoot, inputArchive, path).open(inputFs);
         } else if (isHLogLinkPath(path)) {
           String serverName = path.getParent().getName();
@@ -312,7 +326,9 @@ public final class ExportSnapshot extends Configured implements Tool {
 
     private FileStatus getFileStatus(final FileSystem fs, final Path path) {
       try {
-        if (HFileLink.isHFileLink(path) || StoreFileInfo.isReference(path)) {
+        if (BlobStore.isBlobFile(path)) {
+          return getBlobLink(path).getFileStatus(fs);
+        } else if (HFileLink.isHFileLink(path) || StoreFileInfo.isReference(path)) {
           HFileLink link = new HFileLink(inputRoot, inputArchive, path);
           return link.getFileStatus(fs);
         } else if (isHLogLinkPath(path)) {
@@ -327,6 +343,10 @@ public final class ExportSnapshot extends Configured implements Tool {
       }
     }
 
+    private FileLink getBlobLink(final Path path) {
+      return new FileLink(new Path(inputRoot, path), new Path(inputArchive, path));
+    }
+
     private FileChecksum getFileChecksum(final FileSystem fs, final Path path) {
       try {
         return fs.getFileChecksum(path);
@@ -368,7 +388,7 @@ public final class ExportSnapshot extends Configured implements Tool {
   }
 
   /**
-   * Extract the list of files (HFiles/HLogs) to copy using Map-Reduce.
+   * Extract the list of files (HFiles/HLogs/blob files) to copy using Map-Reduce.
    * @return list of files referenced by the snapshot (pair of path and size)
    */
   private List<Pair<Path, Long>> getSnapshotFiles(final FileSystem fs, final Path snapshotDir)
@@ -379,6 +399,20 @@ public final class ExportSnapshot extends Configured implements Tool {
     final TableName table =
         TableName.valueOf(snapshotDesc.getTable());
     final Configuration conf = getConf();
+    final Path rootDir = FSUtils.getRootDir(conf);
+    final CacheConfig cacheConf = new CacheConfig(conf);
+    final Set<Path> blobFiles = new HashSet<Path>();
+
+    // Only the store files of the families keeping blobs are read for blob references
+    final Set<String> blobFamilies = new HashSet<String>();
+    if (FSTableDescriptors.getTableInfoPath(fs, snapshotDir) != null) {
+      HTableDescriptor htd = FSTableDescriptors.getTableDescriptorFromFs(fs, snapshotDir);
+      for (HColumnDescriptor hcd : htd.getColumnFamilies()) {
+        if (hcd.getBlobThreshold() > 0) {
+          blobFamilies.add(hcd.getNameAsString());
+        }
+      }
+    }
 
     // Get snapshot files
     SnapshotReferenceUtil.visitReferencedFiles(fs, snapshotDir,
@@ -386,8 +420,27 @@ public final class ExportSnapshot extends Configured implements Tool {
         public void storeFile (final String region, final String family, final String hfile)
             throws IOException {
           Path path = HFileLink.createPath(table, region, family, hfile);
-          long size = new HFileLink(conf, path).getFileStatus(fs).getLen();
+          HFileLink link = new HFileLink(conf, path);
+          long size = link.getFileStatus(fs).getLen();
           files.add(new Pair<Path, Long>(path, size));
+
+          // Copy the blob files holding the large values of the store file
+          if (!blobFamilies.contains(family) || StoreFileInfo.isReference(hfile)) return;
+          HFile.Reader reader = HFile.createReader(fs, link.getAvailablePath(fs), cacheConf, conf);
+          try {
+            byte[] blobReferences = reader.loadFileInfo().get(StoreFile.BLOB_REFERENCES_KEY);
+            if (blobReferences == null) return;
+            for (String reference : Bytes.toString(blobReferences).split(",")) {
+              Path blobPath = BlobStore.getBlobPath(new Path("./"), family, reference);
+              if (blobFiles.add(blobPath)) {
+                long blobSize = BlobStore.getBlobLink(rootDir, family, reference)
+                    .getFileStatus(fs).getLen();
+                files.add(new Pair<Path, Long>(blobPath, blobSize));
+              }
+            }
+          } finally {
+            reader.close(false);
+          }
         }
 
         public void recoveredEdits (final String region, final String logfile)
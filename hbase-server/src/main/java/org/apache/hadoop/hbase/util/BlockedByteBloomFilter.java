@@ -0,0 +1,189 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hbase.util;
+
+import java.nio.ByteBuffer;
+
+import org.apache.hadoop.classification.InterfaceAudience;
+import org.apache.hadoop.io.Writable;
+
+/**
+ * A blocked variant of {@link ByteBloomFilter}. The bit array is divided into
+ * blocks of {@link #BLOCK_BYTES} bytes, and all probes for a key are confined
+ * to a single block, so a lookup touches one cache line instead of
+ * <code>hashCount</code> random locations in the array.
+ * <p>
+ * Only one hash function evaluation is done per key. Its value selects the
+ * block, and the probe positions inside the block are derived from a
+ * bit-mixed copy of it by repeated multiplication. Arithmetic probe sequences
+ * as used by {@link ByteBloomFilter} are avoided because they overlap too
+ * often within a small block. For the same number of bits per key the false
+ * positive rate is slightly higher than that of {@link ByteBloomFilter}.
+ * Since the block index and the probes share one 32-bit hash, the filter is
+ * meant for chunk-sized bit arrays; very large arrays leave too few hash bits
+ * for the probes.
+ * <p>
+ * Blocked Bloom filters are only used as chunks of a compound Bloom filter,
+ * see {@link CompoundBloomFilterWriter} and {@link CompoundBloomFilter}.
+ */
+@InterfaceAudience.Private
+public class BlockedByteBloomFilter extends ByteBloomFilter {
+
+  /** log2 of the block size in bytes */
+  private static final int BLOCK_SHIFT = 6;
+
+  /** Block size in bytes, one cache line on most CPUs */
+  public static final int BLOCK_BYTES = 1 << BLOCK_SHIFT;
+
+  /** log2 of the block size in bits */
+  private static final int BLOCK_BIT_SHIFT = BLOCK_SHIFT + 3;
+
+  /** Shift to take the top bits of a probe value as a bit index in a block */
+  private static final int PROBE_SHIFT = Integer.SIZE - BLOCK_BIT_SHIFT;
+
+  /**
+   * Odd multiplier (the 32-bit golden ratio) used to derive each probe value
+   * from the previous one. Probe positions are taken from the top bits, which
+   * depend on all bits of the previous value.
+   */
+  private static final int PROBE_MULTIPLIER = 0x9e3779b9;
+
+  protected BlockedByteBloomFilter(int hashType) {
+    super(hashType);
+  }
+
+  /**
+   * Creates a blocked Bloom filter of the given size.
+   *
+   * @param byteSizeHint the desired number of bytes for the Bloom filter bit
+   *          array. Will be increased so that folding is possible and the
+   *          array consists of whole blocks.
+   * @param errorRate target false positive rate of the Bloom filter
+   * @param hashType Bloom filter hash function type
+   * @param foldFactor
+   * @return the new Bloom filter of the desired size
+   */
+  public static BlockedByteBloomFilter createBySize(int byteSizeHint,
+      double errorRate, int hashType, int foldFactor) {
+    BlockedByteBloomFilter bbf = new BlockedByteBloomFilter(hashType);
+
+    // Both the fold factor and the block size are powers of two, so this
+    // is a multiple of both.
+    bbf.byteSize = computeFoldableByteSize(byteSizeHint * 8L,
+        Math.max(foldFactor, BLOCK_SHIFT));
+    long bitSize = bbf.byteSize * 8;
+    bbf.maxKeys = (int) idealMaxKeys(bitSize, errorRate);
+    bbf.hashCount = optimalFunctionCount(bbf.maxKeys, bitSize);
+    bbf.maxKeys = (int) computeMaxKeys(bitSize, errorRate, bbf.hashCount);
+
+    return bbf;
+  }
+
+  @Override
+  public BlockedByteBloomFilter createAnother() {
+    BlockedByteBloomFilter bbf = new BlockedByteBloomFilter(hashType);
+    bbf.byteSize = byteSize;
+    bbf.hashCount = hashCount;
+    bbf.maxKeys = maxKeys;
+    return bbf;
+  }
+
+  @Override
+  public void add(byte[] buf, int offset, int len) {
+    int hash1 = this.hash.hash(buf, offset, len, 0);
+    int blockBitOffset = blockBitOffset(hash1, (int) this.byteSize);
+    int probe = mix(hash1);
+
+    for (int i = 0; i < this.hashCount; i++) {
+      set(blockBitOffset + (probe >>> PROBE_SHIFT));
+      probe *= PROBE_MULTIPLIER;
+    }
+
+    ++this.keyCount;
+  }
+
+  @Override
+  public boolean contains(byte[] buf, int offset, int length,
+      ByteBuffer theBloom) {
+    if (theBloom == null) {
+      theBloom = bloom;
+    }
+
+    if (theBloom.limit() != byteSize) {
+      throw new IllegalArgumentException("Bloom does not match expected size:"
+          + " theBloom.limit()=" + theBloom.limit() + ", byteSize=" + byteSize);
+    }
+
+    return contains(buf, offset, length, theBloom.array(),
+        theBloom.arrayOffset(), (int) byteSize, hash, hashCount);
+  }
+
+  public static boolean contains(byte[] buf, int offset, int length,
+      byte[] bloomArray, int bloomOffset, int bloomSize, Hash hash,
+      int hashCount) {
+    int hash1 = hash.hash(buf, offset, length, 0);
+    int blockBitOffset = blockBitOffset(hash1, bloomSize);
+    int probe = mix(hash1);
+
+    for (int i = 0; i < hashCount; i++) {
+      if (!get(blockBitOffset + (probe >>> PROBE_SHIFT), bloomArray,
+          bloomOffset)) {
+        return false;
+      }
+      probe *= PROBE_MULTIPLIER;
+    }
+    return true;
+  }
+
+  /**
+   * @return the offset in bits of the block the given hash maps to. Folding
+   *         the array in half keeps keys in the same relative block, because
+   *         (h mod 2n) mod n = h mod n for non-negative h.
+   */
+  private static int blockBitOffset(int hash, int bloomSize) {
+    int numBlocks = bloomSize >> BLOCK_SHIFT;
+    return ((hash & Integer.MAX_VALUE) % numBlocks) << BLOCK_BIT_SHIFT;
+  }
+
+  /**
+   * The MurmurHash3 32-bit finalizer, used to derive the in-block probes from
+   * the hash without hashing the key again.
+   */
+  private static int mix(int h) {
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return h;
+  }
+
+  @Override
+  protected boolean isFoldable(int byteSize) {
+    // Both halves have to consist of whole blocks.
+    return (byteSize & ((BLOCK_BYTES << 1) - 1)) == 0;
+  }
+
+  @Override
+  public Writable getMetaWriter() {
+    throw new UnsupportedOperationException("Blocked Bloom filters are only "
+        + "written as chunks of a compound Bloom filter");
+  }
+}
@@ -246,7 +246,7 @@ public class ByteBloomFilter implements BloomFilter, BloomFilterWriter {
     return (int) byteSizeLong;
   }
 
-  private static int optimalFunctionCount(int maxKeys, long bitSize) {
+  static int optimalFunctionCount(int maxKeys, long bitSize) {
     long i = bitSize / maxKeys;
     double result = Math.ceil(Math.log(2) * i);
     if (result > Integer.MAX_VALUE){
@@ -255,8 +255,8 @@ public class ByteBloomFilter implements BloomFilter, BloomFilterWriter {
     return (int)result;
   }
 
-  /** Private constructor used by other constructors. */
-  private ByteBloomFilter(int hashType) {
+  /** Constructor used by other constructors and subclasses. */
+  protected ByteBloomFilter(int hashType) {
     this.hashType = hashType;
     this.hash = Hash.getInstance(hashType);
   }
@@ -508,7 +508,7 @@ public class ByteBloomFilter implements BloomFilter, BloomFilterWriter {
       int newMaxKeys = this.maxKeys;
 
       // while exponentially smaller & folding is lossless
-      while ( (newByteSize & 1) == 0 && newMaxKeys > (this.keyCount<<1) ) {
+      while (isFoldable(newByteSize) && newMaxKeys > (this.keyCount<<1) ) {
         pieces <<= 1;
         newByteSize >>= 1;
         newMaxKeys >>= 1;
@@ -536,6 +536,15 @@ public class ByteBloomFilter implements BloomFilter, BloomFilterWriter {
   }
 
 
+  /**
+   * @param byteSize the current size of the Bloom filter bit array
+   * @return true if a bit array of the given size can be folded in half
+   *         without losing information
+   */
+  protected boolean isFoldable(int byteSize) {
+    return (byteSize & 1) == 0;
+  }
+
   //---------------------------------------------------------------------------
 
   /**
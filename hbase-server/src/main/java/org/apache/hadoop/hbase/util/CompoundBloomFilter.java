@@ -32,7 +32,8 @@ import org.apache.hadoop.hbase.io.hfile.HFileBlock;
 import org.apache.hadoop.hbase.io.hfile.HFileBlockIndex;
 
 /**
- * A Bloom filter implementation built on top of {@link ByteBloomFilter},
+ * A Bloom filter implementation built on top of {@link ByteBloomFilter} or
+ * {@link BlockedByteBloomFilter},
  * encapsulating a set of fixed-size Bloom filters written out at the time of
  * {@link org.apache.hadoop.hbase.io.hfile.HFile} generation into the data
  * block stream, and loaded on demand at query time. This class only provides
@@ -58,11 +59,14 @@ public class CompoundBloomFilter extends CompoundBloomFilterBase
    * with what {@link CompoundBloomFilterWriter} does.
    *
    * @param meta serialized Bloom filter metadata without any magic blocks
+   * @param reader the {@link HFile} reader to load chunks from
+   * @param blocked whether the chunks are {@link BlockedByteBloomFilter}s
    * @throws IOException
    */
-  public CompoundBloomFilter(DataInput meta, HFile.Reader reader)
-      throws IOException {
+  public CompoundBloomFilter(DataInput meta, HFile.Reader reader,
+      boolean blocked) throws IOException {
     this.reader = reader;
+    this.blocked = blocked;
 
     totalByteSize = meta.readLong();
     hashCount = meta.readInt();
@@ -107,9 +111,15 @@ public class CompoundBloomFilter extends CompoundBloomFilterBase
       }
 
       ByteBuffer bloomBuf = bloomBlock.getBufferReadOnly();
-      result = ByteBloomFilter.contains(key, keyOffset, keyLength,
-          bloomBuf.array(), bloomBuf.arrayOffset() + bloomBlock.headerSize(),
-          bloomBlock.getUncompressedSizeWithoutHeader(), hash, hashCount);
+      if (blocked) {
+        result = BlockedByteBloomFilter.contains(key, keyOffset, keyLength,
+            bloomBuf.array(), bloomBuf.arrayOffset() + bloomBlock.headerSize(),
+            bloomBlock.getUncompressedSizeWithoutHeader(), hash, hashCount);
+      } else {
+        result = ByteBloomFilter.contains(key, keyOffset, keyLength,
+            bloomBuf.array(), bloomBuf.arrayOffset() + bloomBlock.headerSize(),
+            bloomBlock.getUncompressedSizeWithoutHeader(), hash, hashCount);
+      }
     }
 
     if (numQueriesPerChunk != null && block >= 0) {
@@ -170,6 +180,8 @@ public class CompoundBloomFilter extends CompoundBloomFilterBase
     sb.append(ByteBloomFilter.formatStats(this));
     sb.append(ByteBloomFilter.STATS_RECORD_SEP + 
         "Number of chunks: " + numChunks);
+    sb.append(ByteBloomFilter.STATS_RECORD_SEP +
+        "Blocked: " + blocked);
     sb.append(ByteBloomFilter.STATS_RECORD_SEP + 
         "Comparator: " + comparator.getClass().getSimpleName());
     return sb.toString();
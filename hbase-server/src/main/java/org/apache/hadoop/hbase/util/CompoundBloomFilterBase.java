@@ -40,6 +40,15 @@ public class CompoundBloomFilterBase implements BloomFilterBase {
    */
   public static final int VERSION = 3;
 
+  /**
+   * The version of compound Bloom filters made of {@link BlockedByteBloomFilter}
+   * chunks. The metadata format is the same as for {@link #VERSION}.
+   */
+  public static final int BLOCKED_VERSION = 4;
+
+  /** Whether chunks are {@link BlockedByteBloomFilter}s */
+  protected boolean blocked;
+
   /** Target error rate for configuring the filter and for information */
   protected float errorRate;
 
@@ -86,10 +86,12 @@ public class CompoundBloomFilterWriter extends CompoundBloomFilterBase
    *          hash function type to use
    * @param maxFold
    *          maximum degree of folding allowed
+   * @param blocked
+   *          whether to write {@link BlockedByteBloomFilter} chunks
    */
   public CompoundBloomFilterWriter(int chunkByteSizeHint, float errorRate,
       int hashType, int maxFold, boolean cacheOnWrite,
-      KVComparator comparator) {
+      KVComparator comparator, boolean blocked) {
     chunkByteSize = ByteBloomFilter.computeFoldableByteSize(
         chunkByteSizeHint * 8L, maxFold);
 
@@ -98,6 +100,7 @@ public class CompoundBloomFilterWriter extends CompoundBloomFilterBase
     this.maxFold = maxFold;
     this.cacheOnWrite = cacheOnWrite;
     this.comparator = comparator;
+    this.blocked = blocked;
   }
 
   @Override
@@ -174,8 +177,13 @@ public class CompoundBloomFilterWriter extends CompoundBloomFilterBase
 
       if (prevChunk == null) {
         // First chunk
-        chunk = ByteBloomFilter.createBySize(chunkByteSize, errorRate,
-            hashType, maxFold);
+        if (blocked) {
+          chunk = BlockedByteBloomFilter.createBySize(chunkByteSize, errorRate,
+              hashType, maxFold);
+        } else {
+          chunk = ByteBloomFilter.createBySize(chunkByteSize, errorRate,
+              hashType, maxFold);
+        }
       } else {
         // Use the same parameters as the last chunk, but a new array and
         // a zero key count.
@@ -233,7 +241,7 @@ public class CompoundBloomFilterWriter extends CompoundBloomFilterBase
      */
     @Override
     public void write(DataOutput out) throws IOException {
-      out.writeInt(VERSION);
+      out.writeInt(blocked ? BLOCKED_VERSION : VERSION);
 
       out.writeLong(getByteSize());
       out.writeInt(prevChunk.getHashCount());
@@ -30,6 +30,7 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hbase.io.ImmutableBytesWritable;
+import org.apache.hadoop.hbase.io.compress.Compression;
 import org.apache.hadoop.hbase.io.hfile.CacheConfig;
 import org.apache.hadoop.hbase.io.hfile.HFile;
 import org.apache.hadoop.hbase.io.hfile.HFileContext;
@@ -112,6 +113,41 @@ public class HFilePerformanceEvaluation {
       }
     });
 
+    runCompressionBenchmarks(conf, fs);
+  }
+
+  /**
+   * Writes the same JSON-like values with each of the pure-Java compression
+   * algorithms, then reports the compression ratio and how fast a full scan
+   * decompresses the blocks.
+   */
+  private void runCompressionBenchmarks(Configuration conf, FileSystem fs)
+      throws Exception {
+    int rowCount = ROW_COUNT / 10;
+    Compression.Algorithm[] algorithms = { Compression.Algorithm.NONE,
+        Compression.Algorithm.GZ, Compression.Algorithm.DICT };
+    for (Compression.Algorithm algorithm : algorithms) {
+      Path path = fs.makeQualified(new Path("performanceevaluation.hfile."
+          + algorithm.getName()));
+      if (fs.exists(path)) {
+        fs.delete(path, true);
+      }
+      runBenchmark(new CompressedSequentialWriteBenchmark(conf, fs, path, rowCount,
+          algorithm), rowCount);
+
+      HFile.Reader reader = HFile.createReader(fs, path, new CacheConfig(conf), conf);
+      long uncompressedBytes = reader.getTrailer().getTotalUncompressedBytes();
+      reader.close();
+      long onDiskBytes = fs.getFileStatus(path).getLen();
+      long elapsedTime = new SequentialScanBenchmark(conf, fs, path, rowCount).run();
+      LOG.info("Compression " + algorithm.getName() + ": " + uncompressedBytes
+          + " bytes uncompressed, " + onDiskBytes + " bytes on disk, ratio "
+          + String.format("%.2f", (double) uncompressedBytes / onDiskBytes)
+          + ", scanned in " + elapsedTime + "ms ("
+          + String.format("%.1f", uncompressedBytes / 1024.0 / 1024.0
+              / Math.max(elapsedTime, 1) * 1000) + " MB/s)");
+      fs.delete(path, true);
+    }
   }
 
   protected void runBenchmark(RowOrientedBenchmark benchmark, int rowCount)
@@ -220,6 +256,60 @@ public class HFilePerformanceEvaluation {
 
   }
 
+  /**
+   * Writes small blocks of JSON-like values, which compress poorly one block
+   * at a time.
+   */
+  static class CompressedSequentialWriteBenchmark extends RowOrientedBenchmark {
+    private final Compression.Algorithm compression;
+    private HFile.Writer writer;
+    private Random random = new Random();
+
+    public CompressedSequentialWriteBenchmark(Configuration conf, FileSystem fs,
+        Path mf, int totalRows, Compression.Algorithm compression) {
+      super(conf, fs, mf, totalRows);
+      this.compression = compression;
+    }
+
+    @Override
+    void setUp() throws Exception {
+      HFileContext hFileContext = new HFileContextBuilder()
+          .withBlockSize(RFILE_BLOCKSIZE)
+          .withCompression(compression)
+          .build();
+      writer =
+        HFile.getWriterFactoryNoCache(conf)
+            .withPath(fs, mf)
+            .withFileContext(hFileContext)
+            .withComparator(new KeyValue.RawBytesComparator())
+            .create();
+    }
+
+    @Override
+    void doRow(int i) throws Exception {
+      writer.append(format(i), generateValue(i));
+    }
+
+    private byte[] generateValue(int i) {
+      int user = random.nextInt(1000);
+      return Bytes.toBytes("{\"id\":" + i + ",\"user\":\"user" + user
+          + "\",\"email\":\"user" + user + "@example.com\",\"score\":"
+          + random.nextInt(100) + ",\"active\":" + random.nextBoolean()
+          + ",\"tags\":[\"tag" + random.nextInt(20) + "\",\"tag"
+          + random.nextInt(20) + "\"]}");
+    }
+
+    @Override
+    protected int getReportingPeriod() {
+      return this.totalRows; // don't report progress
+    }
+
+    @Override
+    void tearDown() throws Exception {
+      writer.close();
+    }
+  }
+
   static abstract class ReadBenchmark extends RowOrientedBenchmark {
 
     protected HFile.Reader reader;
@@ -274,6 +364,35 @@ public class HFilePerformanceEvaluation {
 
   }
 
+  static class SequentialScanBenchmark extends ReadBenchmark {
+    private HFileScanner scanner;
+
+    public SequentialScanBenchmark(Configuration conf, FileSystem fs,
+      Path mf, int totalRows) {
+      super(conf, fs, mf, totalRows);
+    }
+
+    @Override
+    void setUp() throws Exception {
+      super.setUp();
+      this.scanner = this.reader.getScanner(false, false);
+      this.scanner.seekTo();
+    }
+
+    @Override
+    void doRow(int i) throws Exception {
+      ByteBuffer k = this.scanner.getKey();
+      PerformanceEvaluationCommons.assertKey(format(i), k);
+      scanner.getValue();
+      scanner.next();
+    }
+
+    @Override
+    protected int getReportingPeriod() {
+      return this.totalRows; // don't report progress
+    }
+  }
+
   static class UniformRandomReadBenchmark extends ReadBenchmark {
 
     private Random random = new Random();
@@ -537,6 +537,60 @@ public class TestHCM {
     assertTrue(((HTable)table).getPool().isShutdown());
   }
 
+  /**
+   * Test that the first lookup of a table caches all its regions, sharing the ServerName
+   * instances, and that the lookups and invalidations are counted.
+   */
+  @Test(timeout = 60000)
+  public void testRegionCacheWarmup() throws Exception {
+    TableName tableName = TableName.valueOf("testRegionCacheWarmup");
+    HTable table = TEST_UTIL.createTable(tableName, FAM_NAM);
+    TEST_UTIL.createMultiRegions(table, FAM_NAM);
+    TEST_UTIL.waitUntilAllRegionsAssigned(tableName);
+    int regionCount = table.getRegionLocations().size();
+    assertTrue(regionCount > 10);
+    table.close();
+
+    Configuration conf = new Configuration(TEST_UTIL.getConfiguration());
+    conf.setInt(HConstants.HBASE_CLIENT_PREFETCH_LIMIT, 2);
+    conf.setBoolean(HConstants.HBASE_CLIENT_PREFETCH_WARMUP, true);
+    HConnectionManager.HConnectionImplementation conn =
+      (HConnectionManager.HConnectionImplementation) HConnectionManager.createConnection(conf);
+    try {
+      assertNotNull(conn.locateRegion(tableName, ROW));
+      Assert.assertEquals(regionCount, conn.getNumberOfCachedRegionLocations(tableName));
+      Assert.assertEquals(1, conn.getRegionCacheMetrics().countOfCacheMisses.get());
+      HRegionLocation location = conn.locateRegion(tableName, ROW_X);
+      Assert.assertEquals(1, conn.getRegionCacheMetrics().countOfCacheMisses.get());
+      Assert.assertEquals(1, conn.getRegionCacheMetrics().countOfCacheHits.get());
+
+      // One ServerName instance per server
+      Map<ServerName, ServerName> serverNames = new HashMap<ServerName, ServerName>();
+      for (HRegionLocation loc : conn.locateRegions(tableName, true, false)) {
+        ServerName previous = serverNames.put(loc.getServerName(), loc.getServerName());
+        assertTrue(previous == null || previous == loc.getServerName());
+      }
+
+      conn.deleteCachedRegionLocation(location);
+      Assert.assertEquals(1, conn.getRegionCacheMetrics().countOfCacheInvalidations.get());
+      Assert.assertEquals(regionCount - 1, conn.getNumberOfCachedRegionLocations(tableName));
+
+      // Locating all the regions caches them from its own scan of meta
+      conn.clearRegionCache(tableName);
+      long misses = conn.getRegionCacheMetrics().countOfCacheMisses.get();
+      Assert.assertEquals(regionCount, conn.locateRegions(tableName, true, false).size());
+      Assert.assertEquals(misses, conn.getRegionCacheMetrics().countOfCacheMisses.get());
+      Assert.assertEquals(regionCount, conn.getNumberOfCachedRegionLocations(tableName));
+
+      // Explicitly
+      conn.clearRegionCache(tableName);
+      conn.warmUpRegionCache(tableName);
+      Assert.assertEquals(regionCount, conn.getNumberOfCachedRegionLocations(tableName));
+    } finally {
+      conn.close();
+    }
+  }
+
   /**
    * Test that stale cache updates don't override newer cached values.
    */
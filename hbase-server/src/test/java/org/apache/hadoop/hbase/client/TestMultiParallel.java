@@ -20,6 +20,7 @@ package org.apache.hadoop.hbase.client;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -33,10 +34,14 @@ import java.util.concurrent.ThreadPoolExecutor;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.commons.logging.impl.Log4JLogger;
+import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.HConstants;
 import org.apache.hadoop.hbase.MediumTests;
+import org.apache.hadoop.hbase.ServerName;
+import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.Waiter;
 import org.apache.hadoop.hbase.exceptions.OperationConflictException;
 import org.apache.hadoop.hbase.ipc.RpcClient;
@@ -355,6 +360,34 @@ public class TestMultiParallel {
     table.close();
   }
 
+  @Test(timeout=300000)
+  public void testBatchTracksServerLoad() throws Exception {
+    LOG.info("test=testBatchTracksServerLoad");
+    Configuration conf = new Configuration(UTIL.getConfiguration());
+    conf.setBoolean(HConstants.HBASE_CLIENT_BACKPRESSURE_ENABLED, true);
+    HConnection conn = HConnectionManager.createConnection(conf);
+    HTableInterface table = conn.getTable(TEST_TABLE);
+    try {
+      Object[] results = table.batch(constructPutRequests());
+      validateSizeAndEmpty(results, KEYS.length);
+
+      ServerStatisticTracker tracker = conn.getStatisticTracker();
+      for (JVMClusterUtil.RegionServerThread rs :
+          UTIL.getMiniHBaseCluster().getLiveRegionServerThreads()) {
+        ServerName sn = rs.getRegionServer().getServerName();
+        if (rs.getRegionServer().getOnlineRegions(TableName.valueOf(TEST_TABLE)).isEmpty()) {
+          continue;
+        }
+        ServerStatistics stats = tracker.getServerStats(sn);
+        assertNotNull("No load tracked for " + sn, stats);
+        assertTrue(stats.getLoad() >= 0 && stats.getLoad() <= 100);
+      }
+    } finally {
+      table.close();
+      conn.close();
+    }
+  }
+
   @Test(timeout=300000)
   public void testBatchWithDelete() throws Exception {
     LOG.info("test=testBatchWithDelete");
@@ -20,7 +20,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -95,6 +97,127 @@ public class TestScannersFromClientSide {
     // Nothing to do.
   }
 
+  /**
+   * Test that the scanner fetching in the background returns the same rows, in order,
+   * across regions and with various caching and max result sizes.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testAsyncPrefetchScanner() throws Exception {
+    byte [] TABLE = Bytes.toBytes("testAsyncPrefetchScanner");
+    HTable ht = TEST_UTIL.createTable(TABLE, new byte[][] { FAMILY }, 1,
+        Bytes.toBytes("bbb"), Bytes.toBytes("yyy"), 5);
+    int rowCount = TEST_UTIL.loadTable(ht, FAMILY);
+
+    for (int caching : new int[] { 1, 7, 1000 }) {
+      for (long maxResultSize : new long[] { 1, 1024, -1 }) {
+        Scan scan = new Scan();
+        scan.setCaching(caching);
+        scan.setMaxResultSize(maxResultSize);
+        scan.setAsyncPrefetch(true);
+        ResultScanner scanner = ht.getScanner(scan);
+        assertTrue(scanner instanceof ClientAsyncPrefetchScanner);
+        byte[] previous = null;
+        int count = 0;
+        for (Result result : scanner) {
+          if (previous != null) {
+            assertTrue(Bytes.compareTo(previous, result.getRow()) < 0);
+          }
+          previous = result.getRow();
+          count++;
+        }
+        assertEquals(null, scanner.next());
+        scanner.close();
+        assertEquals("caching=" + caching + ", maxResultSize=" + maxResultSize,
+            rowCount, count);
+      }
+    }
+
+    // Closed before the end, with a fetch possibly in flight
+    Scan scan = new Scan();
+    scan.setCaching(10);
+    scan.setAsyncPrefetch(true);
+    ResultScanner scanner = ht.getScanner(scan);
+    assertTrue(scanner.next() != null);
+    scanner.close();
+
+    // Not prefetching by default
+    scanner = ht.getScanner(new Scan());
+    assertTrue(!(scanner instanceof ClientAsyncPrefetchScanner));
+    scanner.close();
+    ht.close();
+  }
+
+  /**
+   * Test that the scanner scanning several regions at a time returns all the rows within
+   * the start and stop rows, in order when asked to, while a region splits.
+   *
+   * @throws Exception
+   */
+  @Test
+  public void testParallelScanner() throws Exception {
+    byte [] TABLE = Bytes.toBytes("testParallelScanner");
+    HTable ht = TEST_UTIL.createTable(TABLE, new byte[][] { FAMILY }, 1,
+        Bytes.toBytes("bbb"), Bytes.toBytes("yyy"), 6);
+    int rowCount = TEST_UTIL.loadTable(ht, FAMILY);
+
+    for (boolean ordered : new boolean[] { true, false }) {
+      assertEquals(rowCount, countParallelScan(ht, new Scan(), ordered));
+      // 'ccc' to 'pppp' exclusive spans several regions
+      int expected = ('p' - 'c') * 26 * 26 + ('p' - 'c') * 26 + ('p' - 'c') + 1;
+      assertEquals(expected, countParallelScan(ht,
+          new Scan(Bytes.toBytes("ccc"), Bytes.toBytes("pppp")), ordered));
+      // Within a single region
+      assertEquals('z' - 'd' + 1, countParallelScan(ht,
+          new Scan(Bytes.toBytes("ddd"), Bytes.toBytes("dea")), ordered));
+    }
+
+    // A region splits while being scanned
+    Scan scan = new Scan();
+    scan.setCaching(1);
+    ResultScanner scanner = ht.getParallelScanner(scan, 2, true);
+    assertTrue(scanner instanceof ClientParallelScanner);
+    int count = 0;
+    byte[] previous = null;
+    for (Result result : scanner) {
+      if (count == 10) {
+        TEST_UTIL.getHBaseAdmin().split(TABLE, Bytes.toBytes("aam"));
+      }
+      if (previous != null) {
+        assertTrue(Bytes.compareTo(previous, result.getRow()) < 0);
+      }
+      previous = result.getRow();
+      count++;
+    }
+    scanner.close();
+    assertEquals(rowCount, count);
+
+    // Closed before the end, with the ranges still running
+    scanner = ht.getParallelScanner(new Scan(), 4, false);
+    assertTrue(scanner.next() != null);
+    scanner.close();
+    assertEquals(null, scanner.next());
+    ht.close();
+  }
+
+  private int countParallelScan(HTable ht, Scan scan, boolean ordered) throws Exception {
+    scan.setCaching(7);
+    ResultScanner scanner = ht.getParallelScanner(scan, 3, ordered);
+    Set<String> rows = new HashSet<String>();
+    byte[] previous = null;
+    for (Result result : scanner) {
+      if (ordered && previous != null) {
+        assertTrue(Bytes.compareTo(previous, result.getRow()) < 0);
+      }
+      previous = result.getRow();
+      assertTrue(rows.add(Bytes.toString(result.getRow())));
+    }
+    assertEquals(null, scanner.next());
+    scanner.close();
+    return rows.size();
+  }
+
   /**
    * Test from client side for batch of scan
    *
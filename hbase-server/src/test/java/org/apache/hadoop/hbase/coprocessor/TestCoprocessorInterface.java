@@ -105,6 +105,17 @@ public class TestCoprocessorInterface {
       return delegate.nextRaw(result, limit);
     }
 
+    @Override
+    public boolean nextRawWithinTime(List<Cell> result, long timeLimit)
+        throws IOException {
+      return delegate.nextRawWithinTime(result, timeLimit);
+    }
+
+    @Override
+    public byte[] getLastFilteredRow() {
+      return delegate.getLastFilteredRow();
+    }
+
     @Override
     public void close() throws IOException {
       delegate.close();
@@ -0,0 +1,184 @@
+/**
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.SmallTests;
+import org.apache.hadoop.hbase.filter.CompareFilter.CompareOp;
+import org.apache.hadoop.hbase.filter.Filter.ReturnCode;
+import org.apache.hadoop.hbase.filter.FilterList.Operator;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Checks that a {@link CompiledFilter} behaves exactly like the filter list it
+ * was compiled from.
+ */
+@Category(SmallTests.class)
+public class TestCompiledFilter {
+  private static final byte[] FAMILY = Bytes.toBytes("f");
+  private static final byte[] OTHER_FAMILY = Bytes.toBytes("g");
+  private static final String[] VALUES = { "", "a", "ab", "b", "ba", "c" };
+
+  private final Random random = new Random(2718281828L);
+
+  @Test
+  public void testUnsupportedFiltersAreNotCompiled() {
+    Filter single = new PrefixFilter(Bytes.toBytes("a"));
+    assertSame(single, CompiledFilter.compile(single));
+
+    Filter mustPassOne = new FilterList(Operator.MUST_PASS_ONE, new PrefixFilter(
+        Bytes.toBytes("a")), new ValueFilter(CompareOp.EQUAL, new BinaryComparator(
+        Bytes.toBytes("b"))));
+    assertSame(mustPassOne, CompiledFilter.compile(mustPassOne));
+
+    Filter customComparator = new FilterList(new PrefixFilter(Bytes.toBytes("a")),
+        new ValueFilter(CompareOp.EQUAL, new SubstringComparator("b")));
+    assertSame(customComparator, CompiledFilter.compile(customComparator));
+
+    Filter subclass = new FilterList(new PrefixFilter(Bytes.toBytes("a")),
+        new SingleColumnValueExcludeFilter(FAMILY, Bytes.toBytes("q"), CompareOp.EQUAL,
+            Bytes.toBytes("b")));
+    assertSame(subclass, CompiledFilter.compile(subclass));
+
+    Filter nested = new FilterList(new FilterList(new PrefixFilter(Bytes.toBytes("a"))));
+    assertSame(nested, CompiledFilter.compile(nested));
+
+    Filter supported = new FilterList(new PrefixFilter(Bytes.toBytes("a")),
+        new ColumnRangeFilter(Bytes.toBytes("a"), true, Bytes.toBytes("c"), false));
+    assertTrue(CompiledFilter.compile(supported) instanceof CompiledFilter);
+  }
+
+  @Test
+  public void testSameResultsAsFilterList() throws IOException {
+    for (int i = 0; i < 500; i++) {
+      int numFilters = 1 + random.nextInt(4);
+      long seed = random.nextLong();
+      FilterList expected = randomFilterList(new Random(seed), numFilters);
+      Filter compiled = CompiledFilter.compile(randomFilterList(new Random(seed), numFilters));
+      assertTrue(compiled instanceof CompiledFilter);
+      boolean reversed = random.nextBoolean();
+      expected.setReversed(reversed);
+      compiled.setReversed(reversed);
+      compareOnRandomRows(expected, compiled);
+    }
+  }
+
+  private void compareOnRandomRows(Filter expected, Filter compiled) throws IOException {
+    String message = expected.toString();
+    assertEquals(message, expected.hasFilterRow(), compiled.hasFilterRow());
+    assertEquals(message, expected.isFamilyEssential(FAMILY),
+        compiled.isFamilyEssential(FAMILY));
+    assertEquals(message, expected.isFamilyEssential(OTHER_FAMILY),
+        compiled.isFamilyEssential(OTHER_FAMILY));
+    for (int row = 0; row < 20; row++) {
+      expected.reset();
+      compiled.reset();
+      byte[] rowKey = Bytes.toBytes(randomValue(random) + randomValue(random));
+      assertEquals(message, expected.filterAllRemaining(), compiled.filterAllRemaining());
+      assertEquals(message, expected.filterRowKey(rowKey, 0, rowKey.length),
+          compiled.filterRowKey(rowKey, 0, rowKey.length));
+      for (KeyValue kv : randomRow(rowKey)) {
+        ReturnCode code = expected.filterKeyValue(kv);
+        assertEquals(message + " " + kv, code, compiled.filterKeyValue(kv));
+        if (code == ReturnCode.SEEK_NEXT_USING_HINT) {
+          assertEquals(message, expected.getNextCellHint(kv), compiled.getNextCellHint(kv));
+        } else if (code == ReturnCode.INCLUDE) {
+          assertEquals(message, expected.transformCell(kv), compiled.transformCell(kv));
+        }
+      }
+      assertEquals(message, expected.filterRow(), compiled.filterRow());
+      assertEquals(message, expected.filterAllRemaining(), compiled.filterAllRemaining());
+    }
+  }
+
+  private List<KeyValue> randomRow(byte[] rowKey) {
+    List<KeyValue> kvs = new ArrayList<KeyValue>();
+    for (String qualifier : VALUES) {
+      if (random.nextBoolean()) {
+        continue;
+      }
+      int versions = 1 + random.nextInt(2);
+      for (int v = 0; v < versions; v++) {
+        kvs.add(new KeyValue(rowKey, FAMILY, Bytes.toBytes(qualifier), versions - v,
+            Bytes.toBytes(randomValue(random))));
+      }
+    }
+    return kvs;
+  }
+
+  private static String randomValue(Random random) {
+    return VALUES[random.nextInt(VALUES.length)];
+  }
+
+  private static byte[] randomBytes(Random random) {
+    return Bytes.toBytes(randomValue(random));
+  }
+
+  private static FilterList randomFilterList(Random random, int numFilters) {
+    List<Filter> filters = new ArrayList<Filter>();
+    CompareOp[] ops = { CompareOp.LESS, CompareOp.LESS_OR_EQUAL, CompareOp.EQUAL,
+        CompareOp.NOT_EQUAL, CompareOp.GREATER_OR_EQUAL, CompareOp.GREATER };
+    for (int i = 0; i < numFilters; i++) {
+      CompareOp op = ops[random.nextInt(ops.length)];
+      switch (random.nextInt(4)) {
+      case 0:
+        filters.add(new PrefixFilter(randomBytes(random)));
+        break;
+      case 1:
+        filters.add(new ValueFilter(op, new BinaryComparator(randomBytes(random))));
+        break;
+      case 2:
+        filters.add(new ColumnRangeFilter(random.nextBoolean() ? null : randomBytes(random),
+            random.nextBoolean(), random.nextBoolean() ? null : randomBytes(random),
+            random.nextBoolean()));
+        break;
+      default:
+        SingleColumnValueFilter filter = new SingleColumnValueFilter(FAMILY,
+            randomBytes(random), op, randomBytes(random));
+        filter.setFilterIfMissing(random.nextBoolean());
+        filter.setLatestVersionOnly(random.nextBoolean());
+        filters.add(filter);
+      }
+    }
+    return new FilterList(Operator.MUST_PASS_ALL, filters);
+  }
+
+  @Test
+  public void testSeekHint() throws IOException {
+    Filter compiled = CompiledFilter.compile(new FilterList(new ColumnRangeFilter(
+        Bytes.toBytes("b"), true, Bytes.toBytes("c"), true)));
+    KeyValue kv = new KeyValue(Bytes.toBytes("r"), FAMILY, Bytes.toBytes("a"), 1,
+        Bytes.toBytes("v"));
+    assertEquals(ReturnCode.SEEK_NEXT_USING_HINT, compiled.filterKeyValue(kv));
+    Cell hint = compiled.getNextCellHint(kv);
+    assertTrue(Bytes.equals(Bytes.toBytes("b"), ((KeyValue) hint).getQualifier()));
+  }
+}
@@ -0,0 +1,200 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.MediumTests;
+import org.apache.hadoop.hbase.client.HTable;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter.RowRange;
+import org.apache.hadoop.hbase.protobuf.ProtobufUtil;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(MediumTests.class)
+public class TestMultiRowRangeFilter {
+  private final static HBaseTestingUtility TEST_UTIL = new HBaseTestingUtility();
+  private static final byte[] FAMILY = Bytes.toBytes("f");
+  private static final byte[] QUALIFIER = Bytes.toBytes("q");
+  private static final int NUM_ROWS = 100;
+
+  @BeforeClass
+  public static void setUpBeforeClass() throws Exception {
+    TEST_UTIL.startMiniCluster();
+  }
+
+  @AfterClass
+  public static void tearDownAfterClass() throws Exception {
+    TEST_UTIL.shutdownMiniCluster();
+  }
+
+  private static byte[] row(int i) {
+    return Bytes.toBytes(String.format("%03d", i));
+  }
+
+  @Test
+  public void testSortAndMerge() {
+    List<RowRange> ranges = new ArrayList<RowRange>();
+    ranges.add(new RowRange(row(30), true, row(40), false));
+    ranges.add(new RowRange(row(10), true, row(20), false));
+    ranges.add(new RowRange(row(15), true, row(25), false));
+    ranges.add(new RowRange(row(40), false, row(50), false));
+    ranges.add(new RowRange(row(25), true, row(27), true));
+    ranges.add(new RowRange(row(60), true, row(70), false));
+    ranges.add(new RowRange(row(65), true, null, false));
+    List<RowRange> merged = new MultiRowRangeFilter(ranges).getRowRanges();
+    assertEquals(4, merged.size());
+    assertEquals(new RowRange(row(10), true, row(27), true), merged.get(0));
+    assertEquals(new RowRange(row(30), true, row(40), false), merged.get(1));
+    assertEquals(new RowRange(row(40), false, row(50), false), merged.get(2));
+    assertEquals(new RowRange(row(60), true, null, false), merged.get(3));
+  }
+
+  @Test
+  public void testEmptyRange() {
+    try {
+      new RowRange(row(20), true, row(10), true);
+      fail("Expected an exception for an empty range");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    try {
+      new RowRange(row(10), false, row(10), true);
+      fail("Expected an exception for an empty range");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    assertTrue(new RowRange(row(10), true, row(10), true).contains(row(10), 0, 3));
+  }
+
+  @Test
+  public void testNextRowInRanges() {
+    List<RowRange> ranges = new ArrayList<RowRange>();
+    ranges.add(new RowRange(row(10), true, row(20), false));
+    ranges.add(new RowRange(row(30), false, row(40), true));
+    MultiRowRangeFilter filter = new MultiRowRangeFilter(ranges);
+    assertTrue(Bytes.equals(row(10), filter.getNextRowInRanges(new byte[0])));
+    assertTrue(Bytes.equals(row(15), filter.getNextRowInRanges(row(15))));
+    assertTrue(Bytes.equals(row(30), filter.getNextRowInRanges(row(20))));
+    assertTrue(Bytes.equals(row(40), filter.getNextRowInRanges(row(40))));
+    assertNull(filter.getNextRowInRanges(row(41)));
+
+    assertTrue(filter.intersects(new byte[0], row(11)));
+    assertFalse(filter.intersects(new byte[0], row(10)));
+    assertFalse(filter.intersects(row(20), row(30)));
+    assertTrue(filter.intersects(row(20), row(31)));
+    assertFalse(filter.intersects(row(41), new byte[0]));
+  }
+
+  @Test
+  public void testFilterRowKeyWithHints() {
+    List<RowRange> ranges = new ArrayList<RowRange>();
+    ranges.add(new RowRange(row(10), false, row(20), false));
+    ranges.add(new RowRange(row(30), true, row(40), true));
+    MultiRowRangeFilter filter = new MultiRowRangeFilter(ranges);
+
+    assertFalse(filter.filterRowKey(row(5), 0, 3));
+    assertEquals(Filter.ReturnCode.SEEK_NEXT_USING_HINT, filter.filterKeyValue(null));
+    assertTrue(Bytes.equals(row(10), CellUtil.cloneRow(filter.getNextCellHint(null))));
+    // Exclusive start row
+    assertTrue(filter.filterRowKey(row(10), 0, 3));
+    assertFalse(filter.filterRowKey(row(11), 0, 3));
+    assertEquals(Filter.ReturnCode.INCLUDE, filter.filterKeyValue(null));
+    assertFalse(filter.filterRowKey(row(20), 0, 3));
+    assertEquals(Filter.ReturnCode.SEEK_NEXT_USING_HINT, filter.filterKeyValue(null));
+    assertFalse(filter.filterRowKey(row(40), 0, 3));
+    assertEquals(Filter.ReturnCode.INCLUDE, filter.filterKeyValue(null));
+    assertFalse(filter.filterAllRemaining());
+    assertTrue(filter.filterRowKey(row(41), 0, 3));
+    assertTrue(filter.filterAllRemaining());
+  }
+
+  @Test
+  public void testScanAcrossRegions() throws IOException {
+    byte[] tableName = Bytes.toBytes("testScanAcrossRegions");
+    HTable ht = TEST_UTIL.createTable(tableName, FAMILY,
+        new byte[][] { row(20), row(40), row(60), row(80) });
+    List<Put> puts = new ArrayList<Put>();
+    for (int i = 0; i < NUM_ROWS; i++) {
+      Put put = new Put(row(i));
+      put.add(FAMILY, QUALIFIER, Bytes.toBytes(i));
+      puts.add(put);
+    }
+    ht.put(puts);
+    ht.flushCommits();
+
+    List<RowRange> ranges = new ArrayList<RowRange>();
+    ranges.add(new RowRange(row(10), true, row(15), false));
+    ranges.add(new RowRange(row(30), false, row(35), true));
+    ranges.add(new RowRange(row(50), true, row(51), true));
+    ranges.add(new RowRange(row(90), true, null, false));
+
+    Scan scan = new Scan();
+    scan.setFilter(new MultiRowRangeFilter(ranges));
+    scan.setAttribute(Scan.SCAN_ATTRIBUTES_METRICS_ENABLE, Bytes.toBytes(Boolean.TRUE));
+    List<Integer> expected = new ArrayList<Integer>();
+    for (int i = 10; i < 15; i++) expected.add(i);
+    for (int i = 31; i <= 35; i++) expected.add(i);
+    expected.add(50);
+    expected.add(51);
+    for (int i = 90; i < NUM_ROWS; i++) expected.add(i);
+    assertEquals(expected, scanRows(ht, scan));
+
+    // The region from 60 to 80 has no range and is not scanned
+    ScanMetrics metrics =
+        ProtobufUtil.toScanMetrics(scan.getAttribute(Scan.SCAN_ATTRIBUTES_METRICS_DATA));
+    assertEquals(4, metrics.countOfRegions.get());
+
+    // Combined with other filters
+    scan = new Scan();
+    scan.setFilter(new FilterList(new MultiRowRangeFilter(ranges),
+        new ValueFilter(CompareFilter.CompareOp.NOT_EQUAL,
+            new BinaryComparator(Bytes.toBytes(50)))));
+    expected.remove(Integer.valueOf(50));
+    assertEquals(expected, scanRows(ht, scan));
+    ht.close();
+  }
+
+  private static List<Integer> scanRows(HTable ht, Scan scan) throws IOException {
+    List<Integer> rows = new ArrayList<Integer>();
+    ResultScanner scanner = ht.getScanner(scan);
+    for (Result result : scanner) {
+      rows.add(Integer.parseInt(Bytes.toString(result.getRow())));
+    }
+    scanner.close();
+    return rows;
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hbase.io.encoding;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.io.compress.Compression;
+import org.apache.hadoop.hbase.io.hfile.HFileContext;
+import org.apache.hadoop.hbase.io.hfile.HFileContextBuilder;
+import org.apache.hadoop.hbase.util.Bytes;
+
+/**
+ * Measures the latency of random seeks inside a single data block for each
+ * data block encoding. The seeker is rewound before every seek, the way the
+ * HFile reader does when it seeks backwards in the block it has loaded, so
+ * the encodings which decode sequentially walk the block from its start.
+ * It also measures a scan of the whole block which only looks at the keys,
+ * as row counting and key-only filters do.
+ * <p>
+ * Usage: EncodedSeekBenchmark [blockSize] [columnsPerRow] [valueSize] [numSeeks]
+ */
+public class EncodedSeekBenchmark {
+  private static final int WARMUP_ROUNDS = 2;
+  private static final byte[] FAMILY = Bytes.toBytes("f");
+
+  private final List<KeyValue> keyValues = new ArrayList<KeyValue>();
+  private final ByteBuffer unencoded;
+  private final int[] seeks;
+  private long sink;
+  private final HFileContext meta = new HFileContextBuilder()
+      .withHBaseCheckSum(false)
+      .withIncludesMvcc(false)
+      .withIncludesTags(false)
+      .withCompression(Compression.Algorithm.NONE)
+      .build();
+
+  public EncodedSeekBenchmark(int blockSize, int columnsPerRow, int valueSize, int numSeeks) {
+    Random random = new Random(42);
+    byte[] value = new byte[valueSize];
+    int size = 0;
+    for (int row = 0; size < blockSize; ++row) {
+      for (int col = 0; col < columnsPerRow && size < blockSize; ++col) {
+        random.nextBytes(value);
+        KeyValue kv = new KeyValue(Bytes.toBytes(String.format("row-%08d", row)), FAMILY,
+            Bytes.toBytes(String.format("q%04d", col)), 1L, value);
+        keyValues.add(kv);
+        size += kv.getLength();
+      }
+    }
+    unencoded = ByteBuffer.allocate(size);
+    for (KeyValue kv : keyValues) {
+      unencoded.put(kv.getBuffer(), kv.getOffset(), kv.getLength());
+    }
+    seeks = new int[numSeeks];
+    for (int i = 0; i < numSeeks; ++i) {
+      seeks[i] = random.nextInt(keyValues.size());
+    }
+  }
+
+  private ByteBuffer encode(DataBlockEncoding encoding) throws IOException {
+    DataBlockEncoder encoder = encoding.getEncoder();
+    HFileBlockEncodingContext encodingCtx = encoder.newDataBlockEncodingContext(encoding,
+        HConstants.HFILEBLOCK_DUMMY_HEADER, meta);
+    unencoded.rewind();
+    encoder.encodeKeyValues(unencoded, encodingCtx);
+    byte[] withHeader = encodingCtx.getUncompressedBytesWithHeader();
+    int offset = HConstants.HFILEBLOCK_HEADER_SIZE + DataBlockEncoding.ID_SIZE;
+    return ByteBuffer.wrap(withHeader, offset, withHeader.length - offset).slice();
+  }
+
+  private void run(DataBlockEncoding encoding) throws IOException {
+    ByteBuffer encoded = encode(encoding);
+    DataBlockEncoder.EncodedSeeker seeker = encoding.getEncoder().createSeeker(
+        KeyValue.COMPARATOR, encoding.getEncoder().newDataBlockDecodingContext(meta));
+    seeker.setCurrentBuffer(encoded);
+
+    long elapsed = 0;
+    for (int round = 0; round <= WARMUP_ROUNDS; ++round) {
+      long start = System.nanoTime();
+      for (int i : seeks) {
+        KeyValue kv = keyValues.get(i);
+        seeker.rewind();
+        seeker.seekToKeyInBlock(kv.getBuffer(), kv.getKeyOffset(), kv.getKeyLength(), false);
+      }
+      elapsed = System.nanoTime() - start;
+    }
+
+    long scanElapsed = 0;
+    int scanRounds = Math.max(1, seeks.length / keyValues.size());
+    for (int round = 0; round <= WARMUP_ROUNDS; ++round) {
+      long start = System.nanoTime();
+      for (int i = 0; i < scanRounds; ++i) {
+        seeker.rewind();
+        do {
+          sink += seeker.getKeyDeepCopy().get(KeyValue.ROW_LENGTH_SIZE);
+        } while (seeker.next());
+      }
+      scanElapsed = System.nanoTime() - start;
+    }
+
+    // Verify after timing so that the comparison is not part of the latency
+    for (int i : seeks) {
+      KeyValue kv = keyValues.get(i);
+      seeker.rewind();
+      seeker.seekToKeyInBlock(kv.getBuffer(), kv.getKeyOffset(), kv.getKeyLength(), false);
+      if (KeyValue.COMPARATOR.compare(kv, seeker.getKeyValue()) != 0) {
+        throw new IllegalStateException(encoding + " seeked to " + seeker.getKeyValue()
+            + " instead of " + kv);
+      }
+    }
+    System.out.printf("  %-14s %8d bytes %10.1f ns/seek %8.1f ns/key scanned\n", encoding,
+        encoded.limit(), (double) elapsed / seeks.length,
+        (double) scanElapsed / scanRounds / keyValues.size());
+  }
+
+  public void runBenchmarks() throws IOException {
+    System.out.printf("%d key/values, %d bytes unencoded, %d seeks\n", keyValues.size(),
+        unencoded.capacity(), seeks.length);
+    for (DataBlockEncoding encoding : DataBlockEncoding.values()) {
+      if (encoding.getEncoder() == null) {
+        continue;
+      }
+      run(encoding);
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    int blockSize = args.length > 0 ? Integer.parseInt(args[0]) : 64 * 1024;
+    int columnsPerRow = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+    int valueSize = args.length > 2 ? Integer.parseInt(args[2]) : 32;
+    int numSeeks = args.length > 3 ? Integer.parseInt(args[3]) : 100000;
+    new EncodedSeekBenchmark(blockSize, columnsPerRow, valueSize, numSeeks).runBenchmarks();
+  }
+}
@@ -17,6 +17,7 @@
 package org.apache.hadoop.hbase.io.encoding;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
@@ -257,6 +258,49 @@ public class TestDataBlockEncoders {
     }
   }
 
+  /**
+   * Test that seeking to each key/value of a block, and before it, lands on
+   * the right key/value whatever the position of the seeker.
+   */
+  @Test
+  public void testSeekingToEveryKeyValue() throws IOException {
+    List<KeyValue> sampleKv = generator.generateTestKeyValues(NUMBER_OF_KV / 10, includesTags);
+    ByteBuffer originalBuffer = RedundantKVGenerator.convertKvToByteBuffer(sampleKv,
+        includesMemstoreTS);
+
+    for (DataBlockEncoding encoding : DataBlockEncoding.values()) {
+      if (encoding.getEncoder() == null) {
+        continue;
+      }
+      DataBlockEncoder encoder = encoding.getEncoder();
+      HFileContext meta = new HFileContextBuilder()
+                          .withHBaseCheckSum(false)
+                          .withIncludesMvcc(includesMemstoreTS)
+                          .withIncludesTags(includesTags)
+                          .withCompression(Compression.Algorithm.NONE)
+                          .build();
+      DataBlockEncoder.EncodedSeeker seeker = encoder.createSeeker(KeyValue.COMPARATOR,
+          encoder.newDataBlockDecodingContext(meta));
+      seeker.setCurrentBuffer(ByteBuffer.wrap(encodeBytes(encoding, originalBuffer)));
+
+      for (int i = sampleKv.size() - 1; i >= 0; --i) {
+        KeyValue keyValue = sampleKv.get(i);
+        seeker.rewind();
+        seeker.seekToKeyInBlock(keyValue.getBuffer(), keyValue.getKeyOffset(),
+            keyValue.getKeyLength(), false);
+        assertEquals(encoding + " seeking to key/value " + i,
+            0, KeyValue.COMPARATOR.compare(keyValue, seeker.getKeyValue()));
+        if (i > 0 && KeyValue.COMPARATOR.compare(sampleKv.get(i - 1), keyValue) < 0) {
+          seeker.rewind();
+          seeker.seekToKeyInBlock(keyValue.getBuffer(), keyValue.getKeyOffset(),
+              keyValue.getKeyLength(), true);
+          assertEquals(encoding + " seeking before key/value " + i,
+              0, KeyValue.COMPARATOR.compare(sampleKv.get(i - 1), seeker.getKeyValue()));
+        }
+      }
+    }
+  }
+
   @Test
   public void testNextOnSample() {
     List<KeyValue> sampleKv = generator.generateTestKeyValues(NUMBER_OF_KV, includesTags);
@@ -315,6 +359,67 @@ public class TestDataBlockEncoders {
     }
   }
 
+  /**
+   * Test that the key-only key/values of the seekers have the keys of the
+   * originals, and that the columnar encoding gets them without reading the
+   * values.
+   */
+  @Test
+  public void testKeyOnlyOnSample() throws IOException {
+    List<KeyValue> sampleKv = generator.generateTestKeyValues(NUMBER_OF_KV, includesTags);
+    ByteBuffer originalBuffer = RedundantKVGenerator.convertKvToByteBuffer(sampleKv,
+        includesMemstoreTS);
+
+    for (DataBlockEncoding encoding : DataBlockEncoding.values()) {
+      if (encoding.getEncoder() == null) {
+        continue;
+      }
+      DataBlockEncoder encoder = encoding.getEncoder();
+      byte[] encodedBytes = encodeBytes(encoding, originalBuffer);
+      if (encoding == DataBlockEncoding.COLUMNAR_V1) {
+        // Cut out the values stream, the sixth of the streams that follow the
+        // first key and the stream lengths, so that the block has no value
+        // bytes left to read
+        ByteBuffer encoded = ByteBuffer.wrap(encodedBytes);
+        int lengthsOffset = 3 * Bytes.SIZEOF_INT + encoded.getInt(2 * Bytes.SIZEOF_INT);
+        int valuesOffset = lengthsOffset + 8 * Bytes.SIZEOF_INT;
+        for (int i = 0; i < 5; ++i) {
+          valuesOffset += encoded.getInt(lengthsOffset + i * Bytes.SIZEOF_INT);
+        }
+        int valuesLength = encoded.getInt(lengthsOffset + 5 * Bytes.SIZEOF_INT);
+        assertTrue(valuesLength > 0);
+        byte[] withoutValues = new byte[encodedBytes.length - valuesLength];
+        System.arraycopy(encodedBytes, 0, withoutValues, 0, valuesOffset);
+        System.arraycopy(encodedBytes, valuesOffset + valuesLength, withoutValues, valuesOffset,
+            withoutValues.length - valuesOffset);
+        Bytes.putInt(withoutValues, lengthsOffset + 5 * Bytes.SIZEOF_INT, 0);
+        encodedBytes = withoutValues;
+      }
+      HFileContext meta = new HFileContextBuilder()
+                          .withHBaseCheckSum(false)
+                          .withIncludesMvcc(includesMemstoreTS)
+                          .withIncludesTags(includesTags)
+                          .withCompression(Compression.Algorithm.NONE)
+                          .build();
+      DataBlockEncoder.EncodedSeeker seeker = encoder.createSeeker(KeyValue.COMPARATOR,
+          encoder.newDataBlockDecodingContext(meta));
+      seeker.setCurrentBuffer(ByteBuffer.wrap(encodedBytes));
+      int i = 0;
+      do {
+        KeyValue expected = sampleKv.get(i).createKeyOnly(false);
+        KeyValue actual = seeker.getKeyOnlyKeyValue();
+        assertEquals(encoding + " " + i, Bytes.toStringBinary(expected.getBuffer(),
+            expected.getOffset(), expected.getLength()), Bytes.toStringBinary(actual.getBuffer(),
+            actual.getOffset(), actual.getLength()));
+        if (includesMemstoreTS) {
+          assertEquals(sampleKv.get(i).getMvccVersion(), actual.getMvccVersion());
+        }
+        i++;
+      } while (seeker.next());
+      assertEquals(sampleKv.size(), i);
+    }
+  }
+
   /**
    * Test whether the decompression of first key is implemented correctly.
    */
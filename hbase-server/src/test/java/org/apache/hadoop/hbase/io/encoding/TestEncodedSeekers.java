@@ -25,6 +25,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.HBaseTestingUtility;
 import org.apache.hadoop.hbase.HColumnDescriptor;
 import org.apache.hadoop.hbase.KeyValue;
@@ -33,11 +34,17 @@ import org.apache.hadoop.hbase.Tag;
 import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.FirstKeyOnlyFilter;
+import org.apache.hadoop.hbase.filter.KeyOnlyFilter;
 import org.apache.hadoop.hbase.io.hfile.CacheConfig;
 import org.apache.hadoop.hbase.io.hfile.HFile;
 import org.apache.hadoop.hbase.io.hfile.LruBlockCache;
 import org.apache.hadoop.hbase.regionserver.BloomType;
 import org.apache.hadoop.hbase.regionserver.HRegion;
+import org.apache.hadoop.hbase.regionserver.RegionScanner;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.hadoop.hbase.util.Strings;
 import org.apache.hadoop.hbase.util.test.LoadTestKVGenerator;
@@ -127,6 +134,9 @@ public class TestEncodedSeekers {
     region.compactStores();
     doGets(region);
 
+    //verify the scans that leave the values out
+    doKeyOnlyScans(region);
+
 
     Map<DataBlockEncoding, Integer> encodingCounts = cache.getEncodingCountsForTest();
 
@@ -187,4 +197,35 @@ public class TestEncodedSeekers {
     }
   }
 
+  private void doKeyOnlyScans(HRegion region) throws IOException {
+    // Every cell, without its value
+    assertEquals(NUM_ROWS * NUM_COLS_PER_ROW, countKeyOnly(region, new KeyOnlyFilter()));
+    // The first cell of every row, as RowCounter scans them
+    assertEquals(NUM_ROWS, countKeyOnly(region,
+        new FilterList(new FirstKeyOnlyFilter(), new KeyOnlyFilter())));
+  }
+
+  private int countKeyOnly(HRegion region, Filter filter) throws IOException {
+    Scan scan = new Scan();
+    scan.setFilter(filter);
+    RegionScanner scanner = region.getScanner(scan);
+    List<Cell> cells = new ArrayList<Cell>();
+    int count = 0;
+    try {
+      boolean more;
+      do {
+        more = scanner.next(cells);
+        for (Cell cell : cells) {
+          assertEquals(0, cell.getValueLength());
+          assertEquals(0, cell.getTagsLength());
+          count++;
+        }
+        cells.clear();
+      } while (more);
+    } finally {
+      scanner.close();
+    }
+    return count;
+  }
+
 }
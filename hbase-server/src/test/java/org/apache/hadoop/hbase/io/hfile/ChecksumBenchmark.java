@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hbase.io.hfile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.zip.Checksum;
+
+import org.apache.hadoop.hbase.util.ChecksumType;
+import org.apache.hadoop.hbase.util.Crc32C;
+
+/**
+ * Compares the throughput of the checksum types HFile blocks can use, in the
+ * way blocks are checksummed: one value per bytesPerChecksum chunk of a
+ * block. Also measures {@link Crc32C} on its own, over a byte array and over
+ * a direct buffer, since {@link ChecksumType#CRC32C} uses the JDK's
+ * implementation instead when there is one.
+ * <p>
+ * Usage: ChecksumBenchmark [blockSize] [bytesPerChecksum] [totalMB]
+ */
+public class ChecksumBenchmark {
+  private static final int WARMUP_ROUNDS = 2;
+
+  private final byte[] block;
+  private final int bytesPerChecksum;
+  private final int numBlocks;
+  private final byte[] checksums;
+
+  public ChecksumBenchmark(int blockSize, int bytesPerChecksum, int totalMB) {
+    this.block = new byte[blockSize];
+    new Random(42).nextBytes(block);
+    this.bytesPerChecksum = bytesPerChecksum;
+    this.numBlocks = (int) Math.max(1, (totalMB * 1024L * 1024L) / blockSize);
+    this.checksums = new byte[(int) ChecksumUtil.numBytes(blockSize, bytesPerChecksum)];
+  }
+
+  private void report(String name, long elapsedNs) {
+    double mb = (double) numBlocks * block.length / 1024 / 1024;
+    System.out.printf("  %-28s %8.1f MB/s\n", name, mb * 1e9 / elapsedNs);
+  }
+
+  private void runChecksumType(ChecksumType type) throws IOException {
+    long elapsed = 0;
+    for (int round = 0; round <= WARMUP_ROUNDS; ++round) {
+      long start = System.nanoTime();
+      for (int i = 0; i < numBlocks; ++i) {
+        ChecksumUtil.generateChecksums(block, 0, block.length, checksums, 0,
+            type, bytesPerChecksum);
+      }
+      elapsed = System.nanoTime() - start;
+    }
+    report(type.getName() + " (" + type.getChecksumObject().getClass().getName() + ")",
+        elapsed);
+  }
+
+  /**
+   * Measures the checksum type over a direct buffer, which ChecksumUtil reads
+   * in place for {@link Crc32C} and copies for the others.
+   */
+  private void runChecksumType(ChecksumType type, ByteBuffer direct) throws IOException {
+    long elapsed = 0;
+    for (int round = 0; round <= WARMUP_ROUNDS; ++round) {
+      long start = System.nanoTime();
+      for (int i = 0; i < numBlocks; ++i) {
+        ChecksumUtil.generateChecksums(direct, checksums, 0, type, bytesPerChecksum);
+      }
+      elapsed = System.nanoTime() - start;
+    }
+    report(type.getName() + " direct ByteBuffer", elapsed);
+  }
+
+  private void runCrc32C(String name, ByteBuffer buf) {
+    Crc32C crc = new Crc32C();
+    long elapsed = 0;
+    long sum = 0;
+    for (int round = 0; round <= WARMUP_ROUNDS; ++round) {
+      long start = System.nanoTime();
+      for (int i = 0; i < numBlocks; ++i) {
+        for (int off = 0; off < block.length; off += bytesPerChecksum) {
+          buf.limit(Math.min(block.length, off + bytesPerChecksum));
+          buf.position(off);
+          crc.reset();
+          crc.update(buf);
+          sum += crc.getValue();
+        }
+      }
+      elapsed = System.nanoTime() - start;
+    }
+    report(name, elapsed);
+    if (sum == 42) {
+      System.out.println(); // keep the loop from being optimized away
+    }
+  }
+
+  private void runChecksum(String name, Checksum checksum) {
+    long elapsed = 0;
+    for (int round = 0; round <= WARMUP_ROUNDS; ++round) {
+      long start = System.nanoTime();
+      for (int i = 0; i < numBlocks; ++i) {
+        for (int off = 0; off < block.length; off += bytesPerChecksum) {
+          checksum.reset();
+          checksum.update(block, off, Math.min(block.length - off, bytesPerChecksum));
+        }
+      }
+      elapsed = System.nanoTime() - start;
+    }
+    report(name, elapsed);
+  }
+
+  public void runTests() throws IOException {
+    System.out.println("Blocks of " + block.length + " bytes, " + bytesPerChecksum
+        + " bytes per checksum");
+    ByteBuffer direct = ByteBuffer.allocateDirect(block.length);
+    direct.put(block);
+    direct.flip();
+    for (ChecksumType type : ChecksumType.values()) {
+      if (type != ChecksumType.NULL) {
+        runChecksumType(type);
+        runChecksumType(type, direct);
+      }
+    }
+    runChecksum("java.util.zip.CRC32", new java.util.zip.CRC32());
+    runChecksum("Crc32C byte[]", new Crc32C());
+    runCrc32C("Crc32C heap ByteBuffer", ByteBuffer.wrap(block));
+    runCrc32C("Crc32C direct ByteBuffer", direct);
+  }
+
+  public static void main(String[] args) throws IOException {
+    int blockSize = args.length > 0 ? Integer.parseInt(args[0]) : 64 * 1024;
+    int bytesPerChecksum = args.length > 1 ? Integer.parseInt(args[1])
+        : HFile.DEFAULT_BYTES_PER_CHECKSUM;
+    int totalMB = args.length > 2 ? Integer.parseInt(args[2]) : 1024;
+    new ChecksumBenchmark(blockSize, bytesPerChecksum, totalMB).runTests();
+  }
+}
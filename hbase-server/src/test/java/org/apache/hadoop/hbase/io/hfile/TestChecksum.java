@@ -21,13 +21,16 @@ package org.apache.hadoop.hbase.io.hfile;
 
 import static org.apache.hadoop.hbase.io.compress.Compression.Algorithm.GZ;
 import static org.apache.hadoop.hbase.io.compress.Compression.Algorithm.NONE;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Random;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -185,11 +188,15 @@ public class TestChecksum {
    */
   @Test
   public void testChecksumChunks() throws IOException {
-    testChecksumInternals(false);
-    testChecksumInternals(true);
+    for (ChecksumType checksumType : new ChecksumType[] { ChecksumType.CRC32,
+        ChecksumType.CRC32C }) {
+      testChecksumInternals(false, checksumType);
+      testChecksumInternals(true, checksumType);
+    }
   }
 
-  protected void testChecksumInternals(boolean useTags) throws IOException {
+  protected void testChecksumInternals(boolean useTags, ChecksumType checksumType)
+      throws IOException {
     Compression.Algorithm algo = NONE;
     for (boolean pread : new boolean[] { false, true }) {
       for (int bytesPerChecksum : BYTES_PER_CHECKSUM) {
@@ -202,7 +209,7 @@ public class TestChecksum {
                             .withIncludesTags(useTags)
                             .withHBaseCheckSum(true)
                             .withBytesPerCheckSum(bytesPerChecksum)
-                            .withChecksumType(HFile.DEFAULT_CHECKSUM_TYPE)
+                            .withChecksumType(checksumType)
                             .build();
         HFileBlock.Writer hbw = new HFileBlock.Writer(null,
            meta);
@@ -224,7 +231,8 @@ public class TestChecksum {
         long expectedChunks = ChecksumUtil.numChunks(
                                dataSize + HConstants.HFILEBLOCK_HEADER_SIZE,
                                bytesPerChecksum);
-        LOG.info("testChecksumChunks: pread=" + pread +
+        LOG.info("testChecksumChunks: checksumType=" + checksumType +
+                   ", pread=" + pread +
                    ", bytesPerChecksum=" + bytesPerChecksum +
                    ", fileSize=" + totalSize +
                    ", dataSize=" + dataSize +
@@ -260,6 +268,27 @@ public class TestChecksum {
     }
   }
 
+  /**
+   * Test that the checksums of a direct buffer are those of the same bytes in an array.
+   */
+  @Test
+  public void testChecksumsOfDirectBuffer() throws IOException {
+    byte[] data = new byte[3 * 512 + 100];
+    new Random(42).nextBytes(data);
+    ByteBuffer direct = ByteBuffer.allocateDirect(data.length + 10);
+    direct.position(10);
+    direct.put(data);
+    direct.position(10);
+    for (ChecksumType type : new ChecksumType[] { ChecksumType.CRC32, ChecksumType.CRC32C }) {
+      byte[] expected = new byte[(int) ChecksumUtil.numBytes(data.length, 512)];
+      ChecksumUtil.generateChecksums(data, 0, data.length, expected, 0, type, 512);
+      byte[] actual = new byte[expected.length];
+      ChecksumUtil.generateChecksums(direct, actual, 0, type, 512);
+      assertArrayEquals(type.getName(), expected, actual);
+      assertEquals(10, direct.position());
+    }
+  }
+
   /** 
    * Test to ensure that these is at least one valid checksum implementation
    */
@@ -268,6 +297,7 @@ public class TestChecksum {
     ChecksumType type = ChecksumType.CRC32;
     assertEquals(ChecksumType.nameToType(type.getName()), type);
     assertEquals(ChecksumType.valueOf(type.toString()), type);
+    assertNotNull(ChecksumType.CRC32C.getChecksumObject());
   }
 
   private void validateData(DataInputStream in) throws IOException {
@@ -273,6 +273,7 @@ public class TestHFile extends HBaseTestCase {
   protected void testTFilefeaturesInternals(boolean useTags) throws IOException {
     basicWithSomeCodec("none", useTags);
     basicWithSomeCodec("gz", useTags);
+    basicWithSomeCodec("dict", useTags);
   }
 
   private void writeNumMetablocks(Writer writer, int n) {
@@ -339,6 +340,7 @@ public class TestHFile extends HBaseTestCase {
   public void testMetaBlocks() throws Exception {
     metablocks("none");
     metablocks("gz");
+    metablocks("dict");
   }
 
   public void testNullMetaBlocks() throws Exception {
@@ -371,6 +373,62 @@ public class TestHFile extends HBaseTestCase {
     assertTrue(Compression.Algorithm.NONE.ordinal() == 2);
     assertTrue(Compression.Algorithm.SNAPPY.ordinal() == 3);
     assertTrue(Compression.Algorithm.LZ4.ordinal() == 4);
+    assertTrue(Compression.Algorithm.DICT.ordinal() == 5);
+  }
+
+  private static byte[] getJsonValue(int i) {
+    return Bytes.toBytes("{\"id\": " + i + ", \"name\": \"user" + (i % 97)
+        + "\", \"email\": \"user" + (i % 97) + "@example.com\", \"active\": "
+        + (i % 3 == 0) + ", \"tags\": [\"tag" + (i % 7) + "\", \"tag" + (i % 11) + "\"]}");
+  }
+
+  private long writeJsonRecords(Path path, Compression.Algorithm compression, int n)
+      throws IOException {
+    HFileContext meta = new HFileContextBuilder().withCompression(compression)
+        .withBlockSize(1024).build();
+    Writer writer = HFile.getWriterFactory(conf, cacheConf)
+        .withPath(fs, path)
+        .withFileContext(meta)
+        .withComparator(new KeyValue.RawBytesComparator())
+        .create();
+    for (int i = 0; i < n; i++) {
+      writer.append(getSomeKey(i), getJsonValue(i));
+    }
+    writer.close();
+    return fs.getFileStatus(path).getLen();
+  }
+
+  /**
+   * Small blocks written with the dictionary algorithm read back fine and
+   * come out smaller than with plain gzip.
+   */
+  public void testCompressionDictionary() throws IOException {
+    if (cacheConf == null) cacheConf = new CacheConfig(conf);
+    int n = 5000;
+    Path gzFile = new Path(ROOT_DIR, "json.hfile.gz");
+    Path dictFile = new Path(ROOT_DIR, "json.hfile.dict");
+    long gzLength = writeJsonRecords(gzFile, Compression.Algorithm.GZ, n);
+    long dictLength = writeJsonRecords(dictFile, Compression.Algorithm.DICT, n);
+    LOG.info("gz: " + gzLength + " bytes, dict: " + dictLength + " bytes");
+    assertTrue(dictLength < gzLength);
+
+    Reader reader = HFile.createReader(fs, dictFile, cacheConf, conf);
+    Map<byte[], byte[]> fileInfo = reader.loadFileInfo();
+    assertNotNull(fileInfo.get(HFile.FileInfo.COMPRESSION_DICTIONARY));
+    HFileScanner scanner = reader.getScanner(false, false);
+    assertTrue(scanner.seekTo());
+    int i = 0;
+    do {
+      assertTrue(Bytes.equals(getSomeKey(i), Bytes.toBytes(scanner.getKey())));
+      assertTrue(Bytes.equals(getJsonValue(i), Bytes.toBytes(scanner.getValue())));
+      i++;
+    } while (scanner.next());
+    assertEquals(n, i);
+    assertEquals(0, scanner.seekTo(getSomeKey(n - 10)));
+    assertTrue(Bytes.equals(getJsonValue(n - 10), Bytes.toBytes(scanner.getValue())));
+    reader.close();
+    fs.delete(gzFile, true);
+    fs.delete(dictFile, true);
   }
 
 }
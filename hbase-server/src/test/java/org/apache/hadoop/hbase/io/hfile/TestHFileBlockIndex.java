@@ -23,7 +23,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -489,6 +491,61 @@ public class TestHFileBlockIndex {
     }
   }
 
+  /**
+   * Checks that the compact root index, on and off the heap, answers the same
+   * as the default one.
+   */
+  @Test
+  public void testCompactRootIndex() throws IOException {
+    Random rand = new Random(19231737);
+    int numEntries = 1000;
+    byte[][] rootKeys = new byte[numEntries][];
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    DataOutputStream dos = new DataOutputStream(baos);
+    for (int i = 0; i < numEntries; ++i) {
+      byte[] row = TestHFileWriterV2.randomOrderedKey(rand, 2 * i);
+      rootKeys[i] = new KeyValue(row, row, row, i, KeyValue.Type.Put).getKey();
+      dos.writeLong(getDummyFileOffset(i));
+      dos.writeInt(getDummyOnDiskSize(i));
+      Bytes.writeByteArray(dos, rootKeys[i]);
+    }
+    dos.close();
+
+    BlockIndexReader expected = new BlockIndexReader(KeyValue.COMPARATOR, 1);
+    expected.readRootIndex(new DataInputStream(
+        new ByteArrayInputStream(baos.toByteArray())), numEntries);
+    for (String key : new String[] { HFileBlockIndex.COMPACT_ROOT_INDEX_KEY,
+        HFileBlockIndex.OFFHEAP_ROOT_INDEX_KEY }) {
+      Configuration indexConf = new Configuration(conf);
+      indexConf.setBoolean(key, true);
+      BlockIndexReader compact = new BlockIndexReader(KeyValue.COMPARATOR, 1, null, indexConf);
+      compact.readRootIndex(new DataInputStream(
+          new ByteArrayInputStream(baos.toByteArray())), numEntries);
+
+      assertEquals(numEntries, compact.getRootBlockCount());
+      assertTrue(compact.heapSize() < expected.heapSize());
+      assertTrue(Bytes.equals(expected.midkey(), compact.midkey()));
+      for (int i = 0; i < numEntries; ++i) {
+        assertTrue(Bytes.equals(rootKeys[i], compact.getRootBlockKey(i)));
+        assertEquals(getDummyFileOffset(i), compact.getRootBlockOffset(i));
+        assertEquals(getDummyOnDiskSize(i), compact.getRootBlockDataSize(i));
+      }
+      for (int i = 0; i < 2 * numEntries + 1; ++i) {
+        byte[] row = TestHFileWriterV2.randomOrderedKey(rand, i);
+        byte[][] searchKeys = { KeyValue.createFirstOnRow(row).getKey(),
+            KeyValue.createLastOnRow(row).getKey() };
+        for (byte[] searchKey : searchKeys) {
+          assertEquals(expected.rootBlockContainingKey(searchKey, 0, searchKey.length),
+              compact.rootBlockContainingKey(searchKey, 0, searchKey.length));
+        }
+      }
+      for (byte[] rootKey : rootKeys) {
+        assertEquals(expected.rootBlockContainingKey(rootKey, 0, rootKey.length),
+            compact.rootBlockContainingKey(rootKey, 0, rootKey.length));
+      }
+    }
+  }
+
   /**
    * Testing block index through the HFile writer/reader APIs. Allows to test
    * setting index block size through configuration, intermediate-level index
@@ -0,0 +1,119 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hbase.mapreduce;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.LargeTests;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.io.compress.Compression;
+import org.apache.hadoop.hbase.master.snapshot.SnapshotManager;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.mapreduce.Job;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Runs {@link ColumnarExport} on a snapshot and reads the files it writes.
+ */
+@Category(LargeTests.class)
+public class TestColumnarExport {
+  private static final HBaseTestingUtility UTIL = new HBaseTestingUtility();
+  private static final TableName TABLE_NAME = TableName.valueOf("TestColumnarExport");
+  private static final String SNAPSHOT_NAME = "TestColumnarExportSnapshot";
+  private static final byte[][] FAMILIES = { Bytes.toBytes("f1"), Bytes.toBytes("f2") };
+  private static final int NUM_REGIONS = 4;
+
+  @BeforeClass
+  public static void setUpBeforeClass() throws Exception {
+    UTIL.getConfiguration().setBoolean(SnapshotManager.HBASE_SNAPSHOT_ENABLED, true);
+    UTIL.startMiniCluster(1);
+    UTIL.startMiniMapReduceCluster();
+  }
+
+  @AfterClass
+  public static void tearDownAfterClass() throws Exception {
+    UTIL.shutdownMiniMapReduceCluster();
+    UTIL.shutdownMiniCluster();
+  }
+
+  @Test
+  public void testExportSnapshot() throws Exception {
+    // The table is loaded with the row keys as values, which are overwritten
+    // after the snapshot is taken
+    TestTableSnapshotInputFormat.createTableAndSnapshot(UTIL, TABLE_NAME, SNAPSHOT_NAME,
+        NUM_REGIONS);
+    Path restoreDir = UTIL.getDataTestDirOnTestFS("restore");
+    Path outputDir = UTIL.getDataTestDirOnTestFS("output");
+
+    Configuration conf = new Configuration(UTIL.getConfiguration());
+    conf.set(ColumnarFile.COMPRESSION_KEY, Compression.Algorithm.NONE.getName());
+    Job job = ColumnarExport.createSubmittableJob(conf, new String[] { SNAPSHOT_NAME,
+        restoreDir.toString(), outputDir.toString() });
+    TableMapReduceUtil.addDependencyJars(job.getConfiguration(), TestColumnarExport.class);
+    assertTrue(job.waitForCompletion(true));
+
+    FileSystem fs = outputDir.getFileSystem(conf);
+    List<Path> files = new ArrayList<Path>();
+    for (FileStatus status : fs.listStatus(outputDir)) {
+      if (status.getPath().getName().endsWith(ColumnarFile.EXTENSION)) {
+        files.add(status.getPath());
+      }
+    }
+    // One file per region
+    assertEquals(NUM_REGIONS, files.size());
+
+    int rows = 0;
+    for (Path file : files) {
+      // Read with the default compression, the one of the file is in its footer
+      ColumnarFile.Reader reader =
+          new ColumnarFile.Reader(fs, file, UTIL.getConfiguration());
+      try {
+        assertEquals(Compression.Algorithm.NONE, reader.getCompressionAlgorithm());
+        Scan scan = new Scan();
+        for (ColumnarFile.RowGroup rowGroup : reader.getRowGroups()) {
+          ColumnarFile.Reader.RowGroupScanner scanner = reader.getScanner(rowGroup, scan);
+          Result result;
+          while ((result = scanner.next()) != null) {
+            for (byte[] family : FAMILIES) {
+              assertTrue(Bytes.equals(result.getRow(), result.getValue(family, null)));
+            }
+            rows++;
+          }
+        }
+      } finally {
+        reader.close();
+      }
+    }
+    assertEquals(HBaseTestingUtility.ROWS.length, rows);
+  }
+}
@@ -0,0 +1,251 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hbase.mapreduce;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.SmallTests;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.io.compress.Compression;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.Mockito;
+
+@Category(SmallTests.class)
+public class TestColumnarFile {
+  private static final HBaseTestingUtility TEST_UTIL = new HBaseTestingUtility();
+  private static final byte[] F1 = Bytes.toBytes("f1");
+  private static final byte[] F2 = Bytes.toBytes("family2");
+  private static final byte[] NARROW = Bytes.toBytes("narrow");
+  private static final byte[] WIDE = Bytes.toBytes("wide");
+  private static final byte[] SPARSE = Bytes.toBytes("sparse");
+  private static final int NUM_ROWS = 2000;
+
+  private Configuration conf;
+  private FileSystem fs;
+  private Path path;
+
+  @Before
+  public void setUp() throws IOException {
+    conf = new Configuration(TEST_UTIL.getConfiguration());
+    conf.setInt(ColumnarFile.ROW_GROUP_SIZE_KEY, 64 * 1024);
+    fs = FileSystem.get(conf);
+    path = new Path(TEST_UTIL.getDataTestDir(), "columnar" + ColumnarFile.EXTENSION);
+    fs.delete(path, false);
+  }
+
+  private static byte[] row(int i) {
+    return Bytes.toBytes(String.format("row%06d", i));
+  }
+
+  private static Result createRow(int i) {
+    byte[] row = row(i);
+    List<Cell> cells = new ArrayList<Cell>();
+    cells.add(new KeyValue(row, F1, NARROW, 2, Bytes.toBytes(i)));
+    // An older version, which is not exported
+    cells.add(new KeyValue(row, F1, NARROW, 1, Bytes.toBytes(-i)));
+    if (i % 10 == 0) {
+      cells.add(new KeyValue(row, F1, SPARSE, 1, Bytes.toBytes("sparse" + i)));
+    }
+    // Incompressible, so that the wide column dominates the file
+    byte[] wide = new byte[100];
+    new Random(i).nextBytes(wide);
+    cells.add(new KeyValue(row, F2, WIDE, 3, wide));
+    return Result.create(cells);
+  }
+
+  private void writeFile() throws IOException {
+    ColumnarFile.Writer writer = new ColumnarFile.Writer(fs, path, conf);
+    for (int i = 0; i < NUM_ROWS; ++i) {
+      writer.append(createRow(i));
+    }
+    writer.close();
+  }
+
+  private List<Result> readAll(ColumnarFile.Reader reader, Scan scan) throws IOException {
+    List<Result> results = new ArrayList<Result>();
+    for (ColumnarFile.RowGroup rowGroup : reader.getRowGroups()) {
+      if (!rowGroup.overlaps(scan)) {
+        continue;
+      }
+      ColumnarFile.Reader.RowGroupScanner scanner = reader.getScanner(rowGroup, scan);
+      Result result;
+      while ((result = scanner.next()) != null) {
+        results.add(result);
+      }
+    }
+    return results;
+  }
+
+  @Test
+  public void testWriteAndReadAll() throws IOException {
+    writeFile();
+    ColumnarFile.Reader reader = new ColumnarFile.Reader(fs, path, conf);
+    assertTrue(reader.getRowGroups().size() > 1);
+
+    List<Result> results = readAll(reader, new Scan());
+    assertEquals(NUM_ROWS, results.size());
+    for (int i = 0; i < NUM_ROWS; ++i) {
+      Result expected = createRow(i);
+      Result actual = results.get(i);
+      assertTrue(Bytes.equals(row(i), actual.getRow()));
+      Cell[] cells = actual.rawCells();
+      assertEquals(i % 10 == 0 ? 3 : 2, cells.length);
+      for (Cell cell : cells) {
+        Cell newest = expected.getColumnLatestCell(CellUtil.cloneFamily(cell),
+            CellUtil.cloneQualifier(cell));
+        assertEquals(0, KeyValue.COMPARATOR.compare(newest, cell));
+        assertTrue(CellUtil.matchingValue(newest, cell));
+      }
+    }
+    reader.close();
+  }
+
+  @Test
+  public void testCompressionFromFooter() throws IOException {
+    conf.set(ColumnarFile.COMPRESSION_KEY, Compression.Algorithm.NONE.getName());
+    writeFile();
+    // Readers use the compression the file was written with, whatever their configuration
+    Configuration readerConf = new Configuration(conf);
+    readerConf.set(ColumnarFile.COMPRESSION_KEY, Compression.Algorithm.GZ.getName());
+    ColumnarFile.Reader reader = new ColumnarFile.Reader(fs, path, readerConf);
+    assertEquals(Compression.Algorithm.NONE, reader.getCompressionAlgorithm());
+    assertEquals(NUM_ROWS, readAll(reader, new Scan()).size());
+    reader.close();
+  }
+
+  @Test
+  public void testProjectionAndStatistics() throws IOException {
+    writeFile();
+    ColumnarFile.Reader reader = new ColumnarFile.Reader(fs, path, conf);
+    long fileLength = fs.getFileStatus(path).getLen();
+
+    Scan scan = new Scan();
+    scan.addColumn(F1, NARROW);
+    List<Result> results = readAll(reader, scan);
+    assertEquals(NUM_ROWS, results.size());
+    for (int i = 0; i < NUM_ROWS; ++i) {
+      assertEquals(1, results.get(i).size());
+      assertEquals(i, Bytes.toInt(results.get(i).getValue(F1, NARROW)));
+    }
+    // The wide column is most of the file and is never read
+    assertTrue(reader.getBytesRead() < fileLength / 2);
+
+    scan = new Scan();
+    scan.addFamily(F1);
+    results = readAll(reader, scan);
+    assertEquals(NUM_ROWS, results.size());
+
+    scan = new Scan();
+    scan.addColumn(F1, SPARSE);
+    assertEquals(NUM_ROWS / 10, readAll(reader, scan).size());
+
+    long count = 0;
+    for (ColumnarFile.RowGroup rowGroup : reader.getRowGroups()) {
+      ColumnarFile.ColumnStats stats = rowGroup.getColumn(F1, NARROW).getStats();
+      assertEquals(rowGroup.getNumRows(), stats.getCount());
+      assertEquals(2, stats.getMinTimestamp());
+      assertEquals(2, stats.getMaxTimestamp());
+      assertTrue(Bytes.compareTo(rowGroup.getFirstRow(), rowGroup.getLastRow()) <= 0);
+      assertTrue(Bytes.compareTo(stats.getMinValue(), stats.getMaxValue()) <= 0);
+      assertEquals(100 * stats.getCount(),
+          rowGroup.getColumn(F2, WIDE).getStats().getValueBytes());
+      assertNull(rowGroup.getColumn(F2, NARROW));
+      count += stats.getCount();
+    }
+    assertEquals(NUM_ROWS, count);
+    reader.close();
+  }
+
+  @Test
+  public void testRowRange() throws IOException {
+    writeFile();
+    ColumnarFile.Reader reader = new ColumnarFile.Reader(fs, path, conf);
+    Scan scan = new Scan(row(500), row(700));
+    List<Result> results = readAll(reader, scan);
+    assertEquals(200, results.size());
+    assertTrue(Bytes.equals(row(500), results.get(0).getRow()));
+    assertTrue(Bytes.equals(row(699), results.get(199).getRow()));
+
+    int overlapping = 0;
+    for (ColumnarFile.RowGroup rowGroup : reader.getRowGroups()) {
+      if (rowGroup.overlaps(scan)) {
+        overlapping++;
+      }
+    }
+    assertTrue(overlapping < reader.getRowGroups().size());
+    reader.close();
+  }
+
+  @Test
+  public void testInputFormat() throws Exception {
+    writeFile();
+    Job job = new Job(conf);
+    Scan scan = new Scan(row(100), row(1900));
+    scan.addColumn(F1, NARROW);
+    ColumnarInputFormat.setInput(job, path.getParent(), scan);
+
+    ColumnarInputFormat inputFormat = new ColumnarInputFormat();
+    List<InputSplit> splits = inputFormat.getSplits(job);
+    ColumnarFile.Reader reader = new ColumnarFile.Reader(fs, path, conf);
+    assertTrue(splits.size() > 1);
+    assertTrue(splits.size() <= reader.getRowGroups().size());
+    reader.close();
+
+    TaskAttemptContext context = Mockito.mock(TaskAttemptContext.class);
+    Mockito.when(context.getConfiguration()).thenReturn(job.getConfiguration());
+    int rows = 0;
+    for (InputSplit split : splits) {
+      ColumnarInputFormat.ColumnarRecordReader recordReader =
+          (ColumnarInputFormat.ColumnarRecordReader) inputFormat.createRecordReader(split,
+              context);
+      recordReader.initialize(split, context);
+      while (recordReader.nextKeyValue()) {
+        Result result = recordReader.getCurrentValue();
+        assertEquals(1, result.size());
+        assertEquals(rows + 100, Bytes.toInt(result.getValue(F1, NARROW)));
+        rows++;
+      }
+      assertFalse(recordReader.nextKeyValue());
+      recordReader.close();
+    }
+    assertEquals(1800, rows);
+  }
+}
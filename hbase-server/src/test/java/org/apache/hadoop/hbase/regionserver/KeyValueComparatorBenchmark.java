@@ -0,0 +1,139 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hbase.regionserver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellComparator;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.util.Bytes;
+
+/**
+ * Measures the KeyValue fast path of {@link KeyValue.KVComparator}, on its own and as the
+ * comparator of the memstore's skip list, against {@link CellComparator}, which compares the
+ * same KeyValues through the generic {@link Cell} accessors and so parses the key and row
+ * lengths again for every part.
+ * <p>
+ * Usage: KeyValueComparatorBenchmark [numKeyValues] [rounds]
+ */
+public class KeyValueComparatorBenchmark {
+  private static final int WARMUP_ROUNDS = 2;
+  private static final byte[] FAMILY = Bytes.toBytes("family");
+
+  private final List<KeyValue> kvs;
+  private final List<KeyValue> metaKvs;
+  private final int rounds;
+  // Keeps the JIT from dropping the comparisons
+  private long sink;
+
+  public KeyValueComparatorBenchmark(int numKeyValues, int rounds) {
+    this.rounds = rounds;
+    Random rand = new Random(12345);
+    kvs = new ArrayList<KeyValue>(numKeyValues);
+    metaKvs = new ArrayList<KeyValue>(numKeyValues);
+    for (int i = 0; i < numKeyValues; i++) {
+      // Rows shared by a few columns, so that the family and qualifier get compared too
+      byte[] row = Bytes.toBytes(String.format("user%012d", rand.nextInt(numKeyValues / 4)));
+      byte[] qualifier = Bytes.toBytes("field" + rand.nextInt(4));
+      byte[] value = new byte[16];
+      kvs.add(new KeyValue(row, FAMILY, qualifier, rand.nextInt(3), value));
+      byte[] metaRow = Bytes.toBytes(String.format("usertable,user%012d,%d.%08x.",
+          rand.nextInt(numKeyValues / 4), 1380000000000L + rand.nextInt(3), i));
+      metaKvs.add(new KeyValue(metaRow, Bytes.toBytes("info"), Bytes.toBytes("server"), 1,
+          value));
+    }
+  }
+
+  /**
+   * Compares every KeyValue with its neighbours.
+   * @return nanoseconds per comparison
+   */
+  private double compareOnce(List<KeyValue> list, Comparator<Cell> comparator) {
+    int n = list.size();
+    long start = System.nanoTime();
+    for (int round = 0; round < rounds; round++) {
+      for (int i = 1; i < n; i++) {
+        sink += comparator.compare(list.get(i - 1), list.get(i));
+      }
+    }
+    return (double) (System.nanoTime() - start) / ((long) rounds * (n - 1));
+  }
+
+  /**
+   * Inserts all KeyValues, in random order, into an empty skip list.
+   * @return inserts per second
+   */
+  private double insertOnce(Comparator<Cell> comparator) {
+    ConcurrentSkipListMap<KeyValue, KeyValue> map =
+        new ConcurrentSkipListMap<KeyValue, KeyValue>(comparator);
+    long start = System.nanoTime();
+    for (KeyValue kv : kvs) {
+      map.put(kv, kv);
+    }
+    sink += map.size();
+    return kvs.size() * 1e9 / (System.nanoTime() - start);
+  }
+
+  private void runCompare(String name, List<KeyValue> list, Comparator<Cell> comparator) {
+    double nanos = 0;
+    for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+      nanos = compareOnce(list, comparator);
+    }
+    System.out.println(String.format("compare %-24s %6.1f ns/compare", name, nanos));
+  }
+
+  private void runInsert(String name, Comparator<Cell> comparator) {
+    double rate = 0;
+    for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+      rate = insertOnce(comparator);
+    }
+    System.out.println(String.format("insert  %-24s %,12.0f inserts/s", name, rate));
+  }
+
+  public static void main(String[] args) throws Exception {
+    int numKeyValues = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+    int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+    KeyValueComparatorBenchmark benchmark = new KeyValueComparatorBenchmark(numKeyValues, rounds);
+    List<KeyValue> sorted = new ArrayList<KeyValue>(benchmark.kvs);
+    Collections.sort(sorted, KeyValue.COMPARATOR);
+    // Copies, so that neighbours are also close in memory as they would be in a block
+    for (int i = 0; i < sorted.size(); i++) {
+      sorted.set(i, sorted.get(i).clone());
+    }
+
+    CellComparator cellComparator = new CellComparator();
+    benchmark.runCompare("random, cell accessors", benchmark.kvs, cellComparator);
+    benchmark.runCompare("random, KVComparator", benchmark.kvs, KeyValue.COMPARATOR);
+    benchmark.runCompare("sorted, cell accessors", sorted, cellComparator);
+    benchmark.runCompare("sorted, KVComparator", sorted, KeyValue.COMPARATOR);
+    benchmark.runCompare("meta, MetaComparator", benchmark.metaKvs, KeyValue.META_COMPARATOR);
+    benchmark.runInsert("cell accessors", cellComparator);
+    benchmark.runInsert("KVComparator", KeyValue.COMPARATOR);
+    if (benchmark.sink == 42) {
+      System.out.println();
+    }
+  }
+}
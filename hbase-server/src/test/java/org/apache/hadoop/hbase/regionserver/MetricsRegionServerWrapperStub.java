@@ -105,6 +105,11 @@ public class MetricsRegionServerWrapperStub implements MetricsRegionServerWrappe
     return 406;
   }
 
+  @Override
+  public long getAverageStoreFileIndexSize() {
+    return 425;
+  }
+
   @Override
   public long getTotalStaticIndexSize() {
     return 407;
@@ -196,6 +201,16 @@ public class MetricsRegionServerWrapperStub implements MetricsRegionServerWrappe
     return 419;
   }
 
+  @Override
+  public long getUpdatesBlockedCount() {
+    return 421;
+  }
+
+  @Override
+  public long getUpdatesRejectedCount() {
+    return 423;
+  }
+
   @Override
   public void forceRecompute() {
     //IGNORED.
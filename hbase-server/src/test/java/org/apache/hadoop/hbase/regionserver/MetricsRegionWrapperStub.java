@@ -79,4 +79,9 @@ public class MetricsRegionWrapperStub implements MetricsRegionWrapper {
   public long getNumCompactionsCompleted() {
     return 0;
   }
+
+  @Override
+  public long getRowLockWaitTime() {
+    return 0;
+  }
 }
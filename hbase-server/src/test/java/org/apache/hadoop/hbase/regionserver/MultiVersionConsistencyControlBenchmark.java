@@ -0,0 +1,191 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hbase.regionserver;
+
+import java.util.LinkedList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the throughput of many threads doing small writes against one
+ * {@link MultiVersionConsistencyControl}, as the handlers of a hot region do,
+ * and compares it with the previous implementation that guarded the write
+ * queue with a single monitor.
+ * <p>
+ * Usage: MultiVersionConsistencyControlBenchmark [numThreads] [seconds]
+ */
+public class MultiVersionConsistencyControlBenchmark {
+  private static final int WARMUP_ROUNDS = 2;
+
+  /** The part of the MVCC interface used by writers. */
+  private interface Mvcc {
+    Object begin();
+    void complete(Object entry);
+    long readPoint();
+  }
+
+  static class LockFreeMvcc implements Mvcc {
+    private final MultiVersionConsistencyControl mvcc = new MultiVersionConsistencyControl();
+
+    @Override
+    public Object begin() {
+      return mvcc.beginMemstoreInsert();
+    }
+
+    @Override
+    public void complete(Object entry) {
+      mvcc.completeMemstoreInsert((MultiVersionConsistencyControl.WriteEntry) entry);
+    }
+
+    @Override
+    public long readPoint() {
+      return mvcc.memstoreReadPoint();
+    }
+  }
+
+  /**
+   * The write queue of MultiVersionConsistencyControl as it was before it
+   * became lock free: a linked list guarded by its monitor, and one monitor
+   * all waiting writers are notified on.
+   */
+  static class SynchronizedMvcc implements Mvcc {
+    private volatile long memstoreRead = 0;
+    private long memstoreWrite = 0;
+    private final Object readWaiters = new Object();
+    private final LinkedList<Entry> writeQueue = new LinkedList<Entry>();
+
+    private static class Entry {
+      final long writeNumber;
+      boolean completed = false;
+
+      Entry(long writeNumber) {
+        this.writeNumber = writeNumber;
+      }
+    }
+
+    @Override
+    public Object begin() {
+      synchronized (writeQueue) {
+        Entry e = new Entry(++memstoreWrite);
+        writeQueue.add(e);
+        return e;
+      }
+    }
+
+    @Override
+    public void complete(Object entry) {
+      Entry e = (Entry) entry;
+      synchronized (writeQueue) {
+        e.completed = true;
+        long nextReadValue = -1;
+        while (!writeQueue.isEmpty() && writeQueue.getFirst().completed) {
+          nextReadValue = writeQueue.removeFirst().writeNumber;
+        }
+        if (nextReadValue > 0) {
+          synchronized (readWaiters) {
+            memstoreRead = nextReadValue;
+            readWaiters.notifyAll();
+          }
+        }
+      }
+      boolean interrupted = false;
+      synchronized (readWaiters) {
+        while (memstoreRead < e.writeNumber) {
+          try {
+            readWaiters.wait(0);
+          } catch (InterruptedException ie) {
+            interrupted = true;
+          }
+        }
+      }
+      if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    @Override
+    public long readPoint() {
+      return memstoreRead;
+    }
+  }
+
+  private final int numThreads;
+  private final long millis;
+
+  public MultiVersionConsistencyControlBenchmark(int numThreads, long millis) {
+    this.numThreads = numThreads;
+    this.millis = millis;
+  }
+
+  /**
+   * Lets all threads write until the time is up.
+   * @return the number of completed writes
+   */
+  private long runOnce(final Mvcc mvcc) throws InterruptedException {
+    final AtomicBoolean finished = new AtomicBoolean(false);
+    final AtomicLong writes = new AtomicLong();
+    final CountDownLatch started = new CountDownLatch(numThreads);
+    Thread[] writers = new Thread[numThreads];
+    for (int i = 0; i < numThreads; i++) {
+      writers[i] = new Thread() {
+        @Override
+        public void run() {
+          long count = 0;
+          started.countDown();
+          while (!finished.get()) {
+            Object e = mvcc.begin();
+            mvcc.complete(e);
+            count++;
+          }
+          writes.addAndGet(count);
+        }
+      };
+      writers[i].start();
+    }
+    started.await();
+    Thread.sleep(millis);
+    finished.set(true);
+    for (Thread writer : writers) {
+      writer.join();
+    }
+    if (mvcc.readPoint() != writes.get()) {
+      throw new IllegalStateException("Read point " + mvcc.readPoint() + " after "
+          + writes.get() + " writes");
+    }
+    return writes.get();
+  }
+
+  private void run(String name, Class<? extends Mvcc> clazz) throws Exception {
+    long writes = 0;
+    for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+      writes = runOnce(clazz.newInstance());
+    }
+    System.out.println(String.format("%-14s threads=%d: %,d writes/s", name, numThreads,
+        writes * 1000 / millis));
+  }
+
+  public static void main(String[] args) throws Exception {
+    int numThreads = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+    long seconds = args.length > 1 ? Long.parseLong(args[1]) : 5;
+    MultiVersionConsistencyControlBenchmark benchmark =
+        new MultiVersionConsistencyControlBenchmark(numThreads, seconds * 1000);
+    benchmark.run("synchronized", SynchronizedMvcc.class);
+    benchmark.run("lock-free", LockFreeMvcc.class);
+  }
+}
@@ -20,13 +20,22 @@ import static org.apache.hadoop.hbase.HBaseTestingUtility.fam1;
 import static org.apache.hadoop.hbase.HBaseTestingUtility.fam2;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -61,7 +70,9 @@ import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.filter.BinaryComparator;
 import org.apache.hadoop.hbase.filter.CompareFilter.CompareOp;
 import org.apache.hadoop.hbase.io.HeapSize;
+import org.apache.hadoop.hbase.regionserver.HRegion.RowLock;
 import org.apache.hadoop.hbase.regionserver.wal.HLog;
+import org.apache.hadoop.hbase.regionserver.wal.HLogFactory;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.junit.Before;
 import org.junit.Rule;
@@ -168,6 +179,117 @@ public class TestAtomicOperation {
   }
 
 
+  /**
+   * Test that concurrent increments of one row, which may be combined, each
+   * return the value right after their own increment.
+   */
+  @Test
+  public void testIncrementResultsMultiThreads() throws Exception {
+    initHRegion(tableName, name.getMethodName(), fam1);
+    final int numThreads = 20;
+    final int incrementsPerThread = 500;
+    final Set<Long> seen = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+    final AtomicInteger failures = new AtomicInteger();
+    Thread[] threads = new Thread[numThreads];
+    for (int i = 0; i < numThreads; i++) {
+      threads[i] = new Thread() {
+        @Override
+        public void run() {
+          for (int j = 0; j < incrementsPerThread; j++) {
+            try {
+              Increment inc = new Increment(row);
+              inc.addColumn(fam1, qual1, 1);
+              Result result = region.increment(inc);
+              if (!seen.add(Bytes.toLong(result.getValue(fam1, qual1)))) {
+                failures.incrementAndGet();
+              }
+            } catch (IOException e) {
+              LOG.error("Increment failed", e);
+              failures.incrementAndGet();
+            }
+          }
+        }
+      };
+      threads[i].start();
+    }
+    for (Thread t : threads) {
+      t.join();
+    }
+    assertEquals(0, failures.get());
+    long total = numThreads * incrementsPerThread;
+    assertEquals(total, seen.size());
+    for (long v = 1; v <= total; v++) {
+      assertTrue(seen.contains(v));
+    }
+    assertICV(row, fam1, qual1, total);
+  }
+
+  /**
+   * Test that increments queued on a locked row are applied with a single WAL
+   * sync, unless their family keeps several versions.
+   */
+  @Test
+  public void testIncrementsAreCombined() throws Exception {
+    Configuration conf = TEST_UTIL.getConfiguration();
+    Path logDir = new Path(TEST_UTIL.getDataTestDir(name.getMethodName()), "log");
+    HLog hlog = HLogFactory.createHLog(FileSystem.get(conf), logDir,
+        UUID.randomUUID().toString(), conf);
+    HLog log = spy(hlog);
+    HTableDescriptor htd = new HTableDescriptor(TableName.valueOf(tableName));
+    htd.addFamily(new HColumnDescriptor(fam1).setMaxVersions(1));
+    htd.addFamily(new HColumnDescriptor(fam2).setMaxVersions(3));
+    HRegionInfo info = new HRegionInfo(htd.getTableName(), null, null, false);
+    region = TEST_UTIL.createLocalHRegion(info, htd, log);
+    try {
+      final int numThreads = 5;
+      runQueuedIncrements(numThreads, fam1);
+      verify(log, times(1)).sync(anyLong());
+      assertICV(row, fam1, qual1, numThreads);
+
+      // Every version of the other family is kept, so each increment is synced
+      runQueuedIncrements(numThreads, fam2);
+      verify(log, times(1 + numThreads)).sync(anyLong());
+      assertICV(row, fam2, qual1, numThreads);
+    } finally {
+      HRegion.closeHRegion(region);
+      region = null;
+      hlog.close();
+    }
+  }
+
+  /**
+   * Starts increments of the row from several threads while holding its lock,
+   * and releases it once they all wait for it.
+   */
+  private void runQueuedIncrements(int numThreads, final byte[] family) throws Exception {
+    RowLock rowLock = region.getRowLock(row);
+    Thread[] threads = new Thread[numThreads];
+    for (int i = 0; i < numThreads; i++) {
+      threads[i] = new Thread() {
+        @Override
+        public void run() {
+          try {
+            Increment inc = new Increment(row);
+            inc.addColumn(family, qual1, 1);
+            region.increment(inc);
+          } catch (IOException e) {
+            LOG.error("Increment failed", e);
+          }
+        }
+      };
+      threads[i].start();
+    }
+    for (Thread t : threads) {
+      while (t.getState() != Thread.State.WAITING && t.getState() != Thread.State.TIMED_WAITING) {
+        Thread.sleep(10);
+      }
+    }
+    rowLock.release();
+    for (Thread t : threads) {
+      t.join();
+    }
+  }
+
   private void assertICV(byte [] row,
                          byte [] familiy,
                          byte[] qualifier,
@@ -595,17 +717,18 @@ public class TestAtomicOperation {
     }
 
     @Override
-    public RowLock getRowLock(final byte[] row, boolean waitForLock) throws IOException {
+    public RowLock getRowLock(final byte[] row, boolean waitForLock, boolean readLock)
+        throws IOException {
       if (testStep == TestStep.CHECKANDPUT_STARTED) {
         latch.countDown();
       }
-      return new WrappedRowLock(super.getRowLock(row, waitForLock));
+      return new WrappedRowLock(super.getRowLock(row, waitForLock, readLock));
     }
     
     public class WrappedRowLock extends RowLock {
 
       private WrappedRowLock(RowLock rowLock) {
-        super(rowLock.context);
+        super(rowLock.context, rowLock.lock);
       }
 
       @Override
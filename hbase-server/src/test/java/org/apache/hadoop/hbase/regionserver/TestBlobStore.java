@@ -0,0 +1,203 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.SmallTests;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.filter.BinaryComparator;
+import org.apache.hadoop.hbase.filter.CompareFilter.CompareOp;
+import org.apache.hadoop.hbase.filter.ValueFilter;
+import org.apache.hadoop.hbase.io.hfile.HFile;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.FSUtils;
+import org.apache.hadoop.hbase.util.HFileArchiveUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TestName;
+
+@Category(SmallTests.class)
+public class TestBlobStore {
+  private static final byte[] FAMILY = Bytes.toBytes("f");
+  private static final byte[] ROW = Bytes.toBytes("row");
+  private static final byte[] SMALL = Bytes.toBytes("small");
+  private static final byte[] LARGE = Bytes.toBytes("large");
+  private static final int THRESHOLD = 1000;
+
+  @Rule public TestName name = new TestName();
+
+  private HBaseTestingUtility util;
+  private Configuration conf;
+  private FileSystem fs;
+  private HRegion region;
+  private Path blobDir;
+  private final Random random = new Random(42);
+
+  @Before
+  public void setUp() throws IOException {
+    util = HBaseTestingUtility.createLocalHTU();
+    conf = util.getConfiguration();
+    conf.setInt(HFile.FORMAT_VERSION_KEY, 3);
+    HTableDescriptor htd = new HTableDescriptor(TableName.valueOf(name.getMethodName()));
+    htd.addFamily(new HColumnDescriptor(FAMILY).setBlobThreshold(THRESHOLD));
+    region = util.createLocalHRegion(htd, null, null);
+    fs = region.getFilesystem();
+    blobDir = BlobStore.getBlobDir(region.getRegionFileSystem().getTableDir(), "f");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    HRegion.closeHRegion(region);
+  }
+
+  private byte[] randomValue(int length) {
+    byte[] value = new byte[length];
+    random.nextBytes(value);
+    return value;
+  }
+
+  private int countBlobFiles() throws IOException {
+    FileStatus[] files = FSUtils.listStatus(fs, blobDir);
+    return files == null ? 0 : files.length;
+  }
+
+  private long getStoreFilesSize() {
+    long size = 0;
+    for (StoreFile file : region.getStore(FAMILY).getStorefiles()) {
+      size += file.getReader().length();
+    }
+    return size;
+  }
+
+  @Test
+  public void testLargeValuesAreReferenced() throws IOException {
+    byte[] small = randomValue(THRESHOLD - 1);
+    byte[] large = randomValue(100 * THRESHOLD);
+    Put put = new Put(ROW);
+    put.add(FAMILY, SMALL, small);
+    put.add(FAMILY, LARGE, large);
+    region.put(put);
+    region.flushcache();
+
+    assertEquals(1, countBlobFiles());
+    assertTrue(getStoreFilesSize() < large.length);
+    StoreFile file = region.getStore(FAMILY).getStorefiles().iterator().next();
+    assertEquals(name.getMethodName() + "/" + fs.listStatus(blobDir)[0].getPath().getName(),
+        Bytes.toString(file.getReader().loadFileInfo().get(StoreFile.BLOB_REFERENCES_KEY)));
+
+    Result result = region.get(new Get(ROW));
+    assertArrayEquals(small, result.getValue(FAMILY, SMALL));
+    assertArrayEquals(large, result.getValue(FAMILY, LARGE));
+
+    // Compactions only rewrite the references
+    byte[] large2 = randomValue(100 * THRESHOLD);
+    put = new Put(Bytes.toBytes("row2"));
+    put.add(FAMILY, LARGE, large2);
+    region.put(put);
+    region.flushcache();
+    region.compactStores(true);
+    assertEquals(1, region.getStore(FAMILY).getStorefilesCount());
+    assertEquals(2, countBlobFiles());
+    assertTrue(getStoreFilesSize() < large.length);
+    assertArrayEquals(large, region.get(new Get(ROW)).getValue(FAMILY, LARGE));
+    assertArrayEquals(large2, region.get(new Get(Bytes.toBytes("row2"))).getValue(FAMILY, LARGE));
+  }
+
+  @Test
+  public void testFiltersSeeValues() throws IOException {
+    byte[] large = randomValue(10 * THRESHOLD);
+    Put put = new Put(ROW);
+    put.add(FAMILY, SMALL, Bytes.toBytes("small value"));
+    put.add(FAMILY, LARGE, large);
+    region.put(put);
+    region.flushcache();
+    assertEquals(1, countBlobFiles());
+
+    Scan scan = new Scan();
+    scan.setFilter(new ValueFilter(CompareOp.EQUAL, new BinaryComparator(large)));
+    RegionScanner scanner = region.getScanner(scan);
+    List<Cell> cells = new ArrayList<Cell>();
+    scanner.next(cells);
+    scanner.close();
+    assertEquals(1, cells.size());
+    assertTrue(CellUtil.matchingQualifier(cells.get(0), LARGE));
+    assertArrayEquals(large, CellUtil.cloneValue(cells.get(0)));
+  }
+
+  @Test
+  public void testCleanerDeletesUnreferencedBlobFiles() throws Exception {
+    byte[] large = randomValue(10 * THRESHOLD);
+    Put put = new Put(ROW);
+    put.add(FAMILY, LARGE, large);
+    region.put(put);
+    region.flushcache();
+    put = new Put(Bytes.toBytes("row2"));
+    put.add(FAMILY, LARGE, large);
+    region.put(put);
+    region.flushcache();
+    assertEquals(2, countBlobFiles());
+
+    region.delete(new Delete(ROW));
+    region.flushcache();
+    region.compactStores(true);
+    assertNull(region.get(new Get(ROW)).getValue(FAMILY, LARGE));
+
+    BlobCleanerTool cleaner = new BlobCleanerTool();
+    cleaner.setConf(conf);
+    TableName tableName = region.getTableDesc().getTableName();
+    // Too young
+    assertEquals(0, cleaner.clean(tableName, "f", false));
+
+    // Still referenced from the archived store files
+    conf.setLong(BlobCleanerTool.MIN_AGE_KEY, 0);
+    assertEquals(0, cleaner.clean(tableName, "f", false));
+
+    fs.delete(HFileArchiveUtil.getTableArchivePath(conf, tableName), true);
+    assertEquals(1, cleaner.clean(tableName, "f", true));
+    assertEquals(2, countBlobFiles());
+    assertEquals(1, cleaner.clean(tableName, "f", false));
+    assertEquals(1, countBlobFiles());
+    assertArrayEquals(large, region.get(new Get(Bytes.toBytes("row2"))).getValue(FAMILY, LARGE));
+  }
+}
@@ -0,0 +1,221 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.DoNotRetryIOException;
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.MediumTests;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.HBaseAdmin;
+import org.apache.hadoop.hbase.client.HTable;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.io.hfile.HFile;
+import org.apache.hadoop.hbase.master.cleaner.TimeToLiveHFileCleaner;
+import org.apache.hadoop.hbase.master.snapshot.SnapshotManager;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.FSUtils;
+import org.apache.hadoop.hbase.util.HFileArchiveUtil;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TestName;
+
+/**
+ * Tests that the blob files outlive their table while a snapshot or a clone of
+ * the table refers to them, and that the master refuses families keeping blobs
+ * which could not be opened.
+ */
+@Category(MediumTests.class)
+public class TestBlobStoreSnapshots {
+  private static final HBaseTestingUtility UTIL = new HBaseTestingUtility();
+  private static final byte[] FAMILY = Bytes.toBytes("f");
+  private static final byte[] QUALIFIER = Bytes.toBytes("q");
+  private static final int THRESHOLD = 1000;
+  private static final int ROWS = 10;
+
+  @Rule public TestName name = new TestName();
+
+  @BeforeClass
+  public static void setUpBeforeClass() throws Exception {
+    Configuration conf = UTIL.getConfiguration();
+    conf.setBoolean(SnapshotManager.HBASE_SNAPSHOT_ENABLED, true);
+    conf.setInt(HFile.FORMAT_VERSION_KEY, 3);
+    conf.setLong(TimeToLiveHFileCleaner.TTL_CONF_KEY, 0);
+    conf.setLong(BlobCleanerTool.MIN_AGE_KEY, 0);
+    UTIL.startMiniCluster(1);
+  }
+
+  @AfterClass
+  public static void tearDownAfterClass() throws Exception {
+    UTIL.shutdownMiniCluster();
+  }
+
+  private static byte[] value(int row) {
+    byte[] value = new byte[2 * THRESHOLD];
+    Arrays.fill(value, (byte) row);
+    return value;
+  }
+
+  private TableName createTable() throws IOException, InterruptedException {
+    TableName tableName = TableName.valueOf(name.getMethodName());
+    HTableDescriptor htd = new HTableDescriptor(tableName);
+    htd.addFamily(new HColumnDescriptor(FAMILY).setBlobThreshold(THRESHOLD));
+    UTIL.getHBaseAdmin().createTable(htd);
+    HTable table = new HTable(UTIL.getConfiguration(), tableName);
+    try {
+      for (int i = 0; i < ROWS; i++) {
+        Put put = new Put(Bytes.toBytes(i));
+        put.add(FAMILY, QUALIFIER, value(i));
+        table.put(put);
+      }
+    } finally {
+      table.close();
+    }
+    UTIL.getHBaseAdmin().flush(tableName.getName());
+    return tableName;
+  }
+
+  private void verifyRows(TableName tableName) throws IOException {
+    HTable table = new HTable(UTIL.getConfiguration(), tableName);
+    try {
+      for (int i = 0; i < ROWS; i++) {
+        assertArrayEquals(value(i),
+            table.get(new Get(Bytes.toBytes(i))).getValue(FAMILY, QUALIFIER));
+      }
+    } finally {
+      table.close();
+    }
+  }
+
+  private int countArchivedBlobFiles(TableName tableName) throws IOException {
+    Path tableArchiveDir = HFileArchiveUtil.getTableArchivePath(UTIL.getConfiguration(),
+        tableName);
+    FileSystem fs = FSUtils.getCurrentFileSystem(UTIL.getConfiguration());
+    FileStatus[] files = FSUtils.listStatus(fs, BlobStore.getBlobDir(tableArchiveDir, "f"));
+    return files == null ? 0 : files.length;
+  }
+
+  private void runHFileCleaner() {
+    // A run may only delete the links, the next ones the files they linked to
+    for (int i = 0; i < 3; i++) {
+      UTIL.getMiniHBaseCluster().getMaster().getHFileCleaner().choreForTesting();
+    }
+  }
+
+  @Test
+  public void testFormatVersionWithoutTagsIsRejected() throws Exception {
+    HBaseAdmin admin = UTIL.getHBaseAdmin();
+    TableName tableName = TableName.valueOf(name.getMethodName());
+    HTableDescriptor htd = new HTableDescriptor(tableName);
+    htd.setConfiguration(HFile.FORMAT_VERSION_KEY, "2");
+    htd.addFamily(new HColumnDescriptor(FAMILY).setBlobThreshold(THRESHOLD));
+    try {
+      admin.createTable(htd);
+      fail("A blob threshold needs tags");
+    } catch (DoNotRetryIOException e) {
+      // expected
+    }
+    assertFalse(admin.tableExists(tableName));
+
+    htd.removeFamily(FAMILY);
+    htd.addFamily(new HColumnDescriptor(FAMILY));
+    admin.createTable(htd);
+    admin.disableTable(tableName);
+    try {
+      admin.addColumn(tableName, new HColumnDescriptor("b").setBlobThreshold(THRESHOLD));
+      fail("A blob threshold needs tags");
+    } catch (DoNotRetryIOException e) {
+      // expected
+    }
+    HColumnDescriptor blobs = new HColumnDescriptor("b").setBlobThreshold(THRESHOLD);
+    blobs.setConfiguration(HFile.FORMAT_VERSION_KEY, "3");
+    admin.addColumn(tableName, blobs);
+    assertEquals(THRESHOLD, admin.getTableDescriptor(tableName.getName())
+        .getFamily(Bytes.toBytes("b")).getBlobThreshold());
+    UTIL.deleteTable(tableName);
+  }
+
+  @Test
+  public void testCloneSnapshotOfDeletedTable() throws Exception {
+    HBaseAdmin admin = UTIL.getHBaseAdmin();
+    TableName tableName = createTable();
+    String snapshot = "snapshot-" + tableName;
+    admin.snapshot(snapshot, tableName);
+
+    // The blob files are archived with the table, and kept there
+    UTIL.deleteTable(tableName);
+    assertEquals(1, countArchivedBlobFiles(tableName));
+    runHFileCleaner();
+    assertEquals(1, countArchivedBlobFiles(tableName));
+
+    TableName clone = TableName.valueOf(tableName + "-clone");
+    admin.cloneSnapshot(snapshot, clone);
+    verifyRows(clone);
+
+    UTIL.deleteTable(clone);
+    admin.deleteSnapshot(snapshot);
+  }
+
+  @Test
+  public void testDeleteTableOfClone() throws Exception {
+    HBaseAdmin admin = UTIL.getHBaseAdmin();
+    TableName tableName = createTable();
+    String snapshot = "snapshot-" + tableName;
+    admin.snapshot(snapshot, tableName);
+    TableName clone = TableName.valueOf(tableName + "-clone");
+    admin.cloneSnapshot(snapshot, clone);
+    admin.deleteSnapshot(snapshot);
+
+    // The clone writes its own store files, which still refer to the blob
+    // files of the cloned table
+    for (HRegion region : UTIL.getMiniHBaseCluster().getRegions(clone)) {
+      region.compactStores(true);
+    }
+    UTIL.deleteTable(tableName);
+    runHFileCleaner();
+    verifyRows(clone);
+
+    BlobCleanerTool cleaner = new BlobCleanerTool();
+    cleaner.setConf(UTIL.getConfiguration());
+    assertEquals(0, cleaner.clean(tableName, "f", false));
+    assertEquals(1, countArchivedBlobFiles(tableName));
+
+    // Once the clone is gone as well, nothing refers to them any more
+    UTIL.deleteTable(clone);
+    runHFileCleaner();
+    assertEquals(1, cleaner.clean(tableName, "f", false));
+    assertEquals(0, countArchivedBlobFiles(tableName));
+  }
+}
@@ -328,6 +328,48 @@ public class TestCompoundBloomFilter {
     return w.getPath();
   }
 
+  @Test
+  public void testBlockedCompoundBloomFilter() throws IOException {
+    conf.setBoolean(BloomFilterFactory.IO_STOREFILE_BLOOM_ENABLED, true);
+    conf.setBoolean(BloomFilterFactory.IO_STOREFILE_BLOOM_BLOCKED, true);
+    try {
+      for (int t : new int[] { 1, 2 }) {
+        conf.setFloat(BloomFilterFactory.IO_STOREFILE_BLOOM_ERROR_RATE,
+            (float) TARGET_ERROR_RATES[t]);
+        testIdMsg = "in blocked test #" + t + ":";
+        List<KeyValue> kvs = createSortedKeyValues(new Random(GENERATION_SEED),
+            NUM_KV[t]);
+        BloomType bt = BLOOM_TYPES[t];
+        Path sfPath = writeStoreFile(t, bt, kvs);
+
+        StoreFile sf = new StoreFile(fs, sfPath, conf, cacheConf, bt);
+        StoreFile.Reader r = sf.createReader();
+        StoreFileScanner scanner = r.getStoreFileScanner(true, true);
+        assertTrue(r.getGeneralBloomFilter().toString().contains("Blocked: true"));
+        for (KeyValue kv : kvs) {
+          assertTrue(testIdMsg + " Bloom filter false negative on row "
+              + Bytes.toStringBinary(kv.getRow()),
+              isInBloom(scanner, kv.getRow(), kv.getQualifier()));
+        }
+        Random rand = new Random(EVALUATION_SEED);
+        int nTrials = NUM_KV[t] * 10;
+        int numFalsePos = 0;
+        for (int i = 0; i < nTrials; ++i) {
+          byte[] query = TestHFileWriterV2.randomRowOrQualifier(rand);
+          if (isInBloom(scanner, query, bt, rand)) {
+            numFalsePos += 1;
+          }
+        }
+        double falsePosRate = numFalsePos * 1.0 / nTrials;
+        assertTrue(testIdMsg + " false positive rate is too high: " + falsePosRate,
+            falsePosRate < 2 * TARGET_ERROR_RATES[t]);
+        r.close(true);
+      }
+    } finally {
+      conf.setBoolean(BloomFilterFactory.IO_STOREFILE_BLOOM_BLOCKED, false);
+    }
+  }
+
   @Test
   public void testCompoundBloomSizing() {
     int bloomBlockByteSize = 4096;
@@ -89,6 +89,7 @@ import org.apache.hadoop.hbase.client.Durability;
 import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.HTable;
 import org.apache.hadoop.hbase.client.Increment;
+import org.apache.hadoop.hbase.client.Mutation;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.Scan;
@@ -849,6 +850,135 @@ public class TestHRegion {
     }
   }
 
+  @Test
+  public void testSharedAndExclusiveRowLocks() throws Exception {
+    byte[] b = Bytes.toBytes(getName());
+    byte[] cf = Bytes.toBytes(COLUMN_FAMILY);
+    final byte[] row = Bytes.toBytes("row");
+    this.region = initHRegion(b, getName(), conf, cf);
+    try {
+      RowLock shared = region.getRowLock(row, true, true);
+      // Other threads can share the lock, but not take it exclusively
+      assertTrue(tryRowLockInOtherThread(row, true));
+      assertFalse(tryRowLockInOtherThread(row, false));
+      // This thread can lock the row shared again
+      region.getRowLock(row, false, true).release();
+      shared.release();
+
+      RowLock exclusive = region.getRowLock(row);
+      assertFalse(tryRowLockInOtherThread(row, true));
+      assertFalse(tryRowLockInOtherThread(row, false));
+      // This thread may take the row again, in either mode
+      region.getRowLock(row, false, true).release();
+      region.getRowLock(row, false, false).release();
+      exclusive.release();
+      assertTrue(tryRowLockInOtherThread(row, false));
+
+      // Waiting for a lock counts as row lock wait time
+      long waitTime = region.getRowLockWaitTime();
+      exclusive = region.getRowLock(row);
+      final AtomicReference<RowLock> waited = new AtomicReference<RowLock>();
+      Thread waiter = new Thread() {
+        @Override
+        public void run() {
+          try {
+            RowLock lock = region.getRowLock(row, true, true);
+            waited.set(lock);
+            lock.release();
+          } catch (IOException e) {
+            LOG.error("Failed to get row lock", e);
+          }
+        }
+      };
+      waiter.start();
+      Thread.sleep(100);
+      exclusive.release();
+      waiter.join();
+      assertNotNull(waited.get());
+      assertTrue(region.getRowLockWaitTime() > waitTime);
+
+      // Batches of rows are locked once per row
+      List<RowLock> locks = region.getRowLocks(Arrays.asList(Bytes.toBytes("b"), row,
+          Bytes.toBytes("a"), row));
+      assertEquals(3, locks.size());
+      assertFalse(tryRowLockInOtherThread(row, true));
+      region.releaseRowLocks(locks);
+      assertTrue(tryRowLockInOtherThread(row, false));
+    } finally {
+      HRegion.closeHRegion(this.region);
+      this.region = null;
+    }
+  }
+
+  @Test
+  public void testCheckAndMutateChecksUnderSharedLock() throws Exception {
+    byte[] b = Bytes.toBytes(getName());
+    final byte[] cf = Bytes.toBytes(COLUMN_FAMILY);
+    final byte[] row = Bytes.toBytes("row");
+    final byte[] qual = Bytes.toBytes("qual");
+    final byte[] value = Bytes.toBytes("value");
+    this.region = initHRegion(b, getName(), conf, cf);
+    try {
+      RowLock shared = region.getRowLock(row, true, true);
+      // A failing check only needs the shared lock
+      Put put = new Put(row);
+      put.add(cf, qual, value);
+      assertFalse(region.checkAndMutate(row, cf, qual, CompareOp.EQUAL,
+          new BinaryComparator(value), put, true));
+
+      // A passing one waits for the exclusive lock
+      final AtomicReference<Boolean> mutated = new AtomicReference<Boolean>();
+      Thread mutator = new Thread() {
+        @Override
+        public void run() {
+          try {
+            Put put = new Put(row);
+            put.add(cf, qual, value);
+            mutated.set(region.checkAndMutate(row, cf, qual, CompareOp.EQUAL,
+                new BinaryComparator(HConstants.EMPTY_BYTE_ARRAY), put, true));
+          } catch (IOException e) {
+            LOG.error("Failed to checkAndMutate", e);
+          }
+        }
+      };
+      mutator.start();
+      Thread.sleep(100);
+      assertNull(mutated.get());
+      shared.release();
+      mutator.join();
+      assertEquals(Boolean.TRUE, mutated.get());
+      assertArrayEquals(value, region.get(new Get(row)).getValue(cf, qual));
+    } finally {
+      HRegion.closeHRegion(this.region);
+      this.region = null;
+    }
+  }
+
+  /**
+   * @return whether another thread could lock the row without waiting
+   */
+  private boolean tryRowLockInOtherThread(final byte[] row, final boolean readLock)
+      throws InterruptedException {
+    final AtomicBoolean locked = new AtomicBoolean();
+    Thread thread = new Thread() {
+      @Override
+      public void run() {
+        try {
+          RowLock lock = region.getRowLock(row, false, readLock);
+          if (lock != null) {
+            locked.set(true);
+            lock.release();
+          }
+        } catch (IOException e) {
+          LOG.error("Failed to get row lock", e);
+        }
+      }
+    };
+    thread.start();
+    thread.join();
+    return locked.get();
+  }
+
   @Test
   public void testBatchPutWithTsSlop() throws Exception {
     byte[] b = Bytes.toBytes(getName());
@@ -3830,6 +3960,142 @@ public class TestHRegion {
     region.close();
   }
 
+  @Test
+  public void testBatchMutateWithGroupCommit() throws Exception {
+    String method = "testBatchMutateWithGroupCommit";
+    byte[] tableName = Bytes.toBytes(method);
+    byte[] family = Bytes.toBytes("family");
+    byte[] qf = Bytes.toBytes("q");
+    byte[] splitRow = Bytes.toBytes("m");
+    Path logDir = new Path(new Path(DIR + method), "log");
+    HLog hlog = HLogFactory.createHLog(fs, logDir, UUID.randomUUID().toString(), conf);
+    HLog log = spy(hlog);
+    HRegion region1 = initHRegion(tableName, HConstants.EMPTY_START_ROW, splitRow, method, conf,
+        false, Durability.SYNC_WAL, log, family);
+    HRegion region2 = initHRegion(tableName, splitRow, HConstants.EMPTY_END_ROW, method, conf,
+        false, Durability.SYNC_WAL, log, family);
+    try {
+      WALGroupCommit groupCommit = new WALGroupCommit();
+      final AtomicReference<IOException> outcome = new AtomicReference<IOException>();
+      WALGroupCommit.Listener listener = new WALGroupCommit.Listener() {
+        @Override
+        public void synced() {
+          outcome.set(null);
+        }
+
+        @Override
+        public void failed(IOException e) {
+          outcome.set(e);
+        }
+      };
+
+      Put put1 = new Put(Bytes.toBytes("a"));
+      put1.add(family, qf, Bytes.toBytes("v1"));
+      Put put2 = new Put(Bytes.toBytes("x"));
+      put2.add(family, qf, Bytes.toBytes("v2"));
+      OperationStatus[] codes1 = region1.batchMutate(new Mutation[] { put1 }, groupCommit);
+      OperationStatus[] codes2 = region2.batchMutate(new Mutation[] { put2 }, groupCommit);
+      groupCommit.addListener(listener);
+      assertEquals(2, groupCommit.size());
+      // Neither synced nor visible yet
+      verify(log, never()).sync(anyLong());
+      assertTrue(region1.get(new Get(put1.getRow())).isEmpty());
+      assertTrue(region2.get(new Get(put2.getRow())).isEmpty());
+
+      groupCommit.sync();
+      assertTrue(groupCommit.isEmpty());
+      verify(log, times(1)).sync(anyLong());
+      assertNull(outcome.get());
+      assertEquals(OperationStatusCode.SUCCESS, codes1[0].getOperationStatusCode());
+      assertEquals(OperationStatusCode.SUCCESS, codes2[0].getOperationStatusCode());
+      assertArrayEquals(Bytes.toBytes("v1"), region1.get(new Get(put1.getRow())).getValue(family, qf));
+      assertArrayEquals(Bytes.toBytes("v2"), region2.get(new Get(put2.getRow())).getValue(family, qf));
+
+      // A failed sync rolls back the edits of all regions of the group
+      Mockito.doThrow(new IOException("Injected sync failure")).when(log).sync(anyLong());
+      long memstoreSize = region1.getMemstoreSize().get();
+      put1 = new Put(Bytes.toBytes("b"));
+      put1.add(family, qf, Bytes.toBytes("v3"));
+      put2 = new Put(Bytes.toBytes("y"));
+      put2.add(family, qf, Bytes.toBytes("v4"));
+      codes1 = region1.batchMutate(new Mutation[] { put1 }, groupCommit);
+      codes2 = region2.batchMutate(new Mutation[] { put2 }, groupCommit);
+      groupCommit.addListener(listener);
+      groupCommit.sync();
+      assertNotNull(outcome.get());
+      assertEquals(OperationStatusCode.FAILURE, codes1[0].getOperationStatusCode());
+      assertEquals(OperationStatusCode.FAILURE, codes2[0].getOperationStatusCode());
+      assertEquals(memstoreSize, region1.getMemstoreSize().get());
+      assertTrue(region1.get(new Get(put1.getRow())).isEmpty());
+      assertTrue(region2.get(new Get(put2.getRow())).isEmpty());
+      Mockito.doCallRealMethod().when(log).sync(anyLong());
+    } finally {
+      HRegion.closeHRegion(region1);
+      HRegion.closeHRegion(region2);
+      hlog.close();
+    }
+  }
+
+  @Test
+  public void testSelectiveFlushKeepsSmallStores() throws Exception {
+    String method = "testSelectiveFlushKeepsSmallStores";
+    byte[] tableName = Bytes.toBytes(method);
+    byte[] big = Bytes.toBytes("big");
+    byte[] small = Bytes.toBytes("small");
+    byte[] qf = Bytes.toBytes("q");
+    Configuration conf = new Configuration(this.conf);
+    conf.setLong(HRegion.FAMILY_FLUSH_SIZE_LOWER_BOUND_KEY, 10000);
+    Path logDir = new Path(new Path(DIR + method), "log");
+    HLog hlog = HLogFactory.createHLog(fs, logDir, UUID.randomUUID().toString(), conf);
+    HTableDescriptor htd = new HTableDescriptor(TableName.valueOf(tableName));
+    htd.addFamily(new HColumnDescriptor(big));
+    htd.addFamily(new HColumnDescriptor(small));
+    HRegionInfo hri = new HRegionInfo(htd.getTableName());
+    // initHRegion creates the region with the configuration of the testing utility
+    this.region = HRegion.createHRegion(hri, new Path(DIR + method), conf, htd, hlog);
+    try {
+      byte[] encodedName = region.getRegionInfo().getEncodedNameAsBytes();
+      Put put = new Put(Bytes.toBytes("row0"));
+      put.add(small, qf, Bytes.toBytes("value"));
+      region.put(put);
+      long smallStoreOldest = hlog.getEarliestMemstoreSeqNum(encodedName);
+      for (int i = 0; i < 100; i++) {
+        put = new Put(Bytes.toBytes("row" + i));
+        put.add(big, qf, new byte[200]);
+        region.put(put);
+      }
+      Store bigStore = region.getStore(big);
+      Store smallStore = region.getStore(small);
+      assertEquals(1, region.selectStoresToFlush().size());
+      assertTrue(region.selectStoresToFlush().contains(bigStore));
+      long smallSize = smallStore.getFlushableSize();
+
+      region.flushcache(false);
+      assertEquals(1, bigStore.getStorefilesCount());
+      assertEquals(0, smallStore.getStorefilesCount());
+      assertEquals(0, bigStore.getFlushableSize());
+      assertEquals(smallSize, smallStore.getFlushableSize());
+      assertEquals(smallSize, region.getMemstoreSize().get());
+      // The WAL must keep the edits of the small store
+      long oldest = hlog.getEarliestMemstoreSeqNum(encodedName);
+      assertTrue(oldest != HConstants.NO_SEQNUM && oldest <= smallStoreOldest);
+
+      // Once nothing is big, all stores are flushed
+      assertEquals(2, region.selectStoresToFlush().size());
+      region.flushcache(false);
+      assertEquals(1, smallStore.getStorefilesCount());
+      assertEquals(0, region.getMemstoreSize().get());
+      assertEquals(HConstants.NO_SEQNUM, hlog.getEarliestMemstoreSeqNum(encodedName));
+
+      Get get = new Get(Bytes.toBytes("row0"));
+      assertArrayEquals(Bytes.toBytes("value"), region.get(get).getValue(small, qf));
+    } finally {
+      HRegion.closeHRegion(this.region);
+      this.region = null;
+      hlog.close();
+    }
+  }
+
   private void putData(int startRow, int numRows, byte[] qf, byte[]... families) throws IOException {
     for (int i = startRow; i < startRow + numRows; i++) {
       Put put = new Put(Bytes.toBytes("" + i));
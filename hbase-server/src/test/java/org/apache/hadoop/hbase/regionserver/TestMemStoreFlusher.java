@@ -0,0 +1,147 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.HBaseConfiguration;
+import org.apache.hadoop.hbase.RegionTooBusyException;
+import org.apache.hadoop.hbase.SmallTests;
+import org.apache.hadoop.hbase.util.EnvironmentEdgeManager;
+import org.apache.hadoop.hbase.util.ManualEnvironmentEdge;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.Mockito;
+
+@Category(SmallTests.class)
+public class TestMemStoreFlusher {
+  private Configuration conf;
+  private HRegionServer server;
+  private RegionServerAccounting accounting;
+  private ManualEnvironmentEdge edge;
+
+  @Before
+  public void setUp() {
+    this.conf = HBaseConfiguration.create();
+    this.accounting = new RegionServerAccounting();
+    this.server = Mockito.mock(HRegionServer.class);
+    Mockito.when(server.getRegionServerAccounting()).thenReturn(accounting);
+    this.edge = new ManualEnvironmentEdge();
+    this.edge.setValue(1);
+    EnvironmentEdgeManager.injectEdge(edge);
+  }
+
+  @After
+  public void tearDown() {
+    EnvironmentEdgeManager.reset();
+  }
+
+  @Test
+  public void testBlockUpdatesAboveHighWaterMarkByDefault() throws Exception {
+    MemStoreFlusher flusher = new MemStoreFlusher(conf, server);
+    // A stopped server does not wait for the flushes
+    Mockito.when(server.isStopped()).thenReturn(true);
+    accounting.addAndGetGlobalMemstoreSize(flusher.globalMemStoreLimit + 1);
+    flusher.reclaimMemStoreMemory();
+    assertEquals(0, flusher.getUpdatesRejectedCount().get());
+  }
+
+  @Test
+  public void testRejectUpdatesAboveHighWaterMark() throws Exception {
+    conf.setBoolean(MemStoreFlusher.REJECT_UPDATES_KEY, true);
+    MemStoreFlusher flusher = new MemStoreFlusher(conf, server);
+    accounting.addAndGetGlobalMemstoreSize(flusher.globalMemStoreLimitLowMark - 1);
+    flusher.reclaimMemStoreMemory();
+
+    accounting.addAndGetGlobalMemstoreSize(
+        flusher.globalMemStoreLimit - flusher.globalMemStoreLimitLowMark + 1);
+    try {
+      flusher.reclaimMemStoreMemory();
+      fail("Updates above the high water mark should be rejected");
+    } catch (RegionTooBusyException e) {
+      long retryAfter = e.getRetryAfter();
+      assertTrue(retryAfter >= MemStoreFlusher.MIN_RETRY_AFTER);
+      assertTrue(retryAfter <= MemStoreFlusher.DEFAULT_MAX_RETRY_AFTER);
+      // The hint survives the trip to the client, which only gets the message
+      assertEquals(retryAfter, new RegionTooBusyException(e.getMessage()).getRetryAfter());
+    }
+    assertEquals(1, flusher.getUpdatesRejectedCount().get());
+    assertEquals(0, flusher.getUpdatesBlockedCount().get());
+    assertEquals(-1, new RegionTooBusyException("busy").getRetryAfter());
+  }
+
+  @Test
+  public void testRetryAfterGrowsWithTheExcess() {
+    MemStoreFlusher flusher = new MemStoreFlusher(conf, server);
+    long low = flusher.globalMemStoreLimitLowMark;
+    long high = flusher.globalMemStoreLimit;
+    assertEquals(MemStoreFlusher.MIN_RETRY_AFTER, flusher.getRetryAfter(low));
+    long half = flusher.getRetryAfter(low + (high - low) / 2);
+    assertTrue(half > MemStoreFlusher.MIN_RETRY_AFTER);
+    assertTrue(half < MemStoreFlusher.DEFAULT_MAX_RETRY_AFTER);
+    assertEquals(MemStoreFlusher.DEFAULT_MAX_RETRY_AFTER, flusher.getRetryAfter(high));
+    assertEquals(MemStoreFlusher.DEFAULT_MAX_RETRY_AFTER, flusher.getRetryAfter(2 * high));
+  }
+
+  @Test
+  public void testPredictHighWaterMark() {
+    conf.setLong(MemStoreFlusher.FLUSH_LOOKAHEAD_KEY, 10000);
+    MemStoreFlusher flusher = new MemStoreFlusher(conf, server);
+    long limit = flusher.globalMemStoreLimit;
+    edge.setValue(1000);
+    flusher.updateIngestRate();
+    assertFalse(flusher.isHighWaterMarkPredicted());
+
+    // Half of the limit in one second, the rest comes well within the lookahead
+    accounting.addAndGetGlobalMemstoreSize(limit / 2);
+    edge.setValue(2000);
+    flusher.updateIngestRate();
+    assertEquals((double) (limit / 2) / 1000, flusher.getIngestRate(), 0.001);
+    assertTrue(flusher.isHighWaterMarkPredicted());
+
+    // Flushes too slow to free what is between the marks in time have to start now
+    long betweenMarks = limit - flusher.globalMemStoreLimitLowMark;
+    flusher.updateFlushThroughput(betweenMarks, 100000);
+    assertTrue(flusher.isHighWaterMarkPredicted());
+    // Faster ones need not start yet
+    flusher.updateFlushThroughput(betweenMarks, 10);
+    assertFalse(flusher.isHighWaterMarkPredicted());
+
+    // A flush takes the size down but not the ingest
+    accounting.addAndGetGlobalMemstoreSize(-limit / 2);
+    assertEquals(limit / 2, accounting.getMemstoreIngestSize());
+    assertFalse(flusher.isHighWaterMarkPredicted());
+
+    // The rate decays once the writes stop
+    accounting.addAndGetGlobalMemstoreSize(1);
+    edge.setValue(3000);
+    flusher.updateIngestRate();
+    assertTrue(flusher.getIngestRate() < (double) (limit / 2) / 1000);
+
+    // Disabled by default
+    flusher = new MemStoreFlusher(HBaseConfiguration.create(), server);
+    accounting.addAndGetGlobalMemstoreSize(limit - 2);
+    assertFalse(flusher.isHighWaterMarkPredicted());
+  }
+}
@@ -68,6 +68,7 @@ public class TestMetricsRegionServer {
     HELPER.assertCounter("checkMutateFailedCount", 401, serverSource);
     HELPER.assertCounter("checkMutatePassedCount", 405, serverSource);
     HELPER.assertGauge("storeFileIndexSize", 406, serverSource);
+    HELPER.assertGauge("averageStoreFileIndexSize", 425, serverSource);
     HELPER.assertGauge("staticIndexSize", 407, serverSource);
     HELPER.assertGauge("staticBloomSize", 408, serverSource);
     HELPER.assertGauge("mutationsWithoutWALCount", 409, serverSource);
@@ -84,6 +85,8 @@ public class TestMetricsRegionServer {
     HELPER.assertGauge("blockCountHitPercent", 98, serverSource);
     HELPER.assertGauge("blockCacheExpressHitPercent", 97, serverSource);
     HELPER.assertCounter("updatesBlockedTime", 419, serverSource);
+    HELPER.assertCounter("updatesBlockedCount", 421, serverSource);
+    HELPER.assertCounter("updatesRejectedCount", 423, serverSource);
   }
 
   @Test
@@ -0,0 +1,135 @@
+/**
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hadoop.hbase.DoNotRetryIOException;
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.MediumTests;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.HTable;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Row;
+import org.apache.hadoop.hbase.coprocessor.BaseRegionObserver;
+import org.apache.hadoop.hbase.coprocessor.ObserverContext;
+import org.apache.hadoop.hbase.coprocessor.RegionCoprocessorEnvironment;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests multi requests spanning several regions, whose WAL syncs are grouped.
+ */
+@Category(MediumTests.class)
+public class TestMultiGroupCommit {
+  private static final HBaseTestingUtility UTIL = new HBaseTestingUtility();
+  private static final TableName TABLE = TableName.valueOf("TestMultiGroupCommit");
+  private static final byte[] FAMILY = Bytes.toBytes("f");
+  private static final byte[] QUALIFIER = Bytes.toBytes("q");
+  private static final byte[] FAIL_ROW = Bytes.toBytes("zfail");
+
+  /** Fails the completion of the mini-batches containing {@link #FAIL_ROW} */
+  public static class FailingObserver extends BaseRegionObserver {
+    @Override
+    public void postBatchMutate(ObserverContext<RegionCoprocessorEnvironment> c,
+        MiniBatchOperationInProgress<Mutation> miniBatchOp) throws IOException {
+      for (int i = 0; i < miniBatchOp.size(); i++) {
+        if (Bytes.equals(FAIL_ROW, miniBatchOp.getOperation(i).getRow())) {
+          throw new DoNotRetryIOException("Injected failure");
+        }
+      }
+    }
+  }
+
+  @BeforeClass
+  public static void setUpBeforeClass() throws Exception {
+    UTIL.getConfiguration().setInt(HConstants.HBASE_CLIENT_RETRIES_NUMBER, 1);
+    UTIL.getConfiguration().setBoolean(HRegionServer.MULTI_GROUP_COMMIT_KEY, true);
+    UTIL.startMiniCluster(1);
+    HTableDescriptor htd = new HTableDescriptor(TABLE);
+    htd.addFamily(new HColumnDescriptor(FAMILY));
+    htd.addCoprocessor(FailingObserver.class.getName());
+    UTIL.getHBaseAdmin().createTable(htd, new byte[][] { Bytes.toBytes("m") });
+    UTIL.waitTableEnabled(TABLE.getName());
+  }
+
+  @AfterClass
+  public static void tearDownAfterClass() throws Exception {
+    UTIL.shutdownMiniCluster();
+  }
+
+  @Test
+  public void testFailureOfOneRegion() throws Exception {
+    HTable table = new HTable(UTIL.getConfiguration(), TABLE);
+    try {
+      List<Row> actions = new ArrayList<Row>();
+      actions.add(put(Bytes.toBytes("a"), "v1"));
+      actions.add(put(Bytes.toBytes("b"), "v1"));
+      actions.add(put(FAIL_ROW, "v1"));
+      Object[] results = new Object[actions.size()];
+      try {
+        table.batch(actions, results);
+      } catch (IOException e) {
+        // expected, the failed action is reported in the results
+      }
+      // Only the actions of the failed region fail, the other region succeeds
+      assertTrue(results[0] instanceof Result);
+      assertTrue(results[1] instanceof Result);
+      assertTrue(String.valueOf(results[2]), results[2] instanceof Throwable);
+      assertArrayEquals(Bytes.toBytes("v1"),
+          table.get(new Get(Bytes.toBytes("a"))).getValue(FAMILY, QUALIFIER));
+
+      // The mvcc transactions of both regions were completed, reads and writes go on
+      table.get(new Get(FAIL_ROW));
+      actions.clear();
+      actions.add(put(Bytes.toBytes("a"), "v2"));
+      actions.add(put(Bytes.toBytes("y"), "v2"));
+      results = new Object[actions.size()];
+      table.batch(actions, results);
+      assertArrayEquals(Bytes.toBytes("v2"),
+          table.get(new Get(Bytes.toBytes("a"))).getValue(FAMILY, QUALIFIER));
+      assertArrayEquals(Bytes.toBytes("v2"),
+          table.get(new Get(Bytes.toBytes("y"))).getValue(FAMILY, QUALIFIER));
+      assertEquals(2, table.getStartKeys().length);
+    } finally {
+      table.close();
+    }
+  }
+
+  private static Put put(byte[] row, String value) {
+    Put put = new Put(row);
+    put.add(FAMILY, QUALIFIER, Bytes.toBytes(value));
+    return put;
+  }
+}
@@ -71,6 +71,44 @@ public class TestMultiVersionConsistencyControl extends TestCase {
     }
   }
 
+  public void testOutOfOrderCompletion() throws Exception {
+    final MultiVersionConsistencyControl mvcc = new MultiVersionConsistencyControl();
+    mvcc.initialize(10);
+    MultiVersionConsistencyControl.WriteEntry first = mvcc.beginMemstoreInsert();
+    final MultiVersionConsistencyControl.WriteEntry second = mvcc.beginMemstoreInsert();
+    assertEquals(11, first.getWriteNumber());
+    assertEquals(12, second.getWriteNumber());
+
+    // The second write is not visible before the first one is complete
+    assertFalse(mvcc.advanceMemstore(second));
+    assertEquals(10, mvcc.memstoreReadPoint());
+    Thread waiter = new Thread() {
+      public void run() {
+        mvcc.waitForRead(second);
+      }
+    };
+    waiter.start();
+    waiter.join(100);
+    assertTrue(waiter.isAlive());
+
+    // Completing the first write makes both visible and wakes up the waiter
+    mvcc.completeMemstoreInsert(first);
+    assertEquals(12, mvcc.memstoreReadPoint());
+    waiter.join();
+    try {
+      mvcc.initialize(20);
+    } catch (RuntimeException e) {
+      fail("mvcc without pending writes can be initialized");
+    }
+    mvcc.beginMemstoreInsert();
+    try {
+      mvcc.initialize(30);
+      fail("mvcc with pending writes can not be initialized");
+    } catch (RuntimeException e) {
+      // expected
+    }
+  }
+
   public void testParallelism() throws Exception {
     final MultiVersionConsistencyControl mvcc = new MultiVersionConsistencyControl();
 
@@ -34,6 +34,12 @@ import org.apache.hadoop.hbase.KeyValue.Type;
 import org.apache.hadoop.hbase.SmallTests;
 import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.filter.BinaryComparator;
+import org.apache.hadoop.hbase.filter.CompareFilter.CompareOp;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.FirstKeyOnlyFilter;
+import org.apache.hadoop.hbase.filter.KeyOnlyFilter;
+import org.apache.hadoop.hbase.filter.ValueFilter;
 import org.apache.hadoop.hbase.regionserver.ScanQueryMatcher.MatchCode;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.hadoop.hbase.util.EnvironmentEdgeManager;
@@ -290,6 +296,34 @@ public class TestQueryMatcher extends HBaseTestCase {
     }
   }
 
+  public void testKeyOnly() throws Exception {
+    assertFalse(ScanQueryMatcher.isKeyOnly(null));
+    assertTrue(ScanQueryMatcher.isKeyOnly(new KeyOnlyFilter()));
+    assertFalse(ScanQueryMatcher.isKeyOnly(new KeyOnlyFilter(true)));
+    assertFalse(ScanQueryMatcher.isKeyOnly(new FirstKeyOnlyFilter()));
+    assertTrue(ScanQueryMatcher.isKeyOnly(
+        new FilterList(new FirstKeyOnlyFilter(), new KeyOnlyFilter())));
+    assertTrue(ScanQueryMatcher.isKeyOnly(new FilterList(new FirstKeyOnlyFilter(),
+        new FilterList(new KeyOnlyFilter()))));
+    // The value filter reads the values before they are dropped
+    assertFalse(ScanQueryMatcher.isKeyOnly(new FilterList(
+        new ValueFilter(CompareOp.EQUAL, new BinaryComparator(data)), new KeyOnlyFilter())));
+    // The values of the cells the key only filter does not include are kept
+    assertFalse(ScanQueryMatcher.isKeyOnly(new FilterList(FilterList.Operator.MUST_PASS_ONE,
+        new FirstKeyOnlyFilter(), new KeyOnlyFilter())));
+
+    ScanInfo scanInfo = new ScanInfo(fam2, 0, 1, ttl, false, 0, rowComparator);
+    NavigableSet<byte[]> cols = get.getFamilyMap().get(fam2);
+    Scan keyOnlyScan = new Scan(scan);
+    keyOnlyScan.setFilter(new KeyOnlyFilter());
+    assertTrue(new ScanQueryMatcher(keyOnlyScan, scanInfo, cols,
+        EnvironmentEdgeManager.currentTimeMillis() - ttl).isKeyOnly());
+    assertFalse(new ScanQueryMatcher(keyOnlyScan, scanInfo, cols, ScanType.COMPACT_DROP_DELETES,
+        Long.MAX_VALUE, HConstants.OLDEST_TIMESTAMP, HConstants.OLDEST_TIMESTAMP).isKeyOnly());
+    assertFalse(new ScanQueryMatcher(scan, scanInfo, cols,
+        EnvironmentEdgeManager.currentTimeMillis() - ttl).isKeyOnly());
+  }
+
   public void testMatch_PartialRangeDropDeletes() throws Exception {
     // Some ranges.
     testDropDeletes(
@@ -0,0 +1,177 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.hadoop.hbase.regionserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.MediumTests;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.HTable;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
+import org.apache.hadoop.hbase.filter.FilterBase;
+import org.apache.hadoop.hbase.protobuf.ProtobufUtil;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.Threads;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests that scans which filter out most rows return heartbeats instead of
+ * running into the time limit, and that the client still gets all rows.
+ */
+@Category(MediumTests.class)
+public class TestScannerHeartbeatMessages {
+  private final static HBaseTestingUtility TEST_UTIL = new HBaseTestingUtility();
+  private static final byte[] FAMILY = Bytes.toBytes("f");
+  private static final byte[] QUALIFIER = Bytes.toBytes("q");
+  private static final int NUM_ROWS = 100;
+  private static final int ROWS_PER_MATCH = 10;
+
+  @BeforeClass
+  public static void setUpBeforeClass() throws Exception {
+    TEST_UTIL.getConfiguration().setLong(HRegionServer.SCANNER_TIME_LIMIT_KEY, 20);
+    TEST_UTIL.startMiniCluster();
+  }
+
+  @AfterClass
+  public static void tearDownAfterClass() throws Exception {
+    TEST_UTIL.shutdownMiniCluster();
+  }
+
+  private static byte[] row(int i) {
+    return Bytes.toBytes(String.format("%03d", i));
+  }
+
+  /**
+   * Lets only every {@link #ROWS_PER_MATCH}th row through and takes a while
+   * for each row.
+   */
+  public static class SlowSparseFilter extends FilterBase {
+    @Override
+    public boolean filterRowKey(byte[] buffer, int offset, int length) {
+      Threads.sleep(2);
+      int row = Integer.parseInt(Bytes.toString(buffer, offset, length));
+      return row % ROWS_PER_MATCH != ROWS_PER_MATCH - 1;
+    }
+
+    @Override
+    public byte[] toByteArray() {
+      return new byte[0];
+    }
+
+    public static SlowSparseFilter parseFrom(final byte[] pbBytes) {
+      return new SlowSparseFilter();
+    }
+  }
+
+  @Test
+  public void testNextRawWithinTime() throws IOException {
+    HTableDescriptor htd = new HTableDescriptor(TableName.valueOf("testNextRawWithinTime"));
+    htd.addFamily(new HColumnDescriptor(FAMILY));
+    HRegion region = TEST_UTIL.createLocalHRegion(htd, null, null);
+    try {
+      for (int i = 0; i < 2 * ROWS_PER_MATCH; i++) {
+        Put put = new Put(row(i));
+        put.add(FAMILY, QUALIFIER, Bytes.toBytes(i));
+        region.put(put);
+      }
+      Scan scan = new Scan();
+      scan.setFilter(new SlowSparseFilter());
+      RegionScanner scanner = region.getScanner(scan);
+      List<Cell> results = new ArrayList<Cell>();
+
+      // Out of time right away, so the scanner stops after each filtered out row
+      for (int i = 0; i < ROWS_PER_MATCH - 1; i++) {
+        assertTrue(scanner.nextRawWithinTime(results, 0));
+        assertTrue(results.isEmpty());
+        assertTrue(Bytes.equals(row(i), scanner.getLastFilteredRow()));
+      }
+      // Rows that are let through are returned regardless of the time
+      assertTrue(scanner.nextRawWithinTime(results, 0));
+      assertEquals(1, results.size());
+      assertEquals(null, scanner.getLastFilteredRow());
+      results.clear();
+
+      // Without time limit, all filtered rows are skipped in one call
+      assertFalse(scanner.nextRawWithinTime(results, Long.MAX_VALUE));
+      assertEquals(1, results.size());
+      assertTrue(Bytes.equals(row(2 * ROWS_PER_MATCH - 1), results.get(0).getRow()));
+      assertEquals(null, scanner.getLastFilteredRow());
+      scanner.close();
+    } finally {
+      HRegion.closeHRegion(region);
+    }
+  }
+
+  @Test
+  public void testScanWithHeartbeats() throws IOException {
+    byte[] tableName = Bytes.toBytes("testScanWithHeartbeats");
+    HTable ht = TEST_UTIL.createTable(tableName, FAMILY, new byte[][] { row(NUM_ROWS / 2) });
+    List<Put> puts = new ArrayList<Put>();
+    for (int i = 0; i < NUM_ROWS; i++) {
+      Put put = new Put(row(i));
+      put.add(FAMILY, QUALIFIER, Bytes.toBytes(i));
+      puts.add(put);
+    }
+    ht.put(puts);
+    ht.flushCommits();
+
+    Scan scan = new Scan();
+    scan.setCaching(NUM_ROWS);
+    scan.setFilter(new SlowSparseFilter());
+    scan.setAttribute(Scan.SCAN_ATTRIBUTES_METRICS_ENABLE, Bytes.toBytes(Boolean.TRUE));
+    List<Integer> rows = new ArrayList<Integer>();
+    ResultScanner scanner = ht.getScanner(scan);
+    for (Result result : scanner) {
+      rows.add(Integer.parseInt(Bytes.toString(result.getRow())));
+    }
+    scanner.close();
+
+    List<Integer> expected = new ArrayList<Integer>();
+    for (int i = ROWS_PER_MATCH - 1; i < NUM_ROWS; i += ROWS_PER_MATCH) {
+      expected.add(i);
+    }
+    assertEquals(expected, rows);
+
+    // Each region takes several calls because of the time limit; without
+    // heartbeats it would take one call to open, fetch and close each.
+    ScanMetrics metrics =
+        ProtobufUtil.toScanMetrics(scan.getAttribute(Scan.SCAN_ATTRIBUTES_METRICS_DATA));
+    assertEquals(2, metrics.countOfRegions.get());
+    assertTrue("rpc calls " + metrics.countOfRPCcalls.get(),
+        metrics.countOfRPCcalls.get() > 2 * 3);
+    ht.close();
+  }
+}
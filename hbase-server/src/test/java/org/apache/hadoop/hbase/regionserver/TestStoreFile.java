@@ -41,6 +41,7 @@ import org.apache.hadoop.hbase.KeyValue;
 import org.apache.hadoop.hbase.SmallTests;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.filter.PrefixFilter;
 import org.apache.hadoop.hbase.io.HFileLink;
 import org.apache.hadoop.hbase.io.encoding.DataBlockEncoding;
 import org.apache.hadoop.hbase.io.hfile.BlockCache;
@@ -683,6 +684,124 @@ public class TestStoreFile extends HBaseTestCase {
     }
   }
 
+  public void testRowPrefixBloomFilter() throws Exception {
+    FileSystem fs = FileSystem.getLocal(conf);
+    float err = (float) 0.01;
+    conf.setFloat(BloomFilterFactory.IO_STOREFILE_BLOOM_ERROR_RATE, err);
+    conf.setBoolean(BloomFilterFactory.IO_STOREFILE_BLOOM_ENABLED, true);
+    int prefixCount = 200;
+    int prefixLength = 10;
+
+    Path f = new Path(ROOT_DIR, getName());
+    HFileContext meta = new HFileContextBuilder().withBlockSize(StoreFile.DEFAULT_BLOCKSIZE_SMALL)
+        .withChecksumType(CKTYPE)
+        .withBytesPerCheckSum(CKBYTES).build();
+    StoreFile.Writer writer = new StoreFile.WriterBuilder(conf, cacheConf, this.fs)
+            .withFilePath(f)
+            .withBloomType(BloomType.ROWPREFIX_FIXED_LENGTH)
+            .withBloomPrefixLength(prefixLength)
+            .withFileContext(meta)
+            .build();
+
+    // Only even prefixes are written, each with several rows.
+    long now = System.currentTimeMillis();
+    for (int i = 0; i < prefixCount * 2; i += 2) {
+      for (int j = 0; j < 5; j++) {
+        String row = String.format(localFormatter, i) + "#" + j;
+        KeyValue kv = new KeyValue(row.getBytes(), "family".getBytes(),
+            "col".getBytes(), now, "value".getBytes());
+        writer.append(kv);
+      }
+    }
+    writer.close();
+
+    StoreFile.Reader reader = new StoreFile.Reader(fs, f, cacheConf, conf);
+    reader.loadFileInfo();
+    reader.loadBloomfilter();
+    StoreFileScanner scanner = reader.getStoreFileScanner(false, false);
+    assertEquals(BloomType.ROWPREFIX_FIXED_LENGTH, reader.getBloomFilterType());
+    assertEquals(prefixCount, reader.generalBloomFilter.getKeyCount());
+
+    int falsePos = 0;
+    int falseNeg = 0;
+    for (int i = 0; i < prefixCount * 2; i++) {
+      String prefix = String.format(localFormatter, i);
+      boolean shouldExist = i % 2 == 0;
+      // a get, a short range scan and a prefix filter scan within the prefix
+      Scan get = new Scan((prefix + "#1").getBytes(), (prefix + "#1").getBytes());
+      Scan range = new Scan((prefix + "#1").getBytes(), (prefix + "#4").getBytes());
+      Scan prefixScan = new Scan();
+      prefixScan.setFilter(new PrefixFilter(prefix.getBytes()));
+      for (Scan scan : new Scan[] { get, range, prefixScan }) {
+        boolean exists = scanner.shouldUseScanner(scan, null, Long.MIN_VALUE);
+        if (shouldExist) {
+          if (!exists) falseNeg++;
+        } else {
+          if (exists) falsePos++;
+        }
+      }
+    }
+
+    // scans crossing prefixes cannot use the Bloom filter
+    Scan crossing = new Scan(String.format(localFormatter, 1).getBytes(),
+        String.format(localFormatter, 3).getBytes());
+    assertTrue(scanner.shouldUseScanner(crossing, null, Long.MIN_VALUE));
+
+    reader.close(true); // evict because we are about to delete the file
+    fs.delete(f, true);
+    assertEquals("False negatives: " + falseNeg, 0, falseNeg);
+    int maxFalsePos = (int) (2 * 3 * prefixCount * err);
+    assertTrue("Too many false positives: " + falsePos + " (err=" + err
+        + ", expected no more than " + maxFalsePos + ")",
+        falsePos <= maxFalsePos);
+  }
+
+  public void testRowColBloomFilterMultiColumnGet() throws Exception {
+    FileSystem fs = FileSystem.getLocal(conf);
+    conf.setFloat(BloomFilterFactory.IO_STOREFILE_BLOOM_ERROR_RATE, (float) 0.01);
+    conf.setBoolean(BloomFilterFactory.IO_STOREFILE_BLOOM_ENABLED, true);
+
+    Path f = new Path(ROOT_DIR, getName());
+    HFileContext meta = new HFileContextBuilder().withBlockSize(StoreFile.DEFAULT_BLOCKSIZE_SMALL)
+        .withChecksumType(CKTYPE)
+        .withBytesPerCheckSum(CKBYTES).build();
+    StoreFile.Writer writer = new StoreFile.WriterBuilder(conf, cacheConf, this.fs)
+            .withFilePath(f)
+            .withBloomType(BloomType.ROWCOL)
+            .withFileContext(meta)
+            .build();
+    long now = System.currentTimeMillis();
+    for (int i = 0; i < 100; i++) {
+      String row = String.format(localFormatter, i);
+      writer.append(new KeyValue(row.getBytes(), "family".getBytes(),
+          "colA".getBytes(), now, "value".getBytes()));
+    }
+    writer.close();
+
+    StoreFile.Reader reader = new StoreFile.Reader(fs, f, cacheConf, conf);
+    reader.loadFileInfo();
+    reader.loadBloomfilter();
+    StoreFileScanner scanner = reader.getStoreFileScanner(false, false);
+
+    String row = String.format(localFormatter, 7);
+    Scan scan = new Scan(row.getBytes(), row.getBytes());
+    TreeSet<byte[]> present = new TreeSet<byte[]>(Bytes.BYTES_COMPARATOR);
+    present.add("colA".getBytes());
+    present.add("colX".getBytes());
+    assertTrue(scanner.shouldUseScanner(scan, present, Long.MIN_VALUE));
+
+    int falsePos = 0;
+    for (int i = 0; i < 100; i++) {
+      TreeSet<byte[]> absent = new TreeSet<byte[]>(Bytes.BYTES_COMPARATOR);
+      absent.add(("colX" + i).getBytes());
+      absent.add(("colY" + i).getBytes());
+      if (scanner.shouldUseScanner(scan, absent, Long.MIN_VALUE)) falsePos++;
+    }
+    reader.close(true); // evict because we are about to delete the file
+    fs.delete(f, true);
+    assertTrue("Too many false positives: " + falsePos, falsePos < 10);
+  }
+
   public void testSeqIdComparator() {
     assertOrdering(StoreFile.Comparators.SEQ_ID,
         mockStoreFile(true,  100,   1000, -1, "/foo/123"),
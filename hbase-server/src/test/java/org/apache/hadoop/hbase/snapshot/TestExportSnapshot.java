@@ -46,8 +46,10 @@ import org.apache.hadoop.hbase.MediumTests;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.HBaseAdmin;
 import org.apache.hadoop.hbase.client.HTable;
+import org.apache.hadoop.hbase.io.hfile.HFile;
 import org.apache.hadoop.hbase.master.snapshot.SnapshotManager;
 import org.apache.hadoop.hbase.protobuf.generated.HBaseProtos.SnapshotDescription;
+import org.apache.hadoop.hbase.regionserver.BlobStore;
 import org.apache.hadoop.hbase.regionserver.HRegionFileSystem;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.apache.hadoop.hbase.util.FSUtils;
@@ -82,6 +84,7 @@ public class TestExportSnapshot {
     TEST_UTIL.getConfiguration().setInt("hbase.client.pause", 250);
     TEST_UTIL.getConfiguration().setInt(HConstants.HBASE_CLIENT_RETRIES_NUMBER, 6);
     TEST_UTIL.getConfiguration().setBoolean("hbase.master.enabletable.roundrobin", true);
+    TEST_UTIL.getConfiguration().setInt(HFile.FORMAT_VERSION_KEY, 3);
     TEST_UTIL.startMiniCluster(3);
     TEST_UTIL.startMiniMapReduceCluster();
   }
@@ -177,6 +180,50 @@ public class TestExportSnapshot {
     testExportFileSystemState(tableName, emptySnapshotName, 1);
   }
 
+  /**
+   * Verify that the blob files referenced by the snapshot are exported with it.
+   */
+  @Test
+  public void testExportBlobFiles() throws Exception {
+    final TableName blobTableName = TableName.valueOf("testtb-blobs-" + System.currentTimeMillis());
+    final String blobSnapshotName = "snaptb-blobs-" + System.currentTimeMillis();
+    HTableDescriptor htd = new HTableDescriptor(blobTableName);
+    htd.addFamily(new HColumnDescriptor(FAMILY).setBlobThreshold(1));
+    admin.createTable(htd, null);
+    HTable table = new HTable(TEST_UTIL.getConfiguration(), blobTableName);
+    try {
+      TEST_UTIL.loadTable(table, FAMILY);
+    } finally {
+      table.close();
+    }
+    admin.snapshot(blobSnapshotName, blobTableName);
+
+    Path copyDir = TEST_UTIL.getDataTestDir("export-" + System.currentTimeMillis());
+    FileSystem fs = FileSystem.get(copyDir.toUri(), new Configuration());
+    copyDir = copyDir.makeQualified(fs);
+    try {
+      int res = ExportSnapshot.innerMain(TEST_UTIL.getConfiguration(), new String[] {
+        "-snapshot", blobSnapshotName,
+        "-copy-to", copyDir.toString()
+      });
+      assertEquals(0, res);
+
+      // The blob files are copied to the archive, where they are resolved from
+      String family = Bytes.toString(FAMILY);
+      FileSystem hdfs = FileSystem.get(TEST_UTIL.getConfiguration());
+      Path blobDir = BlobStore.getBlobDir(
+          FSUtils.getTableDir(TEST_UTIL.getDefaultRootDirPath(), blobTableName), family);
+      Path exportedBlobDir = BlobStore.getBlobDir(FSUtils.getTableDir(
+          new Path(copyDir, HConstants.HFILE_ARCHIVE_DIRECTORY), blobTableName), family);
+      Set<String> blobFiles = listFiles(hdfs, blobDir, blobDir);
+      assertTrue(blobFiles.size() > 0);
+      assertEquals(blobFiles, listFiles(fs, exportedBlobDir, exportedBlobDir));
+    } finally {
+      fs.delete(copyDir, true);
+      TEST_UTIL.deleteTable(blobTableName);
+    }
+  }
+
   /**
    * Mock a snapshot with files in the archive dir,
    * two regions, and one reference file.
@@ -0,0 +1,127 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hbase.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compares lookup time and false positive rate of compound Bloom filters made
+ * of {@link ByteBloomFilter} and {@link BlockedByteBloomFilter} chunks. Chunks
+ * are kept in memory and each key goes to a fixed chunk, so only the lookup
+ * inside a chunk is measured. Use a total size much larger than the CPU caches
+ * to see the effect of cache misses.
+ * <p>
+ * Usage: BloomFilterLookupBenchmark [chunkByteSize] [numChunks] [errorRate]
+ * [hashType]
+ */
+public class BloomFilterLookupBenchmark {
+  private static final int NUM_LOOKUPS = 5 * 1000 * 1000;
+  private static final int WARMUP_ROUNDS = 2;
+
+  private final int chunkByteSize;
+  private final int numChunks;
+  private final double errorRate;
+  private final int hashType;
+
+  public BloomFilterLookupBenchmark(int chunkByteSize, int numChunks,
+      double errorRate, int hashType) {
+    this.chunkByteSize = chunkByteSize;
+    this.numChunks = numChunks;
+    this.errorRate = errorRate;
+    this.hashType = hashType;
+  }
+
+  /**
+   * Writes the i-th key of the given key set into the key buffer. Keys of
+   * different sets never collide.
+   */
+  private static void makeKey(byte[] key, long i, long keySet) {
+    Bytes.putLong(key, 0, i * 0x9E3779B97F4A7C15L);
+    Bytes.putLong(key, Bytes.SIZEOF_LONG, keySet);
+  }
+
+  private void run(String name, ByteBloomFilter firstChunk) {
+    byte[] key = new byte[2 * Bytes.SIZEOF_LONG];
+    ByteBloomFilter[] chunks = new ByteBloomFilter[numChunks];
+    for (int c = 0; c < numChunks; ++c) {
+      chunks[c] = c == 0 ? firstChunk : firstChunk.createAnother();
+      chunks[c].allocBloom();
+    }
+    long keysPerChunk = firstChunk.getMaxKeys();
+    for (long i = 0; i < keysPerChunk * numChunks; ++i) {
+      makeKey(key, i, 0);
+      chunks[(int) (i % numChunks)].add(key, 0, key.length);
+    }
+    Hash hash = Hash.getInstance(hashType);
+    boolean blocked = firstChunk instanceof BlockedByteBloomFilter;
+    int hashCount = firstChunk.getHashCount();
+    int byteSize = (int) firstChunk.getByteSize();
+
+    long elapsed = 0;
+    int falsePositives = 0;
+    for (int round = 0; round <= WARMUP_ROUNDS; ++round) {
+      falsePositives = 0;
+      long start = System.nanoTime();
+      for (int i = 0; i < NUM_LOOKUPS; ++i) {
+        makeKey(key, i, round + 1);
+        ByteBuffer bits = chunks[i % numChunks].bloom;
+        boolean found;
+        if (blocked) {
+          found = BlockedByteBloomFilter.contains(key, 0, key.length,
+              bits.array(), bits.arrayOffset(), byteSize, hash, hashCount);
+        } else {
+          found = ByteBloomFilter.contains(key, 0, key.length, bits.array(),
+              bits.arrayOffset(), byteSize, hash, hashCount);
+        }
+        if (found) {
+          ++falsePositives;
+        }
+      }
+      elapsed = System.nanoTime() - start;
+    }
+
+    System.out.println(name);
+    System.out.printf("  Bloom size:          %d chunks of %d bytes, %d keys"
+        + " per chunk, %d hashes\n", numChunks, byteSize, keysPerChunk,
+        hashCount);
+    System.out.printf("  Lookup time:         %8.2f ns\n",
+        elapsed * 1.0 / NUM_LOOKUPS);
+    System.out.printf("  False positive rate: %8.5f (target %8.5f)\n",
+        falsePositives * 1.0 / NUM_LOOKUPS, errorRate);
+  }
+
+  public void runTests() {
+    run("ByteBloomFilter", ByteBloomFilter.createBySize(chunkByteSize,
+        errorRate, hashType, 0));
+    run("BlockedByteBloomFilter", BlockedByteBloomFilter.createBySize(
+        chunkByteSize, errorRate, hashType, 0));
+  }
+
+  public static void main(String[] args) {
+    int chunkByteSize = args.length > 0 ? Integer.parseInt(args[0])
+        : 128 * 1024;
+    int numChunks = args.length > 1 ? Integer.parseInt(args[1]) : 512;
+    double errorRate = args.length > 2 ? Double.parseDouble(args[2]) : 0.01;
+    int hashType = args.length > 3 ? Hash.parseHashType(args[3])
+        : Hash.MURMUR_HASH;
+    new BloomFilterLookupBenchmark(chunkByteSize, numChunks, errorRate,
+        hashType).runTests();
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hbase.util;
+
+import java.nio.ByteBuffer;
+
+import junit.framework.TestCase;
+import org.apache.hadoop.hbase.SmallTests;
+import org.junit.experimental.categories.Category;
+
+@Category(SmallTests.class)
+public class TestBlockedByteBloomFilter extends TestCase {
+
+  public void testBasicBloom() throws Exception {
+    BlockedByteBloomFilter bf = BlockedByteBloomFilter.createBySize(4096, 0.01,
+        Hash.MURMUR_HASH, 0);
+    bf.allocBloom();
+    assertEquals(0, bf.getByteSize() % BlockedByteBloomFilter.BLOCK_BYTES);
+
+    byte[] key1 = {1,2,3,4,5,6,7,8,9};
+    byte[] key2 = {1,2,3,4,5,6,7,8,7};
+    byte[] bval = "this is a much larger byte array".getBytes();
+    bf.add(key1);
+    bf.add(bval, 1, bval.length - 1);
+
+    assertTrue(bf.contains(key1));
+    assertFalse(bf.contains(key2));
+    assertTrue(bf.contains(bval, 1, bval.length - 1));
+    assertFalse(bf.contains(bval));
+
+    // All probes for a key set bits inside a single block.
+    BlockedByteBloomFilter single = BlockedByteBloomFilter.createBySize(4096,
+        0.01, Hash.MURMUR_HASH, 0);
+    single.allocBloom();
+    single.add(key2);
+    ByteBuffer bits = single.bloom;
+    int firstSet = -1;
+    int lastSet = -1;
+    for (int i = 0; i < bits.limit(); ++i) {
+      if (bits.get(i) != 0) {
+        if (firstSet < 0) firstSet = i;
+        lastSet = i;
+      }
+    }
+    assertTrue(firstSet >= 0);
+    assertEquals(firstSet / BlockedByteBloomFilter.BLOCK_BYTES,
+        lastSet / BlockedByteBloomFilter.BLOCK_BYTES);
+
+    // The static lookup used by compound Bloom filters agrees.
+    assertTrue(BlockedByteBloomFilter.contains(key2, 0, key2.length,
+        bits.array(), bits.arrayOffset(), (int) single.getByteSize(),
+        Hash.getInstance(Hash.MURMUR_HASH), single.getHashCount()));
+  }
+
+  public void testBloomFold() throws Exception {
+    BlockedByteBloomFilter b = BlockedByteBloomFilter.createBySize(8192, 0.01,
+        Hash.MURMUR_HASH, 7);
+    b.allocBloom();
+    long origSize = b.getByteSize();
+    for (int i = 0; i < 100; ++i) {
+      b.add(Bytes.toBytes(i));
+    }
+    b.compactBloom();
+    assertTrue(b.getByteSize() < origSize);
+    assertEquals(0, b.getByteSize() % BlockedByteBloomFilter.BLOCK_BYTES);
+    for (int i = 0; i < 100; ++i) {
+      assertTrue(b.contains(Bytes.toBytes(i)));
+    }
+  }
+
+  public void testFalsePositiveRate() throws Exception {
+    double err = 0.01;
+    BlockedByteBloomFilter b = BlockedByteBloomFilter.createBySize(128 * 1024,
+        err, Hash.MURMUR_HASH, 0);
+    b.allocBloom();
+    int numKeys = (int) b.getMaxKeys();
+    for (int i = 0; i < numKeys; ++i) {
+      b.add(Bytes.toBytes(i));
+    }
+    int falsePositives = 0;
+    for (int i = numKeys; i < 2 * numKeys; ++i) {
+      if (b.contains(Bytes.toBytes(i))) {
+        falsePositives++;
+      }
+    }
+    for (int i = 0; i < numKeys; ++i) {
+      assertTrue(b.contains(Bytes.toBytes(i)));
+    }
+    // Confining probes to one block costs a little accuracy.
+    assertTrue("False positives: " + falsePositives,
+        falsePositives <= 2 * numKeys * err);
+  }
+}
@@ -30,6 +30,7 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Random;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
@@ -322,4 +323,73 @@ public class TestByteBufferUtils {
     assertEquals(5, buffer.position());
     assertEquals(5, buffer.limit());
   }
+
+  /**
+   * Checks the comparisons through {@link UnsafeAccess}, where it is available, and the ones
+   * used without it.
+   */
+  @Test
+  public void testCompareTo() {
+    Random rand = new Random(12345);
+    for (int i = 0; i < 1000; i++) {
+      // Lengths that do and do not align to eight bytes, sharing a prefix of any length
+      byte[] left = new byte[rand.nextInt(40)];
+      byte[] right = new byte[rand.nextInt(40)];
+      rand.nextBytes(left);
+      rand.nextBytes(right);
+      int prefix = rand.nextInt(Math.min(left.length, right.length) + 1);
+      System.arraycopy(left, 0, right, 0, prefix);
+      int expected = Integer.signum(Bytes.compareTo(left, right));
+
+      for (ByteBuffer l : new ByteBuffer[] { wrap(left, false), wrap(left, true) }) {
+        assertEquals(expected,
+            Integer.signum(ByteBufferUtils.compareTo(l, 3, left.length, right, 0, right.length)));
+        assertEquals(expected, Integer.signum(ByteBufferUtils.compareToWithoutUnsafe(
+            l, 3, left.length, right, 0, right.length)));
+        if (UnsafeAccess.isAvailable()) {
+          assertEquals(expected,
+              Integer.signum(UnsafeAccess.compareTo(l, 3, left.length, right, 0, right.length)));
+        }
+        for (ByteBuffer r : new ByteBuffer[] { wrap(right, false), wrap(right, true) }) {
+          assertEquals(expected,
+              Integer.signum(ByteBufferUtils.compareTo(l, 3, left.length, r, 3, right.length)));
+          assertEquals(expected, Integer.signum(ByteBufferUtils.compareToWithoutUnsafe(
+              l, 3, left.length, r, 3, right.length)));
+          if (UnsafeAccess.isAvailable()) {
+            assertEquals(expected,
+                Integer.signum(UnsafeAccess.compareTo(l, 3, left.length, r, 3, right.length)));
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * @return a buffer holding the bytes at offset 3, on heap with an array offset or direct
+   */
+  private static ByteBuffer wrap(byte[] bytes, boolean direct) {
+    ByteBuffer buf;
+    if (direct) {
+      buf = ByteBuffer.allocateDirect(bytes.length + 5);
+    } else {
+      buf = ByteBuffer.wrap(new byte[bytes.length + 7], 2, bytes.length + 5).slice();
+    }
+    buf.position(3);
+    buf.put(bytes);
+    buf.position(1);
+    return buf;
+  }
+
+  @Test
+  public void testCopyFromBufferToArray() {
+    byte[] bytes = new byte[] { 0, 1, 2, 3, 4 };
+    for (ByteBuffer buf : new ByteBuffer[] { wrap(bytes, false), wrap(bytes, true) }) {
+      buf.limit(4);
+      byte[] out = new byte[4];
+      ByteBufferUtils.copyFromBufferToArray(out, buf, 4, 1, 3);
+      assertArrayEquals(new byte[] { 0, 1, 2, 3 }, out);
+      assertEquals(1, buf.position());
+      assertEquals(4, buf.limit());
+    }
+  }
 }
@@ -627,6 +627,7 @@ module Hbase
           family.setBloomFilterType(org.apache.hadoop.hbase.regionserver.BloomType.valueOf(bloomtype))
         end
       end
+      family.setBloomFilterPrefixLength(JInteger.valueOf(arg.delete(org.apache.hadoop.hbase.HColumnDescriptor::BLOOMFILTER_PREFIX_LENGTH))) if arg.include?(org.apache.hadoop.hbase.HColumnDescriptor::BLOOMFILTER_PREFIX_LENGTH)
       if arg.include?(org.apache.hadoop.hbase.HColumnDescriptor::COMPRESSION)
         compression = arg.delete(org.apache.hadoop.hbase.HColumnDescriptor::COMPRESSION).upcase
         unless org.apache.hadoop.hbase.io.compress.Compression::Algorithm.constants.include?(compression)